@@ -0,0 +1,189 @@
+package org.iplantc.workflow.benchmark;
+
+import net.sf.json.JSONObject;
+import org.iplantc.persistence.dto.step.TransformationStep;
+import org.iplantc.persistence.dto.transformation.Transformation;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.model.Property;
+import org.iplantc.workflow.model.PropertyGroup;
+import org.iplantc.workflow.model.PropertyType;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.user.UserDetails;
+import org.iplantc.workflow.util.UnitTestUtils;
+
+/**
+ * Builds the synthetic apps, templates and experiments used by the benchmarks. Everything is stored in a
+ * {@link MockDaoFactory} so that the benchmarks measure the code under test rather than the database.
+ */
+public class BenchmarkFixtures {
+
+    /**
+     * The identifier of the deployed component used by every template.
+     */
+    public static final String COMPONENT_ID = "benchmark_component";
+
+    /**
+     * The number of properties in each property group.
+     */
+    private static final int PROPERTIES_PER_GROUP = 10;
+
+    /**
+     * Prevent instantiation.
+     */
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Creates a DAO factory containing the reference data needed to marshal, unmarshal and format templates.
+     *
+     * @return the DAO factory.
+     */
+    public static MockDaoFactory createDaoFactory() {
+        MockDaoFactory daoFactory = new MockDaoFactory();
+        daoFactory.getMockPropertyTypeDao().save(UnitTestUtils.createPropertyType("Text"));
+        daoFactory.getMockPropertyTypeDao().save(UnitTestUtils.createPropertyType("Flag"));
+        daoFactory.getMockPropertyTypeDao().save(UnitTestUtils.createPropertyType("Number"));
+        UnitTestUtils.initializeMultiplicityDao(daoFactory.getMockMultiplicityDao());
+        UnitTestUtils.initializeDataSourceDao(daoFactory.getMockDataSourceDao());
+        daoFactory.getMockDeployedComponentDao().save(
+                UnitTestUtils.createDeployedComponent("benchmark component", COMPONENT_ID));
+        return daoFactory;
+    }
+
+    /**
+     * Creates a template with the given number of properties, split into groups of ten. Every third property is a
+     * flag, every third property is a number and the rest are text properties.
+     *
+     * @param daoFactory the DAO factory used to look up property types.
+     * @param id the template identifier.
+     * @param propertyCount the number of properties.
+     * @return the template.
+     */
+    public static Template createTemplate(MockDaoFactory daoFactory, String id, int propertyCount) {
+        Template template = new Template(id, id + " name", id + " label", id + " description");
+        template.setComponent(COMPONENT_ID);
+        template.setTemplateType("benchmark");
+        PropertyGroup group = null;
+        for (int i = 0; i < propertyCount; i++) {
+            if (i % PROPERTIES_PER_GROUP == 0) {
+                group = new PropertyGroup(id + "_group" + i, "group " + i, "group " + i, "");
+                group.setGroupType("step");
+                template.addPropertyGroup(group);
+            }
+            group.addProperty(createProperty(daoFactory, id + "_prop" + i, i));
+        }
+        return template;
+    }
+
+    /**
+     * Creates a property.
+     *
+     * @param daoFactory the DAO factory used to look up property types.
+     * @param id the property identifier.
+     * @param order the command-line order of the property.
+     * @return the property.
+     */
+    private static Property createProperty(MockDaoFactory daoFactory, String id, int order) {
+        String typeName = order % 3 == 1 ? "Flag" : order % 3 == 2 ? "Number" : "Text";
+        Property property = new Property(id, "--" + id + " ", id + " label", id + " description");
+        PropertyType type = daoFactory.getPropertyTypeDao().findUniqueInstanceByName(typeName);
+        property.setPropertyType(type);
+        property.setOrder(order);
+        property.setIsVisible(true);
+        property.setDefaultValue(typeName.equals("Flag") ? "false" : typeName.equals("Number") ? "42" : "value");
+        return property;
+    }
+
+    /**
+     * Creates an analysis with the given number of steps, each of which refers to its own template, and stores the
+     * analysis and templates in the DAO factory.
+     *
+     * @param daoFactory the DAO factory.
+     * @param id the analysis identifier.
+     * @param stepCount the number of steps.
+     * @param propertiesPerStep the number of properties in each template.
+     * @return the analysis.
+     */
+    public static TransformationActivity createAnalysis(MockDaoFactory daoFactory, String id, int stepCount,
+            int propertiesPerStep) {
+        TransformationActivity analysis = new TransformationActivity();
+        analysis.setId(id);
+        analysis.setName(id + " name");
+        analysis.setDescription(id + " description");
+        for (int i = 0; i < stepCount; i++) {
+            String templateId = id + "_template" + i;
+            daoFactory.getTemplateDao().save(createTemplate(daoFactory, templateId, propertiesPerStep));
+            analysis.addStep(createStep(stepName(i), templateId));
+        }
+        daoFactory.getTransformationActivityDao().save(analysis);
+        return analysis;
+    }
+
+    /**
+     * Creates a transformation step.
+     *
+     * @param name the step name.
+     * @param templateId the identifier of the template used by the step.
+     * @return the step.
+     */
+    private static TransformationStep createStep(String name, String templateId) {
+        Transformation transformation = new Transformation();
+        transformation.setName(name);
+        transformation.setDescription(name);
+        transformation.setTemplate_id(templateId);
+        TransformationStep step = new TransformationStep();
+        step.setName(name);
+        step.setGuid(name);
+        step.setDescription(name);
+        step.setTransformation(transformation);
+        return step;
+    }
+
+    /**
+     * @param index the index of the step.
+     * @return the name of the step at the given index.
+     */
+    private static String stepName(int index) {
+        return "step " + index;
+    }
+
+    /**
+     * Creates an experiment for an analysis that supplies a value for every other property in every step.
+     *
+     * @param analysis the analysis.
+     * @param daoFactory the DAO factory used to look up the templates.
+     * @return the experiment.
+     */
+    public static JSONObject createExperiment(TransformationActivity analysis, MockDaoFactory daoFactory) {
+        JSONObject config = new JSONObject();
+        for (TransformationStep step : analysis.getSteps()) {
+            Template template = daoFactory.getTemplateDao().findById(step.getTemplateId());
+            int i = 0;
+            for (PropertyGroup group : template.getPropertyGroups()) {
+                for (Property property : group.getProperties()) {
+                    if (i++ % 2 == 0) {
+                        config.put(step.getName() + "_" + property.getId(), property.getDefaultValue());
+                    }
+                }
+            }
+        }
+        JSONObject json = new JSONObject();
+        json.put("name", "benchmark");
+        json.put("description", "benchmark job");
+        json.put("notify", false);
+        json.put("workspace_id", "1");
+        json.put("analysis_id", analysis.getId());
+        json.put("outputDirectory", "/iplant/home/someuser/analyses");
+        json.put("config", config);
+        return json;
+    }
+
+    /**
+     * @return the details of the user submitting benchmark jobs.
+     */
+    public static UserDetails createUserDetails() {
+        return new UserDetails("someuser@iplantcollaborative.org", "S3cret", "someuser@example.com", "someuser",
+                "Some", "User");
+    }
+}
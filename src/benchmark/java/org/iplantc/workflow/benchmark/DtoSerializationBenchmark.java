@@ -0,0 +1,104 @@
+package org.iplantc.workflow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.iplantc.workflow.service.dto.pipelines.AnalysisDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the reflective JSON conversion in AbstractDto using pipeline analysis DTOs, which nest property and data
+ * object DTOs, with varying numbers of inputs and outputs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DtoSerializationBenchmark {
+
+    /**
+     * The number of inputs and the number of outputs in the DTO.
+     */
+    @Param({"10", "100", "1000"})
+    public int properties;
+
+    /**
+     * The JSON representation of the DTO.
+     */
+    private JSONObject json;
+
+    /**
+     * The DTO to convert to JSON.
+     */
+    private AnalysisDto dto;
+
+    /**
+     * Builds the DTO and its JSON representation.
+     */
+    @Setup
+    public void setUp() {
+        json = new JSONObject();
+        json.put("id", "analysis");
+        json.put("name", "analysis name");
+        json.put("inputs", createProperties("input", properties));
+        json.put("outputs", createProperties("output", properties));
+        dto = new AnalysisDto(json);
+    }
+
+    /**
+     * Creates the JSON representations of a list of property DTOs.
+     *
+     * @param prefix the prefix to use for identifiers.
+     * @param count the number of properties.
+     * @return the JSON array.
+     */
+    private JSONArray createProperties(String prefix, int count) {
+        JSONArray array = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            String id = prefix + i;
+            JSONObject dataObject = new JSONObject();
+            dataObject.put("id", id);
+            dataObject.put("name", id + " name");
+            dataObject.put("multiplicity", "One");
+            dataObject.put("order", i);
+            dataObject.put("file_info_type", "File");
+            dataObject.put("format", "Unspecified");
+            dataObject.put("description", id + " description");
+            dataObject.put("required", true);
+            dataObject.put("retain", false);
+            dataObject.put("cmdSwitch", "--" + id);
+            JSONObject property = new JSONObject();
+            property.put("id", id);
+            property.put("name", "--" + id);
+            property.put("label", id + " label");
+            property.put("description", id + " description");
+            property.put("isVisible", true);
+            property.put("type", "Input");
+            property.put("data_object", dataObject);
+            array.add(property);
+        }
+        return array;
+    }
+
+    /**
+     * @return the JSON representation of the DTO.
+     */
+    @Benchmark
+    public JSONObject toJson() {
+        return dto.toJson();
+    }
+
+    /**
+     * @return the DTO built from its JSON representation.
+     */
+    @Benchmark
+    public AnalysisDto fromJson() {
+        return new AnalysisDto(json);
+    }
+}
@@ -0,0 +1,115 @@
+package org.iplantc.workflow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import net.sf.json.JSONObject;
+import org.iplantc.workflow.experiment.util.JobConfigCodec;
+import org.iplantc.workflow.experiment.util.JobConfigUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the escaping of job configuration keys before job requests are stored and the unescaping of the keys
+ * when job requests are retrieved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JobConfigEscapingBenchmark {
+
+    /**
+     * The number of keys in the job configuration.
+     */
+    @Param({"10", "100", "1000"})
+    public int keys;
+
+    /**
+     * The percentage of keys that contain characters that have to be escaped.
+     */
+    @Param({"0", "50"})
+    public int escapedPercent;
+
+    /**
+     * The experiment containing the job configuration.
+     */
+    private JSONObject experiment;
+
+    /**
+     * The experiment with its job configuration escaped, as it's stored in the OSM.
+     */
+    private String escapedExperiment;
+
+    /**
+     * Builds the experiment.
+     */
+    @Setup
+    public void setUp() {
+        JSONObject config = new JSONObject();
+        for (int i = 0; i < keys; i++) {
+            String key = i % 100 < escapedPercent ? "step " + i + "_prop.v1&v2" : "step " + i + "_prop";
+            config.put(key, "value " + i);
+        }
+        experiment = new JSONObject();
+        experiment.put("name", "benchmark");
+        experiment.put("config", config);
+        escapedExperiment = JobConfigCodec.escapeJobConfig(experiment).toString();
+    }
+
+    /**
+     * @return the escaped experiment.
+     */
+    @Benchmark
+    public JSONObject escapeJobConfig() {
+        return JobConfigCodec.escapeJobConfig(experiment);
+    }
+
+    /**
+     * The original implementation, which copied the experiment by serializing and parsing it and matched each key
+     * against a regular expression, kept for comparison.
+     *
+     * @return the escaped experiment.
+     */
+    @Benchmark
+    public JSONObject escapeJobConfigByReparsing() {
+        JSONObject result = JSONObject.fromObject(experiment.toString());
+        result.put("config", JobConfigUtils.escapeJsonKeys(experiment.getJSONObject("config")));
+        return result;
+    }
+
+    /**
+     * @param state holds a freshly parsed copy of the escaped experiment for each invocation.
+     * @return the unescaped experiment.
+     */
+    @Benchmark
+    public JSONObject unescapeJobConfig(StoredExperiment state) {
+        return JobConfigCodec.unescapeJobConfig(state.experiment);
+    }
+
+    /**
+     * A freshly parsed copy of the escaped experiment, because unescaping modifies the experiment in place.
+     */
+    @State(Scope.Thread)
+    public static class StoredExperiment {
+
+        /**
+         * The parsed experiment.
+         */
+        private JSONObject experiment;
+
+        /**
+         * Parses the escaped experiment.
+         *
+         * @param benchmark the benchmark state.
+         */
+        @Setup(Level.Invocation)
+        public void setUp(JobConfigEscapingBenchmark benchmark) {
+            experiment = JSONObject.fromObject(benchmark.escapedExperiment);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.iplantc.workflow.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import net.sf.json.JSONObject;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.experiment.CondorJobRequestFormatter;
+import org.iplantc.workflow.experiment.FapiJobRequestFormatter;
+import org.iplantc.workflow.experiment.IrodsUrlAssembler;
+import org.iplantc.workflow.experiment.MockJobNameUniquenessEnsurer;
+import org.iplantc.workflow.experiment.UrlAssembler;
+import org.iplantc.workflow.user.UserDetails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the Condor and foundational API job request formatters on synthetic apps with varying numbers of steps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JobRequestFormatterBenchmark {
+
+    /**
+     * The number of properties in each step's template.
+     */
+    private static final int PROPERTIES_PER_STEP = 20;
+
+    /**
+     * The number of steps in the app.
+     */
+    @Param({"1", "5", "20"})
+    public int steps;
+
+    /**
+     * The factory used to obtain the mock data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * The experiment to format.
+     */
+    private JSONObject experiment;
+
+    /**
+     * The details of the user submitting the job.
+     */
+    private UserDetails userDetails;
+
+    /**
+     * Used to build iRODS URLs for the Condor formatter.
+     */
+    private UrlAssembler urlAssembler;
+
+    /**
+     * Used to ensure that job names are unique; no job names are registered, so the experiment is never modified.
+     */
+    private MockJobNameUniquenessEnsurer jobNameUniquenessEnsurer;
+
+    /**
+     * Used to format independent steps concurrently.
+     */
+    private ExecutorService stepExecutor;
+
+    /**
+     * A Condor formatter that is shared by every invocation and formats independent steps concurrently.
+     */
+    private CondorJobRequestFormatter sharedCondorFormatter;
+
+    /**
+     * Builds the app and experiment.
+     */
+    @Setup
+    public void setUp() {
+        daoFactory = BenchmarkFixtures.createDaoFactory();
+        TransformationActivity analysis = BenchmarkFixtures.createAnalysis(daoFactory, "app", steps,
+                PROPERTIES_PER_STEP);
+        experiment = BenchmarkFixtures.createExperiment(analysis, daoFactory);
+        userDetails = BenchmarkFixtures.createUserDetails();
+        urlAssembler = new IrodsUrlAssembler();
+        jobNameUniquenessEnsurer = new MockJobNameUniquenessEnsurer();
+        stepExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        sharedCondorFormatter = new CondorJobRequestFormatter(daoFactory, urlAssembler, userDetails);
+        sharedCondorFormatter.setStepExecutor(stepExecutor);
+    }
+
+    /**
+     * Shuts down the step executor.
+     */
+    @TearDown
+    public void tearDown() {
+        stepExecutor.shutdownNow();
+    }
+
+    /**
+     * @return the formatted Condor job request.
+     */
+    @Benchmark
+    public JSONObject condor() {
+        return new CondorJobRequestFormatter(daoFactory, urlAssembler, userDetails, experiment).formatJobRequest();
+    }
+
+    /**
+     * @return the formatted foundational API job request.
+     */
+    @Benchmark
+    public JSONObject fapi() {
+        return new FapiJobRequestFormatter(daoFactory, userDetails, experiment, jobNameUniquenessEnsurer,
+                "/iplant/home").formatJobRequest();
+    }
+
+    /**
+     * @return the Condor job request formatted by a shared formatter that formats independent steps concurrently.
+     */
+    @Benchmark
+    public JSONObject condorConcurrentSteps() {
+        return sharedCondorFormatter.formatJobRequest(experiment);
+    }
+}
@@ -0,0 +1,121 @@
+package org.iplantc.workflow.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.sf.json.JSONArray;
+import net.sf.json.JsonConfig;
+import org.iplantc.workflow.experiment.dto.CamelCapsToUnderscores;
+import org.iplantc.workflow.experiment.dto.JobDto;
+import org.iplantc.workflow.integration.json.TitoDeployedComponentMarshaller;
+import org.iplantc.workflow.util.JsonTreeConverter;
+import org.iplantc.workflow.util.UnitTestUtils;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the conversion of deployed component export payloads from org.json to json-lib and the conversion of job
+ * submission DTOs to JSON, comparing the current implementations with the print-and-parse and bean introspection
+ * approaches that they replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonConversionBenchmark {
+
+    /**
+     * The number of deployed components in the export payload.
+     */
+    @Param({"10", "100", "1000"})
+    public int components;
+
+    /**
+     * The marshalled deployed components.
+     */
+    private List<JSONObject> marshalledComponents;
+
+    /**
+     * The job to convert to JSON.
+     */
+    private JobDto job;
+
+    /**
+     * The configuration used to convert jobs to JSON by bean introspection.
+     */
+    private JsonConfig jobConfig;
+
+    /**
+     * Builds the export payload and the job.
+     */
+    @Setup
+    public void setUp() {
+        TitoDeployedComponentMarshaller marshaller = new TitoDeployedComponentMarshaller();
+        marshalledComponents = new ArrayList<JSONObject>();
+        for (int i = 0; i < components; i++) {
+            String id = "component" + i;
+            marshalledComponents.add(marshaller.toJson(UnitTestUtils.createDeployedComponent(id + " name", id)));
+        }
+
+        job = new JobDto("submit", "condor");
+        job.setName("benchmark job");
+        job.setDescription("a job used for benchmarking");
+        job.setNotify(true);
+        job.setWorkspaceId("42");
+        job.setUsername("someuser");
+        job.setAnalysisId("analysis");
+        job.setAnalysisName("analysis name");
+        job.setOutputDir("/someuser/analyses");
+        job.setCreateOutputSubdir(true);
+
+        jobConfig = new JsonConfig();
+        jobConfig.clearJavaPropertyNameProcessors();
+        jobConfig.registerJsonPropertyNameProcessor(JobDto.class, new CamelCapsToUnderscores());
+    }
+
+    /**
+     * @return the export payload converted by walking the document trees.
+     */
+    @Benchmark
+    public JSONArray exportByTreeConversion() {
+        JSONArray result = new JSONArray();
+        for (JSONObject component : marshalledComponents) {
+            JsonTreeConverter.addToSfJsonArray(result, component);
+        }
+        return result;
+    }
+
+    /**
+     * @return the export payload converted by printing and parsing each component.
+     */
+    @Benchmark
+    public JSONArray exportByReparsing() {
+        JSONArray result = new JSONArray();
+        for (JSONObject component : marshalledComponents) {
+            result.add(net.sf.json.JSONObject.fromObject(component.toString()));
+        }
+        return result;
+    }
+
+    /**
+     * @return the job converted to JSON.
+     */
+    @Benchmark
+    public net.sf.json.JSONObject jobToJson() {
+        return job.toJson();
+    }
+
+    /**
+     * @return the job converted to JSON by bean introspection.
+     */
+    @Benchmark
+    public net.sf.json.JSONObject jobToJsonByIntrospection() {
+        return net.sf.json.JSONObject.fromObject(job, jobConfig);
+    }
+}
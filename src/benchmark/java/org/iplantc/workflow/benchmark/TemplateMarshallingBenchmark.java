@@ -0,0 +1,75 @@
+package org.iplantc.workflow.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.integration.json.TitoTemplateMarshaller;
+import org.iplantc.workflow.integration.json.TitoTemplateUnmarshaller;
+import org.iplantc.workflow.integration.util.NullHeterogeneousRegistry;
+import org.iplantc.workflow.model.Template;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the TITO template marshaller and unmarshaller on templates with varying numbers of properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TemplateMarshallingBenchmark {
+
+    /**
+     * The number of properties in the template.
+     */
+    @Param({"10", "100", "500"})
+    public int properties;
+
+    /**
+     * The factory used to obtain the mock data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * The template to marshal.
+     */
+    private Template template;
+
+    /**
+     * The JSON representation of the template to unmarshal.
+     */
+    private JSONObject json;
+
+    /**
+     * Builds the template and its JSON representation.
+     */
+    @Setup
+    public void setUp() {
+        daoFactory = BenchmarkFixtures.createDaoFactory();
+        template = BenchmarkFixtures.createTemplate(daoFactory, "template", properties);
+        json = new TitoTemplateMarshaller(daoFactory, false).toJson(template);
+    }
+
+    /**
+     * @return the marshalled template.
+     */
+    @Benchmark
+    public JSONObject toJson() {
+        return new TitoTemplateMarshaller(daoFactory, false).toJson(template);
+    }
+
+    /**
+     * @return the unmarshalled template.
+     * @throws JSONException if the JSON is invalid.
+     */
+    @Benchmark
+    public Template fromJson() throws JSONException {
+        return new TitoTemplateUnmarshaller(new NullHeterogeneousRegistry(), daoFactory).fromJson(json);
+    }
+}
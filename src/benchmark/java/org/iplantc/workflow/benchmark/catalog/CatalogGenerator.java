@@ -0,0 +1,357 @@
+package org.iplantc.workflow.benchmark.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Generates TITO import bundles for a synthetic app catalog. The first bundle contains the deployed components and
+ * templates; each subsequent bundle contains a batch of analyses. Every object is given an explicit identifier so that
+ * analyses in later bundles can refer to templates imported by earlier ones.
+ */
+public class CatalogGenerator {
+
+    /**
+     * The number of properties in each property group.
+     */
+    private static final int PROPERTIES_PER_GROUP = 10;
+
+    /**
+     * The e-mail address of the user who integrated every app in the catalog.
+     */
+    public static final String INTEGRATOR_EMAIL = "integrator@example.org";
+
+    /**
+     * Describes the catalog being generated.
+     */
+    private final CatalogSpec spec;
+
+    /**
+     * @param spec describes the catalog to generate.
+     */
+    public CatalogGenerator(CatalogSpec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Generates all of the bundles needed to import the catalog, in the order in which they should be imported.
+     *
+     * @return the list of bundles.
+     * @throws JSONException if a JSON error occurs.
+     */
+    public List<JSONObject> generateBundles() throws JSONException {
+        List<JSONObject> bundles = new ArrayList<JSONObject>();
+        bundles.add(generateComponentsAndTemplates());
+        int batchSize = Math.max(1, spec.getImportBatchSize());
+        for (int first = 0; first < spec.getAnalysisCount(); first += batchSize) {
+            bundles.add(generateAnalyses(first, Math.min(first + batchSize, spec.getAnalysisCount())));
+        }
+        return bundles;
+    }
+
+    /**
+     * Generates the bundle containing the deployed components and templates.
+     *
+     * @return the bundle.
+     * @throws JSONException if a JSON error occurs.
+     */
+    public JSONObject generateComponentsAndTemplates() throws JSONException {
+        JSONArray components = new JSONArray();
+        for (int i = 0; i < spec.getComponentCount(); i++) {
+            components.put(generateComponent(i));
+        }
+        JSONArray templates = new JSONArray();
+        for (int i = 0; i < spec.getTemplateCount(); i++) {
+            templates.put(generateTemplate(i));
+        }
+        JSONObject bundle = new JSONObject();
+        bundle.put("components", components);
+        bundle.put("templates", templates);
+        return bundle;
+    }
+
+    /**
+     * Generates a bundle containing a contiguous range of analyses.
+     *
+     * @param first the index of the first analysis in the bundle.
+     * @param end the index following the last analysis in the bundle.
+     * @return the bundle.
+     * @throws JSONException if a JSON error occurs.
+     */
+    public JSONObject generateAnalyses(int first, int end) throws JSONException {
+        JSONArray analyses = new JSONArray();
+        for (int i = first; i < end; i++) {
+            analyses.put(generateAnalysis(i));
+        }
+        JSONObject bundle = new JSONObject();
+        bundle.put("analyses", analyses);
+        return bundle;
+    }
+
+    /**
+     * Generates a deployed component.
+     *
+     * @param index the index of the component.
+     * @return the JSON representation of the component.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateComponent(int index) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("id", componentId(index));
+        json.put("name", "component" + index);
+        json.put("location", "/usr/local/bin");
+        json.put("type", "executable");
+        json.put("description", "synthetic component " + index);
+        json.put("version", "1.0." + index);
+        json.put("attribution", "synthetic catalog");
+        json.put("implementation", generateImplementation());
+        return json;
+    }
+
+    /**
+     * Generates a template with one input, one output and the configured number of properties.
+     *
+     * @param index the index of the template.
+     * @return the JSON representation of the template.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateTemplate(int index) throws JSONException {
+        String id = templateId(index);
+        JSONObject json = new JSONObject();
+        json.put("id", id);
+        json.put("name", "template" + index);
+        json.put("description", "synthetic template " + index);
+        json.put("type", "synthetic");
+        json.put("component_id", componentId(index % Math.max(1, spec.getComponentCount())));
+        json.put("input", new JSONArray().put(generateDataObject(inputId(index), "-i", "single", 0)));
+        json.put("output", new JSONArray().put(generateDataObject(outputId(index), "-o", "single", 1)));
+        json.put("groups", generatePropertyGroups(id));
+        return json;
+    }
+
+    /**
+     * Generates an input or output data object.
+     *
+     * @param id the data object identifier.
+     * @param option the command-line option.
+     * @param multiplicity the multiplicity name.
+     * @param order the command-line order.
+     * @return the JSON representation of the data object.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateDataObject(String id, String option, String multiplicity, int order)
+            throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("id", id);
+        json.put("name", id);
+        json.put("type", "File");
+        json.put("multiplicity", multiplicity);
+        json.put("order", order);
+        json.put("switch", option);
+        return json;
+    }
+
+    /**
+     * Generates the property groups for a template, splitting the properties into groups of ten.
+     *
+     * @param templateId the template identifier.
+     * @return the JSON array of property groups.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONArray generatePropertyGroups(String templateId) throws JSONException {
+        JSONArray groups = new JSONArray();
+        JSONArray properties = null;
+        for (int i = 0; i < spec.getPropertiesPerTemplate(); i++) {
+            if (i % PROPERTIES_PER_GROUP == 0) {
+                properties = new JSONArray();
+                JSONObject group = new JSONObject();
+                group.put("id", templateId + "_group" + i);
+                group.put("name", "group " + i);
+                group.put("label", "Group " + i);
+                group.put("type", "step");
+                group.put("properties", properties);
+                groups.put(group);
+            }
+            properties.put(generateProperty(templateId + "_prop" + i, i));
+        }
+        return groups;
+    }
+
+    /**
+     * Generates a property. Every third property is a flag, every third property is a number with a validation rule
+     * and the rest are text properties.
+     *
+     * @param id the property identifier.
+     * @param order the command-line order of the property.
+     * @return the JSON representation of the property.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateProperty(String id, int order) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("id", id);
+        json.put("name", "--" + id + " ");
+        json.put("label", id);
+        json.put("description", "synthetic property " + id);
+        json.put("order", order + 2);
+        if (order % 3 == 1) {
+            json.put("type", "Flag");
+            json.put("value", "false");
+        }
+        else if (order % 3 == 2) {
+            json.put("type", "Number");
+            json.put("value", "42");
+            json.put("validator", generateNumberValidator(id));
+        }
+        else {
+            json.put("type", "Text");
+            json.put("value", "value of " + id);
+        }
+        return json;
+    }
+
+    /**
+     * Generates a validator for a numeric property.
+     *
+     * @param propertyId the property identifier.
+     * @return the JSON representation of the validator.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateNumberValidator(String propertyId) throws JSONException {
+        JSONObject rule = new JSONObject();
+        rule.put("IntAbove", new JSONArray().put(0));
+        JSONObject json = new JSONObject();
+        json.put("id", propertyId + "_validator");
+        json.put("name", "");
+        json.put("required", false);
+        json.put("rules", new JSONArray().put(rule));
+        return json;
+    }
+
+    /**
+     * Generates an analysis whose steps are chained together, with the output of each step feeding the input of the
+     * step after it.
+     *
+     * @param index the index of the analysis.
+     * @return the JSON representation of the analysis.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateAnalysis(int index) throws JSONException {
+        int stepCount = Math.max(1, spec.getStepsPerAnalysis());
+        int[] templateIndexes = new int[stepCount];
+        JSONArray steps = new JSONArray();
+        for (int i = 0; i < stepCount; i++) {
+            templateIndexes[i] = (index * stepCount + i) % Math.max(1, spec.getTemplateCount());
+            steps.put(generateStep(index, i, templateIndexes[i]));
+        }
+        JSONArray mappings = new JSONArray();
+        for (int i = 1; i < stepCount; i++) {
+            JSONObject mapping = new JSONObject();
+            mapping.put("source_step", stepName(i - 1));
+            mapping.put("target_step", stepName(i));
+            mapping.put("map", new JSONObject().put(outputId(templateIndexes[i - 1]), inputId(templateIndexes[i])));
+            mappings.put(mapping);
+        }
+        JSONObject json = new JSONObject();
+        json.put("analysis_id", analysisId(index));
+        json.put("analysis_name", "analysis" + index);
+        json.put("description", "synthetic analysis " + index);
+        json.put("type", "synthetic");
+        json.put("full_username", INTEGRATOR_EMAIL);
+        json.put("implementation", generateImplementation());
+        json.put("steps", steps);
+        json.put("mappings", mappings);
+        return json;
+    }
+
+    /**
+     * Generates an analysis step.
+     *
+     * @param analysisIndex the index of the analysis.
+     * @param stepIndex the index of the step within the analysis.
+     * @param templateIndex the index of the template used by the step.
+     * @return the JSON representation of the step.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateStep(int analysisIndex, int stepIndex, int templateIndex) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("id", analysisId(analysisIndex) + "_step" + stepIndex);
+        json.put("name", stepName(stepIndex));
+        json.put("description", "step " + stepIndex + " of analysis " + analysisIndex);
+        json.put("template_id", templateId(templateIndex));
+        json.put("config", new JSONObject());
+        return json;
+    }
+
+    /**
+     * Generates the implementation details shared by every component and analysis in the catalog.
+     *
+     * @return the JSON representation of the implementation details.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject generateImplementation() throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("implementor", "Synthetic Integrator");
+        json.put("implementor_email", INTEGRATOR_EMAIL);
+        json.put("test", new JSONObject().put("input_files", new JSONArray()).put("output_files", new JSONArray()));
+        return json;
+    }
+
+    /**
+     * @param index the index of the step.
+     * @return the name of the step.
+     */
+    private static String stepName(int index) {
+        return "step" + index;
+    }
+
+    /**
+     * @param index the index of the component.
+     * @return the identifier of the component.
+     */
+    public static String componentId(int index) {
+        return "synthetic_component_" + index;
+    }
+
+    /**
+     * @param index the index of the template.
+     * @return the identifier of the template.
+     */
+    public static String templateId(int index) {
+        return "synthetic_template_" + index;
+    }
+
+    /**
+     * @param index the index of the analysis.
+     * @return the identifier of the analysis.
+     */
+    public static String analysisId(int index) {
+        return "synthetic_analysis_" + index;
+    }
+
+    /**
+     * @param index the index of the user.
+     * @return the username of the user.
+     */
+    public static String username(int index) {
+        return "user" + index + "@example.org";
+    }
+
+    /**
+     * @param templateIndex the index of the template.
+     * @return the identifier of the template's input.
+     */
+    private static String inputId(int templateIndex) {
+        return templateId(templateIndex) + "_input";
+    }
+
+    /**
+     * @param templateIndex the index of the template.
+     * @return the identifier of the template's output.
+     */
+    private static String outputId(int templateIndex) {
+        return templateId(templateIndex) + "_output";
+    }
+}
@@ -0,0 +1,379 @@
+package org.iplantc.workflow.benchmark.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import net.sf.json.JSONObject;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.iplantc.hibernate.util.HibernateUtil;
+import org.iplantc.hibernate.util.SessionTask;
+import org.iplantc.hibernate.util.SessionTaskWrapper;
+import org.iplantc.workflow.benchmark.BenchmarkFixtures;
+import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.experiment.CondorJobRequestFormatter;
+import org.iplantc.workflow.experiment.IrodsUrlAssembler;
+import org.iplantc.workflow.experiment.UrlAssembler;
+import org.iplantc.workflow.service.AnalysisCategorizationService;
+import org.iplantc.workflow.service.AnalysisListingService;
+import org.iplantc.workflow.service.RatingService;
+import org.iplantc.workflow.service.UiAnalysisService;
+import org.iplantc.workflow.service.UserService;
+import org.iplantc.workflow.service.WorkflowImportService;
+import org.iplantc.workflow.service.dto.FavoriteUpdateRequest;
+import org.iplantc.workflow.user.UserDetails;
+import org.iplantc.workflow.util.DatabaseInitializer;
+
+/**
+ * Loads a synthetic catalog into the HSQLDB test database and drives a concurrent mix of service calls against it.
+ * Settings are passed as name=value arguments, for example:
+ *
+ * <pre>
+ * <code>
+ * CatalogLoadHarness analyses=2000 users=200 threads=16 duration=60000 \
+ *     mix=listAnalysisGroups:20,listAnalysesInGroup:30,getAnalysis:30,rateAnalysis:5,updateFavorite:5,formatJob:10
+ * </code>
+ * </pre>
+ *
+ * The recognized settings are components, templates, properties, analyses, steps, users, depth, fanout, favorites,
+ * ratings, batch, seed, threads, warmup, duration and mix. Operations omitted from the mix are not called.
+ */
+public class CatalogLoadHarness {
+
+    /**
+     * The operation mix used when none is specified.
+     */
+    private static final String DEFAULT_MIX =
+            "listAnalysisGroups:20,listAnalysesInGroup:30,getAnalysis:30,rateAnalysis:5,updateFavorite:5,formatJob:10";
+
+    /**
+     * The index of the development analysis group in each user's workspace.
+     */
+    private static final int DEV_ANALYSIS_GROUP_INDEX = 0;
+
+    /**
+     * The index of the favorites analysis group in each user's workspace.
+     */
+    private static final int FAVORITES_ANALYSIS_GROUP_INDEX = 1;
+
+    /**
+     * The settings.
+     */
+    private final Properties settings;
+
+    /**
+     * The description of the catalog.
+     */
+    private final CatalogSpec spec;
+
+    /**
+     * The database session factory.
+     */
+    private SessionFactory sessionFactory;
+
+    /**
+     * Selects the current user for each thread.
+     */
+    private ThreadLocalWorkspaceInitializer workspaceInitializer;
+
+    /**
+     * The services called while loading the catalog and by the load driver.
+     */
+    private UserService userService;
+    private WorkflowImportService workflowImportService;
+    private AnalysisListingService analysisListingService;
+    private AnalysisCategorizationService analysisCategorizationService;
+    private RatingService ratingService;
+    private UiAnalysisService uiAnalysisService;
+
+    /**
+     * Used to load the catalog and to pick analyses at random.
+     */
+    private CatalogLoader catalogLoader;
+
+    /**
+     * The names of the simulated users.
+     */
+    private final List<String> usernames = new ArrayList<String>();
+
+    /**
+     * @param settings the settings.
+     */
+    public CatalogLoadHarness(Properties settings) {
+        this.settings = settings;
+        this.spec = createSpec(settings);
+    }
+
+    /**
+     * Runs the harness.
+     *
+     * @param args the settings as name=value pairs.
+     * @throws Exception if the catalog can't be loaded or the load driver fails.
+     */
+    public static void main(String[] args) throws Exception {
+        Properties settings = new Properties();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("expected name=value but found: " + arg);
+            }
+            settings.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        DatabaseInitializer databaseInitializer = new DatabaseInitializer();
+        databaseInitializer.initializeDatabase();
+        try {
+            LoadReport report = new CatalogLoadHarness(settings).run(HibernateUtil.getSessionFactory());
+            System.out.println(report);
+            System.out.println(report.toJson().toString(4));
+        }
+        finally {
+            databaseInitializer.deleteDatabase();
+        }
+    }
+
+    /**
+     * Loads the catalog and runs the load driver.
+     *
+     * @param sessionFactory the database session factory.
+     * @return the results of the run.
+     * @throws Exception if the catalog can't be loaded or the load driver fails.
+     */
+    public LoadReport run(SessionFactory sessionFactory) throws Exception {
+        this.sessionFactory = sessionFactory;
+        createServices();
+        catalogLoader = new CatalogLoader(spec, sessionFactory);
+        catalogLoader.setWorkflowImportService(workflowImportService);
+        catalogLoader.setUserService(userService);
+        catalogLoader.setAnalysisCategorizationService(analysisCategorizationService);
+        catalogLoader.setRatingService(ratingService);
+        catalogLoader.load();
+        usernames.addAll(catalogLoader.getWorkspaceIds().keySet());
+        return createLoadDriver().run();
+    }
+
+    /**
+     * Creates the services, wired the same way as in the Discovery Environment except that the current user is
+     * selected by each load driver thread.
+     */
+    private void createServices() {
+        userService = new UserService();
+        userService.setSessionFactory(sessionFactory);
+        userService.setDefaultAnalysisGroups("[\"Applications under development\", \"Favorite Applications\"]");
+        workspaceInitializer = new ThreadLocalWorkspaceInitializer(userService);
+
+        workflowImportService = new WorkflowImportService(sessionFactory, String.valueOf(DEV_ANALYSIS_GROUP_INDEX),
+                String.valueOf(FAVORITES_ANALYSIS_GROUP_INDEX), workspaceInitializer);
+
+        analysisListingService = new AnalysisListingService();
+        analysisListingService.setSessionFactory(sessionFactory);
+        analysisListingService.setFavoritesAnalysisGroupIndex(FAVORITES_ANALYSIS_GROUP_INDEX);
+        analysisListingService.setWorkspaceInitializer(workspaceInitializer);
+
+        analysisCategorizationService = new AnalysisCategorizationService();
+        analysisCategorizationService.setSessionFactory(sessionFactory);
+        analysisCategorizationService.setDevAnalysisGroupIndex(DEV_ANALYSIS_GROUP_INDEX);
+        analysisCategorizationService.setFavoritesAnalysisGroupIndex(FAVORITES_ANALYSIS_GROUP_INDEX);
+        analysisCategorizationService.setWorkspaceInitializer(workspaceInitializer);
+
+        ratingService = new RatingService();
+        ratingService.setSessionFactory(sessionFactory);
+
+        uiAnalysisService = new UiAnalysisService();
+        uiAnalysisService.setSessionFactory(sessionFactory);
+    }
+
+    /**
+     * Creates the load driver and adds the operations in the configured mix.
+     *
+     * @return the load driver.
+     */
+    private LoadDriver createLoadDriver() {
+        LoadDriver driver = new LoadDriver();
+        driver.setThreadCount(getInt(settings, "threads", 4));
+        driver.setWarmupMillis(getInt(settings, "warmup", 5000));
+        driver.setDurationMillis(getInt(settings, "duration", 30000));
+        driver.setSeed(spec.getSeed());
+        for (String entry : settings.getProperty("mix", DEFAULT_MIX).split(",")) {
+            String[] fields = entry.trim().split(":");
+            if (fields.length != 2) {
+                throw new IllegalArgumentException("expected operation:weight but found: " + entry);
+            }
+            driver.addOperation(fields[0], Integer.parseInt(fields[1]), createOperation(fields[0]));
+        }
+        return driver;
+    }
+
+    /**
+     * Creates the operation with the given name.
+     *
+     * @param name the name of the operation.
+     * @return the operation.
+     * @throws IllegalArgumentException if the operation name isn't recognized.
+     */
+    private LoadDriver.Operation createOperation(String name) {
+        if (name.equals("listAnalysisGroups")) {
+            return new UserOperation() {
+                @Override
+                protected void execute(String username, Random random) {
+                    analysisListingService.listAnalysisGroups(username);
+                }
+            };
+        }
+        else if (name.equals("listAnalysesInGroup")) {
+            return new UserOperation() {
+                @Override
+                protected void execute(String username, Random random) {
+                    List<String> groupIds = catalogLoader.getPublicGroupIds();
+                    analysisListingService.listAnalysesInGroup(groupIds.get(random.nextInt(groupIds.size())));
+                }
+            };
+        }
+        else if (name.equals("getAnalysis")) {
+            return new UserOperation() {
+                @Override
+                protected void execute(String username, Random random) {
+                    uiAnalysisService.getAnalysis(catalogLoader.randomAnalysisId(random));
+                }
+            };
+        }
+        else if (name.equals("rateAnalysis")) {
+            return new UserOperation() {
+                @Override
+                protected void execute(String username, Random random) throws Exception {
+                    String analysisId = catalogLoader.randomAnalysisId(random);
+                    ratingService.rateAnalysis(CatalogLoader.ratingRequest(username, analysisId, random));
+                }
+            };
+        }
+        else if (name.equals("updateFavorite")) {
+            return new UserOperation() {
+                @Override
+                protected void execute(String username, Random random) {
+                    long workspaceId = catalogLoader.getWorkspaceIds().get(username);
+                    String analysisId = catalogLoader.randomAnalysisId(random);
+                    FavoriteUpdateRequest request =
+                            new FavoriteUpdateRequest(workspaceId, analysisId, random.nextBoolean());
+                    analysisCategorizationService.updateFavorite(request.toString());
+                }
+            };
+        }
+        else if (name.equals("formatJob")) {
+            return new JobFormattingOperation();
+        }
+        throw new IllegalArgumentException("unknown operation: " + name);
+    }
+
+    /**
+     * An operation performed on behalf of a randomly selected user.
+     */
+    private abstract class UserOperation implements LoadDriver.Operation {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void execute(Random random) throws Exception {
+            String username = usernames.get(random.nextInt(usernames.size()));
+            workspaceInitializer.setCurrentUser(username);
+            execute(username, random);
+        }
+
+        /**
+         * Performs the operation.
+         *
+         * @param username the name of the selected user.
+         * @param random the random number generator belonging to the calling thread.
+         * @throws Exception if the operation fails.
+         */
+        protected abstract void execute(String username, Random random) throws Exception;
+    }
+
+    /**
+     * Formats a Condor job request for a randomly selected analysis, using the default value of every property.
+     */
+    private class JobFormattingOperation implements LoadDriver.Operation {
+
+        /**
+         * The details of the user submitting the job.
+         */
+        private final UserDetails userDetails = BenchmarkFixtures.createUserDetails();
+
+        /**
+         * Used to build iRODS URLs.
+         */
+        private final UrlAssembler urlAssembler = new IrodsUrlAssembler();
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void execute(Random random) {
+            final JSONObject experiment = createExperiment(catalogLoader.randomAnalysisId(random));
+            new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<JSONObject>() {
+                @Override
+                public JSONObject perform(Session session) {
+                    HibernateDaoFactory daoFactory = new HibernateDaoFactory(session);
+                    return new CondorJobRequestFormatter(daoFactory, urlAssembler, userDetails, experiment)
+                            .formatJobRequest();
+                }
+            });
+        }
+
+        /**
+         * Creates an experiment that uses the default value of every property in the analysis.
+         *
+         * @param analysisId the analysis identifier.
+         * @return the experiment.
+         */
+        private JSONObject createExperiment(String analysisId) {
+            JSONObject json = new JSONObject();
+            json.put("name", "load");
+            json.put("description", "load test job");
+            json.put("notify", false);
+            json.put("workspace_id", "1");
+            json.put("analysis_id", analysisId);
+            json.put("outputDirectory", "/iplant/home/someuser/analyses");
+            json.put("config", new JSONObject());
+            return json;
+        }
+    }
+
+    /**
+     * Builds the catalog description from the settings.
+     *
+     * @param settings the settings.
+     * @return the catalog description.
+     */
+    private static CatalogSpec createSpec(Properties settings) {
+        CatalogSpec spec = new CatalogSpec();
+        spec.setComponentCount(getInt(settings, "components", spec.getComponentCount()));
+        spec.setTemplateCount(getInt(settings, "templates", spec.getTemplateCount()));
+        spec.setPropertiesPerTemplate(getInt(settings, "properties", spec.getPropertiesPerTemplate()));
+        spec.setAnalysisCount(getInt(settings, "analyses", spec.getAnalysisCount()));
+        spec.setStepsPerAnalysis(getInt(settings, "steps", spec.getStepsPerAnalysis()));
+        spec.setUserCount(getInt(settings, "users", spec.getUserCount()));
+        spec.setGroupDepth(getInt(settings, "depth", spec.getGroupDepth()));
+        spec.setGroupFanout(getInt(settings, "fanout", spec.getGroupFanout()));
+        spec.setFavoritesPerUser(getInt(settings, "favorites", spec.getFavoritesPerUser()));
+        spec.setRatingsPerUser(getInt(settings, "ratings", spec.getRatingsPerUser()));
+        spec.setImportBatchSize(getInt(settings, "batch", spec.getImportBatchSize()));
+        spec.setSeed(getInt(settings, "seed", (int) spec.getSeed()));
+        return spec;
+    }
+
+    /**
+     * Gets an integer setting.
+     *
+     * @param settings the settings.
+     * @param name the name of the setting.
+     * @param defaultValue the value to use if the setting isn't specified.
+     * @return the value of the setting.
+     */
+    private static int getInt(Properties settings, String name, int defaultValue) {
+        String value = settings.getProperty(name);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+}
@@ -0,0 +1,348 @@
+package org.iplantc.workflow.benchmark.catalog;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.iplantc.hibernate.util.SessionTask;
+import org.iplantc.hibernate.util.SessionTaskWrapper;
+import org.iplantc.persistence.dto.user.User;
+import org.iplantc.persistence.dto.workspace.Workspace;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.service.AnalysisCategorizationService;
+import org.iplantc.workflow.service.RatingService;
+import org.iplantc.workflow.service.UserService;
+import org.iplantc.workflow.service.WorkflowImportService;
+import org.iplantc.workflow.service.dto.FavoriteUpdateRequest;
+import org.iplantc.workflow.template.groups.TemplateGroup;
+import org.iplantc.workflow.util.UnitTestUtils;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Loads a synthetic app catalog into a database. Reference data and the public analysis group hierarchy are written
+ * directly; components, templates and analyses are imported through the {@link WorkflowImportService}; and user
+ * workspaces, favorites and ratings are created through the same services that the Discovery Environment uses.
+ */
+public class CatalogLoader {
+
+    private static final Logger LOG = Logger.getLogger(CatalogLoader.class);
+
+    /**
+     * The name of the user that owns the public workspace.
+     */
+    public static final String PUBLIC_USERNAME = "public@example.org";
+
+    /**
+     * The property types referenced by the generated templates.
+     */
+    private static final String[] PROPERTY_TYPE_NAMES = {"Text", "Number", "Flag", "Input", "Output"};
+
+    /**
+     * The rule types referenced by the generated templates.
+     */
+    private static final String[] RULE_TYPE_NAMES = {"IntAbove"};
+
+    /**
+     * The info types referenced by the generated templates.
+     */
+    private static final String[] INFO_TYPE_NAMES = {"File"};
+
+    /**
+     * The data formats referenced by the generated templates.
+     */
+    private static final String[] DATA_FORMAT_NAMES = {"Unspecified"};
+
+    /**
+     * Describes the catalog being loaded.
+     */
+    private final CatalogSpec spec;
+
+    /**
+     * The database session factory.
+     */
+    private final SessionFactory sessionFactory;
+
+    /**
+     * Used to import the generated bundles.
+     */
+    private WorkflowImportService workflowImportService;
+
+    /**
+     * Used to create user workspaces.
+     */
+    private UserService userService;
+
+    /**
+     * Used to mark analyses as favorites.
+     */
+    private AnalysisCategorizationService analysisCategorizationService;
+
+    /**
+     * Used to rate analyses.
+     */
+    private RatingService ratingService;
+
+    /**
+     * The workspace identifier of each user, in the order in which the users were created.
+     */
+    private final Map<String, Long> workspaceIds = new LinkedHashMap<String, Long>();
+
+    /**
+     * The external identifiers of the public analysis groups.
+     */
+    private final List<String> publicGroupIds = new ArrayList<String>();
+
+    /**
+     * @param spec describes the catalog to load.
+     * @param sessionFactory the database session factory.
+     */
+    public CatalogLoader(CatalogSpec spec, SessionFactory sessionFactory) {
+        this.spec = spec;
+        this.sessionFactory = sessionFactory;
+    }
+
+    /**
+     * @param workflowImportService used to import the generated bundles.
+     */
+    public void setWorkflowImportService(WorkflowImportService workflowImportService) {
+        this.workflowImportService = workflowImportService;
+    }
+
+    /**
+     * @param userService used to create user workspaces.
+     */
+    public void setUserService(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * @param analysisCategorizationService used to mark analyses as favorites.
+     */
+    public void setAnalysisCategorizationService(AnalysisCategorizationService analysisCategorizationService) {
+        this.analysisCategorizationService = analysisCategorizationService;
+    }
+
+    /**
+     * @param ratingService used to rate analyses.
+     */
+    public void setRatingService(RatingService ratingService) {
+        this.ratingService = ratingService;
+    }
+
+    /**
+     * @return the workspace identifier of each user, in the order in which the users were created.
+     */
+    public Map<String, Long> getWorkspaceIds() {
+        return Collections.unmodifiableMap(workspaceIds);
+    }
+
+    /**
+     * @return the external identifiers of the public analysis groups.
+     */
+    public List<String> getPublicGroupIds() {
+        return Collections.unmodifiableList(publicGroupIds);
+    }
+
+    /**
+     * Loads the entire catalog.
+     *
+     * @throws Exception if the catalog can't be loaded.
+     */
+    public void load() throws Exception {
+        long start = System.currentTimeMillis();
+        loadReferenceData();
+        importBundles();
+        createPublicGroups();
+        createUserWorkspaces();
+        addFavoritesAndRatings();
+        LOG.info("loaded catalog in " + (System.currentTimeMillis() - start) + " ms: " + spec);
+    }
+
+    /**
+     * Stores the reference data required to import the generated templates.
+     */
+    public void loadReferenceData() {
+        new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<Void>() {
+            @Override
+            public Void perform(Session session) {
+                DaoFactory daoFactory = new HibernateDaoFactory(session);
+                for (String name : PROPERTY_TYPE_NAMES) {
+                    daoFactory.getPropertyTypeDao().save(UnitTestUtils.createPropertyType(name));
+                }
+                for (String name : RULE_TYPE_NAMES) {
+                    daoFactory.getRuleTypeDao().save(UnitTestUtils.createRuleType(name));
+                }
+                for (String name : INFO_TYPE_NAMES) {
+                    daoFactory.getInfoTypeDao().save(UnitTestUtils.createInfoType(name));
+                }
+                for (String name : DATA_FORMAT_NAMES) {
+                    daoFactory.getDataFormatDao().save(UnitTestUtils.createDataFormat(name));
+                }
+                for (String name : new String[] {"single", "many", "folder", "collection"}) {
+                    daoFactory.getMultiplicityDao().save(UnitTestUtils.createMultiplicity(name));
+                }
+                for (String name : new String[] {"file", "stdout", "stderr"}) {
+                    daoFactory.getDataSourceDao().save(UnitTestUtils.createDataSource(name));
+                }
+                UnitTestUtils.initToolTypeDao(daoFactory.getToolTypeDao());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Generates the catalog bundles and imports them through the workflow import service.
+     *
+     * @throws JSONException if a bundle can't be generated or imported.
+     */
+    public void importBundles() throws JSONException {
+        List<JSONObject> bundles = new CatalogGenerator(spec).generateBundles();
+        for (int i = 0; i < bundles.size(); i++) {
+            workflowImportService.importWorkflow(bundles.get(i).toString());
+            LOG.debug("imported catalog bundle " + (i + 1) + " of " + bundles.size());
+        }
+    }
+
+    /**
+     * Creates a public workspace containing an analysis group hierarchy of the configured depth and fanout, and
+     * distributes the analyses across the leaf groups.
+     */
+    public void createPublicGroups() {
+        new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<Void>() {
+            @Override
+            public Void perform(Session session) {
+                DaoFactory daoFactory = new HibernateDaoFactory(session);
+                Workspace workspace = createPublicWorkspace(daoFactory);
+                List<TemplateGroup> leaves = new ArrayList<TemplateGroup>();
+                TemplateGroup root = createGroup(workspace, "Public Applications", 0, leaves);
+                for (int i = 0; i < spec.getAnalysisCount(); i++) {
+                    String analysisId = CatalogGenerator.analysisId(i);
+                    TransformationActivity analysis = daoFactory.getTransformationActivityDao().findById(analysisId);
+                    if (analysis == null) {
+                        throw new WorkflowException("generated analysis " + analysisId + " was not imported");
+                    }
+                    leaves.get(i % leaves.size()).addTemplate(analysis);
+                }
+                daoFactory.getTemplateGroupDao().save(root);
+                workspace.setRootAnalysisGroupId(root.getHid());
+                daoFactory.getWorkspaceDao().save(workspace);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Creates the public workspace.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @return the workspace.
+     */
+    private Workspace createPublicWorkspace(DaoFactory daoFactory) {
+        User user = new User();
+        user.setUsername(PUBLIC_USERNAME);
+        daoFactory.getUserDao().save(user);
+        Workspace workspace = new Workspace();
+        workspace.setIsPublic(true);
+        workspace.setUser(user);
+        daoFactory.getWorkspaceDao().save(workspace);
+        return workspace;
+    }
+
+    /**
+     * Recursively creates an analysis group and its subgroups.
+     *
+     * @param workspace the workspace that owns the group.
+     * @param name the name of the group.
+     * @param depth the depth of the group beneath the root group.
+     * @param leaves the list of leaf groups, which is updated as leaf groups are created.
+     * @return the group.
+     */
+    private TemplateGroup createGroup(Workspace workspace, String name, int depth, List<TemplateGroup> leaves) {
+        TemplateGroup group = UnitTestUtils.createTemplateGroup(name);
+        group.setDescription("");
+        group.setWorkspaceId(workspace.getId());
+        publicGroupIds.add(group.getId());
+        if (depth >= spec.getGroupDepth()) {
+            leaves.add(group);
+        }
+        else {
+            for (int i = 0; i < Math.max(1, spec.getGroupFanout()); i++) {
+                group.addGroup(createGroup(workspace, name + " " + (i + 1), depth + 1, leaves));
+            }
+        }
+        return group;
+    }
+
+    /**
+     * Creates a workspace for each user.
+     */
+    public void createUserWorkspaces() {
+        for (int i = 0; i < spec.getUserCount(); i++) {
+            final String username = CatalogGenerator.username(i);
+            Long workspaceId = new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<Long>() {
+                @Override
+                public Long perform(Session session) {
+                    return userService.createWorkspace(new HibernateDaoFactory(session), username);
+                }
+            });
+            workspaceIds.put(username, workspaceId);
+        }
+    }
+
+    /**
+     * Marks randomly selected analyses as favorites and rates randomly selected analyses for each user.
+     *
+     * @throws Exception if an analysis can't be rated.
+     */
+    public void addFavoritesAndRatings() throws Exception {
+        Random random = new Random(spec.getSeed());
+        for (Map.Entry<String, Long> entry : workspaceIds.entrySet()) {
+            for (int i = 0; i < spec.getFavoritesPerUser(); i++) {
+                String analysisId = randomAnalysisId(random);
+                FavoriteUpdateRequest request = new FavoriteUpdateRequest(entry.getValue(), analysisId, true);
+                analysisCategorizationService.updateFavorite(request.toString());
+            }
+            for (int i = 0; i < spec.getRatingsPerUser(); i++) {
+                ratingService.rateAnalysis(ratingRequest(entry.getKey(), randomAnalysisId(random), random));
+            }
+        }
+    }
+
+    /**
+     * Selects an analysis at random.
+     *
+     * @param random the random number generator.
+     * @return the identifier of the selected analysis.
+     */
+    public String randomAnalysisId(Random random) {
+        return CatalogGenerator.analysisId(random.nextInt(Math.max(1, spec.getAnalysisCount())));
+    }
+
+    /**
+     * Builds the body of a rating request with a random rating.
+     *
+     * @param username the name of the user rating the analysis.
+     * @param analysisId the identifier of the analysis being rated.
+     * @param random the random number generator.
+     * @return the request body.
+     * @throws JSONException if a JSON error occurs.
+     */
+    public static String ratingRequest(String username, String analysisId, Random random) throws JSONException {
+        JSONObject json = new JSONObject();
+        json.put("user_id", username);
+        json.put("analysis_id", analysisId);
+        json.put("rating", 1 + random.nextInt(5));
+        json.put("comment_id", random.nextInt(1000));
+        return json.toString();
+    }
+}
@@ -0,0 +1,175 @@
+package org.iplantc.workflow.benchmark.catalog;
+
+/**
+ * Describes the size and shape of a synthetic app catalog. The defaults produce a catalog that loads in a few seconds;
+ * production-sized catalogs can be described by increasing the counts.
+ */
+public class CatalogSpec {
+
+    /**
+     * The number of deployed components.
+     */
+    private int componentCount = 10;
+
+    /**
+     * The number of templates. Templates are assigned to components in round-robin order.
+     */
+    private int templateCount = 50;
+
+    /**
+     * The number of properties in each template.
+     */
+    private int propertiesPerTemplate = 20;
+
+    /**
+     * The number of analyses. Steps are assigned to templates in round-robin order.
+     */
+    private int analysisCount = 100;
+
+    /**
+     * The number of steps in each analysis.
+     */
+    private int stepsPerAnalysis = 3;
+
+    /**
+     * The number of users, each of which gets a workspace.
+     */
+    private int userCount = 20;
+
+    /**
+     * The depth of the public analysis group hierarchy beneath its root group.
+     */
+    private int groupDepth = 3;
+
+    /**
+     * The number of subgroups in each non-leaf public analysis group.
+     */
+    private int groupFanout = 3;
+
+    /**
+     * The number of analyses each user marks as a favorite.
+     */
+    private int favoritesPerUser = 5;
+
+    /**
+     * The number of analyses each user rates.
+     */
+    private int ratingsPerUser = 5;
+
+    /**
+     * The number of analyses imported in each workflow import request.
+     */
+    private int importBatchSize = 50;
+
+    /**
+     * The seed used to pick favorites and ratings, so that the same spec always produces the same catalog.
+     */
+    private long seed = 42;
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    public void setComponentCount(int componentCount) {
+        this.componentCount = componentCount;
+    }
+
+    public int getTemplateCount() {
+        return templateCount;
+    }
+
+    public void setTemplateCount(int templateCount) {
+        this.templateCount = templateCount;
+    }
+
+    public int getPropertiesPerTemplate() {
+        return propertiesPerTemplate;
+    }
+
+    public void setPropertiesPerTemplate(int propertiesPerTemplate) {
+        this.propertiesPerTemplate = propertiesPerTemplate;
+    }
+
+    public int getAnalysisCount() {
+        return analysisCount;
+    }
+
+    public void setAnalysisCount(int analysisCount) {
+        this.analysisCount = analysisCount;
+    }
+
+    public int getStepsPerAnalysis() {
+        return stepsPerAnalysis;
+    }
+
+    public void setStepsPerAnalysis(int stepsPerAnalysis) {
+        this.stepsPerAnalysis = stepsPerAnalysis;
+    }
+
+    public int getUserCount() {
+        return userCount;
+    }
+
+    public void setUserCount(int userCount) {
+        this.userCount = userCount;
+    }
+
+    public int getGroupDepth() {
+        return groupDepth;
+    }
+
+    public void setGroupDepth(int groupDepth) {
+        this.groupDepth = groupDepth;
+    }
+
+    public int getGroupFanout() {
+        return groupFanout;
+    }
+
+    public void setGroupFanout(int groupFanout) {
+        this.groupFanout = groupFanout;
+    }
+
+    public int getFavoritesPerUser() {
+        return favoritesPerUser;
+    }
+
+    public void setFavoritesPerUser(int favoritesPerUser) {
+        this.favoritesPerUser = favoritesPerUser;
+    }
+
+    public int getRatingsPerUser() {
+        return ratingsPerUser;
+    }
+
+    public void setRatingsPerUser(int ratingsPerUser) {
+        this.ratingsPerUser = ratingsPerUser;
+    }
+
+    public int getImportBatchSize() {
+        return importBatchSize;
+    }
+
+    public void setImportBatchSize(int importBatchSize) {
+        this.importBatchSize = importBatchSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "components=" + componentCount + ", templates=" + templateCount + ", propertiesPerTemplate="
+                + propertiesPerTemplate + ", analyses=" + analysisCount + ", stepsPerAnalysis=" + stepsPerAnalysis
+                + ", users=" + userCount + ", groupDepth=" + groupDepth + ", groupFanout=" + groupFanout
+                + ", favoritesPerUser=" + favoritesPerUser + ", ratingsPerUser=" + ratingsPerUser;
+    }
+}
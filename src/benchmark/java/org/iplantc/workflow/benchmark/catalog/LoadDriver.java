@@ -0,0 +1,250 @@
+package org.iplantc.workflow.benchmark.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.log4j.Logger;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.Timer;
+
+/**
+ * Drives a weighted mix of operations from a fixed number of threads for a fixed length of time and reports the
+ * throughput and latency of each operation. A warm-up phase runs the same mix before measurement starts so that
+ * caches and the JIT compiler have settled.
+ */
+public class LoadDriver {
+
+    private static final Logger LOG = Logger.getLogger(LoadDriver.class);
+
+    /**
+     * The prefix of the name of the timer used for each operation.
+     */
+    public static final String METRIC_PREFIX = "load.";
+
+    /**
+     * An operation that can be included in the mix.
+     */
+    public interface Operation {
+
+        /**
+         * Performs the operation once.
+         *
+         * @param random the random number generator belonging to the calling thread.
+         * @throws Exception if the operation fails.
+         */
+        public void execute(Random random) throws Exception;
+    }
+
+    /**
+     * The names of the operations in the mix.
+     */
+    private final List<String> names = new ArrayList<String>();
+
+    /**
+     * The operations in the mix.
+     */
+    private final List<Operation> operations = new ArrayList<Operation>();
+
+    /**
+     * The cumulative weight of each operation in the mix.
+     */
+    private final List<Integer> cumulativeWeights = new ArrayList<Integer>();
+
+    /**
+     * The sum of the weights of all operations in the mix.
+     */
+    private int totalWeight = 0;
+
+    /**
+     * The number of threads calling the operations.
+     */
+    private int threadCount = 4;
+
+    /**
+     * The length of the warm-up phase in milliseconds.
+     */
+    private long warmupMillis = 5000;
+
+    /**
+     * The length of the measurement phase in milliseconds.
+     */
+    private long durationMillis = 30000;
+
+    /**
+     * The seed from which each thread's random number generator is derived.
+     */
+    private long seed = 42;
+
+    /**
+     * The registry containing the timer for each operation.
+     */
+    private MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    /**
+     * @param threadCount the number of threads calling the operations.
+     */
+    public void setThreadCount(int threadCount) {
+        this.threadCount = threadCount;
+    }
+
+    /**
+     * @param warmupMillis the length of the warm-up phase in milliseconds.
+     */
+    public void setWarmupMillis(long warmupMillis) {
+        this.warmupMillis = warmupMillis;
+    }
+
+    /**
+     * @param durationMillis the length of the measurement phase in milliseconds.
+     */
+    public void setDurationMillis(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    /**
+     * @param seed the seed from which each thread's random number generator is derived.
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param metricsRegistry the registry in which the timer for each operation is kept.
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    /**
+     * Adds an operation to the mix. Operations with a weight of zero are ignored, which makes it easy to exclude an
+     * operation from the mix on the command line.
+     *
+     * @param name the name of the operation.
+     * @param weight the relative frequency with which the operation is called.
+     * @param operation the operation.
+     */
+    public void addOperation(String name, int weight, Operation operation) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("negative weight for operation " + name + ": " + weight);
+        }
+        if (weight > 0) {
+            totalWeight += weight;
+            names.add(name);
+            operations.add(operation);
+            cumulativeWeights.add(totalWeight);
+        }
+    }
+
+    /**
+     * Runs the warm-up phase followed by the measurement phase.
+     *
+     * @return the results of the measurement phase.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    public LoadReport run() throws InterruptedException {
+        if (totalWeight == 0) {
+            throw new WorkflowException("no operations have been added to the load driver");
+        }
+        if (warmupMillis > 0) {
+            LOG.info("warming up for " + warmupMillis + " ms with " + threadCount + " threads");
+            runPhase(warmupMillis);
+        }
+        for (String name : names) {
+            getTimer(name).reset();
+        }
+        LOG.info("measuring for " + durationMillis + " ms with " + threadCount + " threads");
+        long elapsed = runPhase(durationMillis);
+        return new LoadReport(names, metricsRegistry, METRIC_PREFIX, threadCount, elapsed);
+    }
+
+    /**
+     * Runs the operation mix on every thread until the given length of time has passed.
+     *
+     * @param millis the length of the phase in milliseconds.
+     * @return the actual length of the phase in milliseconds.
+     * @throws InterruptedException if the calling thread is interrupted.
+     */
+    private long runPhase(long millis) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            long start = System.currentTimeMillis();
+            final long deadline = start + millis;
+            List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int i = 0; i < threadCount; i++) {
+                final Random random = new Random(seed + i);
+                futures.add(executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        while (System.currentTimeMillis() < deadline) {
+                            executeRandomOperation(random);
+                        }
+                        return null;
+                    }
+                }));
+            }
+            for (Future<Void> future : futures) {
+                try {
+                    future.get();
+                }
+                catch (ExecutionException e) {
+                    throw new WorkflowException("load driver thread failed", e.getCause());
+                }
+            }
+            return System.currentTimeMillis() - start;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Selects an operation according to the weights, then executes and times it. Failures are counted by the
+     * operation's timer rather than stopping the run.
+     *
+     * @param random the random number generator belonging to the calling thread.
+     */
+    private void executeRandomOperation(Random random) {
+        int index = selectOperation(random.nextInt(totalWeight));
+        Timer.Context context = getTimer(names.get(index)).start();
+        try {
+            operations.get(index).execute(random);
+            context.success();
+        }
+        catch (Exception e) {
+            LOG.debug(names.get(index) + " failed", e);
+        }
+        finally {
+            context.stop();
+        }
+    }
+
+    /**
+     * Finds the operation whose range of cumulative weights contains the given value.
+     *
+     * @param value a value between zero, inclusive, and the total weight, exclusive.
+     * @return the index of the selected operation.
+     */
+    private int selectOperation(int value) {
+        for (int i = 0; i < cumulativeWeights.size(); i++) {
+            if (value < cumulativeWeights.get(i)) {
+                return i;
+            }
+        }
+        return cumulativeWeights.size() - 1;
+    }
+
+    /**
+     * @param name the name of an operation.
+     * @return the timer for the operation.
+     */
+    private Timer getTimer(String name) {
+        return metricsRegistry.timer(METRIC_PREFIX + name);
+    }
+}
@@ -0,0 +1,155 @@
+package org.iplantc.workflow.benchmark.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.iplantc.workflow.metrics.Histogram;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.Timer;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The results of a load driver run: the overall throughput along with the throughput, error count and latency
+ * percentiles of each operation in the mix.
+ */
+public class LoadReport {
+
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    /**
+     * The names of the operations in the mix.
+     */
+    private final List<String> names;
+
+    /**
+     * The registry containing the timer for each operation.
+     */
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * The prefix of the name of the timer used for each operation.
+     */
+    private final String metricPrefix;
+
+    /**
+     * The number of threads calling the operations.
+     */
+    private final int threadCount;
+
+    /**
+     * The length of the measurement phase in milliseconds.
+     */
+    private final long elapsedMillis;
+
+    /**
+     * @param names the names of the operations in the mix.
+     * @param metricsRegistry the registry containing the timer for each operation.
+     * @param metricPrefix the prefix of the name of the timer used for each operation.
+     * @param threadCount the number of threads calling the operations.
+     * @param elapsedMillis the length of the measurement phase in milliseconds.
+     */
+    public LoadReport(List<String> names, MetricsRegistry metricsRegistry, String metricPrefix, int threadCount,
+            long elapsedMillis) {
+        this.names = new ArrayList<String>(names);
+        this.metricsRegistry = metricsRegistry;
+        this.metricPrefix = metricPrefix;
+        this.threadCount = threadCount;
+        this.elapsedMillis = Math.max(1, elapsedMillis);
+    }
+
+    /**
+     * @return the total number of operations completed during the measurement phase.
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (String name : names) {
+            total += getTimer(name).getCount();
+        }
+        return total;
+    }
+
+    /**
+     * @return the number of operations completed per second across all threads.
+     */
+    public double getThroughput() {
+        return getTotalCount() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * @param name the name of an operation.
+     * @return the number of times the operation completed per second across all threads.
+     */
+    public double getThroughput(String name) {
+        return getTimer(name).getCount() * 1000.0 / elapsedMillis;
+    }
+
+    /**
+     * @param name the name of an operation.
+     * @param percentile the percentile, between 0 and 100.
+     * @return the estimated latency of the operation at the given percentile in milliseconds.
+     */
+    public double getLatencyMillis(String name, double percentile) {
+        return getTimer(name).getLatencies().getPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * @return the report as a JSON object.
+     * @throws JSONException if a JSON error occurs.
+     */
+    public JSONObject toJson() throws JSONException {
+        JSONObject operations = new JSONObject();
+        for (String name : names) {
+            Timer timer = getTimer(name);
+            Histogram latencies = timer.getLatencies();
+            JSONObject json = new JSONObject();
+            json.put("count", timer.getCount());
+            json.put("errors", timer.getErrorCount());
+            json.put("throughput", getThroughput(name));
+            json.put("p50", latencies.getPercentile(50) / NANOS_PER_MILLI);
+            json.put("p99", latencies.getPercentile(99) / NANOS_PER_MILLI);
+            json.put("max", latencies.getMax() / NANOS_PER_MILLI);
+            operations.put(name, json);
+        }
+        JSONObject result = new JSONObject();
+        result.put("threads", threadCount);
+        result.put("elapsed_ms", elapsedMillis);
+        result.put("count", getTotalCount());
+        result.put("throughput", getThroughput());
+        result.put("operations", operations);
+        return result;
+    }
+
+    /**
+     * Formats the report as a table with one row per operation. Throughput is in operations per second and latencies
+     * are in milliseconds.
+     *
+     * @return the formatted report.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%d threads, %d ms, %d operations, %.1f ops/s%n", threadCount, elapsedMillis,
+                getTotalCount(), getThroughput()));
+        builder.append(String.format("%-24s %10s %8s %10s %10s %10s%n", "operation", "count", "errors", "ops/s",
+                "p50 ms", "p99 ms"));
+        for (String name : names) {
+            Timer timer = getTimer(name);
+            builder.append(String.format("%-24s %10d %8d %10.1f %10.3f %10.3f%n", name, timer.getCount(),
+                    timer.getErrorCount(), getThroughput(name), getLatencyMillis(name, 50),
+                    getLatencyMillis(name, 99)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @param name the name of an operation.
+     * @return the timer for the operation.
+     */
+    private Timer getTimer(String name) {
+        return metricsRegistry.timer(metricPrefix + name);
+    }
+}
@@ -0,0 +1,76 @@
+package org.iplantc.workflow.benchmark.catalog;
+
+import org.iplantc.persistence.dto.workspace.Workspace;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.service.UserService;
+import org.iplantc.workflow.service.WorkspaceInitializer;
+
+/**
+ * A workspace initializer that treats the user selected by the calling thread as the current user. This allows many
+ * simulated users to call the services concurrently without an authenticated session for each one.
+ */
+public class ThreadLocalWorkspaceInitializer implements WorkspaceInitializer {
+
+    /**
+     * The service used to create and look up workspaces.
+     */
+    private final UserService userService;
+
+    /**
+     * The name of the current user for each thread.
+     */
+    private final ThreadLocal<String> currentUser = new ThreadLocal<String>();
+
+    /**
+     * @param userService the service used to create and look up workspaces.
+     */
+    public ThreadLocalWorkspaceInitializer(UserService userService) {
+        this.userService = userService;
+    }
+
+    /**
+     * Selects the current user for the calling thread.
+     *
+     * @param username the name of the user.
+     */
+    public void setCurrentUser(String username) {
+        currentUser.set(username);
+    }
+
+    /**
+     * @return the name of the current user for the calling thread.
+     * @throws WorkflowException if the calling thread hasn't selected a user.
+     */
+    public String getCurrentUser() {
+        String username = currentUser.get();
+        if (username == null) {
+            throw new WorkflowException("no user has been selected for the current thread");
+        }
+        return username;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void initializeWorkspace(DaoFactory daoFactory, String username) {
+        userService.createWorkspace(daoFactory, username);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Workspace getWorkspace(DaoFactory daoFactory) {
+        return userService.getOrCreateWorkspaceForUsername(daoFactory, getCurrentUser());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Workspace getWorkspace(DaoFactory daoFactory, String username) {
+        return userService.getOrCreateWorkspaceForUsername(daoFactory, username);
+    }
+}
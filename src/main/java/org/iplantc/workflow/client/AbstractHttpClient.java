@@ -1,17 +1,26 @@
 package org.iplantc.workflow.client;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URLEncoder;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
 import net.sf.json.JSON;
 import net.sf.json.JSONObject;
 import net.sf.json.JSONSerializer;
 import org.apache.commons.httpclient.HttpStatus;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.StringUtils;
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpDelete;
@@ -20,11 +29,12 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpPut;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.DefaultHttpClient;
 import org.apache.http.params.CoreConnectionPNames;
 import org.apache.log4j.Logger;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.Timer;
 
 /**
  * An abstract base class for HTTP clients that expect JSON responses.
@@ -53,6 +63,22 @@ public class AbstractHttpClient {
      */
     private static final String DEFAULT_ENCODING = "UTF-8";
 
+    /**
+     * The maximum number of characters of an error response body that are included in exception messages by default.
+     */
+    protected static final int DEFAULT_MAX_ERROR_BODY_LENGTH = 4096;
+
+    /**
+     * The prefix used for the names of the metrics recorded by the client.
+     */
+    private static final String METRIC_PREFIX = "http.client.";
+
+    /**
+     * Matches path segments that identify individual resources, which are collapsed in endpoint names.
+     */
+    private static final Pattern ID_SEGMENT
+            = Pattern.compile("\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|.*@.*");
+
     /**
      * The base URL used to connect to the server.
      */
@@ -68,6 +94,26 @@ public class AbstractHttpClient {
      */
     protected String encoding = DEFAULT_ENCODING;
 
+    /**
+     * True if request bodies should be compressed using gzip.
+     */
+    protected boolean compressRequests = false;
+
+    /**
+     * True if the server should be told that compressed responses are accepted.
+     */
+    protected boolean acceptCompressedResponses = true;
+
+    /**
+     * The maximum number of characters of an error response body that are read and included in exception messages.
+     */
+    protected int maxErrorBodyLength = DEFAULT_MAX_ERROR_BODY_LENGTH;
+
+    /**
+     * The registry in which request latencies and response status codes are recorded.
+     */
+    private MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+
     /**
      * @param baseUrl the new base URL.
      */
@@ -110,6 +156,58 @@ public class AbstractHttpClient {
         return encoding;
     }
 
+    /**
+     * Determines whether request bodies are compressed. This is disabled by default because the server has to be able
+     * to decode gzip-encoded requests.
+     *
+     * @param compressRequests true if request bodies should be compressed using gzip.
+     */
+    public void setCompressRequests(boolean compressRequests) {
+        this.compressRequests = compressRequests;
+    }
+
+    /**
+     * @return true if request bodies are compressed using gzip.
+     */
+    public boolean isCompressRequests() {
+        return compressRequests;
+    }
+
+    /**
+     * @param acceptCompressedResponses true if the server should be told that compressed responses are accepted.
+     */
+    public void setAcceptCompressedResponses(boolean acceptCompressedResponses) {
+        this.acceptCompressedResponses = acceptCompressedResponses;
+    }
+
+    /**
+     * @return true if the server is told that compressed responses are accepted.
+     */
+    public boolean isAcceptCompressedResponses() {
+        return acceptCompressedResponses;
+    }
+
+    /**
+     * @param maxErrorBodyLength the maximum number of characters of an error response body that are read.
+     */
+    public void setMaxErrorBodyLength(int maxErrorBodyLength) {
+        this.maxErrorBodyLength = maxErrorBodyLength;
+    }
+
+    /**
+     * @return the maximum number of characters of an error response body that are read.
+     */
+    public int getMaxErrorBodyLength() {
+        return maxErrorBodyLength;
+    }
+
+    /**
+     * @param metricsRegistry the registry in which request latencies and response status codes are recorded.
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
     /**
      * Sends a GET request to the server.
      * 
@@ -203,7 +301,6 @@ public class AbstractHttpClient {
      */
     private JSONObject sendEmbodiedRequestWithJsonResponse(HttpEntityEnclosingRequestBase request, JSONObject body) {
         logRequest(request, body);
-        request.getMethod();
         HttpClient client = createHttpClient();
         try {
             JSONObject retval = jsonObjectFromString(sendRequestWithBody(client, request, body));
@@ -274,7 +371,7 @@ public class AbstractHttpClient {
     }
 
     /**
-     * Sends a request containing a body to the server.
+     * Sends a request containing a body to the server. The body is serialized directly into the request stream.
      * 
      * @param client the HTTP client to use for the request.
      * @param request the request to send.
@@ -282,13 +379,8 @@ public class AbstractHttpClient {
      * @return the response body.
      */
     private String sendRequestWithBody(HttpClient client, HttpEntityEnclosingRequestBase request, JSONObject body) {
-        try {
-            request.setEntity(new StringEntity(body.toString(), "application/json", encoding));
-            return sendRequest(client, request);
-        }
-        catch (IOException e) {
-            throw new WorkflowException("unable to prepare request", e);
-        }
+        request.setEntity(new JsonEntity(body, encoding, compressRequests));
+        return sendRequest(client, request);
     }
 
     /**
@@ -299,18 +391,132 @@ public class AbstractHttpClient {
      * @return the response body.
      */
     private String sendRequest(HttpClient client, HttpRequestBase request) {
+        String endpoint = getEndpointName(request);
+        Timer.Context context = metricsRegistry.timer(METRIC_PREFIX + endpoint).start();
         try {
+            if (acceptCompressedResponses) {
+                request.setHeader("Accept-Encoding", "gzip");
+            }
             HttpResponse response = client.execute(request);
-            String responseBody = IOUtils.toString(response.getEntity().getContent());
             int responseCode = response.getStatusLine().getStatusCode();
+            metricsRegistry.counter(METRIC_PREFIX + endpoint + " status " + responseCode).increment();
             if (responseCode != HttpStatus.SC_OK) {
-                throw new WorkflowException("server returned " + responseCode + " " + responseBody);
+                String errorBody = readErrorBody(request, response.getEntity());
+                throw new WorkflowException("server returned " + responseCode + " " + errorBody);
             }
+            String responseBody = readBody(response.getEntity());
+            context.success();
             return responseBody;
         }
         catch (IOException e) {
             throw new WorkflowException("request failed", e);
         }
+        finally {
+            context.stop();
+        }
+    }
+
+    /**
+     * Reads a response body, decompressing it if necessary.
+     * 
+     * @param entity the response entity, which may be null.
+     * @return the response body.
+     * @throws IOException if the response body can't be read.
+     */
+    private String readBody(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return "";
+        }
+        Reader reader = openReader(entity);
+        try {
+            return IOUtils.toString(reader);
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads at most the configured maximum number of characters from an error response body. The request is aborted
+     * rather than reading the rest of a long error response, so the connection isn't reused.
+     * 
+     * @param request the request.
+     * @param entity the response entity, which may be null.
+     * @return the beginning of the response body.
+     * @throws IOException if the response body can't be read.
+     */
+    private String readErrorBody(HttpRequestBase request, HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return "";
+        }
+        Reader reader = openReader(entity);
+        try {
+            char[] buffer = new char[Math.max(0, maxErrorBodyLength)];
+            int length = 0;
+            int count = 0;
+            while (length < buffer.length && (count = reader.read(buffer, length, buffer.length - length)) >= 0) {
+                length += count;
+            }
+            boolean truncated = length == buffer.length && reader.read() >= 0;
+            if (truncated) {
+                request.abort();
+            }
+            return new String(buffer, 0, length) + (truncated ? "..." : "");
+        }
+        finally {
+            IOUtils.closeQuietly(reader);
+        }
+    }
+
+    /**
+     * Opens a reader for a response entity, decompressing the content if the server compressed it.
+     * 
+     * @param entity the response entity.
+     * @return the reader.
+     * @throws IOException if the content can't be read.
+     */
+    private Reader openReader(HttpEntity entity) throws IOException {
+        InputStream in = entity.getContent();
+        Header contentEncoding = entity.getContentEncoding();
+        String encodingName = contentEncoding == null ? null : StringUtils.lowerCase(contentEncoding.getValue());
+        if (StringUtils.contains(encodingName, "gzip")) {
+            in = new GZIPInputStream(in);
+        }
+        return new InputStreamReader(in, encoding);
+    }
+
+    /**
+     * Determines the name of the endpoint that a request is being sent to, for use in metric names. The name consists
+     * of the request method followed by the request path relative to the base URL. Path segments that identify
+     * individual resources are replaced with a placeholder so that requests for different resources are grouped
+     * together.
+     * 
+     * @param request the request.
+     * @return the endpoint name.
+     */
+    private String getEndpointName(HttpRequestBase request) {
+        String path = StringUtils.defaultString(request.getURI().getRawPath());
+        String basePath = getBasePath();
+        if (basePath.length() > 1 && path.startsWith(basePath)) {
+            path = path.substring(basePath.length());
+        }
+        StringBuilder builder = new StringBuilder(request.getMethod()).append(' ');
+        for (String segment : StringUtils.split(path, '/')) {
+            builder.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * @return the path component of the base URL or an empty string if the base URL has no path.
+     */
+    private String getBasePath() {
+        try {
+            return StringUtils.defaultString(new URI(StringUtils.defaultString(baseUrl)).getRawPath());
+        }
+        catch (URISyntaxException e) {
+            return "";
+        }
     }
 
     /**
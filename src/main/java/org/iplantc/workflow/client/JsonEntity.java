@@ -0,0 +1,119 @@
+package org.iplantc.workflow.client;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.zip.GZIPOutputStream;
+
+import net.sf.json.JSON;
+
+import org.apache.http.entity.AbstractHttpEntity;
+
+/**
+ * An HTTP entity that serializes a JSON document directly into the request stream, optionally compressing it with
+ * gzip. The document is never converted to a string or byte array before it's sent, so large request bodies don't
+ * need to be held in memory more than once. The content length isn't known in advance, so the entity is sent using
+ * chunked transfer encoding.
+ */
+public class JsonEntity extends AbstractHttpEntity {
+
+    /**
+     * The size of the buffer used when writing the document.
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The JSON document.
+     */
+    private final JSON json;
+
+    /**
+     * The character encoding used to serialize the document.
+     */
+    private final String encoding;
+
+    /**
+     * True if the document should be compressed.
+     */
+    private final boolean gzip;
+
+    /**
+     * @param json the JSON document.
+     * @param encoding the character encoding used to serialize the document.
+     * @param gzip true if the document should be compressed.
+     */
+    public JsonEntity(JSON json, String encoding, boolean gzip) {
+        this.json = json;
+        this.encoding = encoding;
+        this.gzip = gzip;
+        setContentType("application/json; charset=" + encoding);
+        setChunked(true);
+        if (gzip) {
+            setContentEncoding("gzip");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isRepeatable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getContentLength() {
+        return -1;
+    }
+
+    /**
+     * Returns the encoded entity content. This is only used if the content has to be read back rather than written
+     * to the request stream, so the content is simply buffered.
+     *
+     * @return an input stream containing the encoded content.
+     * @throws IOException if the content can't be encoded.
+     */
+    @Override
+    public InputStream getContent() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTo(out);
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+
+    /**
+     * Serializes the document to an output stream.
+     *
+     * @param outstream the output stream.
+     * @throws IOException if the document can't be written.
+     */
+    @Override
+    public void writeTo(OutputStream outstream) throws IOException {
+        if (outstream == null) {
+            throw new IllegalArgumentException("output stream may not be null");
+        }
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outstream, BUFFER_SIZE) : null;
+        OutputStream target = gzipStream == null ? outstream : gzipStream;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, encoding), BUFFER_SIZE);
+        json.write(writer);
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isStreaming() {
+        return false;
+    }
+}
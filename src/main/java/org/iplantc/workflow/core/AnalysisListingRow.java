@@ -0,0 +1,238 @@
+package org.iplantc.workflow.core;
+
+import java.util.Date;
+
+import org.iplantc.persistence.dto.listing.JobType;
+
+/**
+ * An immutable row containing the columns of an analysis listing that are needed to list the analysis. Rows are built
+ * directly from projection queries, so listing analyses doesn't load the analysis listing entities or any of their
+ * collections.
+ */
+public class AnalysisListingRow {
+
+    /**
+     * The analysis's internal identifier.
+     */
+    private final long hid;
+
+    /**
+     * The analysis's external identifier.
+     */
+    private final String id;
+
+    /**
+     * The analysis name.
+     */
+    private final String name;
+
+    /**
+     * The analysis description.
+     */
+    private final String description;
+
+    /**
+     * The name of the analysis integrator.
+     */
+    private final String integratorName;
+
+    /**
+     * The e-mail address of the analysis integrator.
+     */
+    private final String integratorEmail;
+
+    /**
+     * The date when the analysis was integrated.
+     */
+    private final Date integrationDate;
+
+    /**
+     * The date when the analysis was last edited.
+     */
+    private final Date editedDate;
+
+    /**
+     * The link to the analysis documentation.
+     */
+    private final String wikiUrl;
+
+    /**
+     * The average rating of the analysis.
+     */
+    private final double averageRating;
+
+    /**
+     * True if the analysis is public.
+     */
+    private final boolean isPublic;
+
+    /**
+     * True if the analysis is deleted.
+     */
+    private final boolean deleted;
+
+    /**
+     * True if the analysis is disabled.
+     */
+    private final boolean disabled;
+
+    /**
+     * The number of steps in the analysis.
+     */
+    private final long stepCount;
+
+    /**
+     * The overall job type of the analysis.
+     */
+    private final JobType overallJobType;
+
+    /**
+     * @param hid the analysis's internal identifier.
+     * @param id the analysis's external identifier.
+     * @param name the analysis name.
+     * @param description the analysis description.
+     * @param integratorName the name of the analysis integrator.
+     * @param integratorEmail the e-mail address of the analysis integrator.
+     * @param integrationDate the date when the analysis was integrated.
+     * @param editedDate the date when the analysis was last edited.
+     * @param wikiUrl the link to the analysis documentation.
+     * @param averageRating the average rating of the analysis.
+     * @param isPublic true if the analysis is public.
+     * @param deleted true if the analysis is deleted.
+     * @param disabled true if the analysis is disabled.
+     * @param stepCount the number of steps in the analysis.
+     * @param overallJobType the overall job type of the analysis.
+     */
+    public AnalysisListingRow(long hid, String id, String name, String description, String integratorName,
+            String integratorEmail, Date integrationDate, Date editedDate, String wikiUrl, double averageRating,
+            boolean isPublic, boolean deleted, boolean disabled, long stepCount, JobType overallJobType) {
+        this.hid = hid;
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.integratorName = integratorName;
+        this.integratorEmail = integratorEmail;
+        this.integrationDate = copyDate(integrationDate);
+        this.editedDate = copyDate(editedDate);
+        this.wikiUrl = wikiUrl;
+        this.averageRating = averageRating;
+        this.isPublic = isPublic;
+        this.deleted = deleted;
+        this.disabled = disabled;
+        this.stepCount = stepCount;
+        this.overallJobType = overallJobType;
+    }
+
+    /**
+     * @param date the date to copy, which may be null.
+     * @return a copy of the date or null if the date is null.
+     */
+    private static Date copyDate(Date date) {
+        return date == null ? null : new Date(date.getTime());
+    }
+
+    /**
+     * @return the analysis's internal identifier.
+     */
+    public long getHid() {
+        return hid;
+    }
+
+    /**
+     * @return the analysis's external identifier.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the analysis name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the analysis description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the name of the analysis integrator.
+     */
+    public String getIntegratorName() {
+        return integratorName;
+    }
+
+    /**
+     * @return the e-mail address of the analysis integrator.
+     */
+    public String getIntegratorEmail() {
+        return integratorEmail;
+    }
+
+    /**
+     * @return the date when the analysis was integrated.
+     */
+    public Date getIntegrationDate() {
+        return copyDate(integrationDate);
+    }
+
+    /**
+     * @return the date when the analysis was last edited.
+     */
+    public Date getEditedDate() {
+        return copyDate(editedDate);
+    }
+
+    /**
+     * @return the link to the analysis documentation.
+     */
+    public String getWikiUrl() {
+        return wikiUrl;
+    }
+
+    /**
+     * @return the average rating of the analysis.
+     */
+    public double getAverageRating() {
+        return averageRating;
+    }
+
+    /**
+     * @return true if the analysis is public.
+     */
+    public boolean isPublic() {
+        return isPublic;
+    }
+
+    /**
+     * @return true if the analysis is deleted.
+     */
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    /**
+     * @return true if the analysis is disabled.
+     */
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    /**
+     * @return the number of steps in the analysis.
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    /**
+     * @return the overall job type of the analysis.
+     */
+    public JobType getOverallJobType() {
+        return overallJobType;
+    }
+}
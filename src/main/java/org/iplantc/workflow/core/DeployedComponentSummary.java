@@ -0,0 +1,147 @@
+package org.iplantc.workflow.core;
+
+import org.iplantc.persistence.dto.components.DeployedComponent;
+import org.iplantc.workflow.WorkflowException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * An immutable summary of a deployed component containing only the columns that are displayed in lists of deployed
+ * components. Summaries are built directly from projection queries, so listing deployed components doesn't load the
+ * implementation details or data files of each component. The complete deployed component is only loaded when it's
+ * requested by identifier.
+ */
+public class DeployedComponentSummary {
+
+    /**
+     * The deployed component identifier.
+     */
+    private final String id;
+
+    /**
+     * The deployed component name.
+     */
+    private final String name;
+
+    /**
+     * The directory containing the deployed component.
+     */
+    private final String location;
+
+    /**
+     * The name of the deployed component's tool type.
+     */
+    private final String type;
+
+    /**
+     * The deployed component description.
+     */
+    private final String description;
+
+    /**
+     * The deployed component version.
+     */
+    private final String version;
+
+    /**
+     * The deployed component attribution.
+     */
+    private final String attribution;
+
+    /**
+     * @param id the deployed component identifier.
+     * @param name the deployed component name.
+     * @param location the directory containing the deployed component.
+     * @param type the name of the deployed component's tool type.
+     * @param description the deployed component description.
+     * @param version the deployed component version.
+     * @param attribution the deployed component attribution.
+     */
+    public DeployedComponentSummary(String id, String name, String location, String type, String description,
+            String version, String attribution) {
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.type = type;
+        this.description = description;
+        this.version = version;
+        this.attribution = attribution;
+    }
+
+    /**
+     * @param component the deployed component to summarize.
+     */
+    public DeployedComponentSummary(DeployedComponent component) {
+        this(component.getId(), component.getName(), component.getLocation(), component.getType(),
+                component.getDescription(), component.getVersion(), component.getAttribution());
+    }
+
+    /**
+     * @return the deployed component identifier.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the deployed component name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the directory containing the deployed component.
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * @return the name of the deployed component's tool type.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * @return the deployed component description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the deployed component version.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the deployed component attribution.
+     */
+    public String getAttribution() {
+        return attribution;
+    }
+
+    /**
+     * @return a JSON object representing the summary.
+     */
+    public JSONObject toJson() {
+        try {
+            JSONObject json = new JSONObject();
+            json.put("id", id);
+            json.put("name", name);
+            json.put("location", location);
+            json.put("type", type);
+            json.put("description", description);
+            json.put("version", version);
+            json.put("attribution", attribution);
+            return json;
+        }
+        catch (JSONException e) {
+            throw new WorkflowException("error producing JSON object", e);
+        }
+    }
+}
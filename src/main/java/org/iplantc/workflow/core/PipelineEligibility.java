@@ -0,0 +1,40 @@
+package org.iplantc.workflow.core;
+
+/**
+ * The stored pipeline eligibility of an analysis.
+ */
+public class PipelineEligibility {
+
+    /**
+     * True if the analysis can be used in a pipeline.
+     */
+    private final boolean eligible;
+
+    /**
+     * The reason the analysis can't be used in a pipeline.
+     */
+    private final String reason;
+
+    /**
+     * @param eligible true if the analysis can be used in a pipeline.
+     * @param reason the reason the analysis can't be used in a pipeline, which is ignored if the analysis is eligible.
+     */
+    public PipelineEligibility(boolean eligible, String reason) {
+        this.eligible = eligible;
+        this.reason = eligible || reason == null ? "" : reason;
+    }
+
+    /**
+     * @return true if the analysis can be used in a pipeline.
+     */
+    public boolean isEligible() {
+        return eligible;
+    }
+
+    /**
+     * @return the reason the analysis can't be used in a pipeline or an empty string if it can.
+     */
+    public String getReason() {
+        return reason;
+    }
+}
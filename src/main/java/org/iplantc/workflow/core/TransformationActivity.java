@@ -67,6 +67,12 @@ public class TransformationActivity implements NamedAndUnique, PipelineCandidate
 
     private Date editedDate;
 
+    private Date lastModified;
+
+    private Boolean pipelineEligible;
+
+    private String pipelineIneligibilityReason;
+
     private Set<String> jobTypeNames;
 
     private boolean disabled;
@@ -357,6 +363,45 @@ public class TransformationActivity implements NamedAndUnique, PipelineCandidate
         this.editedDate = editedDate;
     }
 
+    /**
+     * Gets the time that this analysis was last imported or updated. The modification stamp is used as the version
+     * of the analysis when rendered representations of the analysis are cached.
+     *
+     * @return the last modification date or null if the analysis has never been stamped.
+     */
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Date lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Indicates whether or not this analysis can be used in a pipeline. The flag is computed whenever the analysis is
+     * imported or updated so that listings don't have to validate every analysis they display.
+     *
+     * @return true if the analysis is eligible, false if it isn't, or null if eligibility hasn't been computed yet.
+     */
+    public Boolean getPipelineEligible() {
+        return pipelineEligible;
+    }
+
+    public void setPipelineEligible(Boolean pipelineEligible) {
+        this.pipelineEligible = pipelineEligible;
+    }
+
+    /**
+     * @return the reason this analysis can't be used in a pipeline, or null if it can.
+     */
+    public String getPipelineIneligibilityReason() {
+        return pipelineIneligibilityReason;
+    }
+
+    public void setPipelineIneligibilityReason(String pipelineIneligibilityReason) {
+        this.pipelineIneligibilityReason = pipelineIneligibilityReason;
+    }
+
     /**
      * Gets the Average rating for this TransformationActivity.
      * 
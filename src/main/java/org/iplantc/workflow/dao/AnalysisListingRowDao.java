@@ -0,0 +1,29 @@
+package org.iplantc.workflow.dao;
+
+import java.util.List;
+
+import org.iplantc.workflow.core.AnalysisListingRow;
+
+/**
+ * A data access object used to list analyses without loading the analysis listing entities. Each method returns
+ * immutable rows built directly from a projection query.
+ */
+public interface AnalysisListingRowDao {
+
+    /**
+     * Finds the listing row for a single analysis.
+     *
+     * @param analysisId the analysis identifier.
+     * @return the listing row or null if the analysis doesn't exist.
+     */
+    public AnalysisListingRow findById(String analysisId);
+
+    /**
+     * Finds the listing rows for the active (that is, not deleted) analyses in a template group and all of its
+     * descendants. Each analysis is listed once, even if it appears in more than one of the groups.
+     *
+     * @param groupHid the template group's internal identifier.
+     * @return the listing rows, sorted by analysis name.
+     */
+    public List<AnalysisListingRow> findActiveAnalysesInGroup(long groupHid);
+}
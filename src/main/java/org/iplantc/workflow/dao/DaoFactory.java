@@ -168,4 +168,18 @@ public interface DaoFactory {
      * @return the new data access object.
      */
     public ToolTypeDao getToolTypeDao();
+
+    /**
+     * Creates and returns a data access object used to bootstrap user workspaces.
+     *
+     * @return the new data access object.
+     */
+    public WorkspaceBootstrapDao getWorkspaceBootstrapDao();
+
+    /**
+     * Creates and returns a data access object used to list analyses without loading the analysis listings.
+     *
+     * @return the new data access object.
+     */
+    public AnalysisListingRowDao getAnalysisListingRowDao();
 }
@@ -2,6 +2,7 @@ package org.iplantc.workflow.dao;
 
 import java.util.List;
 import org.iplantc.persistence.dto.components.DeployedComponent;
+import org.iplantc.workflow.core.DeployedComponentSummary;
 
 /**
  * Used to access persistent deployed components.
@@ -34,4 +35,29 @@ public interface DeployedComponentDao extends GenericObjectDao<DeployedComponent
      * @return the list of matching deployed components.
      */
     public List<DeployedComponent> findByLocation(String location);
+
+    /**
+     * Finds a page of the deployed components with the given name and location. Either criterion may be null, in
+     * which case it isn't used to filter the deployed components. The deployed components may be sorted by
+     * {@code id}, {@code name}, {@code location} or {@code version}, and are sorted by name by default.
+     * 
+     * @param name the name to search for or null.
+     * @param location the location to search for or null.
+     * @param paging the offset, limit and sort order of the page.
+     * @return the page of matching deployed components and the total number of matches.
+     * @throws IllegalArgumentException if the requested sort field isn't supported.
+     */
+    public ResultPage<DeployedComponent> findPage(String name, String location, PagingCriteria paging);
+
+    /**
+     * Finds a page of summaries of the deployed components whose names or descriptions contain the given search
+     * term, ignoring case. The search term may contain SQL LIKE wildcards, and all deployed components are matched if
+     * it's null. The summaries may be sorted by the same fields as {@link #findPage}.
+     * 
+     * @param searchTerm the search term or null.
+     * @param paging the offset, limit and sort order of the page.
+     * @return the page of matching deployed component summaries and the total number of matches.
+     * @throws IllegalArgumentException if the requested sort field isn't supported.
+     */
+    public ResultPage<DeployedComponentSummary> findSummaries(String searchTerm, PagingCriteria paging);
 }
@@ -2,6 +2,7 @@ package org.iplantc.workflow.dao;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import org.iplantc.persistence.NamedAndUnique;
 
@@ -42,6 +43,14 @@ public interface GenericObjectDao<T extends NamedAndUnique> {
      */
     public void deleteById(String id);
 
+    /**
+     * Deletes the objects with the given identifiers using set-based statements rather than loading and deleting each
+     * object. Identifiers that don't match any object are ignored.
+     * 
+     * @param ids the identifiers of the objects to delete.
+     */
+    public void deleteByIds(Collection<String> ids);
+
     /**
      * Retrieves all objects.
      * 
@@ -57,6 +66,15 @@ public interface GenericObjectDao<T extends NamedAndUnique> {
      */
     public T findById(String id);
 
+    /**
+     * Retrieves the objects with the given identifiers. Identifiers that don't match any object are omitted from the
+     * result.
+     * 
+     * @param ids the identifiers.
+     * @return the matching objects, keyed by identifier.
+     */
+    public Map<String, T> findByIds(Collection<String> ids);
+
     /**
      * Retrieves the list of objects with the given name.
      * 
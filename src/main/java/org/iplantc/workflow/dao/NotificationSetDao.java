@@ -1,6 +1,8 @@
 package org.iplantc.workflow.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.template.notifications.NotificationSet;
@@ -41,4 +43,20 @@ public interface NotificationSetDao extends GenericObjectDao<NotificationSet> {
      * @param analysisId the analysis identifier.
      */
     public void deleteNotificationSetsForAnalysisId(String analysisId);
+
+    /**
+     * Finds the identifiers of the analyses that have at least one notification set associated with them.
+     * 
+     * @param analysisIds the analysis identifiers to check.
+     * @return the subset of the analysis identifiers that have notification sets.
+     */
+    public Set<String> findAnalysisIdsWithNotificationSets(Collection<String> analysisIds);
+
+    /**
+     * Deletes all of the notification sets associated with any of the given analysis identifiers, along with their
+     * notifications.
+     * 
+     * @param analysisIds the analysis identifiers.
+     */
+    public void deleteNotificationSetsForAnalysisIds(Collection<String> analysisIds);
 }
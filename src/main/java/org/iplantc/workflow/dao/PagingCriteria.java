@@ -0,0 +1,131 @@
+package org.iplantc.workflow.dao;
+
+import java.util.Map;
+
+import net.sf.json.JSONException;
+import net.sf.json.JSONObject;
+
+/**
+ * The offset, limit and sort order used to retrieve a single page of a list of workflow elements. The sort field is
+ * the name used by clients, which each data access object maps to one of its own properties. Requests for fields
+ * that can't be sorted on are rejected rather than ignored so that clients don't silently receive unsorted pages.
+ */
+public class PagingCriteria {
+
+    /**
+     * The criteria used to retrieve every element in the default order.
+     */
+    public static final PagingCriteria ALL = new PagingCriteria(0, null, null, null);
+
+    /**
+     * The index of the first element to retrieve.
+     */
+    private final int offset;
+
+    /**
+     * The maximum number of elements to retrieve or null if the number of elements isn't limited.
+     */
+    private final Integer limit;
+
+    /**
+     * The name of the field to sort by or null if the default order should be used.
+     */
+    private final String sortField;
+
+    /**
+     * True if the elements should be sorted in ascending order.
+     */
+    private final boolean ascending;
+
+    /**
+     * @param offset the index of the first element to retrieve.
+     * @param limit the maximum number of elements to retrieve or null if the number of elements isn't limited.
+     * @param sortField the name of the field to sort by or null if the default order should be used.
+     * @param sortDir the sort direction, either "asc" or "desc", or null for ascending order.
+     * @throws IllegalArgumentException if any of the arguments is invalid.
+     */
+    public PagingCriteria(int offset, Integer limit, String sortField, String sortDir) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("invalid offset: " + offset);
+        }
+        if (limit != null && limit < 1) {
+            throw new IllegalArgumentException("invalid limit: " + limit);
+        }
+        if (sortDir != null && !sortDir.equalsIgnoreCase("asc") && !sortDir.equalsIgnoreCase("desc")) {
+            throw new IllegalArgumentException("invalid sort direction: " + sortDir);
+        }
+        this.offset = offset;
+        this.limit = limit;
+        this.sortField = sortField;
+        this.ascending = sortDir == null || sortDir.equalsIgnoreCase("asc");
+    }
+
+    /**
+     * Extracts the paging criteria from a JSON object using the keys, {@code offset}, {@code limit},
+     * {@code sort_field} and {@code sort_dir}. Keys that are missing from the object take their default values.
+     *
+     * @param json the JSON object.
+     * @return the paging criteria.
+     * @throws IllegalArgumentException if any of the values is invalid.
+     */
+    public static PagingCriteria fromJson(JSONObject json) {
+        try {
+            int offset = json.has("offset") ? json.getInt("offset") : 0;
+            Integer limit = json.has("limit") ? Integer.valueOf(json.getInt("limit")) : null;
+            return new PagingCriteria(offset, limit, json.optString("sort_field", null),
+                    json.optString("sort_dir", null));
+        }
+        catch (JSONException e) {
+            throw new IllegalArgumentException("invalid paging criteria", e);
+        }
+    }
+
+    /**
+     * @return the index of the first element to retrieve.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return the maximum number of elements to retrieve or null if the number of elements isn't limited.
+     */
+    public Integer getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the name of the field to sort by or null if the default order should be used.
+     */
+    public String getSortField() {
+        return sortField;
+    }
+
+    /**
+     * @return true if the elements should be sorted in ascending order.
+     */
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    /**
+     * Builds an order-by clause for a query. The tie breaker is appended unless it's the sort property itself so that
+     * the order of the elements, and therefore the contents of each page, is stable.
+     *
+     * @param sortableProperties the query properties that may be sorted on, keyed by client field name.
+     * @param defaultField the client field name to sort by if no sort field was requested.
+     * @param tieBreaker the unique query property used to order elements with the same sort key.
+     * @return the order-by clause, including the leading space.
+     * @throws IllegalArgumentException if the requested sort field can't be sorted on.
+     */
+    public String orderBy(Map<String, String> sortableProperties, String defaultField, String tieBreaker) {
+        String field = sortField == null ? defaultField : sortField;
+        String property = sortableProperties.get(field);
+        if (property == null) {
+            throw new IllegalArgumentException("unable to sort by field: " + field);
+        }
+        String direction = ascending ? " asc" : " desc";
+        String orderBy = " order by " + property + direction;
+        return property.equals(tieBreaker) ? orderBy : orderBy + ", " + tieBreaker + direction;
+    }
+}
@@ -0,0 +1,46 @@
+package org.iplantc.workflow.dao;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A single page of a list of workflow elements along with the number of elements in the whole list, which clients
+ * need in order to offer navigation between pages.
+ *
+ * @param <T> the type of element in the page.
+ */
+public class ResultPage<T> {
+
+    /**
+     * The elements in this page.
+     */
+    private final List<T> items;
+
+    /**
+     * The number of elements in the whole list.
+     */
+    private final long total;
+
+    /**
+     * @param items the elements in this page.
+     * @param total the number of elements in the whole list.
+     */
+    public ResultPage(List<T> items, long total) {
+        this.items = Collections.unmodifiableList(items);
+        this.total = total;
+    }
+
+    /**
+     * @return the elements in this page.
+     */
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the number of elements in the whole list.
+     */
+    public long getTotal() {
+        return total;
+    }
+}
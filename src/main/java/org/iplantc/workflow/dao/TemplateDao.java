@@ -1,5 +1,6 @@
 package org.iplantc.workflow.dao;
 
+import java.util.Collection;
 import java.util.List;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.model.Template;
@@ -26,4 +27,21 @@ public interface TemplateDao extends GenericObjectDao<Template> {
      * @return the list of associated templates.
      */
     public List<Template> findTemplatesInAnalysis(TransformationActivity analysis);
+
+    /**
+     * Finds the templates that use a deployed component.
+     * 
+     * @param componentId the deployed component identifier.
+     * @return the list of templates.
+     */
+    public List<Template> findTemplatesUsingComponent(String componentId);
+
+    /**
+     * Deletes elements that have been removed from a stored template. Property groups, properties, validators and
+     * rules are shared through lists that don't delete orphaned elements, so elements that are removed from those
+     * lists have to be deleted explicitly.
+     * 
+     * @param elements the property groups, properties, validators, rules or data objects to delete.
+     */
+    public void deleteTemplateElements(Collection<?> elements);
 }
@@ -5,6 +5,7 @@ import java.util.List;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.template.groups.TemplateGroup;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
 
 /**
  * Used to access persistent template groups.
@@ -37,6 +38,26 @@ public interface TemplateGroupDao extends GenericObjectDao<TemplateGroup> {
      * @return the list of transformation activities that contain the analysis.
      */
     public List<TemplateGroup> findTemplateGroupsContainingAnalysis(TransformationActivity analysis);
+
+    /**
+     * Determines whether or not an analysis belongs to any template group outside of the given workspace. If no
+     * workspace is given then every template group counts as being outside of it.
+     * 
+     * @param analysis the analysis to search for.
+     * @param workspaceId the workspace identifier or null if the user doesn't have a workspace.
+     * @return true if at least one template group in another workspace contains the analysis.
+     */
+    public boolean isAnalysisInGroupOutsideWorkspace(TransformationActivity analysis, Long workspaceId);
+
+    /**
+     * Determines whether or not any analysis that uses the given template belongs to a template group outside of the
+     * given workspace. If no workspace is given then every template group counts as being outside of it.
+     * 
+     * @param templateId the template identifier.
+     * @param workspaceId the workspace identifier or null if the user doesn't have a workspace.
+     * @return true if at least one template group in another workspace contains an analysis that uses the template.
+     */
+    public boolean isTemplateInGroupOutsideWorkspace(String templateId, Long workspaceId);
     
     /**
      * Finds all TemplateGroups which contain this group as a subgroup.
@@ -47,4 +68,64 @@ public interface TemplateGroupDao extends GenericObjectDao<TemplateGroup> {
      *  List of groups that contain <code>group</code>.
      */
     public List<TemplateGroup> findTemplateGroupContainingSubgroup(TemplateGroup group);
+
+    /**
+     * Loads the hierarchy beneath a template group, including the number of active analyses in each group and its
+     * descendants, without loading the template group entities.
+     *
+     * @param rootHid the internal identifier of the root of the hierarchy.
+     * @return the root of the hierarchy or null if the template group doesn't exist.
+     */
+    public TemplateGroupNode findHierarchy(long rootHid);
+
+    /**
+     * Counts the active analyses in a template group and all of its descendants. An analysis that appears in more
+     * than one of the groups is counted once for each group.
+     *
+     * @param hid the template group's internal identifier.
+     * @return the number of active analyses.
+     */
+    public int countActiveAnalyses(long hid);
+
+    /**
+     * Determines whether a template group or any of its descendants contains an active analysis.
+     *
+     * @param hid the template group's internal identifier.
+     * @return true if at least one active analysis is found.
+     */
+    public boolean containsActiveAnalyses(long hid);
+
+    /**
+     * Finds the ancestors of a template group.
+     *
+     * @param hid the template group's internal identifier.
+     * @return the internal identifiers of the ancestors, not including the group itself.
+     */
+    public List<Long> findAncestorHids(long hid);
+
+    /**
+     * Finds all template groups that contain an analysis either directly or through one of their subgroups.
+     *
+     * @param analysis the analysis to search for.
+     * @return the internal identifiers of the template groups.
+     */
+    public List<Long> findTemplateGroupHidsContainingAnalysis(TransformationActivity analysis);
+
+    /**
+     * Loads a single template group, including the number of active analyses in the group and its descendants,
+     * without loading the template group entity or its subgroups.
+     *
+     * @param id the template group's external identifier.
+     * @return the template group, without any subgroups, or null if the template group doesn't exist.
+     */
+    public TemplateGroupNode findNodeById(String id);
+
+    /**
+     * Finds one of the subgroups of a template group without loading either group.
+     *
+     * @param parentHid the parent group's internal identifier.
+     * @param index the position of the subgroup in the parent group's list of subgroups.
+     * @return the subgroup's internal identifier or null if the parent group doesn't have a subgroup at that position.
+     */
+    public Long findSubgroupHid(long parentHid, int index);
 }
@@ -1,8 +1,11 @@
 package org.iplantc.workflow.dao;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.core.TransformationActivity;
 
 /**
@@ -35,4 +38,31 @@ public interface TransformationActivityDao extends GenericObjectDao<Transformati
      * @return the analysis or null if a matching analysis isn't found.
      */
     public TransformationActivity findUniqueInstanceByName(String name);
+
+    /**
+     * Gets the version of an analysis. The version is the most recent modification time, in milliseconds, of either
+     * the analysis itself or any of the templates used in its steps. It changes whenever the analysis or one of its
+     * templates is imported, replaced or updated, so it can be used to detect stale rendered copies of the analysis.
+     *
+     * @param analysisId the analysis identifier.
+     * @return the version, zero if nothing has been stamped yet, or null if the analysis doesn't exist.
+     */
+    public Long getVersion(String analysisId);
+
+    /**
+     * Gets the stored pipeline eligibility of several analyses without loading the analyses themselves. Analyses
+     * whose eligibility hasn't been computed yet are omitted from the result.
+     *
+     * @param analysisIds the analysis identifiers.
+     * @return the pipeline eligibility of each analysis, keyed by analysis identifier.
+     */
+    public Map<String, PipelineEligibility> getPipelineEligibility(Collection<String> analysisIds);
+
+    /**
+     * Gets the identifiers of analyses whose pipeline eligibility hasn't been computed yet.
+     *
+     * @param maxResults the maximum number of identifiers to return.
+     * @return the list of analysis identifiers.
+     */
+    public List<String> getIdsWithoutPipelineEligibility(int maxResults);
 }
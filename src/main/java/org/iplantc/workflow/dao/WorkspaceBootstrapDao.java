@@ -0,0 +1,29 @@
+package org.iplantc.workflow.dao;
+
+import org.iplantc.persistence.dto.workspace.Workspace;
+
+/**
+ * A data access object used to create users and their workspaces exactly once, even when several requests for a new
+ * user arrive at the same time.
+ */
+public interface WorkspaceBootstrapDao {
+
+    /**
+     * Finds a user's workspace if the workspace has been fully initialized. This is a read-only lookup that doesn't
+     * acquire any locks, so it's suitable for use on every request.
+     *
+     * @param username the name of the user.
+     * @return the workspace or null if the user doesn't have a workspace with a root analysis group yet.
+     */
+    public Workspace findInitializedWorkspace(String username);
+
+    /**
+     * Prevents other transactions from bootstrapping the same user until the current transaction ends. Once this
+     * method returns, any user or workspace created by a competing transaction is visible to the current transaction,
+     * so a subsequent lookup followed by an insert if nothing was found is safe. Implementations for databases that
+     * have no suitable lock may do nothing, in which case the caller has to serialize bootstrapping itself.
+     *
+     * @param username the name of the user.
+     */
+    public void lockUsername(String username);
+}
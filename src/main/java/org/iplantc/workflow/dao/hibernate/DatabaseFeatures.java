@@ -0,0 +1,74 @@
+package org.iplantc.workflow.dao.hibernate;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.apache.log4j.Logger;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.SessionFactoryImplementor;
+
+/**
+ * Determines which database-specific features are available to the data access objects. The Discovery Environment
+ * database is PostgreSQL, and the schema migrations in src/main/sql/migrations are only applied there. The in-memory
+ * HSQLDB database used for testing and benchmarking is created from the Hibernate mappings alone, so the data access
+ * objects fall back to portable queries when they're used with it. They also fall back to those queries on a
+ * PostgreSQL database to which the migrations haven't been applied yet.
+ */
+public class DatabaseFeatures {
+
+    /**
+     * Used to report missing schema migrations.
+     */
+    private static final Logger LOG = Logger.getLogger(DatabaseFeatures.class);
+
+    /**
+     * Determines whether the template group closure tables created by V001__template_group_closure.sql exist.
+     */
+    private static final String TEMPLATE_GROUP_CLOSURE_QUERY
+            = "SELECT to_regclass('template_group_closure') IS NOT NULL"
+            + " AND to_regclass('template_group_active_count') IS NOT NULL";
+
+    /**
+     * Whether or not the template group closure tables exist, keyed by session factory. The tables are only looked
+     * up once for each session factory, so the application has to be restarted after the migration is applied.
+     */
+    private static final Map<SessionFactory, Boolean> TEMPLATE_GROUP_CLOSURE
+            = Collections.synchronizedMap(new WeakHashMap<SessionFactory, Boolean>());
+
+    // Prevent instantiation.
+    private DatabaseFeatures() {}
+
+    /**
+     * @param session the database session.
+     * @return true if the session is connected to a PostgreSQL database.
+     */
+    public static boolean isPostgreSql(Session session) {
+        return ((SessionFactoryImplementor) session.getSessionFactory()).getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Determines whether the template group closure tables, which are created by a schema migration and maintained by
+     * triggers, are available.
+     *
+     * @param session the database session.
+     * @return true if the session is connected to a PostgreSQL database containing the closure tables.
+     */
+    public static boolean hasTemplateGroupClosure(Session session) {
+        if (!isPostgreSql(session)) {
+            return false;
+        }
+        SessionFactory sessionFactory = session.getSessionFactory();
+        Boolean available = TEMPLATE_GROUP_CLOSURE.get(sessionFactory);
+        if (available == null) {
+            available = Boolean.TRUE.equals(session.createSQLQuery(TEMPLATE_GROUP_CLOSURE_QUERY).uniqueResult());
+            if (!available) {
+                LOG.warn("the template group closure tables are missing; apply the schema migrations in "
+                        + "src/main/sql/migrations to avoid loading template group hierarchies");
+            }
+            TEMPLATE_GROUP_CLOSURE.put(sessionFactory, available);
+        }
+        return available;
+    }
+}
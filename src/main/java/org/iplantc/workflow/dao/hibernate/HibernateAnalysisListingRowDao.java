@@ -0,0 +1,146 @@
+package org.iplantc.workflow.dao.hibernate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.iplantc.persistence.dao.hibernate.listing.HibernateAnalysisGroupDao;
+import org.iplantc.persistence.dao.hibernate.listing.HibernateAnalysisListingDao;
+import org.iplantc.persistence.dto.listing.AnalysisGroup;
+import org.iplantc.persistence.dto.listing.AnalysisListing;
+import org.iplantc.persistence.dto.listing.JobType;
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.dao.AnalysisListingRowDao;
+
+/**
+ * The Hibernate implementation of the analysis listing row data access object. The rows are selected from the
+ * analysis_listing view, and the analyses in a template group are found using the template_group_closure table. Both
+ * are only available in PostgreSQL, so the analysis listing entities are loaded and converted to rows instead when
+ * any other database is used. The entities are also used to list the analyses in a group when the closure table
+ * hasn't been created yet.
+ */
+public class HibernateAnalysisListingRowDao implements AnalysisListingRowDao {
+
+    /**
+     * The columns selected from the analysis_listing view, in the order expected by toRow.
+     */
+    private static final String COLUMNS = "a.hid, a.id, a.name, a.description, a.integrator_name, "
+        + "a.integrator_email, a.integration_date, a.edited_date, a.wikiurl, a.average_rating, a.is_public, "
+        + "a.deleted, a.disabled, a.step_count, a.overall_job_type";
+
+    /**
+     * Sorts rows by analysis name, ignoring case.
+     */
+    private static final Comparator<AnalysisListingRow> NAME_ORDER = new Comparator<AnalysisListingRow>() {
+        @Override
+        public int compare(AnalysisListingRow o1, AnalysisListingRow o2) {
+            int result = String.CASE_INSENSITIVE_ORDER.compare(o1.getName(), o2.getName());
+            return result != 0 ? result : o1.getHid() < o2.getHid() ? -1 : o1.getHid() == o2.getHid() ? 0 : 1;
+        }
+    };
+
+    /**
+     * The database session.
+     */
+    private final Session session;
+
+    /**
+     * @param session the database session.
+     */
+    public HibernateAnalysisListingRowDao(Session session) {
+        this.session = session;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AnalysisListingRow findById(String analysisId) {
+        if (!DatabaseFeatures.isPostgreSql(session)) {
+            AnalysisListing listing = new HibernateAnalysisListingDao(session).findByExternalId(analysisId);
+            return listing == null ? null : toRow(listing);
+        }
+        Query query = session.createSQLQuery("SELECT " + COLUMNS + " FROM analysis_listing a WHERE a.id = :id");
+        query.setString("id", analysisId);
+        query.setMaxResults(1);
+        List<?> results = query.list();
+        return results.isEmpty() ? null : toRow((Object[]) results.get(0));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AnalysisListingRow> findActiveAnalysesInGroup(long groupHid) {
+        if (!DatabaseFeatures.hasTemplateGroupClosure(session)) {
+            return findActiveAnalysesInGroupEntity(groupHid);
+        }
+        String queryString = "SELECT " + COLUMNS + " FROM analysis_listing a "
+            + "WHERE a.hid IN (SELECT m.template_id "
+            + "                FROM template_group_closure t "
+            + "                JOIN template_group_template m ON m.template_group_id = t.descendant_id "
+            + "                WHERE t.ancestor_id = :groupHid) "
+            + "AND NOT a.deleted "
+            + "ORDER BY lower(a.name), a.hid";
+        Query query = session.createSQLQuery(queryString);
+        query.setLong("groupHid", groupHid);
+        List<AnalysisListingRow> rows = new ArrayList<AnalysisListingRow>();
+        for (Object result : query.list()) {
+            rows.add(toRow((Object[]) result));
+        }
+        return rows;
+    }
+
+    /**
+     * Finds the listing rows for the active analyses in a template group by loading the analysis group entity.
+     *
+     * @param groupHid the template group's internal identifier.
+     * @return the listing rows, sorted by analysis name.
+     */
+    private List<AnalysisListingRow> findActiveAnalysesInGroupEntity(long groupHid) {
+        AnalysisGroup group = new HibernateAnalysisGroupDao(session).findById(groupHid);
+        if (group == null) {
+            return new ArrayList<AnalysisListingRow>();
+        }
+        Map<Long, AnalysisListingRow> rows = new LinkedHashMap<Long, AnalysisListingRow>();
+        for (AnalysisListing listing : group.getAllActiveAnalyses()) {
+            rows.put(listing.getHid(), toRow(listing));
+        }
+        List<AnalysisListingRow> result = new ArrayList<AnalysisListingRow>(rows.values());
+        Collections.sort(result, NAME_ORDER);
+        return result;
+    }
+
+    /**
+     * Converts a row returned by a native query to a listing row.
+     *
+     * @param row the columns listed in COLUMNS.
+     * @return the listing row.
+     */
+    private AnalysisListingRow toRow(Object[] row) {
+        return new AnalysisListingRow(((Number) row[0]).longValue(), (String) row[1], (String) row[2],
+                (String) row[3], (String) row[4], (String) row[5], (Date) row[6], (Date) row[7], (String) row[8],
+                row[9] == null ? 0.0 : ((Number) row[9]).doubleValue(), Boolean.TRUE.equals(row[10]),
+                Boolean.TRUE.equals(row[11]), Boolean.TRUE.equals(row[12]), ((Number) row[13]).longValue(),
+                row[14] == null ? null : JobType.fromString((String) row[14]));
+    }
+
+    /**
+     * Converts an analysis listing entity to a listing row.
+     *
+     * @param listing the analysis listing.
+     * @return the listing row.
+     */
+    private AnalysisListingRow toRow(AnalysisListing listing) {
+        return new AnalysisListingRow(listing.getHid(), listing.getId(), listing.getName(), listing.getDescription(),
+                listing.getIntegratorName(), listing.getIntegratorEmail(), listing.getIntegrationDate(),
+                listing.getEditedDate(), listing.getWikiUrl(), listing.getAverageRating(), listing.isPublic(),
+                listing.isDeleted(), listing.isDisabled(), listing.getStepCount(), listing.getOverallJobType());
+    }
+}
@@ -19,6 +19,7 @@ import org.iplantc.persistence.dao.listing.AnalysisListingDao;
 import org.iplantc.persistence.dao.listing.RatingListingDao;
 import org.iplantc.persistence.dao.refgenomes.ReferenceGenomeDao;
 import org.iplantc.persistence.dao.user.UserDao;
+import org.iplantc.workflow.dao.AnalysisListingRowDao;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.DataFormatDao;
 import org.iplantc.workflow.dao.DeployedComponentDao;
@@ -33,6 +34,7 @@ import org.iplantc.workflow.dao.TemplateDao;
 import org.iplantc.workflow.dao.TemplateGroupDao;
 import org.iplantc.workflow.dao.TransformationActivityDao;
 import org.iplantc.workflow.dao.ValueTypeDao;
+import org.iplantc.workflow.dao.WorkspaceBootstrapDao;
 
 /**
  * A factory for generating data access objects.
@@ -230,4 +232,20 @@ public class HibernateDaoFactory implements DaoFactory {
     public ToolTypeDao getToolTypeDao() {
         return new HibernateToolTypeDao(session);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WorkspaceBootstrapDao getWorkspaceBootstrapDao() {
+        return new HibernateWorkspaceBootstrapDao(session);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AnalysisListingRowDao getAnalysisListingRowDao() {
+        return new HibernateAnalysisListingRowDao(session);
+    }
 }
@@ -1,12 +1,19 @@
 package org.iplantc.workflow.dao.hibernate;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.commons.lang.StringUtils;
 import org.hibernate.Query;
 import org.hibernate.Session;
 import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.DeployedComponentSummary;
 import org.iplantc.workflow.dao.DeployedComponentDao;
+import org.iplantc.workflow.dao.PagingCriteria;
+import org.iplantc.workflow.dao.ResultPage;
 
 /**
  * Used to access persistent deployed components in the database.
@@ -16,6 +23,18 @@ import org.iplantc.workflow.dao.DeployedComponentDao;
 public class HibernateDeployedComponentDao extends HibernateGenericObjectDao<DeployedComponent> implements
         DeployedComponentDao {
 
+    /**
+     * The deployed component properties that pages may be sorted by, keyed by client field name.
+     */
+    private static final Map<String, String> SORTABLE_PROPERTIES = new HashMap<String, String>();
+
+    static {
+        SORTABLE_PROPERTIES.put("id", "c.id");
+        SORTABLE_PROPERTIES.put("name", "c.name");
+        SORTABLE_PROPERTIES.put("location", "c.location");
+        SORTABLE_PROPERTIES.put("version", "c.version");
+    }
+
     /**
      * @param session the database session.
      */
@@ -57,4 +76,73 @@ public class HibernateDeployedComponentDao extends HibernateGenericObjectDao<Dep
         query.setString(0, location);
         return (List<DeployedComponent>) query.list();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public ResultPage<DeployedComponent> findPage(String name, String location, PagingCriteria paging) {
+        List<String> conditions = new ArrayList<String>();
+        if (name != null) {
+            conditions.add("c.name = :name");
+        }
+        if (location != null) {
+            conditions.add("c.location = :location");
+        }
+        String where = conditions.isEmpty() ? "" : " where " + StringUtils.join(conditions, " and ");
+        String orderBy = paging.orderBy(SORTABLE_PROPERTIES, "name", "c.id");
+        Query countQuery = getSession().createQuery("select count(c) from DeployedComponent c" + where);
+        Query query = getSession().createQuery("select c from DeployedComponent c" + where + orderBy);
+        for (Query current : new Query[] {countQuery, query}) {
+            if (name != null) {
+                current.setString("name", name);
+            }
+            if (location != null) {
+                current.setString("location", location);
+            }
+        }
+        applyPaging(query, paging);
+        return new ResultPage<DeployedComponent>(query.list(), ((Number) countQuery.uniqueResult()).longValue());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<DeployedComponentSummary> findSummaries(String searchTerm, PagingCriteria paging) {
+        String where = searchTerm == null ? ""
+            : " where lower(c.name) like '%' || lower(:search) || '%'"
+                + " or lower(c.description) like '%' || lower(:search) || '%'";
+        String orderBy = paging.orderBy(SORTABLE_PROPERTIES, "name", "c.id");
+        Query countQuery = getSession().createQuery("select count(c) from DeployedComponent c" + where);
+        Query query = getSession().createQuery("select c.id, c.name, c.location, t.name, c.description, c.version, "
+                + "c.attribution from DeployedComponent c left join c.toolType t" + where + orderBy);
+        if (searchTerm != null) {
+            countQuery.setString("search", searchTerm);
+            query.setString("search", searchTerm);
+        }
+        applyPaging(query, paging);
+        List<DeployedComponentSummary> summaries = new ArrayList<DeployedComponentSummary>();
+        for (Object result : query.list()) {
+            Object[] row = (Object[]) result;
+            summaries.add(new DeployedComponentSummary((String) row[0], (String) row[1], (String) row[2],
+                    (String) row[3], (String) row[4], (String) row[5], (String) row[6]));
+        }
+        return new ResultPage<DeployedComponentSummary>(summaries,
+                ((Number) countQuery.uniqueResult()).longValue());
+    }
+
+    /**
+     * Limits a query to the rows in a single page.
+     * 
+     * @param query the query.
+     * @param paging the offset and limit of the page.
+     */
+    private void applyPaging(Query query, PagingCriteria paging) {
+        query.setFirstResult(paging.getOffset());
+        if (paging.getLimit() != null) {
+            query.setMaxResults(paging.getLimit());
+        }
+    }
 }
@@ -2,11 +2,20 @@ package org.iplantc.workflow.dao.hibernate;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
+import org.hibernate.engine.EntityKey;
+import org.hibernate.engine.PersistenceContext;
+import org.hibernate.engine.SessionImplementor;
 import org.iplantc.persistence.NamedAndUnique;
 import org.iplantc.workflow.dao.GenericObjectDao;
 
@@ -20,6 +29,11 @@ import org.iplantc.workflow.dao.GenericObjectDao;
  */
 public abstract class HibernateGenericObjectDao<T extends NamedAndUnique> implements GenericObjectDao<T> {
 
+    /**
+     * The maximum number of identifiers to include in a single in-list query.
+     */
+    protected static final int MAX_IN_LIST_SIZE = 500;
+
     /**
      * The database session.
      */
@@ -103,6 +117,97 @@ public abstract class HibernateGenericObjectDao<T extends NamedAndUnique> implem
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * The objects are deleted using a single bulk statement per chunk of identifiers, so Hibernate's cascades don't
+     * apply and this implementation is only suitable for objects that don't own any collections or cascaded
+     * associations. Data access objects for other objects override this method to delete the associated rows
+     * explicitly. Pending changes are flushed first, and objects that were already loaded into the session are
+     * evicted so that the session doesn't try to update or delete rows that no longer exist.
+     */
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        session.flush();
+        evictLoadedObjects(ids);
+        for (List<String> chunk : chunk(ids)) {
+            Query query = session.createQuery("delete from " + persistentClass.getSimpleName() + " where id in (:ids)");
+            query.setParameterList("ids", chunk);
+            query.executeUpdate();
+        }
+    }
+
+    /**
+     * Evicts the objects with the given identifiers from the session if they were already loaded. The eviction
+     * cascades to the associated objects in the same way as any other eviction.
+     * 
+     * @param ids the object identifiers.
+     */
+    protected void evictLoadedObjects(Collection<String> ids) {
+        Set<String> idSet = new HashSet<String>(ids);
+        PersistenceContext persistenceContext = ((SessionImplementor) session).getPersistenceContext();
+        for (Object key : new ArrayList<Object>(session.getStatistics().getEntityKeys())) {
+            Object entity = persistenceContext.getEntity((EntityKey) key);
+            if (persistentClass.isInstance(entity) && idSet.contains(persistentClass.cast(entity).getId())) {
+                session.evict(entity);
+            }
+        }
+    }
+
+    /**
+     * Finds internal identifiers using a native query, splitting the values that the query is restricted by into
+     * chunks that are small enough for a single in-list.
+     * 
+     * @param queryString the SQL query, which must select a single numeric column and contain an in-list parameter.
+     * @param parameterName the name of the in-list parameter.
+     * @param values the values to restrict the query by.
+     * @return the internal identifiers.
+     */
+    protected List<Long> findHids(String queryString, String parameterName, Collection<?> values) {
+        List<Long> result = new ArrayList<Long>();
+        for (List<?> chunk : chunk(values)) {
+            Query query = session.createSQLQuery(queryString);
+            query.setParameterList(parameterName, chunk);
+            for (Object hid : query.list()) {
+                result.add(((Number) hid).longValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Executes a native update or delete statement, splitting the values that the statement is restricted by into
+     * chunks that are small enough for a single in-list. Nothing is executed if there are no values.
+     * 
+     * @param statement the SQL statement, which must contain an in-list parameter.
+     * @param parameterName the name of the in-list parameter.
+     * @param values the values to restrict the statement by.
+     */
+    protected void executeUpdate(String statement, String parameterName, Collection<?> values) {
+        for (List<?> chunk : chunk(values)) {
+            Query query = session.createSQLQuery(statement);
+            query.setParameterList(parameterName, chunk);
+            query.executeUpdate();
+        }
+    }
+
+    /**
+     * Removes duplicates from a collection of values and splits the values into chunks that are small enough for a
+     * single in-list.
+     * 
+     * @param <E> the type of the values.
+     * @param values the values.
+     * @return the list of chunks.
+     */
+    protected <E> List<List<E>> chunk(Collection<E> values) {
+        List<E> uniqueValues = new ArrayList<E>(new LinkedHashSet<E>(values));
+        List<List<E>> chunks = new ArrayList<List<E>>();
+        for (int start = 0; start < uniqueValues.size(); start += MAX_IN_LIST_SIZE) {
+            chunks.add(uniqueValues.subList(start, Math.min(start + MAX_IN_LIST_SIZE, uniqueValues.size())));
+        }
+        return chunks;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -125,6 +230,36 @@ public abstract class HibernateGenericObjectDao<T extends NamedAndUnique> implem
         return (T) query.uniqueResult();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, T> findByIds(Collection<String> ids) {
+        Map<String, T> result = new HashMap<String, T>();
+        List<String> uniqueIds = new ArrayList<String>(new LinkedHashSet<String>(ids));
+        for (int start = 0; start < uniqueIds.size(); start += MAX_IN_LIST_SIZE) {
+            int end = Math.min(start + MAX_IN_LIST_SIZE, uniqueIds.size());
+            for (T object : findByIdsInChunk(uniqueIds.subList(start, end))) {
+                result.put(object.getId(), object);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the objects matching a bounded number of identifiers using a single query.
+     * 
+     * @param ids the identifiers.
+     * @return the list of matching objects.
+     */
+    @SuppressWarnings("unchecked")
+    private List<T> findByIdsInChunk(List<String> ids) {
+        String className = persistentClass.getSimpleName();
+        Query query = session.createQuery("from " + className + " where id in (:ids)");
+        query.setParameterList("ids", ids);
+        return (List<T>) query.list();
+    }
+
     /**
      * {@inheritDoc}
      */
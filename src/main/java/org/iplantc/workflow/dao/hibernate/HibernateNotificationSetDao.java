@@ -1,9 +1,17 @@
 package org.iplantc.workflow.dao.hibernate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
+import org.hibernate.engine.EntityKey;
+import org.hibernate.engine.PersistenceContext;
+import org.hibernate.engine.SessionImplementor;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.NotificationSetDao;
 import org.iplantc.workflow.template.notifications.NotificationSet;
@@ -57,6 +65,85 @@ public class HibernateNotificationSetDao extends HibernateGenericObjectDao<Notif
      */
     @Override
     public void deleteNotificationSetsForAnalysisId(String analysisId) {
-        deleteAll(findNotificationSetsForAnalysisId(analysisId));
+        deleteNotificationSetsForAnalysisIds(Collections.singleton(analysisId));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> findAnalysisIdsWithNotificationSets(Collection<String> analysisIds) {
+        Set<String> result = new HashSet<String>();
+        for (List<String> chunk : chunk(analysisIds)) {
+            Query query = getSession().createQuery(
+                    "select distinct template_id from NotificationSet where template_id in (:analysisIds)");
+            query.setParameterList("analysisIds", chunk);
+            for (Object analysisId : query.list()) {
+                result.add((String) analysisId);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The notification sets are deleted using set-based statements rather than being loaded and deleted one at a
+     * time, so Hibernate's cascades don't apply and the statements delete from the collection tables explicitly.
+     * Pending changes are flushed first, and notification sets that were already loaded into the session are evicted
+     * along with their notifications, so that the session doesn't try to update or delete rows that no longer exist
+     * when replacement notification sets are saved.
+     */
+    @Override
+    public void deleteNotificationSetsForAnalysisIds(Collection<String> analysisIds) {
+        getSession().flush();
+        evictNotificationSets(analysisIds);
+        deleteNotificationSets(findHids("SELECT hid FROM notification_set WHERE template_id IN (:analysisIds)",
+                "analysisIds", analysisIds));
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * The notification sets are deleted using the same set-based statements as the notification sets associated with
+     * analyses.
+     */
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        getSession().flush();
+        evictLoadedObjects(ids);
+        deleteNotificationSets(findHids("SELECT hid FROM notification_set WHERE id IN (:ids)", "ids", ids));
+    }
+
+    /**
+     * Evicts the notification sets associated with the given analyses from the session. The eviction cascades to the
+     * notifications in each set.
+     * 
+     * @param analysisIds the analysis identifiers.
+     */
+    private void evictNotificationSets(Collection<String> analysisIds) {
+        Set<String> ids = new HashSet<String>(analysisIds);
+        PersistenceContext persistenceContext = ((SessionImplementor) getSession()).getPersistenceContext();
+        for (Object key : new ArrayList<Object>(getSession().getStatistics().getEntityKeys())) {
+            Object entity = persistenceContext.getEntity((EntityKey) key);
+            if (entity instanceof NotificationSet && ids.contains(((NotificationSet) entity).getTemplate_id())) {
+                getSession().evict(entity);
+            }
+        }
+    }
+
+    /**
+     * Deletes notification sets along with their notifications and the rows in the collection tables.
+     * 
+     * @param notificationSetHids the internal identifiers of the notification sets.
+     */
+    private void deleteNotificationSets(List<Long> notificationSetHids) {
+        List<Long> notificationHids = findHids("SELECT notification_id FROM notification_set_notification "
+            + "WHERE notification_set_id IN (:hids)", "hids", notificationSetHids);
+        executeUpdate("DELETE FROM notifications_receivers WHERE notification_id IN (:hids)", "hids", notificationHids);
+        executeUpdate("DELETE FROM notification_set_notification WHERE notification_set_id IN (:hids)", "hids",
+                notificationSetHids);
+        executeUpdate("DELETE FROM notification_set WHERE hid IN (:hids)", "hids", notificationSetHids);
+        executeUpdate("DELETE FROM notification WHERE hid IN (:hids)", "hids", notificationHids);
     }
 }
@@ -1,5 +1,6 @@
 package org.iplantc.workflow.dao.hibernate;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.hibernate.Query;
@@ -49,4 +50,67 @@ public class HibernateTemplateDao extends HibernateGenericObjectDao<Template> im
         query.setEntity("analysis", analysis);
         return query.list();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<Template> findTemplatesUsingComponent(String componentId) {
+        Query query = getSession().createQuery("from Template where component = :componentId");
+        query.setString("componentId", componentId);
+        return query.list();
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * Hibernate's cascades don't apply to the set-based statements, so the property groups, properties, validators,
+     * rules and data objects belonging to the templates are deleted explicitly along with the rows in the collection
+     * tables. The number of statements doesn't depend on the number of templates.
+     */
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        getSession().flush();
+        evictLoadedObjects(ids);
+        List<Long> templateHids = findHids("SELECT hid FROM template WHERE id IN (:ids)", "ids", ids);
+        List<Long> groupHids = findHids("SELECT property_group_id FROM template_property_group "
+            + "WHERE template_id IN (:hids)", "hids", templateHids);
+        List<Long> propertyHids = findHids("SELECT property_id FROM property_group_property "
+            + "WHERE property_group_id IN (:hids)", "hids", groupHids);
+        List<Long> validatorHids = findHids("SELECT validator FROM property "
+            + "WHERE validator IS NOT NULL AND hid IN (:hids)", "hids", propertyHids);
+        List<Long> ruleHids = findHids("SELECT rule_id FROM validator_rule WHERE validator_id IN (:hids)", "hids",
+                validatorHids);
+        List<Long> dataObjectHids = findHids("SELECT dataobject_id FROM property "
+            + "WHERE dataobject_id IS NOT NULL AND hid IN (:hids)", "hids", propertyHids);
+        dataObjectHids.addAll(findHids("SELECT input_id FROM template_input WHERE template_id IN (:hids)", "hids",
+                templateHids));
+        dataObjectHids.addAll(findHids("SELECT output_id FROM template_output WHERE template_id IN (:hids)", "hids",
+                templateHids));
+
+        executeUpdate("DELETE FROM rule_argument WHERE rule_id IN (:hids)", "hids", ruleHids);
+        executeUpdate("DELETE FROM validator_rule WHERE validator_id IN (:hids)", "hids", validatorHids);
+        executeUpdate("DELETE FROM rule WHERE hid IN (:hids)", "hids", ruleHids);
+        executeUpdate("DELETE FROM property_group_property WHERE property_group_id IN (:hids)", "hids", groupHids);
+        executeUpdate("DELETE FROM property WHERE hid IN (:hids)", "hids", propertyHids);
+        executeUpdate("DELETE FROM validator WHERE hid IN (:hids)", "hids", validatorHids);
+        executeUpdate("DELETE FROM template_property_group WHERE template_id IN (:hids)", "hids", templateHids);
+        executeUpdate("DELETE FROM property_group WHERE hid IN (:hids)", "hids", groupHids);
+        executeUpdate("DELETE FROM template_input WHERE template_id IN (:hids)", "hids", templateHids);
+        executeUpdate("DELETE FROM template_output WHERE template_id IN (:hids)", "hids", templateHids);
+        executeUpdate("DELETE FROM template WHERE hid IN (:hids)", "hids", templateHids);
+        executeUpdate("DELETE FROM dataobjects WHERE hid IN (:hids)", "hids", dataObjectHids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteTemplateElements(Collection<?> elements) {
+        Session session = getSession();
+        for (Object element : elements) {
+            session.delete(element);
+        }
+    }
 }
@@ -1,6 +1,10 @@
 package org.iplantc.workflow.dao.hibernate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.hibernate.Query;
 import org.hibernate.Session;
@@ -8,9 +12,15 @@ import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.TemplateGroupDao;
 import org.iplantc.workflow.template.groups.TemplateGroup;
+import org.iplantc.workflow.template.groups.TemplateGroupHierarchyBuilder;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
 
 /**
- * Used to access persistent template groups in the database.
+ * Used to access persistent template groups in the database. The hierarchy queries use the template_group_closure and
+ * template_group_active_count tables, which are maintained by database triggers. Those tables only exist in PostgreSQL
+ * databases that the schema migrations have been applied to, so the hierarchy is walked through the persistent objects
+ * instead when any other database is used or the tables are missing; see
+ * {@link DatabaseFeatures#hasTemplateGroupClosure(org.hibernate.Session)}.
  * 
  * @author Dennis Roberts
  */
@@ -34,6 +44,26 @@ public class HibernateTemplateGroupDao extends HibernateGenericObjectDao<Templat
         return (TemplateGroup) query.uniqueResult();
     }
 
+    /**
+     * {@inheritDoc}
+     * 
+     * Hibernate's cascades don't apply to the set-based statements. The template groups are removed from the
+     * collection tables explicitly, but unlike delete, this method doesn't delete their subgroups and analyses along
+     * with them. As with delete, template groups must first be removed from any parent groups that aren't being
+     * deleted. The subgroup lists are indexed, so removing single entries from them here would leave gaps. The
+     * database removes the rows in the hierarchy and count tables.
+     */
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        getSession().flush();
+        evictLoadedObjects(ids);
+        List<Long> groupHids = findHids("SELECT hid FROM template_group WHERE id IN (:ids)", "ids", ids);
+        executeUpdate("DELETE FROM template_group_group WHERE parent_group_id IN (:hids)", "hids", groupHids);
+        executeUpdate("DELETE FROM template_group_template WHERE template_group_id IN (:hids)", "hids", groupHids);
+        executeUpdate("DELETE FROM suggested_groups WHERE template_group_id IN (:hids)", "hids", groupHids);
+        executeUpdate("DELETE FROM template_group WHERE hid IN (:hids)", "hids", groupHids);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -52,21 +82,244 @@ public class HibernateTemplateGroupDao extends HibernateGenericObjectDao<Templat
     @SuppressWarnings("unchecked")
     @Override
     public List<TemplateGroup> findTemplateGroupsContainingAnalysis(TransformationActivity analysis) {
-        String queryString = "from TemplateGroup g where :analysis in elements(g.templates)";
+        String queryString = "select g from TemplateGroup g join g.templates t where t = :analysis";
         Query query = getSession().createQuery(queryString);
         query.setEntity("analysis", analysis);
         List<?> results = query.list();
         return (List<TemplateGroup>) results;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAnalysisInGroupOutsideWorkspace(TransformationActivity analysis, Long workspaceId) {
+        String queryString = "select g.hid from TemplateGroup g "
+            + "join g.templates t "
+            + "where t = :analysis";
+        Query query = createOutsideWorkspaceQuery(queryString, workspaceId);
+        query.setEntity("analysis", analysis);
+        return !query.list().isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTemplateInGroupOutsideWorkspace(String templateId, Long workspaceId) {
+        String queryString = "select g.hid from TemplateGroup g "
+            + "inner join g.templates a "
+            + "inner join a.steps s "
+            + "inner join s.transformation t "
+            + "where t.template_id = :templateId";
+        Query query = createOutsideWorkspaceQuery(queryString, workspaceId);
+        query.setString("templateId", templateId);
+        return !query.list().isEmpty();
+    }
+
+    /**
+     * Creates a query that finds at most one template group outside of a workspace. The workspace restriction is
+     * only added if a workspace is given, so that every template group matches for users without a workspace.
+     * 
+     * @param queryString the query string, which must end with a where clause on the template group g.
+     * @param workspaceId the workspace identifier or null if the user doesn't have a workspace.
+     * @return the query.
+     */
+    private Query createOutsideWorkspaceQuery(String queryString, Long workspaceId) {
+        if (workspaceId == null) {
+            return getSession().createQuery(queryString).setMaxResults(1);
+        }
+        Query query = getSession().createQuery(queryString + " and g.workspaceId <> :workspaceId");
+        query.setLong("workspaceId", workspaceId);
+        query.setMaxResults(1);
+        return query;
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<TemplateGroup> findTemplateGroupContainingSubgroup(TemplateGroup group) {
-        String queryString = "from TemplateGroup g where :group in elements(g.sub_groups)";
+        String queryString = "select distinct g from TemplateGroup g join g.sub_groups s where s = :group";
         
         Query query = getSession().createQuery(queryString)
                                   .setParameter("group", group);
         
         return query.list();
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TemplateGroupNode findHierarchy(long rootHid) {
+        if (!DatabaseFeatures.hasTemplateGroupClosure(getSession())) {
+            TemplateGroup root = findByHid(rootHid);
+            return root == null ? null : new TemplateGroupHierarchyBuilder().addGroupTree(root).build(rootHid);
+        }
+        String queryString = "SELECT g.hid, g.id, g.name, g.description, g.workspace_id, n.active_count, "
+            + "e.parent_group_id, e.hid AS position "
+            + "FROM template_group_closure t "
+            + "JOIN template_group g ON g.hid = t.descendant_id "
+            + "JOIN (SELECT d.ancestor_id, sum(c.active_count) AS active_count "
+            + "      FROM template_group_closure r "
+            + "      JOIN template_group_closure d ON d.ancestor_id = r.descendant_id "
+            + "      JOIN template_group_active_count c ON c.template_group_id = d.descendant_id "
+            + "      WHERE r.ancestor_id = :root "
+            + "      GROUP BY d.ancestor_id) n ON n.ancestor_id = g.hid "
+            + "LEFT JOIN template_group_group e ON e.subgroup_id = g.hid "
+            + "WHERE t.ancestor_id = :root";
+        Query query = getSession().createSQLQuery(queryString);
+        query.setLong("root", rootHid);
+        TemplateGroupHierarchyBuilder builder = new TemplateGroupHierarchyBuilder();
+        for (Object result : query.list()) {
+            Object[] row = (Object[]) result;
+            long hid = ((Number) row[0]).longValue();
+            builder.addGroup(hid, (String) row[1], (String) row[2], (String) row[3], ((Number) row[4]).longValue(),
+                    ((Number) row[5]).intValue());
+            if (row[6] != null) {
+                builder.addEdge(((Number) row[6]).longValue(), hid, ((Number) row[7]).intValue());
+            }
+        }
+        return builder.build(rootHid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countActiveAnalyses(long hid) {
+        if (!DatabaseFeatures.hasTemplateGroupClosure(getSession())) {
+            TemplateGroup group = findByHid(hid);
+            return group == null ? 0 : group.countActiveTemplates();
+        }
+        String queryString = "SELECT coalesce(sum(c.active_count), 0) "
+            + "FROM template_group_closure t "
+            + "JOIN template_group_active_count c ON c.template_group_id = t.descendant_id "
+            + "WHERE t.ancestor_id = :hid";
+        Query query = getSession().createSQLQuery(queryString);
+        query.setLong("hid", hid);
+        return ((Number) query.uniqueResult()).intValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsActiveAnalyses(long hid) {
+        if (!DatabaseFeatures.hasTemplateGroupClosure(getSession())) {
+            TemplateGroup group = findByHid(hid);
+            return group != null && group.containsActiveAnalyses();
+        }
+        String queryString = "SELECT 1 "
+            + "FROM template_group_closure t "
+            + "JOIN template_group_active_count c ON c.template_group_id = t.descendant_id "
+            + "WHERE t.ancestor_id = :hid AND c.active_count > 0";
+        Query query = getSession().createSQLQuery(queryString);
+        query.setLong("hid", hid);
+        query.setMaxResults(1);
+        return !query.list().isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findAncestorHids(long hid) {
+        if (!DatabaseFeatures.hasTemplateGroupClosure(getSession())) {
+            Set<Long> ancestors = new LinkedHashSet<Long>();
+            addAncestorHids(findByHid(hid), ancestors);
+            ancestors.remove(hid);
+            return new ArrayList<Long>(ancestors);
+        }
+        String queryString = "SELECT ancestor_id FROM template_group_closure "
+            + "WHERE descendant_id = :hid AND ancestor_id <> :hid";
+        Query query = getSession().createSQLQuery(queryString);
+        query.setLong("hid", hid);
+        return toLongs(query.list());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findTemplateGroupHidsContainingAnalysis(TransformationActivity analysis) {
+        if (!DatabaseFeatures.hasTemplateGroupClosure(getSession())) {
+            Set<Long> hids = new LinkedHashSet<Long>();
+            for (TemplateGroup group : findTemplateGroupsContainingAnalysis(analysis)) {
+                hids.add(group.getHid());
+                addAncestorHids(group, hids);
+            }
+            return new ArrayList<Long>(hids);
+        }
+        String queryString = "SELECT DISTINCT t.ancestor_id "
+            + "FROM template_group_template m "
+            + "JOIN template_group_closure t ON t.descendant_id = m.template_group_id "
+            + "WHERE m.template_id = :analysisHid";
+        Query query = getSession().createSQLQuery(queryString);
+        query.setLong("analysisHid", analysis.getHid());
+        return toLongs(query.list());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TemplateGroupNode findNodeById(String id) {
+        String queryString = "select g.hid, g.id, g.name, g.description, g.workspaceId from TemplateGroup g "
+            + "where g.id = :id";
+        Query query = getSession().createQuery(queryString);
+        query.setString("id", id);
+        query.setMaxResults(1);
+        Object[] row = (Object[]) query.uniqueResult();
+        if (row == null) {
+            return null;
+        }
+        long hid = ((Number) row[0]).longValue();
+        return new TemplateGroupNode(hid, (String) row[1], (String) row[2], (String) row[3],
+                ((Number) row[4]).longValue(), countActiveAnalyses(hid), new ArrayList<TemplateGroupNode>());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long findSubgroupHid(long parentHid, int index) {
+        String queryString = "select s.hid from TemplateGroup g join g.sub_groups s "
+            + "where g.hid = :parentHid and index(s) = :index";
+        Query query = getSession().createQuery(queryString);
+        query.setLong("parentHid", parentHid);
+        query.setInteger("index", index);
+        query.setMaxResults(1);
+        Number hid = (Number) query.uniqueResult();
+        return hid == null ? null : hid.longValue();
+    }
+
+    /**
+     * Adds the internal identifiers of all of the groups that contain a template group, directly or indirectly.
+     *
+     * @param group the template group, which may be null.
+     * @param hids the set of internal identifiers to add to.
+     */
+    private void addAncestorHids(TemplateGroup group, Set<Long> hids) {
+        if (group != null) {
+            for (TemplateGroup parent : findTemplateGroupContainingSubgroup(group)) {
+                if (hids.add(parent.getHid())) {
+                    addAncestorHids(parent, hids);
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the numeric values returned by a native query to longs.
+     *
+     * @param results the query results.
+     * @return the list of longs.
+     */
+    private List<Long> toLongs(List<?> results) {
+        List<Long> longs = new ArrayList<Long>();
+        for (Object result : results) {
+            longs.add(((Number) result).longValue());
+        }
+        return longs;
+    }
 }
@@ -1,12 +1,22 @@
 package org.iplantc.workflow.dao.hibernate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import org.hibernate.Criteria;
 import org.hibernate.Query;
 import org.hibernate.Session;
+import org.hibernate.criterion.Restrictions;
+import org.iplantc.persistence.dto.step.TransformationStep;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.NotificationSetDao;
 import org.iplantc.workflow.dao.TransformationActivityDao;
@@ -29,18 +39,88 @@ public class HibernateTransformationActivityDao extends HibernateGenericObjectDa
 
     @Override
     public void delete(TransformationActivity analysis) {
-        deleteNotificationSetsForAnalysis(analysis);
-        getSession().delete(analysis);
+        deleteAll(Collections.singleton(analysis));
     }
 
     /**
-     * Deletes the notification sets associated with the given analysis.
+     * {@inheritDoc}
+     *
+     * The notification sets associated with all of the analyses are deleted using a single set of statements before
+     * the analyses themselves are deleted.
+     */
+    @Override
+    public void deleteAll(Collection<TransformationActivity> analyses) {
+        deleteNotificationSetsForAnalyses(analyses);
+        for (TransformationActivity analysis : analyses) {
+            getSession().delete(analysis);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Hibernate's cascades don't apply to the set-based statements. The statements explicitly delete the notification
+     * sets, ratings, references, input/output mappings and group memberships of the analyses, along with the rows in
+     * the collection tables. The transformation steps are mapped outside of this library. They're loaded using a
+     * single query per chunk and deleted through the session, which cascades to their transformations, so only the
+     * step deletions depend on the number of analyses.
+     */
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        getSession().flush();
+        evictLoadedObjects(ids);
+        new HibernateNotificationSetDao(getSession()).deleteNotificationSetsForAnalysisIds(ids);
+        List<Long> analysisHids = findHids("SELECT hid FROM transformation_activity WHERE id IN (:ids)", "ids", ids);
+        List<Long> mappingHids = findHids("SELECT mapping_id FROM transformation_activity_mappings "
+            + "WHERE transformation_activity_id IN (:hids)", "hids", analysisHids);
+        List<Long> stepHids = findHids("SELECT transformation_step_id FROM transformation_task_steps "
+            + "WHERE transformation_task_id IN (:hids)", "hids", analysisHids);
+
+        executeUpdate("DELETE FROM template_group_template WHERE template_id IN (:hids)", "hids", analysisHids);
+        executeUpdate("DELETE FROM suggested_groups WHERE transformation_activity_id IN (:hids)", "hids",
+                analysisHids);
+        executeUpdate("DELETE FROM ratings WHERE transformation_activity_id IN (:hids)", "hids", analysisHids);
+        executeUpdate("DELETE FROM tranformation_activity_references WHERE transformation_activity_id IN (:hids)",
+                "hids", analysisHids);
+        executeUpdate("DELETE FROM transformation_activity_mappings WHERE transformation_activity_id IN (:hids)",
+                "hids", analysisHids);
+        executeUpdate("DELETE FROM dataobject_mapping WHERE mapping_id IN (:hids)", "hids", mappingHids);
+        executeUpdate("DELETE FROM input_output_mapping WHERE hid IN (:hids)", "hids", mappingHids);
+        executeUpdate("DELETE FROM transformation_task_steps WHERE transformation_task_id IN (:hids)", "hids",
+                analysisHids);
+        executeUpdate("DELETE FROM transformation_activity WHERE hid IN (:hids)", "hids", analysisHids);
+        deleteSteps(stepHids);
+    }
+
+    /**
+     * Deletes transformation steps through the session so that the deletions cascade to their transformations.
      *
-     * @param analysis the analysis.
+     * @param stepHids the internal identifiers of the transformation steps.
      */
-    private void deleteNotificationSetsForAnalysis(TransformationActivity analysis) {
+    private void deleteSteps(List<Long> stepHids) {
+        String idProperty = getSession().getSessionFactory().getClassMetadata(TransformationStep.class)
+                .getIdentifierPropertyName();
+        for (List<Long> chunk : chunk(stepHids)) {
+            Criteria criteria = getSession().createCriteria(TransformationStep.class);
+            criteria.add(Restrictions.in(idProperty, chunk));
+            for (Object step : criteria.list()) {
+                getSession().delete(step);
+            }
+        }
+    }
+
+    /**
+     * Deletes the notification sets associated with the given analyses.
+     *
+     * @param analyses the analyses.
+     */
+    private void deleteNotificationSetsForAnalyses(Collection<TransformationActivity> analyses) {
+        Set<String> analysisIds = new HashSet<String>();
+        for (TransformationActivity analysis : analyses) {
+            analysisIds.add(analysis.getId());
+        }
         NotificationSetDao notificationSetDao = new HibernateNotificationSetDao(getSession());
-        notificationSetDao.deleteNotificationSetsForAnalysis(analysis);
+        notificationSetDao.deleteNotificationSetsForAnalysisIds(analysisIds);
     }
 
     /**
@@ -85,4 +165,87 @@ public class HibernateTransformationActivityDao extends HibernateGenericObjectDa
         }
         return analyses.isEmpty() ? null : analyses.get(0);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long getVersion(String analysisId) {
+        Query analysisQuery = getSession().createQuery(
+            "select a.hid, a.lastModified from TransformationActivity a where a.id = ?");
+        analysisQuery.setString(0, analysisId);
+        Object[] row = (Object[]) analysisQuery.uniqueResult();
+        if (row == null) {
+            return null;
+        }
+
+        String templateQueryString = "select max(t.lastModified) from Template t where t.id in ("
+            + "select tr.template_id from TransformationActivity as a "
+            + "join a.steps as s "
+            + "join s.transformation as tr "
+            + "where a.id = ?)";
+        Query templateQuery = getSession().createQuery(templateQueryString);
+        templateQuery.setString(0, analysisId);
+        Date templateModified = (Date) templateQuery.uniqueResult();
+
+        return Math.max(millis((Date) row[1]), millis(templateModified));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, PipelineEligibility> getPipelineEligibility(Collection<String> analysisIds) {
+        Map<String, PipelineEligibility> result = new HashMap<String, PipelineEligibility>();
+        List<String> ids = new ArrayList<String>(analysisIds);
+        for (int start = 0; start < ids.size(); start += MAX_IN_LIST_SIZE) {
+            List<String> chunk = ids.subList(start, Math.min(start + MAX_IN_LIST_SIZE, ids.size()));
+            addPipelineEligibility(result, chunk);
+        }
+        return result;
+    }
+
+    /**
+     * Loads the stored pipeline eligibility of a bounded number of analyses.
+     *
+     * @param result the map to add the pipeline eligibility to.
+     * @param analysisIds the analysis identifiers.
+     */
+    private void addPipelineEligibility(Map<String, PipelineEligibility> result, List<String> analysisIds) {
+        String queryString = "select a.id, a.pipelineEligible, a.pipelineIneligibilityReason "
+            + "from TransformationActivity a "
+            + "where a.pipelineEligible is not null "
+            + "and a.id in (:ids)";
+        Query query = getSession().createQuery(queryString);
+        query.setParameterList("ids", analysisIds);
+        for (Object row : query.list()) {
+            Object[] columns = (Object[]) row;
+            Boolean eligible = (Boolean) columns[1];
+            result.put((String) columns[0], new PipelineEligibility(eligible, (String) columns[2]));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public List<String> getIdsWithoutPipelineEligibility(int maxResults) {
+        String queryString = "select a.id from TransformationActivity a "
+            + "where a.pipelineEligible is null "
+            + "order by a.hid";
+        Query query = getSession().createQuery(queryString);
+        query.setMaxResults(maxResults);
+        return query.list();
+    }
+
+    /**
+     * Converts a possibly null modification date to milliseconds since the epoch.
+     *
+     * @param date the date.
+     * @return the number of milliseconds or zero if the date is null.
+     */
+    private long millis(Date date) {
+        return date == null ? 0 : date.getTime();
+    }
 }
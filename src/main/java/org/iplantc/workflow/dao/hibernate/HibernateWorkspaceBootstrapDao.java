@@ -0,0 +1,56 @@
+package org.iplantc.workflow.dao.hibernate;
+
+import org.hibernate.Query;
+import org.hibernate.Session;
+import org.iplantc.persistence.dto.workspace.Workspace;
+import org.iplantc.workflow.dao.WorkspaceBootstrapDao;
+
+/**
+ * The Hibernate implementation of the workspace bootstrap data access object. On PostgreSQL, usernames are locked
+ * using a transaction-level advisory lock keyed by the username, which works across every application instance sharing
+ * the database and doesn't depend on any unique constraints in the users or workspace tables. The lock is released
+ * automatically when the transaction commits or rolls back. Other databases have no equivalent lock, so locking a
+ * username does nothing on them. In that case, duplicates are only prevented within a single application instance,
+ * and only because UserService commits each bootstrap transaction before letting another thread bootstrap the same
+ * user. Application instances that share a database other than PostgreSQL can still create duplicate users or
+ * workspaces.
+ */
+public class HibernateWorkspaceBootstrapDao implements WorkspaceBootstrapDao {
+
+    /**
+     * The database session.
+     */
+    private final Session session;
+
+    /**
+     * @param session the database session.
+     */
+    public HibernateWorkspaceBootstrapDao(Session session) {
+        this.session = session;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Workspace findInitializedWorkspace(String username) {
+        Query query = session.createQuery(
+                "FROM Workspace w WHERE w.user.username = :username AND w.rootAnalysisGroupId IS NOT NULL");
+        query.setString("username", username);
+        query.setMaxResults(1);
+        return (Workspace) query.uniqueResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void lockUsername(String username) {
+        if (!DatabaseFeatures.isPostgreSql(session)) {
+            return;
+        }
+        Query query = session.createSQLQuery("SELECT 1 FROM pg_advisory_xact_lock(hashtext(:username))");
+        query.setString("username", username);
+        query.uniqueResult();
+    }
+}
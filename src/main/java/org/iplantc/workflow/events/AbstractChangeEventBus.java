@@ -0,0 +1,60 @@
+package org.iplantc.workflow.events;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.log4j.Logger;
+
+/**
+ * A base class for change event buses that maintains the list of listeners and delivers events to them.
+ */
+public abstract class AbstractChangeEventBus implements ChangeEventBus {
+
+    private static final Logger LOG = Logger.getLogger(AbstractChangeEventBus.class);
+
+    /**
+     * The registered listeners.
+     */
+    private final List<ChangeEventListener> listeners = new CopyOnWriteArrayList<ChangeEventListener>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addListener(ChangeEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeListener(ChangeEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers a list of listeners. This is primarily intended for use in Spring configuration.
+     *
+     * @param listeners the listeners to register.
+     */
+    public void setListeners(List<ChangeEventListener> listeners) {
+        this.listeners.addAll(listeners);
+    }
+
+    /**
+     * Delivers an event to all registered listeners. A failure in one listener is logged and doesn't prevent the
+     * event from being delivered to the others.
+     *
+     * @param event the change event.
+     */
+    protected void deliver(ChangeEvent event) {
+        for (ChangeEventListener listener : listeners) {
+            try {
+                listener.onChange(event);
+            }
+            catch (RuntimeException e) {
+                LOG.error("change event listener failed for " + event, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package org.iplantc.workflow.events;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.ConnectionFactory;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.MessageProperties;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.UUID;
+import org.apache.log4j.Logger;
+import org.iplantc.workflow.WorkflowException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A change event bus that distributes events to every node in a cluster using a fanout exchange on an AMQP broker.
+ * Each node binds its own exclusive, auto-deleted queue to the exchange. Events are delivered to local listeners as
+ * soon as they're published, so a node ignores its own events when they come back from the broker. A failure to reach
+ * the broker is logged rather than propagated because the changes that the events describe have already been
+ * committed.
+ */
+public class AmqpChangeEventBus extends AbstractChangeEventBus {
+
+    private static final Logger LOG = Logger.getLogger(AmqpChangeEventBus.class);
+
+    /**
+     * The character encoding used for message bodies.
+     */
+    private static final String ENCODING = "UTF-8";
+
+    /**
+     * Identifies events published by this node.
+     */
+    private final String origin = UUID.randomUUID().toString();
+
+    /**
+     * The host name of the AMQP broker.
+     */
+    private String host = "localhost";
+
+    /**
+     * The port used to connect to the AMQP broker.
+     */
+    private int port = AMQP.PROTOCOL.PORT;
+
+    /**
+     * The username used to connect to the AMQP broker.
+     */
+    private String username = "guest";
+
+    /**
+     * The password used to connect to the AMQP broker.
+     */
+    private String password = "guest";
+
+    /**
+     * The virtual host on the AMQP broker.
+     */
+    private String virtualHost = "/";
+
+    /**
+     * The name of the fanout exchange used to distribute events.
+     */
+    private String exchangeName = "metadactyl.cache.invalidation";
+
+    /**
+     * The connection to the AMQP broker.
+     */
+    private Connection connection;
+
+    /**
+     * The channel used to publish events.
+     */
+    private Channel publishChannel;
+
+    /**
+     * @param host the host name of the AMQP broker.
+     */
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    /**
+     * @param port the port used to connect to the AMQP broker.
+     */
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    /**
+     * @param username the username used to connect to the AMQP broker.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * @param password the password used to connect to the AMQP broker.
+     */
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    /**
+     * @param virtualHost the virtual host on the AMQP broker.
+     */
+    public void setVirtualHost(String virtualHost) {
+        this.virtualHost = virtualHost;
+    }
+
+    /**
+     * @param exchangeName the name of the fanout exchange used to distribute events.
+     */
+    public void setExchangeName(String exchangeName) {
+        this.exchangeName = exchangeName;
+    }
+
+    /**
+     * Connects to the AMQP broker and starts consuming events published by other nodes.
+     *
+     * @throws WorkflowException if the connection can't be established.
+     */
+    public synchronized void start() throws WorkflowException {
+        if (connection != null) {
+            return;
+        }
+        try {
+            connection = createConnection();
+            publishChannel = connection.createChannel();
+            publishChannel.exchangeDeclare(exchangeName, "fanout", true);
+            startConsumer(connection.createChannel());
+        }
+        catch (IOException e) {
+            stop();
+            throw new WorkflowException("unable to connect to the AMQP broker at " + host + ":" + port, e);
+        }
+    }
+
+    /**
+     * Creates a new connection to the AMQP broker.
+     *
+     * @return the connection.
+     * @throws IOException if the connection can't be established.
+     */
+    protected Connection createConnection() throws IOException {
+        ConnectionFactory factory = new ConnectionFactory();
+        factory.setHost(host);
+        factory.setPort(port);
+        factory.setUsername(username);
+        factory.setPassword(password);
+        factory.setVirtualHost(virtualHost);
+        return factory.newConnection();
+    }
+
+    /**
+     * Binds a new exclusive queue to the exchange and starts consuming events from it.
+     *
+     * @param channel the channel to consume events on.
+     * @throws IOException if the queue can't be declared, bound or consumed.
+     */
+    private void startConsumer(final Channel channel) throws IOException {
+        String queueName = channel.queueDeclare().getQueue();
+        channel.queueBind(queueName, exchangeName, "");
+        channel.basicConsume(queueName, true, new DefaultConsumer(channel) {
+            @Override
+            public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties,
+                    byte[] body) throws IOException {
+                receive(properties, body);
+            }
+        });
+    }
+
+    /**
+     * Handles an event received from the broker.
+     *
+     * @param properties the message properties.
+     * @param body the message body.
+     */
+    private void receive(AMQP.BasicProperties properties, byte[] body) {
+        try {
+            if (!origin.equals(properties.getAppId())) {
+                deliver(ChangeEvent.fromJson(new JSONObject(new String(body, ENCODING))));
+            }
+        }
+        catch (JSONException e) {
+            LOG.warn("ignoring malformed change event", e);
+        }
+        catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(ENCODING + " is not supported", e);
+        }
+    }
+
+    /**
+     * Disconnects from the AMQP broker.
+     */
+    public synchronized void stop() {
+        if (connection != null) {
+            try {
+                connection.close();
+            }
+            catch (IOException e) {
+                LOG.warn("unable to close the connection to the AMQP broker", e);
+            }
+            finally {
+                connection = null;
+                publishChannel = null;
+            }
+        }
+    }
+
+    /**
+     * Delivers an event to local listeners and then sends it to the other nodes.
+     *
+     * @param event the change event.
+     */
+    @Override
+    public void publish(ChangeEvent event) {
+        deliver(event);
+        send(event);
+    }
+
+    /**
+     * Sends an event to the other nodes.
+     *
+     * @param event the change event.
+     */
+    private synchronized void send(ChangeEvent event) {
+        if (publishChannel == null) {
+            LOG.warn("not connected to the AMQP broker; unable to publish " + event);
+            return;
+        }
+        try {
+            AMQP.BasicProperties properties = (AMQP.BasicProperties) MessageProperties.TEXT_PLAIN.clone();
+            properties.setAppId(origin);
+            properties.setContentEncoding(ENCODING);
+            publishChannel.basicPublish(exchangeName, "", properties, event.toJson().toString().getBytes(ENCODING));
+        }
+        catch (IOException e) {
+            LOG.error("unable to publish " + event, e);
+        }
+    }
+
+    /**
+     * @return the identifier used to mark events published by this node.
+     */
+    public String getOrigin() {
+        return origin;
+    }
+}
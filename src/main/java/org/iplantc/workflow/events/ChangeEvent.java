@@ -0,0 +1,124 @@
+package org.iplantc.workflow.events;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Describes a committed change that may invalidate cached data on any node. An event either identifies the single
+ * object that changed or, if the identifier is null, indicates that any number of objects of the given type may have
+ * changed.
+ */
+public class ChangeEvent {
+
+    /**
+     * The type of change.
+     */
+    private final ChangeEventType type;
+
+    /**
+     * The identifier of the object that changed or null if any object of the given type may have changed.
+     */
+    private final String id;
+
+    /**
+     * @param type the type of change.
+     * @param id the identifier of the object that changed or null if any object of the given type may have changed.
+     */
+    public ChangeEvent(ChangeEventType type, String id) {
+        if (type == null) {
+            throw new IllegalArgumentException("the change event type may not be null");
+        }
+        this.type = type;
+        this.id = id;
+    }
+
+    /**
+     * Creates an event indicating that any number of objects of the given type may have changed.
+     *
+     * @param type the type of change.
+     * @return the event.
+     */
+    public static ChangeEvent all(ChangeEventType type) {
+        return new ChangeEvent(type, null);
+    }
+
+    /**
+     * @return the type of change.
+     */
+    public ChangeEventType getType() {
+        return type;
+    }
+
+    /**
+     * @return the identifier of the object that changed or null if any object of the given type may have changed.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return true if the event applies to all objects of its type.
+     */
+    public boolean isAll() {
+        return id == null;
+    }
+
+    /**
+     * @return a JSON representation of the event.
+     */
+    public JSONObject toJson() {
+        try {
+            JSONObject json = new JSONObject();
+            json.put("type", type.name());
+            json.putOpt("id", id);
+            return json;
+        }
+        catch (JSONException e) {
+            throw new IllegalStateException("unable to format change event", e);
+        }
+    }
+
+    /**
+     * Creates a change event from its JSON representation.
+     *
+     * @param json the JSON representation of the event.
+     * @return the event.
+     * @throws JSONException if the JSON doesn't represent a change event.
+     */
+    public static ChangeEvent fromJson(JSONObject json) throws JSONException {
+        try {
+            return new ChangeEvent(ChangeEventType.valueOf(json.getString("type")), json.optString("id", null));
+        }
+        catch (IllegalArgumentException e) {
+            throw new JSONException("unrecognized change event type: " + json.optString("type"));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof ChangeEvent)) {
+            return false;
+        }
+        ChangeEvent other = (ChangeEvent) obj;
+        return type == other.type && (id == null ? other.id == null : id.equals(other.id));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return 31 * type.hashCode() + (id == null ? 0 : id.hashCode());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return type + "(" + (id == null ? "*" : id) + ")";
+    }
+}
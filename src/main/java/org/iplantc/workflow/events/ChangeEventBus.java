@@ -0,0 +1,21 @@
+package org.iplantc.workflow.events;
+
+/**
+ * Publishes change events and delivers them to registered listeners.
+ */
+public interface ChangeEventBus extends ChangeEventPublisher {
+
+    /**
+     * Registers a listener.
+     *
+     * @param listener the listener to register.
+     */
+    public void addListener(ChangeEventListener listener);
+
+    /**
+     * Unregisters a listener.
+     *
+     * @param listener the listener to unregister.
+     */
+    public void removeListener(ChangeEventListener listener);
+}
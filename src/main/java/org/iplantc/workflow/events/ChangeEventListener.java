@@ -0,0 +1,14 @@
+package org.iplantc.workflow.events;
+
+/**
+ * Receives change events, typically in order to invalidate cached data.
+ */
+public interface ChangeEventListener {
+
+    /**
+     * Called when a change has been committed on this or any other node.
+     *
+     * @param event the change event.
+     */
+    public void onChange(ChangeEvent event);
+}
@@ -0,0 +1,14 @@
+package org.iplantc.workflow.events;
+
+/**
+ * Publishes change events. Events should only be published after the changes that they describe have been committed.
+ */
+public interface ChangeEventPublisher {
+
+    /**
+     * Publishes a change event.
+     *
+     * @param event the change event.
+     */
+    public void publish(ChangeEvent event);
+}
@@ -0,0 +1,37 @@
+package org.iplantc.workflow.events;
+
+/**
+ * The types of changes that can invalidate cached data.
+ */
+public enum ChangeEventType {
+
+    /**
+     * An analysis was added, updated or removed.
+     */
+    ANALYSIS_CHANGED,
+
+    /**
+     * A template was added, updated or removed.
+     */
+    TEMPLATE_CHANGED,
+
+    /**
+     * A deployed component was added, updated or removed.
+     */
+    COMPONENT_CHANGED,
+
+    /**
+     * The membership or structure of the template group hierarchy changed.
+     */
+    GROUP_TREE_CHANGED,
+
+    /**
+     * An analysis rating was added, updated or removed.
+     */
+    RATING_CHANGED,
+
+    /**
+     * A reference genome was added, updated or removed.
+     */
+    REFERENCE_GENOME_CHANGED;
+}
@@ -0,0 +1,16 @@
+package org.iplantc.workflow.events;
+
+/**
+ * A change event bus that delivers events synchronously to listeners in the same process. This is suitable for tests
+ * and single-node deployments.
+ */
+public class InMemoryChangeEventBus extends AbstractChangeEventBus {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(ChangeEvent event) {
+        deliver(event);
+    }
+}
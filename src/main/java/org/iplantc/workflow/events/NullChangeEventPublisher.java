@@ -0,0 +1,14 @@
+package org.iplantc.workflow.events;
+
+/**
+ * A change event publisher that discards all events. This is used when no change event bus has been configured.
+ */
+public class NullChangeEventPublisher implements ChangeEventPublisher {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void publish(ChangeEvent event) {
+    }
+}
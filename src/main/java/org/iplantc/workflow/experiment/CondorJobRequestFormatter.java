@@ -9,6 +9,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Pattern;
 
 import net.sf.json.JSONArray;
@@ -28,6 +30,8 @@ import org.iplantc.workflow.data.InputOutputMap;
 import org.iplantc.workflow.experiment.dto.JobConstructor;
 import org.iplantc.workflow.experiment.files.FileResolver;
 import org.iplantc.workflow.experiment.files.FileResolverFactory;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.Timer;
 import org.iplantc.workflow.model.Property;
 import org.iplantc.workflow.model.PropertyGroup;
 import org.iplantc.workflow.model.Template;
@@ -38,7 +42,11 @@ import org.iplantc.workflow.util.SfJsonUtils;
 
 /**
  * Formats a submission request for a job that will be executed on Condor. The code in this class was mostly extracted
- * from ExperimentRunner and only minor refactoring work was done.  Note: this class not thread safe.
+ * from ExperimentRunner and only minor refactoring work was done.
+ *
+ * All of the state used while formatting a step is kept in a step context, so a single instance of this class may be
+ * used to format any number of experiments concurrently. Steps whose inputs are not mapped from the outputs of other
+ * steps may be formatted concurrently if an executor is provided; see {@link #setStepExecutor(ExecutorService)}.
  */
 public class CondorJobRequestFormatter implements JobRequestFormatter {
 
@@ -55,6 +63,16 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
     private static final Set<String> IGNORED_PROPERTY_TYPES
             = new HashSet<String>(Arrays.asList(IGNORED_PROPERTY_TYPE_NAMES));
 
+    private static final Timer INPUT_STAGE_TIMER = stageTimer("inputs");
+
+    private static final Timer PROPERTY_STAGE_TIMER = stageTimer("properties");
+
+    private static final Timer ENVIRONMENT_STAGE_TIMER = stageTimer("environment");
+
+    private static final Timer OUTPUT_STAGE_TIMER = stageTimer("outputs");
+
+    private static final Timer COMPONENT_STAGE_TIMER = stageTimer("component");
+
     private final DaoFactory daoFactory;
 
     private final UrlAssembler urlAssembler;
@@ -63,33 +81,106 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
 
     private final JSONObject experiment;
 
-    private final boolean debug;
-
     private final FileResolverFactory fileResolverFactory;
 
-    private String stdoutFilename;
+    private StepScheduler stepScheduler = new StepScheduler(null);
+
+    private volatile int manifestThreshold;
+
+    /**
+     * The state accumulated while formatting a single step. Once a step has been formatted, its context is used to
+     * resolve the values of inputs in later steps that are mapped from its outputs.
+     */
+    private static class StepContext {
+
+        private final String stepName;
+
+        private final JSONObject config;
+
+        private final boolean debug;
 
-    private String stderrFilename;
+        private final InputManifests manifests;
 
-    private final Map<String, String> outputPropertyValues = new HashMap<String, String>();
+        private final Map<String, String> outputPropertyValues = new HashMap<String, String>();
+
+        private String stdoutFilename;
+
+        private String stderrFilename;
+
+        private JSONObject formattedStep;
+
+        public StepContext(String stepName, JSONObject config, boolean debug, InputManifests manifests) {
+            this.stepName = stepName;
+            this.config = config;
+            this.debug = debug;
+            this.manifests = manifests;
+        }
+    }
+
+    public CondorJobRequestFormatter(DaoFactory daoFactory, UrlAssembler urlAssembler, UserDetails userDetails) {
+        this(daoFactory, urlAssembler, userDetails, null, new FileResolverFactory(daoFactory));
+    }
+
+    public CondorJobRequestFormatter(DaoFactory daoFactory, UrlAssembler urlAssembler, UserDetails userDetails,
+            FileResolverFactory fileResolverFactory) {
+        this(daoFactory, urlAssembler, userDetails, null, fileResolverFactory);
+    }
 
     public CondorJobRequestFormatter(DaoFactory daoFactory, UrlAssembler urlAssembler,
             UserDetails userDetails, JSONObject experiment) {
+        this(daoFactory, urlAssembler, userDetails, experiment, new FileResolverFactory(daoFactory));
+    }
+
+    public CondorJobRequestFormatter(DaoFactory daoFactory, UrlAssembler urlAssembler,
+            UserDetails userDetails, JSONObject experiment, FileResolverFactory fileResolverFactory) {
         this.daoFactory = daoFactory;
         this.urlAssembler = urlAssembler;
         this.userDetails = userDetails;
         this.experiment = experiment;
-        this.debug = experiment.optBoolean("debug", false);
-        this.fileResolverFactory = new FileResolverFactory(daoFactory);
+        this.fileResolverFactory = fileResolverFactory;
+    }
+
+    /**
+     * Sets the executor used to format steps that don't depend on each other concurrently. Steps are formatted by the
+     * calling thread by default. The DAO factory must be safe for use by multiple threads if an executor is provided,
+     * which a factory wrapping a single Hibernate session is not.
+     *
+     * @param executor the executor, or null if steps should be formatted by the calling thread.
+     */
+    public void setStepExecutor(ExecutorService executor) {
+        this.stepScheduler = new StepScheduler(executor);
+    }
+
+    /**
+     * Sets the minimum number of files selected for an input with a multiplicity of "many" for which the files are
+     * listed in a manifest rather than being formatted as separate inputs and parameters; see {@link InputManifests}.
+     * Manifests are disabled by default because the job execution service has to support them.
+     *
+     * @param manifestThreshold the minimum number of files for which a manifest is used, or zero to disable manifests.
+     */
+    public void setManifestThreshold(int manifestThreshold) {
+        this.manifestThreshold = manifestThreshold;
+    }
+
+    private static Timer stageTimer(String stage) {
+        return MetricsRegistry.getDefault().timer("job.format.condor." + stage);
     }
 
     @Override
     public JSONObject formatJobRequest() {
+        if (experiment == null) {
+            throw new WorkflowException("no experiment was provided when the job request formatter was created");
+        }
+        return formatJobRequest(experiment);
+    }
+
+    @Override
+    public JSONObject formatJobRequest(JSONObject experiment) {
         JobConstructor jobConstructor = new JobConstructor("submit", CONDOR_TYPE);
         jobConstructor.setExperimentJson(experiment);
 
         String analysisId = experiment.getString("analysis_id");
-        TransformationActivity analysis = daoFactory.getTransformationActivityDao().findById(analysisId);
+        final TransformationActivity analysis = daoFactory.getTransformationActivityDao().findById(analysisId);
         if (analysis == null) {
             throw new WorkflowException("analysis " + analysisId + " not found");
         }
@@ -105,80 +196,100 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
 
         job.put("email", userDetails.getEmail());
 
-        JSONObject config = experiment.getJSONObject("config");
+        final JSONObject config = experiment.getJSONObject("config");
+        final boolean debug = experiment.optBoolean("debug", false);
+        final Map<String, StepContext> completedSteps = new ConcurrentHashMap<String, StepContext>();
+        final InputManifests manifests = manifestThreshold > 0
+                ? new InputManifests(manifestThreshold, urlAssembler)
+                : null;
 
-        List<TransformationStep> steps = analysis.getSteps();
+        List<JSONObject> steps = stepScheduler.formatSteps(analysis, new StepScheduler.StepTask<JSONObject>() {
+            @Override
+            public JSONObject formatStep(TransformationStep step) {
+                StepContext context = new StepContext(step.getName(), config, debug, manifests);
+                formatStepInContext(analysis, step, context, completedSteps);
+                completedSteps.put(step.getName(), context);
+                return context.formattedStep;
+            }
+        });
 
         JSONArray stepArray = new JSONArray();
+        stepArray.addAll(steps);
+        job.put("steps", stepArray);
+        if (manifests != null) {
+            manifests.addToJob(job);
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Job: " + job);
+        }
+        return job;
+    }
 
-        for (TransformationStep currentStep : steps) {
-            JSONObject step1 = new JSONObject();
-
-            stderrFilename = null;
-            stdoutFilename = null;
-
-            step1.put("name", currentStep.getName());
-            step1.put("type", CONDOR_TYPE);
-
-            Transformation transformation = currentStep.getTransformation();
+    private void formatStepInContext(TransformationActivity analysis, TransformationStep currentStep,
+            StepContext context, Map<String, StepContext> completedSteps) {
+        JSONObject step1 = new JSONObject();
 
-            Template template = daoFactory.getTemplateDao().findById(transformation.getTemplate_id());
+        step1.put("name", currentStep.getName());
+        step1.put("type", CONDOR_TYPE);
 
-            JSONObject finalConfig = new JSONObject();
+        Transformation transformation = currentStep.getTransformation();
 
-            JSONArray jinputs = new JSONArray();
-            JSONArray params = new JSONArray();
+        Template template = daoFactory.getTemplateDao().findById(transformation.getTemplate_id());
 
-            // Format inputs and properties for inputs that are not referenced by other properties.
-            formatInputs(template, currentStep, config, jinputs);
-            formatUnreferencedInputProperties(template, currentStep, config, params, transformation,
-                    analysis, stepArray);
+        JSONObject finalConfig = new JSONObject();
 
-            // Format the properties.
-            formatProperties(analysis, template, currentStep, transformation, params, config, stepArray);
+        JSONArray jinputs = new JSONArray();
+        JSONArray params = new JSONArray();
 
-            // Format the environment-variable settings.
-            CondorEnvironmentVariableFormatter envFormatter
-                    = new CondorEnvironmentVariableFormatter(template, currentStep.getName(), transformation, config);
-            step1.put("environment", envFormatter.format());
+        // Format inputs and properties for inputs that are not referenced by other properties.
+        long mark = System.nanoTime();
+        formatInputs(template, currentStep, context, jinputs);
+        formatUnreferencedInputProperties(template, currentStep, context, params, transformation,
+                analysis, completedSteps);
+        mark = INPUT_STAGE_TIMER.lap(mark);
 
-            // Format outputs and properties for outputs taht are not referenced by other properties.
-            JSONArray outputs_section = new JSONArray();
-            formatOutputs(template, outputs_section);
-            formatUnreferencedOutputProperties(template, transformation, params);
+        // Format the properties.
+        formatProperties(analysis, template, currentStep, transformation, params, context, completedSteps);
+        mark = PROPERTY_STAGE_TIMER.lap(mark);
 
-            finalConfig.put("input", jinputs);
-            finalConfig.put("params", params);
-            finalConfig.put("output", outputs_section);
-            step1.put("config", finalConfig);
+        // Format the environment-variable settings.
+        CondorEnvironmentVariableFormatter envFormatter
+                = new CondorEnvironmentVariableFormatter(template, currentStep.getName(), transformation,
+                        context.config);
+        step1.put("environment", envFormatter.format());
+        mark = ENVIRONMENT_STAGE_TIMER.lap(mark);
 
-            /**
-             * retrieve component for template *
-             */
-            String componentId = template.getComponent();
-            step1.put("component", new DeployedComponentFormatter(daoFactory).formatComponent(componentId));
+        // Format outputs and properties for outputs taht are not referenced by other properties.
+        JSONArray outputs_section = new JSONArray();
+        formatOutputs(template, outputs_section, context);
+        formatUnreferencedOutputProperties(template, transformation, params, context);
+        mark = OUTPUT_STAGE_TIMER.lap(mark);
 
-            // Add the output redirections if there are any.
-            if (stderrFilename != null) {
-                step1.put("stderr", stderrFilename);
-            }
-            if (stdoutFilename != null) {
-                step1.put("stdout", stdoutFilename);
-            }
+        finalConfig.put("input", jinputs);
+        finalConfig.put("params", params);
+        finalConfig.put("output", outputs_section);
+        step1.put("config", finalConfig);
 
-            /**
-             * assemble the job JSON request *
-             */
-            stepArray.add(step1);
+        /**
+         * retrieve component for template *
+         */
+        String componentId = template.getComponent();
+        step1.put("component", new DeployedComponentFormatter(daoFactory).formatComponent(componentId));
+        COMPONENT_STAGE_TIMER.lap(mark);
 
+        // Add the output redirections if there are any.
+        if (context.stderrFilename != null) {
+            step1.put("stderr", context.stderrFilename);
+        }
+        if (context.stdoutFilename != null) {
+            step1.put("stdout", context.stdoutFilename);
         }
 
-        job.put("steps", stepArray);
-        LOG.debug("Job: " + job);
-        return job;
+        context.formattedStep = step1;
     }
 
-    private void formatUnreferencedOutputProperties(Template template, Transformation transformation, JSONArray params) {
+    private void formatUnreferencedOutputProperties(Template template, Transformation transformation, JSONArray params,
+            StepContext context) {
         for (DataObject outputObject : template.findUnreferencedOutputs()) {
             int order = getDataObjectOrder(outputObject);
             if (order < 0) {
@@ -195,30 +306,31 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
                 param.put("order", order);
                 param.put("id", outputObject.getId());
                 params.add(param);
-                updateRedirectionFilenames(outputObject, value);
+                updateRedirectionFilenames(context, outputObject, value);
             }
         }
     }
 
-    private void updateRedirectionFilenames(DataObject dataObject, String filename) {
+    private void updateRedirectionFilenames(StepContext context, DataObject dataObject, String filename) {
         String dataSourceName = dataObject.getDataSourceName();
         if (StringUtils.equals(dataSourceName, "stdout")) {
-            stdoutFilename = filename;
+            context.stdoutFilename = filename;
         }
         else if (StringUtils.equals(dataSourceName, "stderr")) {
-            stderrFilename = filename;
+            context.stderrFilename = filename;
         }
     }
 
-    private void formatOutputs(Template template, JSONArray outputs_section) {
-        formatDefinedOutputs(template, outputs_section);
+    private void formatOutputs(Template template, JSONArray outputs_section, StepContext context) {
+        formatDefinedOutputs(template, outputs_section, context);
         formatLogOutput(outputs_section);
     }
 
-    private void formatDefinedOutputs(Template template, JSONArray outputs_section) {
+    private void formatDefinedOutputs(Template template, JSONArray outputs_section, StepContext context) {
         for (DataObject outputObject : template.getOutputs()) {
 
             String id = outputObject.getId();
+            Map<String, String> outputPropertyValues = context.outputPropertyValues;
             String value = outputPropertyValues.containsKey(id) ? outputPropertyValues.get(id) : outputObject.getName();
 
             if (!StringUtils.isBlank(value)) {
@@ -227,9 +339,9 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
                 out.put("property", value);
                 out.put("type", outputObject.getInfoTypeName());
                 out.put("multiplicity", outputObject.getMultiplicityName());
-                out.put("retain", debug || outputObject.getRetain());
+                out.put("retain", context.debug || outputObject.getRetain());
                 outputs_section.add(out);
-                updateRedirectionFilenames(outputObject, value);
+                updateRedirectionFilenames(context, outputObject, value);
             }
         }
     }
@@ -245,9 +357,10 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
     }
 
     private void formatProperties(TransformationActivity analysis, Template template, TransformationStep currentStep,
-            Transformation transformation, JSONArray params, JSONObject config, JSONArray stepArray)
-            throws NumberFormatException {
+            Transformation transformation, JSONArray params, StepContext context,
+            Map<String, StepContext> completedSteps) throws NumberFormatException {
 
+        JSONObject config = context.config;
         String stepName = currentStep.getName();
         for (PropertyGroup group : template.getPropertyGroups()) {
             List<Property> properties = group.getProperties();
@@ -263,20 +376,22 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
 
                 }
                 else if (SfJsonUtils.contains(config, key)) {
-                    params.addAll(buildParamsForProperty(p, SfJsonUtils.defaultString(config, key), stepName));
+                    params.addAll(buildParamsForProperty(p, SfJsonUtils.defaultString(config, key), context));
                 }
                 else if (!p.getIsVisible()) {
-                    params.addAll(buildParamsForProperty(p, getDefaultValue(p), stepName));
+                    params.addAll(buildParamsForProperty(p, getDefaultValue(p), context));
                 }
                 else if (p.getDataObject() != null && analysis.isTargetInMapping(currentStep.getName(), p.getId())) {
-                    formatMappedInput(analysis, currentStep, p.getDataObject(), stepArray, params);
+                    formatMappedInput(analysis, currentStep, p.getDataObject(), completedSteps, params);
                 }
             }
         }
     }
 
-    private void formatUnreferencedInputProperties(Template template, TransformationStep currentStep, JSONObject config,
-            JSONArray params, Transformation transformation, TransformationActivity analysis, JSONArray stepArray) {
+    private void formatUnreferencedInputProperties(Template template, TransformationStep currentStep,
+            StepContext context, JSONArray params, Transformation transformation, TransformationActivity analysis,
+            Map<String, StepContext> completedSteps) {
+        JSONObject config = context.config;
         for (DataObject currentInput : template.findUnreferencedInputs()) {
             // this is temporary - we're skipping the resolution of
             // any input DataObject of type "ReconcileTaxa" because
@@ -289,8 +404,8 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
             if (SfJsonUtils.contains(config, key)) {
                 String path = config.getString(key);
                 if (!StringUtils.isBlank(path)) {
-                    JSONArray objects = getInputJSONObjects(currentInput, path);
-                    addParameterDefinitionsForDataObject(currentStep.getName(), params, currentInput, objects);
+                    JSONArray objects = getInputJSONObjects(currentInput, path, context);
+                    addParameterDefinitionsForDataObject(context, params, currentInput, objects);
                 }
             }
             else if (transformation.containsProperty(currentInput.getId())) {
@@ -302,24 +417,33 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
                 params.add(prop);
             }
             else if (analysis.isTargetInMapping(currentStep.getName(), currentInput.getId())) {
-                formatMappedInput(analysis, currentStep, currentInput, stepArray, params);
+                formatMappedInput(analysis, currentStep, currentInput, completedSteps, params);
             }
         }
     }
 
     private void formatMappedInput(TransformationActivity analysis, TransformationStep currentStep,
-            DataObject currentInput, JSONArray stepArray, JSONArray params) {
+            DataObject currentInput, Map<String, StepContext> completedSteps, JSONArray params) {
         ArrayList<InputOutputMap> maps = analysis.getMappingsForTargetStep(currentStep.getName());
         LOG.debug("is target: " + currentInput.getId());
         for (InputOutputMap map : maps) {
             TransformationStep source = map.getSource();
-            JSONObject jsonSource = retrieveJSONStep(stepArray, source.getName());
+            StepContext sourceContext = completedSteps.get(source.getName());
+            if (sourceContext == null) {
+                throw new WorkflowException("step " + source.getName() + " must be formatted before step "
+                        + currentStep.getName());
+            }
             Map<String, String> relation = map.getInput_output_relation();
             for (String sourceObject : relation.keySet()) {
                 LOG.debug("Source object: " + sourceObject);
                 if (relation.get(sourceObject).equals(currentInput.getId())) {
+                    String manifest = retrieveManifestForProperty(sourceObject, source, sourceContext);
+                    if (manifest != null) {
+                        params.add(getManifestParameterDefinition(currentInput, manifest));
+                        continue;
+                    }
                     JSONObject prop = new JSONObject();
-                    String value = retrieveValueForProperty(sourceObject, source, jsonSource);
+                    String value = retrieveValueForProperty(sourceObject, source, sourceContext);
                     setParamNameAndValue(prop, currentInput.getSwitchString(), value);
                     prop.put("order", getDataObjectOrder(currentInput));
                     prop.put("id", currentInput.getId());
@@ -329,7 +453,9 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         }
     }
 
-    private void formatInputs(Template template, TransformationStep currentStep, JSONObject config, JSONArray jinputs) {
+    private void formatInputs(Template template, TransformationStep currentStep, StepContext context,
+            JSONArray jinputs) {
+        JSONObject config = context.config;
         for (DataObject currentInput : template.getInputs()) {
             // this is temporary - we're skipping the resolution of
             // any input DataObject of type "ReconcileTaxa" because
@@ -341,7 +467,7 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
             if (SfJsonUtils.contains(config, key)) {
                 String path = config.getString(key);
                 if (!StringUtils.isBlank(path)) {
-                    jinputs.addAll(getInputJSONObjects(currentInput, path));
+                    jinputs.addAll(getInputJSONObjects(currentInput, path, context));
                 }
             }
         }
@@ -364,27 +490,32 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         return jprop;
     }
 
-    private JSONArray getInputJSONObjects(DataObject input, String path) {
+    private JSONArray getInputJSONObjects(DataObject input, String path, StepContext context) {
         JSONArray result = new JSONArray();
+        boolean debug = context.debug;
 
         logDataObject("input", input);
         FileResolver fileResolver = fileResolverFactory.getFileResolver(input.getInfoTypeName());
         if (fileResolver != null) {
-            JSONObject inputJson = createInputJsonForResolvedFile(extractInputName(path), input, fileResolver);
+            JSONObject inputJson = createInputJsonForResolvedFile(extractInputName(path), input, fileResolver, debug);
             if (inputJson != null) {
                 result.add(inputJson);
             }
         }
         else {
             if (!input.getMultiplicityName().equals("many")) {
-                result.add(createInputJson(path, input));
+                result.add(createInputJson(path, input, debug));
             }
             else {
                 JSONArray jsonFiles = ParamUtils.jsonArrayFromString(path);
-                if (jsonFiles != null) {
+                if (jsonFiles != null && context.manifests != null
+                        && context.manifests.shouldUseManifest(jsonFiles.size())) {
+                    result.add(createManifestInputJson(jsonFiles, input, context));
+                }
+                else if (jsonFiles != null) {
                     for (int i = 0, pathCount = jsonFiles.size(); i < pathCount; i++) {
                         String currentPath = jsonFiles.getString(i);
-                        result.add(createInputJson(currentPath, input));
+                        result.add(createInputJson(currentPath, input, debug));
                     }
                 }
             }
@@ -417,7 +548,8 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         }
     }
 
-    private JSONObject createInputJsonForResolvedFile(String name, DataObject input, FileResolver fileResolver) {
+    private JSONObject createInputJsonForResolvedFile(String name, DataObject input, FileResolver fileResolver,
+            boolean debug) {
         JSONObject result = null;
         String url = fileResolver.getFileAccessUrl(name);
         if (!StringUtils.isBlank(url) && !isFileUrl(url)) {
@@ -436,7 +568,7 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         return FILE_URL_PATTERN.matcher(url).find();
     }
 
-    private JSONObject createInputJson(String path, DataObject input) {
+    private JSONObject createInputJson(String path, DataObject input, boolean debug) {
         JSONObject in = new JSONObject();
         String filename = basename(path);
         in.put("name", filename);
@@ -449,23 +581,78 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         return in;
     }
 
+    /**
+     * Creates a single input object for all of the files selected for an input. The files are recorded in the job's
+     * manifests, which list their URLs, and the input object refers to them by handle.
+     *
+     * @param jsonFiles the paths of the selected files.
+     * @param input the data object representing the input.
+     * @param context the context of the current transformation step.
+     * @return the input object.
+     */
+    private JSONObject createManifestInputJson(JSONArray jsonFiles, DataObject input, StepContext context) {
+        List<String> paths = new ArrayList<String>(jsonFiles.size());
+        for (int i = 0, pathCount = jsonFiles.size(); i < pathCount; i++) {
+            paths.add(jsonFiles.getString(i));
+        }
+        JSONObject in = new JSONObject();
+        in.put("type", input.getInfoTypeName().trim());
+        in.put("manifest", context.manifests.add(context.stepName, input.getId(), paths));
+        in.put("id", input.getId());
+        in.put("multiplicity", input.getMultiplicityName());
+        in.put("retain", context.debug || input.getRetain());
+        return in;
+    }
+
+    /**
+     * Gets the manifest handle from a list of input objects.
+     *
+     * @param dataInfo the list of input objects.
+     * @return the manifest handle or null if the files aren't listed in a manifest.
+     */
+    private String getManifestHandle(JSONArray dataInfo) {
+        return dataInfo.size() == 1 ? dataInfo.getJSONObject(0).optString("manifest", null) : null;
+    }
+
+    /**
+     * Creates a single parameter for all of the files listed in a manifest. The job execution service repeats the
+     * parameter for the name of each file in the manifest.
+     *
+     * @param dataObject the data object representing the input.
+     * @param manifest the manifest handle.
+     * @return the parameter.
+     */
+    private JSONObject getManifestParameterDefinition(DataObject dataObject, String manifest) {
+        JSONObject parameter = new JSONObject();
+        setParamNameAndValue(parameter, dataObject.getSwitchString(), "");
+        parameter.put("manifest", manifest);
+        parameter.put("order", getDataObjectOrder(dataObject));
+        parameter.put("id", dataObject.getId());
+        return parameter;
+    }
+
     private String basename(String path) {
         int slashpos = path.lastIndexOf("/");
         return slashpos == -1 ? path : path.substring(slashpos + 1);
     }
 
-    private void addParameterDefinitionsForDataObject(String stepName, JSONArray params, DataObject dataObject,
+    private void addParameterDefinitionsForDataObject(StepContext context, JSONArray params, DataObject dataObject,
             JSONArray dataInfo) {
-        List<String> paths = getPathsForDataObject(stepName, dataObject, dataInfo);
+        String manifest = getManifestHandle(dataInfo);
+        if (manifest != null) {
+            params.add(getManifestParameterDefinition(dataObject, manifest));
+            return;
+        }
+        List<String> paths = getPathsForDataObject(context, dataObject, dataInfo);
         for (String path : paths) {
             params.add(getParameterDefinitionForDataObject(dataObject, path));
         }
     }
 
-    private List<String> getPathsForDataObject(String stepName, DataObject dataObject, JSONArray dataInfo) {
+    private List<String> getPathsForDataObject(StepContext context, DataObject dataObject, JSONArray dataInfo) {
         List<String> paths = new ArrayList<String>();
         if (dataObject.getMultiplicityName().equals("single")) {
-            paths.addAll(getPathsForSingleInput(stepName, dataObject, dataInfo));
+            paths.addAll(getPathsForSingleInput(context, dataObject, dataInfo));
         }
         else {
             paths.addAll(getPathsForMultipleInputs(dataInfo));
@@ -486,17 +673,17 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
      * reference genomes as a special case because an input object is not created for reference genomes. I'm afraid a
      * complete refactoring of this class would be required to find a better solution, though.
      *
-     * @param stepName the name of the current transformation step.
+     * @param context the context of the current transformation step.
      * @param input the data object representing the input object.
      * @param dataInfo the list of input objects.
      * @return the list of paths to use for the input file, which may contain zero elements or one element.
      */
-    private List<String> getPathsForSingleInput(String stepName, DataObject input, JSONArray dataInfo) {
+    private List<String> getPathsForSingleInput(StepContext context, DataObject input, JSONArray dataInfo) {
         List<String> result = new ArrayList<String>();
         FileResolver fileResolver = fileResolverFactory.getFileResolver(input.getInfoTypeName());
         if (fileResolver != null) {
-            String key = stepName + "_" + input.getId();
-            String propertyValue = experiment.getJSONObject("config").getString(key);
+            String key = context.stepName + "_" + input.getId();
+            String propertyValue = context.config.getString(key);
             String resolvedPath = fileResolver.getFileAccessUrl(extractInputName(propertyValue));
             if (!StringUtils.isBlank(resolvedPath)) {
                 result.add(resolvedPath);
@@ -530,7 +717,7 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         return order;
     }
 
-    private String retrieveValueForProperty(String property, TransformationStep step, JSONObject jstep) {
+    private String retrieveValueForProperty(String property, TransformationStep step, StepContext stepContext) {
 
         Transformation transformation = step.getTransformation();
 
@@ -538,7 +725,7 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
 
         if (property.contains("in#")) {
 
-            JSONObject jsonInput = getJSONProperty(jstep, originalName);
+            JSONObject jsonInput = getJSONProperty(stepContext.formattedStep, originalName);
             if (jsonInput != null) {
                 return jsonInput.getString("value");
             }
@@ -548,7 +735,7 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
             }
         }
 
-        String userInput = outputPropertyValues.get(originalName);
+        String userInput = stepContext.outputPropertyValues.get(originalName);
         if (!StringUtils.isEmpty(userInput)) {
             return userInput;
         }
@@ -566,6 +753,23 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         }
     }
 
+    /**
+     * Gets the manifest handle for an input of a source step that is mapped to an input of the current step.
+     *
+     * @param property the name of the source property.
+     * @param step the source step.
+     * @param stepContext the context of the source step.
+     * @return the manifest handle or null if the source property isn't an input whose files are listed in a manifest.
+     */
+    private String retrieveManifestForProperty(String property, TransformationStep step, StepContext stepContext) {
+        if (stepContext.manifests == null || !property.contains("in#")) {
+            return null;
+        }
+        String originalName = property.replace("in#", "").replace(step.getName() + "_", "");
+        JSONObject jsonInput = getJSONProperty(stepContext.formattedStep, originalName);
+        return jsonInput == null ? null : jsonInput.optString("manifest", null);
+    }
+
     protected String getPropertyName(String originalName, Template template) {
         String retval;
         try {
@@ -598,17 +802,7 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         return null;
     }
 
-    public JSONObject retrieveJSONStep(JSONArray steps, String step_name) {
-
-        for (int i = 0; i < steps.size(); i++) {
-            if (steps.getJSONObject(i).getString("name").equals(step_name)) {
-                return steps.getJSONObject(i);
-            }
-        }
-        return null;
-    }
-
-    private List<JSONObject> buildParamsForProperty(Property property, String value, String stepName) {
+    private List<JSONObject> buildParamsForProperty(Property property, String value, StepContext context) {
         List<JSONObject> jprops = new ArrayList<JSONObject>();
         String propertyTypeName = property.getPropertyTypeName();
         if (StringUtils.equals(propertyTypeName, "TreeSelection")) {
@@ -625,10 +819,10 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
             throw new UnsupportedPropertyTypeException(propertyTypeName);
         }
         else if (StringUtils.equals(propertyTypeName, "Input")) {
-            jprops.addAll(formatInputProperties(property, value, stepName));
+            jprops.addAll(formatInputProperties(property, value, context));
         }
         else if (StringUtils.equals(propertyTypeName, "Output")) {
-            CollectionUtils.addIgnoreNull(jprops, formatOutputProperty(property, value));
+            CollectionUtils.addIgnoreNull(jprops, formatOutputProperty(property, value, context));
         }
         else if (!IGNORED_PROPERTY_TYPES.contains(property.getPropertyTypeName())) {
             CollectionUtils.addIgnoreNull(jprops, formatDefaultProperty(property, value));
@@ -653,12 +847,12 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         }, props);
     }
 
-    protected JSONObject formatOutputProperty(Property property, String value) {
+    private JSONObject formatOutputProperty(Property property, String value, StepContext context) {
         DataObject output = property.getDataObject();
         if (output.isImplicit()) {
             return null;
         }
-        outputPropertyValues.put(output.getId(), value);
+        context.outputPropertyValues.put(output.getId(), value);
         return StringUtils.equals(output.getDataSourceName(), "file") ? formatDefaultProperty(property, value) : null;
     }
 
@@ -767,10 +961,15 @@ public class CondorJobRequestFormatter implements JobRequestFormatter {
         return order;
     }
 
-    private List<JSONObject> formatInputProperties(Property property, String value, String stepName) {
+    private List<JSONObject> formatInputProperties(Property property, String value, StepContext context) {
         List<JSONObject> params = new ArrayList<JSONObject>();
-        JSONArray objects = getInputJSONObjects(property.getDataObject(), value);
-        List<String> paths = getPathsForDataObject(stepName, property.getDataObject(), objects);
+        JSONArray objects = getInputJSONObjects(property.getDataObject(), value, context);
+        String manifest = getManifestHandle(objects);
+        if (manifest != null) {
+            params.add(getManifestParameterDefinition(property.getDataObject(), manifest));
+            return params;
+        }
+        List<String> paths = getPathsForDataObject(context, property.getDataObject(), objects);
         for (String path : paths) {
             if (!property.getOmitIfBlank() || !StringUtils.isBlank(path)) {
                 params.add(getParameterDefinitionForDataObject(property.getDataObject(), path));
@@ -22,7 +22,13 @@ import org.iplantc.workflow.client.OsmClient;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
-import org.iplantc.workflow.experiment.util.JobConfigUtils;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventBus;
+import org.iplantc.workflow.events.ChangeEventListener;
+import org.iplantc.workflow.experiment.files.ReferenceGenomePathCache;
+import org.iplantc.workflow.experiment.util.JobConfigCodec;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.Timer;
 import org.iplantc.workflow.service.UserService;
 import org.iplantc.workflow.user.UserDetails;
 
@@ -37,7 +43,11 @@ public class ExperimentRunner extends HibernateAccessor {
 
     private static final Logger LOG = Logger.getLogger(ExperimentRunner.class);
 
-    private static final Logger JsonLogger = Logger.getLogger("JsonLogger");
+    private static final Timer RUN_TIMER = MetricsRegistry.getDefault().timer("experiment.run");
+
+    private static final Timer FORMAT_TIMER = MetricsRegistry.getDefault().timer("experiment.formatJobRequest");
+
+    private static final Timer SUBMIT_TIMER = MetricsRegistry.getDefault().timer("experiment.submitJob");
 
     private UserService userService;
 
@@ -49,16 +59,24 @@ public class ExperimentRunner extends HibernateAccessor {
 
     private String irodsHome;
 
+    private volatile ReferenceGenomePathCache referenceGenomePathCache = ReferenceGenomePathCache.getDefaultInstance();
+
+    private int manifestThreshold;
+
+    private SubmissionAuditLog auditLog = SubmissionAuditLog.getDefaultInstance();
+
     public ExperimentRunner() {
     }
 
     public String runExperiment(JSONObject experiment) throws Exception {
+        Timer.Context context = RUN_TIMER.start();
         Session session = getSessionFactory().openSession();
         Transaction tx = null;
         try {
             tx = session.beginTransaction();
             String result = runExperiment(experiment, session);
             tx.commit();
+            context.success();
             return result;
         }
         catch (Exception e) {
@@ -71,14 +89,18 @@ public class ExperimentRunner extends HibernateAccessor {
             if (session.isOpen()) {
                 session.close();
             }
+            context.stop();
         }
 
     }
 
     private String runExperiment(JSONObject experiment, Session session) throws Exception {
-        LOG.debug("Running experiment: " + experiment);
-        JsonLogger.info("runExperiment received the following input: " + experiment.toString(2));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Running experiment: " + experiment);
+        }
 
+        // The experiment is audited once the formatter has finished with it because it may still be modified.
+        boolean experimentAudited = false;
         try {
             UserDetails userDetails = userService.getCurrentUserDetails();
             DaoFactory daoFactory = new HibernateDaoFactory(session);
@@ -91,11 +113,16 @@ public class ExperimentRunner extends HibernateAccessor {
             }
 
             JSONObject job = formatJobRequest(experiment, daoFactory, userDetails);
+            auditLog.log("runExperiment received the following input: ", experiment);
+            experimentAudited = true;
             storeJobSubmission(experiment, job.getString("uuid"));
             submitJob(job);
             return formatResponse(job);
         }
         catch (Exception ex) {
+            if (!experimentAudited) {
+                auditLog.log("runExperiment received the following input: ", experiment);
+            }
             LOG.error("Caught exception when processing", ex);
             throw new Exception("ExperimentRunner error: " + ex.getMessage(), ex);
         }
@@ -118,7 +145,7 @@ public class ExperimentRunner extends HibernateAccessor {
     private void storeJobSubmission(JSONObject experiment, String jobUuid) {
         JSONObject state = new JSONObject();
         state.put("jobUuid", jobUuid);
-        state.put("experiment", JobConfigUtils.escapeJobConfig(experiment));
+        state.put("experiment", JobConfigCodec.escapeJobConfig(experiment));
         String uuid = jobRequestOsmClient.save(state);
         if (LOG.isDebugEnabled()) {
             LOG.debug("job request stored for job " + jobUuid + " with object persistence uuid " + uuid);
@@ -127,10 +154,21 @@ public class ExperimentRunner extends HibernateAccessor {
 
     protected JSONObject formatJobRequest(JSONObject experiment, DaoFactory daoFactory,
             UserDetails userDetails) {
+        // The DAO factory wraps the session for this request, so the formatters can't outlive the request, and the
+        // steps are formatted by this thread because the session can't be shared across threads.
         JobNameUniquenessEnsurer jobNameUniquenessEnsurer = new TimestampJobNameUniquenessEnsurer();
         JobRequestFormatterFactory factory = new JobRequestFormatterFactory(daoFactory, urlAssembler,
-                userDetails, jobNameUniquenessEnsurer, irodsHome);
-        return factory.getFormatter(experiment).formatJobRequest();
+                userDetails, jobNameUniquenessEnsurer, irodsHome, referenceGenomePathCache);
+        factory.setManifestThreshold(manifestThreshold);
+        Timer.Context context = FORMAT_TIMER.start();
+        try {
+            JSONObject job = factory.getFormatter(experiment).formatJobRequest(experiment);
+            context.success();
+            return job;
+        }
+        finally {
+            context.stop();
+        }
     }
 
     protected String submitJob(JSONObject job) throws UnsupportedEncodingException, IOException {
@@ -139,23 +177,35 @@ public class ExperimentRunner extends HibernateAccessor {
          */
         HttpClient client = new DefaultHttpClient();
         client.getParams().setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, 10000);
-        LOG.debug("Execution url: " + executionUrl);
         HttpPost post = new HttpPost(executionUrl);
-        LOG.debug("Job: " + job);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Execution url: " + executionUrl);
+            LOG.debug("Job: " + job);
+        }
 
-        JsonLogger.info("Returning from runExperiment with the following result: "
-                + job.toString(2));
+        auditLog.log("Returning from runExperiment with the following result: ", job);
         post.setEntity(new StringEntity(job.toString(), "application/json", "UTF-8"));
 
-        HttpResponse response = client.execute(post);
-        int responseStatus = response.getStatusLine().getStatusCode();
-        LOG.debug("Response status from HttpClient post: " + responseStatus);
+        Timer.Context context = SUBMIT_TIMER.start();
+        try {
+            HttpResponse response = client.execute(post);
+            int responseStatus = response.getStatusLine().getStatusCode();
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Response status from HttpClient post: " + responseStatus);
+            }
+            MetricsRegistry.getDefault().counter("experiment.submitJob status " + responseStatus).increment();
 
-        if ((responseStatus < 200) || (responseStatus > 299)) {
-            throw new AppSubmissionException(responseStatus, job.toString(2));
-        }
+            if ((responseStatus < 200) || (responseStatus > 299)) {
+                throw new AppSubmissionException(responseStatus, job.toString(2));
+            }
 
-        return IOUtils.toString(response.getEntity().getContent());
+            String responseBody = IOUtils.toString(response.getEntity().getContent());
+            context.success();
+            return responseBody;
+        }
+        finally {
+            context.stop();
+        }
     }
 
     public void setUserService(UserService userService) {
@@ -193,4 +243,37 @@ public class ExperimentRunner extends HibernateAccessor {
     public String getIrodsHome() {
         return irodsHome;
     }
+
+    public void setReferenceGenomePathCache(ReferenceGenomePathCache referenceGenomePathCache) {
+        this.referenceGenomePathCache = referenceGenomePathCache;
+    }
+
+    public ReferenceGenomePathCache getReferenceGenomePathCache() {
+        return referenceGenomePathCache;
+    }
+
+    public void setManifestThreshold(int manifestThreshold) {
+        this.manifestThreshold = manifestThreshold;
+    }
+
+    public int getManifestThreshold() {
+        return manifestThreshold;
+    }
+
+    public void setAuditLog(SubmissionAuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    public SubmissionAuditLog getAuditLog() {
+        return auditLog;
+    }
+
+    public void setChangeEventBus(ChangeEventBus changeEventBus) {
+        changeEventBus.addListener(new ChangeEventListener() {
+            @Override
+            public void onChange(ChangeEvent event) {
+                referenceGenomePathCache.onChange(event);
+            }
+        });
+    }
 }
@@ -54,6 +54,11 @@ public class FapiInputParamFormatter {
      */
     private Map<String, List<String>> propertyValues;
 
+    /**
+     * The file manifests for the job, or null if manifests aren't being used.
+     */
+    private InputManifests manifests;
+
     /**
      * @param daoFactory used to obtain data access objects.
      * @param analysis the analysis that is currently being formatted.
@@ -63,12 +68,27 @@ public class FapiInputParamFormatter {
      */
     public FapiInputParamFormatter(DaoFactory daoFactory, TransformationActivity analysis, TransformationStep step,
         JSONObject config, Map<String, List<String>> propertyValues)
+    {
+        this(daoFactory, analysis, step, config, propertyValues, null);
+    }
+
+    /**
+     * @param daoFactory used to obtain data access objects.
+     * @param analysis the analysis that is currently being formatted.
+     * @param step the transformation step that is currently being formatted.
+     * @param config the experiment configuration.
+     * @param propertyValues a map of property names to property values.
+     * @param manifests the file manifests for the job, or null if manifests aren't being used.
+     */
+    public FapiInputParamFormatter(DaoFactory daoFactory, TransformationActivity analysis, TransformationStep step,
+        JSONObject config, Map<String, List<String>> propertyValues, InputManifests manifests)
     {
         this.daoFactory = daoFactory;
         this.analysis = analysis;
         this.step = step;
         this.config = config;
         this.propertyValues = propertyValues;
+        this.manifests = manifests;
     }
 
     /**
@@ -107,23 +127,32 @@ public class FapiInputParamFormatter {
     }
 
     /**
-     * Gets the source file names from the input/output mappings for an analysis.
+     * Gets the source file names from the input/output mappings for an analysis. If the files all come from a single
+     * mapping, the list of source file names obtained from that mapping is returned without being copied so that a
+     * manifest recorded for the source step can be referred to by the current step.
      * 
      * @param input the current input object.
      * @return the list of source file names.
      */
     private List<String> getSourceFileNamesFromInputOutputMappings(DataObject input) {
-        List<String> sourceFileNames = new ArrayList<String>();
+        List<List<String>> sources = new ArrayList<List<String>>();
         for (InputOutputMap map : analysis.getMappingsForTargetStep(step.getName())) {
             TransformationStep source = map.getSource();
             Map<String, String> relation = map.getInput_output_relation();
             for (String sourcePropertyName : relation.keySet()) {
                 String destPropertyName = relation.get(sourcePropertyName);
                 if (StringUtils.equals(destPropertyName, input.getId())) {
-                    sourceFileNames.addAll(findSourceFileNames(source, sourcePropertyName, destPropertyName));
+                    sources.add(findSourceFileNames(source, sourcePropertyName, destPropertyName));
                 }
             }
         }
+        if (sources.size() == 1) {
+            return sources.get(0);
+        }
+        List<String> sourceFileNames = new ArrayList<String>();
+        for (List<String> fileNames : sources) {
+            sourceFileNames.addAll(fileNames);
+        }
         return sourceFileNames;
     }
 
@@ -139,13 +168,18 @@ public class FapiInputParamFormatter {
     private List<String> findSourceFileNames(TransformationStep source, String sourcePropertyName,
         String destPropertyName)
     {
-        List<String> sourceFileNames = new ArrayList<String>();
         Transformation sourceTransformation = source.getTransformation();
         String originalName = sourcePropertyName.replaceAll("^in#", "").replace(source.getName() + "_", "");
         if (sourcePropertyName.startsWith("in#")) {
-            sourceFileNames.addAll(getInputPropertyValuesFromSourceStep(source, originalName));
+            List<String> values = getInputPropertyValuesFromSourceStep(source, originalName);
+            if (values == null) {
+                throw new WorkflowException("A value for property " + source.getName() + "_" + originalName
+                    + " needs to be input in order to be used in a mapping.");
+            }
+            return values;
         }
-        else if (sourceTransformation != null) {
+        List<String> sourceFileNames = new ArrayList<String>();
+        if (sourceTransformation != null) {
             if (sourceTransformation.containsProperty(sourcePropertyName)) {
                 sourceFileNames.add(sourceTransformation.getValueForProperty(sourcePropertyName));
             }
@@ -258,28 +292,78 @@ public class FapiInputParamFormatter {
      * @param specifiedFiles the list of specified files.
      */
     private void addParamsForSpecifiedFiles(JSONArray params, DataObject input, List<String> specifiedFiles) {
-        for (String path : specifiedFiles) {
-            if (!StringUtils.isBlank(path)) {
-                addParamValueToPropertyMap(input.getId(), path);
+        List<String> paths = removeBlankPaths(specifiedFiles);
+        if (paths.isEmpty()) {
+            return;
+        }
+        addParamValuesToPropertyMap(input.getId(), paths);
+        if (manifests != null && manifests.shouldUseManifest(paths.size())) {
+            addParamForManifest(params, input, manifests.add(step.getName(), input.getId(), paths));
+        }
+        else {
+            for (String path : paths) {
                 addParamForOneSpecifiedFile(params, input, path);
             }
         }
     }
 
     /**
-     * Adds a parameter value to the property map.
+     * Removes blank paths from a list of paths.
+     * 
+     * @param paths the list of paths.
+     * @return the original list if it contains no blank paths or a filtered copy of the list.
+     */
+    private List<String> removeBlankPaths(List<String> paths) {
+        for (String path : paths) {
+            if (StringUtils.isBlank(path)) {
+                List<String> result = new ArrayList<String>();
+                for (String candidate : paths) {
+                    if (!StringUtils.isBlank(candidate)) {
+                        result.add(candidate);
+                    }
+                }
+                return result;
+            }
+        }
+        return paths;
+    }
+
+    /**
+     * Adds parameter values to the property map. The list of values is stored without being copied if there are no
+     * values for the property yet, so callers must not modify the list afterwards.
      * 
      * @param inputId the input identifier.
-     * @param value the property value.
+     * @param values the property values.
      */
-    private void addParamValueToPropertyMap(String inputId, String value) {
+    private void addParamValuesToPropertyMap(String inputId, List<String> values) {
         String key = step.getName() + "_" + inputId;
-        List<String> values = propertyValues.get(key);
-        if (values == null) {
-            values = new ArrayList<String>();
+        List<String> existingValues = propertyValues.get(key);
+        if (existingValues == null) {
             propertyValues.put(key, values);
         }
-        values.add(value);
+        else {
+            List<String> combinedValues = new ArrayList<String>(existingValues);
+            combinedValues.addAll(values);
+            propertyValues.put(key, combinedValues);
+        }
+    }
+
+    /**
+     * Adds a single parameter for all of the files listed in a manifest. The job execution service repeats the
+     * parameter for each file in the manifest.
+     * 
+     * @param params the list of parameters.
+     * @param input the input being formatted.
+     * @param manifest the manifest handle.
+     */
+    private void addParamForManifest(JSONArray params, DataObject input, String manifest) {
+        JSONObject param = new JSONObject();
+        param.put("order", input.getOrderd());
+        setParamNameAndValue(param, input.getSwitchString(), "");
+        param.put("manifest", manifest);
+        param.put("id", input.getId());
+        param.put("multiplicity", input.getMultiplicityName());
+        params.add(param);
     }
 
     /**
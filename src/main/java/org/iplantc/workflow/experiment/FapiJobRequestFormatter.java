@@ -3,6 +3,8 @@ package org.iplantc.workflow.experiment;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
@@ -14,10 +16,14 @@ import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.experiment.dto.JobConstructor;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.Timer;
 import org.iplantc.workflow.user.UserDetails;
 
 /**
- * A job request formatter used to submit jobs to the foundational API.
+ * A job request formatter used to submit jobs to the foundational API. Each step is formatted with its own map of
+ * property values, seeded with the values recorded by the steps that it depends on, so a single instance of this class
+ * may be used to format any number of experiments concurrently.
  *
  * @author Dennis Roberts
  */
@@ -38,6 +44,16 @@ public class FapiJobRequestFormatter implements JobRequestFormatter {
      */
     private static final Logger LOG = Logger.getLogger(FapiJobRequestFormatter.class);
 
+    /**
+     * Records the time spent ensuring that job names are unique.
+     */
+    private static final Timer JOB_NAME_STAGE_TIMER = MetricsRegistry.getDefault().timer("job.format.fapi.job-name");
+
+    /**
+     * Records the time spent formatting the job steps.
+     */
+    private static final Timer STEP_STAGE_TIMER = MetricsRegistry.getDefault().timer("job.format.fapi.steps");
+
     /**
      * Used to create data access objects.
      */
@@ -49,7 +65,7 @@ public class FapiJobRequestFormatter implements JobRequestFormatter {
     private final UserDetails userDetails;
 
     /**
-     * The configuration of the experiment.
+     * The configuration of the experiment, or null if the experiment is passed to the formatter for each request.
      */
     private final JSONObject experiment;
 
@@ -63,11 +79,34 @@ public class FapiJobRequestFormatter implements JobRequestFormatter {
      */
     private final String irodsHome;
 
+    /**
+     * Used to determine the order in which the steps are formatted.
+     */
+    private StepScheduler stepScheduler = new StepScheduler(null);
+
+    /**
+     * The minimum number of files for which a manifest is used, or zero if manifests are disabled.
+     */
+    private volatile int manifestThreshold;
+
+    /**
+     * @param daoFactory the factory used to create data access objects.
+     * @param userDetails the details of the user who submitted the job.
+     * @param jobNameUniquenessEnsurer used to ensure that jobs are uniquely named.
+     * @param irodsHome the path to the home directory in iRODS.
+     */
+    public FapiJobRequestFormatter(DaoFactory daoFactory, UserDetails userDetails,
+        JobNameUniquenessEnsurer jobNameUniquenessEnsurer, String irodsHome)
+    {
+        this(daoFactory, userDetails, null, jobNameUniquenessEnsurer, irodsHome);
+    }
+
     /**
      * @param daoFactory the factory used to create data access objects.
      * @param userDetails the details of the user who submitted the job.
      * @param experiment the configuration of the experiment.
      * @param jobNameUniquenessEnsurer used to ensure that jobs are uniquely named.
+     * @param irodsHome the path to the home directory in iRODS.
      */
     public FapiJobRequestFormatter(DaoFactory daoFactory, UserDetails userDetails, JSONObject experiment,
         JobNameUniquenessEnsurer jobNameUniquenessEnsurer, String irodsHome)
@@ -79,16 +118,57 @@ public class FapiJobRequestFormatter implements JobRequestFormatter {
         this.irodsHome = irodsHome;
     }
 
+    /**
+     * Sets the executor used to format steps that don't depend on each other concurrently. Steps are formatted by the
+     * calling thread by default. The DAO factory must be safe for use by multiple threads if an executor is provided,
+     * which a factory wrapping a single Hibernate session is not.
+     *
+     * @param executor the executor, or null if steps should be formatted by the calling thread.
+     */
+    public void setStepExecutor(ExecutorService executor) {
+        this.stepScheduler = new StepScheduler(executor);
+    }
+
+    /**
+     * Sets the minimum number of files selected for an input with a multiplicity of "many" for which the files are
+     * listed in a manifest rather than being formatted as separate parameters; see {@link InputManifests}. Manifests
+     * are disabled by default because the job execution service has to support them.
+     *
+     * @param manifestThreshold the minimum number of files for which a manifest is used, or zero to disable manifests.
+     */
+    public void setManifestThreshold(int manifestThreshold) {
+        this.manifestThreshold = manifestThreshold;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public JSONObject formatJobRequest() {
+        if (experiment == null) {
+            throw new WorkflowException("no experiment was provided when the job request formatter was created");
+        }
+        return formatJobRequest(experiment);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public JSONObject formatJobRequest(JSONObject experiment) {
         logJson("experiment", experiment);
-        ensureJobNameUniqueness();
+        long mark = System.nanoTime();
+        ensureJobNameUniqueness(experiment);
+        JOB_NAME_STAGE_TIMER.lap(mark);
         TransformationActivity analysis = loadAnalysis(experiment.getString("analysis_id"));
-        JSONObject job = createJobObject(analysis);
-        job.put("steps", formatSteps(analysis));
+        JSONObject job = createJobObject(experiment, analysis);
+        mark = System.nanoTime();
+        InputManifests manifests = manifestThreshold > 0 ? new InputManifests(manifestThreshold) : null;
+        job.put("steps", formatSteps(experiment, analysis, manifests));
+        if (manifests != null) {
+            manifests.addToJob(job);
+        }
+        STEP_STAGE_TIMER.lap(mark);
         job.put("email", userDetails.getEmail());
         logJson("job submission", job);
         return job;
@@ -96,8 +176,10 @@ public class FapiJobRequestFormatter implements JobRequestFormatter {
 
     /**
      * Ensures that the job name is unique for the user.
+     *
+     * @param experiment the experiment being formatted.
      */
-    private void ensureJobNameUniqueness() {
+    private void ensureJobNameUniqueness(JSONObject experiment) {
         String originalName = experiment.getString("name");
         String uniqueName = jobNameUniquenessEnsurer.ensureUniqueJobName(userDetails.getShortUsername(), originalName);
         if (!StringUtils.equals(originalName, uniqueName)) {
@@ -108,19 +190,40 @@ public class FapiJobRequestFormatter implements JobRequestFormatter {
     }
 
     /**
-     * Formats the steps in the given analysis.
+     * Formats the steps in the given analysis. The property values recorded while formatting each step are kept
+     * separately so that a step only sees the values recorded by the steps that it depends on.
      *
+     * @param experiment the experiment being formatted.
      * @param analysis the analysis.
+     * @param manifests the file manifests for the job, or null if manifests aren't being used.
      * @return the formatted list of steps.
      */
-    private Object formatSteps(TransformationActivity analysis) {
+    private Object formatSteps(final JSONObject experiment, final TransformationActivity analysis,
+        final InputManifests manifests)
+    {
+        final Map<String, Map<String, List<String>>> stepPropertyValues
+                = new ConcurrentHashMap<String, Map<String, List<String>>>();
+        List<JSONObject> formattedSteps = stepScheduler.formatSteps(analysis,
+                new StepScheduler.StepTask<JSONObject>() {
+                    @Override
+                    public JSONObject formatStep(TransformationStep step) {
+                        Map<String, List<String>> propertyValues = new HashMap<String, List<String>>();
+                        for (String source : StepScheduler.getSourceStepNames(analysis, step.getName())) {
+                            Map<String, List<String>> sourceValues = stepPropertyValues.get(source);
+                            if (sourceValues != null) {
+                                propertyValues.putAll(sourceValues);
+                            }
+                        }
+                        FapiStepFormatter formatter = new FapiStepFormatter(daoFactory, JOB_TYPE,
+                                userDetails.getShortUsername(), experiment, analysis, step, propertyValues, irodsHome);
+                        formatter.setManifests(manifests);
+                        JSONObject formattedStep = formatter.formatStep();
+                        stepPropertyValues.put(step.getName(), propertyValues);
+                        return formattedStep;
+                    }
+                });
         JSONArray steps = new JSONArray();
-        Map<String, List<String>> propertyValues = new HashMap<String, List<String>>();
-        for (TransformationStep step : analysis.getSteps()) {
-            FapiStepFormatter formatter = new FapiStepFormatter(daoFactory, JOB_TYPE, userDetails.getShortUsername(),
-                    experiment, analysis, step, propertyValues, irodsHome);
-            steps.add(formatter.formatStep());
-        }
+        steps.addAll(formattedSteps);
         return steps;
     }
 
@@ -139,10 +242,11 @@ public class FapiJobRequestFormatter implements JobRequestFormatter {
     /**
      * Begins the creation of the JSON object that will be used to submit the job.
      *
+     * @param experiment the experiment being formatted.
      * @param analysis the analysis representing the job that will be submitted.
      * @return the new JSON object.
      */
-    private JSONObject createJobObject(TransformationActivity analysis) {
+    private JSONObject createJobObject(JSONObject experiment, TransformationActivity analysis) {
         JobConstructor jobConstructor = new JobConstructor("submit", JOB_TYPE);
         jobConstructor.setExperimentJson(experiment);
         jobConstructor.setAnalysis(analysis);
@@ -67,6 +67,11 @@ public class FapiStepFormatter {
      */
     private final String irodsHome;
 
+    /**
+     * The file manifests for the job, or null if manifests aren't being used.
+     */
+    private InputManifests manifests;
+
     /**
      * @param daoFactory the factory used to create data access objects.
      * @param stepType the type of step being formatted.
@@ -90,6 +95,13 @@ public class FapiStepFormatter {
         this.irodsHome = irodsHome;
     }
 
+    /**
+     * @param manifests the file manifests for the job, or null if manifests aren't being used.
+     */
+    public void setManifests(InputManifests manifests) {
+        this.manifests = manifests;
+    }
+
     /**
      * Formats the step.
      * 
@@ -247,7 +259,7 @@ public class FapiStepFormatter {
     private void addInputParams(JSONArray params, List<DataObject> inputs) {
         JSONObject config = experiment.getJSONObject("config");
         FapiInputParamFormatter formatter = new FapiInputParamFormatter(daoFactory, analysis, step, config,
-            propertyValues);
+            propertyValues, manifests);
         for (DataObject input : inputs) {
             formatter.addParamsForInput(params, input);
         }
@@ -0,0 +1,136 @@
+package org.iplantc.workflow.experiment;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+/**
+ * The file manifests for a single job. When an input with a multiplicity of "many" receives at least the threshold
+ * number of files, the list of files is recorded here once and the formatted inputs and parameters refer to it by
+ * handle rather than repeating a complete input or parameter object for every file. The manifests are added to the
+ * job request in a top-level "manifests" object keyed by handle.
+ *
+ * If a URL assembler is provided, the manifests list the URLs of the files rather than their paths, and the URLs are
+ * assembled here when the list is recorded. Otherwise, lists are recorded by reference, so callers must not modify a
+ * list of files after it has been recorded. A list that is recorded more than once, for example because it's passed
+ * from one step to another through an input/output mapping, keeps the handle that it was first recorded under.
+ * Instances of this class may be shared by steps that are formatted concurrently.
+ */
+public class InputManifests {
+
+    /**
+     * The minimum number of files for which a manifest is used.
+     */
+    private final int threshold;
+
+    /**
+     * Used to build the URLs listed in the manifests, or null if the manifests list file paths.
+     */
+    private final UrlAssembler urlAssembler;
+
+    /**
+     * The recorded lists of files, keyed by handle.
+     */
+    private final Map<String, List<String>> manifests = new TreeMap<String, List<String>>();
+
+    /**
+     * The handles of the recorded lists of files, keyed by list identity.
+     */
+    private final Map<List<String>, String> handles = new IdentityHashMap<List<String>, String>();
+
+    /**
+     * @param threshold the minimum number of files for which a manifest is used.
+     */
+    public InputManifests(int threshold) {
+        this(threshold, null);
+    }
+
+    /**
+     * @param threshold the minimum number of files for which a manifest is used.
+     * @param urlAssembler used to build the URLs listed in the manifests, or null if the manifests list file paths.
+     */
+    public InputManifests(int threshold, UrlAssembler urlAssembler) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("the manifest threshold must be positive");
+        }
+        this.threshold = threshold;
+        this.urlAssembler = urlAssembler;
+    }
+
+    /**
+     * @param fileCount the number of files selected for an input.
+     * @return true if a manifest should be used for the input.
+     */
+    public boolean shouldUseManifest(int fileCount) {
+        return fileCount >= threshold;
+    }
+
+    /**
+     * Records a list of files.
+     *
+     * @param stepName the name of the step containing the input.
+     * @param inputId the input identifier.
+     * @param files the list of file paths, which must not be modified after it's recorded.
+     * @return the handle used to refer to the list of files.
+     */
+    public synchronized String add(String stepName, String inputId, List<String> files) {
+        String handle = handles.get(files);
+        if (handle == null) {
+            handle = stepName + "_" + inputId;
+            manifests.put(handle, urlAssembler == null ? files : assembleUrls(files));
+            handles.put(files, handle);
+        }
+        return handle;
+    }
+
+    /**
+     * Builds the URLs for a list of file paths.
+     *
+     * @param paths the list of file paths.
+     * @return the list of URLs.
+     */
+    private List<String> assembleUrls(List<String> paths) {
+        List<String> urls = new ArrayList<String>(paths.size());
+        for (String path : paths) {
+            urls.add(urlAssembler.assembleUrl(path));
+        }
+        return urls;
+    }
+
+    /**
+     * @param handle the handle used to refer to a list of files.
+     * @return the list of files or null if no list was recorded with the given handle.
+     */
+    public synchronized List<String> get(String handle) {
+        return manifests.get(handle);
+    }
+
+    /**
+     * @return true if no lists of files have been recorded.
+     */
+    public synchronized boolean isEmpty() {
+        return manifests.isEmpty();
+    }
+
+    /**
+     * Adds the manifests to a job request if any lists of files have been recorded.
+     *
+     * @param job the job request.
+     */
+    public synchronized void addToJob(JSONObject job) {
+        if (!manifests.isEmpty()) {
+            JSONObject json = new JSONObject();
+            for (Map.Entry<String, List<String>> entry : manifests.entrySet()) {
+                JSONArray files = new JSONArray();
+                files.addAll(entry.getValue());
+                json.put(entry.getKey(), files);
+            }
+            job.put("manifests", json);
+        }
+    }
+}
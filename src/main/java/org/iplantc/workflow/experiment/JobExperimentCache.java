@@ -0,0 +1,93 @@
+package org.iplantc.workflow.experiment;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.json.JSONObject;
+
+/**
+ * A bounded, least-recently-used cache of the experiments that were submitted for jobs, keyed by job UUID. Job
+ * submissions are never modified once they've been stored in the OSM, so entries never become stale; the size bound
+ * only limits the memory used by the cache. The cached experiments have already had their configuration keys
+ * unescaped, and callers must not modify them.
+ */
+public class JobExperimentCache {
+
+    /**
+     * The default maximum number of cached experiments.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1000;
+
+    /**
+     * The cache shared by all property value retrievers that aren't given a cache explicitly.
+     */
+    private static final JobExperimentCache DEFAULT_INSTANCE = new JobExperimentCache();
+
+    /**
+     * The cached experiments in least-recently-used order.
+     */
+    private final Map<String, JSONObject> entries;
+
+    /**
+     * Creates a cache with the default maximum size.
+     */
+    public JobExperimentCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize the maximum number of experiments to keep in the cache.
+     */
+    public JobExperimentCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("the maximum cache size must be positive");
+        }
+        entries = new LinkedHashMap<String, JSONObject>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, JSONObject> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cache shared by all property value retrievers that aren't given a cache explicitly.
+     */
+    public static JobExperimentCache getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Gets an experiment from the cache.
+     *
+     * @param jobUuid the job identifier.
+     * @return the experiment or null if the experiment isn't cached.
+     */
+    public synchronized JSONObject get(String jobUuid) {
+        return entries.get(jobUuid);
+    }
+
+    /**
+     * Adds an experiment to the cache.
+     *
+     * @param jobUuid the job identifier.
+     * @param experiment the experiment, with its configuration keys already unescaped.
+     */
+    public synchronized void put(String jobUuid, JSONObject experiment) {
+        entries.put(jobUuid, experiment);
+    }
+
+    /**
+     * Removes all experiments from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * @return the number of experiments currently in the cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+}
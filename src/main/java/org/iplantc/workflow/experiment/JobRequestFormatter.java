@@ -2,6 +2,8 @@ package org.iplantc.workflow.experiment;
 
 import net.sf.json.JSONObject;
 
+import org.iplantc.workflow.WorkflowException;
+
 /**
  * Used to format job submission requests.
  * 
@@ -10,9 +12,21 @@ import net.sf.json.JSONObject;
 public interface JobRequestFormatter {
 
     /**
-     * Formats a job request for submission to one of our job execution frameworks.
+     * Formats a job request for the experiment that was provided when the formatter was created.
      * 
      * @return the formatted job request.
+     * @throws WorkflowException if no experiment was provided when the formatter was created.
      */
     public JSONObject formatJobRequest();
+
+    /**
+     * Formats a job request for submission to one of our job execution frameworks. Formatters don't keep any state
+     * from one experiment to the next, so this method may be called any number of times. Every request is formatted on
+     * behalf of the user that the formatter was created for, using the DAO factory that it was created with, and may
+     * only be formatted from multiple threads at once if that DAO factory is safe for use by multiple threads.
+     * 
+     * @param experiment the experiment to format the job request for.
+     * @return the formatted job request.
+     */
+    public JSONObject formatJobRequest(JSONObject experiment);
 }
@@ -1,11 +1,14 @@
 package org.iplantc.workflow.experiment;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.experiment.files.FileResolverFactory;
+import org.iplantc.workflow.experiment.files.ReferenceGenomePathCache;
 import org.iplantc.workflow.model.Template;
 import org.iplantc.persistence.dto.transformation.Transformation;
 
@@ -15,7 +18,10 @@ import org.iplantc.persistence.dto.step.TransformationStep;
 import org.iplantc.workflow.user.UserDetails;
 
 /**
- * A factory used to create job request formatters.
+ * A factory used to create job request formatters. Formatters don't keep any state from one experiment to the next, so
+ * the factory creates at most one formatter of each type and returns it for every experiment. The formatters do use
+ * the DAO factory and user details that the factory was created with, however, so a factory may only be reused for
+ * experiments submitted by the same user while its DAO factory remains usable.
  *
  * @author Dennis Roberts
  */
@@ -46,6 +52,32 @@ public class JobRequestFormatterFactory {
      */
     private final String irodsHome;
 
+    /**
+     * Used to look up reference genome paths.
+     */
+    private final ReferenceGenomePathCache referenceGenomePathCache;
+
+    /**
+     * The executor used to format independent job steps concurrently, or null if steps should be formatted by the
+     * calling thread.
+     */
+    private ExecutorService stepExecutor;
+
+    /**
+     * The minimum number of files for which an input manifest is used, or zero if manifests are disabled.
+     */
+    private int manifestThreshold;
+
+    /**
+     * The formatter used for jobs that are executed on Condor.
+     */
+    private CondorJobRequestFormatter condorFormatter;
+
+    /**
+     * The formatter used for jobs that are submitted to the foundational API.
+     */
+    private FapiJobRequestFormatter fapiFormatter;
+
     /**
      * @param daoFactory used to create data access objects.
      * @param urlAssembler used to create URLs that will be used by the jobs.
@@ -56,11 +88,48 @@ public class JobRequestFormatterFactory {
     public JobRequestFormatterFactory(DaoFactory daoFactory, UrlAssembler urlAssembler,
             UserDetails userDetails, JobNameUniquenessEnsurer jobNameUniquenessEnsurer,
             String irodsHome) {
+        this(daoFactory, urlAssembler, userDetails, jobNameUniquenessEnsurer, irodsHome,
+                ReferenceGenomePathCache.getDefaultInstance());
+    }
+
+    /**
+     * @param daoFactory used to create data access objects.
+     * @param urlAssembler used to create URLs that will be used by the jobs.
+     * @param userDetails information about the user who submitted the jobs.
+     * @param jobNameUniquenessEnsurer the object used to ensure that job names are unique.
+     * @param irodsHome the path to the home directory in iRODS.
+     * @param referenceGenomePathCache used to look up reference genome paths.
+     */
+    public JobRequestFormatterFactory(DaoFactory daoFactory, UrlAssembler urlAssembler,
+            UserDetails userDetails, JobNameUniquenessEnsurer jobNameUniquenessEnsurer,
+            String irodsHome, ReferenceGenomePathCache referenceGenomePathCache) {
         this.daoFactory = daoFactory;
         this.urlAssembler = urlAssembler;
         this.userDetails = userDetails;
         this.jobNameUniquenessEnsurer = jobNameUniquenessEnsurer;
         this.irodsHome = irodsHome;
+        this.referenceGenomePathCache = referenceGenomePathCache;
+    }
+
+    /**
+     * Sets the executor used to format independent job steps concurrently. This must be called before any formatters
+     * are obtained from the factory, and the DAO factory must be safe for use by multiple threads if an executor is
+     * provided.
+     *
+     * @param stepExecutor the executor, or null if steps should be formatted by the calling thread.
+     */
+    public void setStepExecutor(ExecutorService stepExecutor) {
+        this.stepExecutor = stepExecutor;
+    }
+
+    /**
+     * Sets the minimum number of files selected for an input with a multiplicity of "many" for which the files are
+     * listed in a manifest. This must be called before any formatters are obtained from the factory.
+     *
+     * @param manifestThreshold the minimum number of files for which a manifest is used, or zero to disable manifests.
+     */
+    public void setManifestThreshold(int manifestThreshold) {
+        this.manifestThreshold = manifestThreshold;
     }
 
     /**
@@ -74,11 +143,10 @@ public class JobRequestFormatterFactory {
         String firstComponentType = determineFirstComponentType(experiment);
         JobRequestFormatter formatter = null;
         if (StringUtils.equals(firstComponentType, "executable")) {
-            formatter = new CondorJobRequestFormatter(daoFactory, urlAssembler, userDetails, experiment);
+            formatter = getCondorFormatter();
         }
         else if (StringUtils.equals(firstComponentType, "fAPI")) {
-            formatter = new FapiJobRequestFormatter(daoFactory, userDetails, experiment, jobNameUniquenessEnsurer,
-                    irodsHome);
+            formatter = getFapiFormatter();
         }
         else {
             throw new WorkflowException("unrecognized component type: " + firstComponentType);
@@ -86,6 +154,32 @@ public class JobRequestFormatterFactory {
         return formatter;
     }
 
+    /**
+     * @return the formatter used for jobs that are executed on Condor.
+     */
+    private synchronized JobRequestFormatter getCondorFormatter() {
+        if (condorFormatter == null) {
+            FileResolverFactory fileResolverFactory = new FileResolverFactory(daoFactory, referenceGenomePathCache);
+            condorFormatter = new CondorJobRequestFormatter(daoFactory, urlAssembler, userDetails,
+                    fileResolverFactory);
+            condorFormatter.setStepExecutor(stepExecutor);
+            condorFormatter.setManifestThreshold(manifestThreshold);
+        }
+        return condorFormatter;
+    }
+
+    /**
+     * @return the formatter used for jobs that are submitted to the foundational API.
+     */
+    private synchronized JobRequestFormatter getFapiFormatter() {
+        if (fapiFormatter == null) {
+            fapiFormatter = new FapiJobRequestFormatter(daoFactory, userDetails, jobNameUniquenessEnsurer, irodsHome);
+            fapiFormatter.setStepExecutor(stepExecutor);
+            fapiFormatter.setManifestThreshold(manifestThreshold);
+        }
+        return fapiFormatter;
+    }
+
     /**
      * Determines the type of the first deployed component in the analysis.
      *
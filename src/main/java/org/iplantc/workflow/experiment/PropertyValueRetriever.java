@@ -1,7 +1,13 @@
 package org.iplantc.workflow.experiment;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
@@ -13,7 +19,7 @@ import org.iplantc.workflow.client.OsmClient;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.data.DataObject;
-import org.iplantc.workflow.experiment.util.JobConfigUtils;
+import org.iplantc.workflow.experiment.util.JobConfigCodec;
 import org.iplantc.workflow.model.Property;
 import org.iplantc.workflow.model.PropertyGroup;
 import org.iplantc.workflow.model.Template;
@@ -43,14 +49,28 @@ public class PropertyValueRetriever {
      * Used to obtain data access objects.
      */
     private DaoFactory daoFactory;
+    /**
+     * Used to avoid querying the OSM for jobs whose submissions have already been retrieved.
+     */
+    private JobExperimentCache experimentCache;
 
     /**
      * @param osmClient used to communicate with the OSM.
      * @param daoFactory used to obtain data access objects.
      */
     public PropertyValueRetriever(OsmClient osmClient, DaoFactory daoFactory) {
+        this(osmClient, daoFactory, JobExperimentCache.getDefaultInstance());
+    }
+
+    /**
+     * @param osmClient used to communicate with the OSM.
+     * @param daoFactory used to obtain data access objects.
+     * @param experimentCache used to avoid querying the OSM for jobs whose submissions have already been retrieved.
+     */
+    public PropertyValueRetriever(OsmClient osmClient, DaoFactory daoFactory, JobExperimentCache experimentCache) {
         this.osmClient = osmClient;
         this.daoFactory = daoFactory;
+        this.experimentCache = experimentCache;
     }
 
     /**
@@ -62,9 +82,43 @@ public class PropertyValueRetriever {
     public JSONObject getPropertyValues(String jobUuid) {
         JSONObject experiment = retrieveExperiment(jobUuid);
         String analysisId = experiment.getString("analysis_id");
-        TransformationActivity app = getApp(analysisId);
-        JSONObject result = getPropertyValues(JobConfigUtils.unescapeJsonKeys(experiment.getJSONObject("config")), app);
-        result.put("analysis_id", analysisId);
+        return getPropertyValues(experiment, getApp(analysisId));
+    }
+
+    /**
+     * Gets the property values for multiple jobs. The job submission information for all of the jobs that aren't
+     * cached is retrieved from the OSM in a single query, and each app is loaded only once.
+     *
+     * @param jobUuids the job identifiers.
+     * @return a JSON object mapping each job identifier to a JSON object representing its list of property values.
+     * @throws WorkflowException if the job submission information can't be found for any of the jobs.
+     */
+    public JSONObject getPropertyValues(List<String> jobUuids) {
+        Map<String, JSONObject> experiments = retrieveExperiments(jobUuids);
+        Map<String, TransformationActivity> apps = new HashMap<String, TransformationActivity>();
+        JSONObject result = new JSONObject();
+        for (Map.Entry<String, JSONObject> entry : experiments.entrySet()) {
+            String analysisId = entry.getValue().getString("analysis_id");
+            TransformationActivity app = apps.get(analysisId);
+            if (app == null) {
+                app = getApp(analysisId);
+                apps.put(analysisId, app);
+            }
+            result.put(entry.getKey(), getPropertyValues(entry.getValue(), app));
+        }
+        return result;
+    }
+
+    /**
+     * Gets the property values for a job submission.
+     *
+     * @param experiment the job submission information, with its configuration keys already unescaped.
+     * @param app the app that was submitted.
+     * @return a JSON object representing the list of property values.
+     */
+    private JSONObject getPropertyValues(JSONObject experiment, TransformationActivity app) {
+        JSONObject result = getPropertyValues(experiment.getJSONObject("config"), app);
+        result.put("analysis_id", app.getId());
         return result;
     }
 
@@ -134,9 +188,10 @@ public class PropertyValueRetriever {
      * @param app the app.
      */
     private void addPropertyValues(JSONArray properties, JSONObject config, TransformationActivity app) {
+        Map<String, Template> templates = daoFactory.getTemplateDao().findByIds(app.getTemplateIds());
         for (TransformationStep step : app.getSteps()) {
             LOG.debug("Processing step " + step.getName());
-            addPropertyValues(properties, config, step);
+            addPropertyValues(properties, config, step, getTemplate(templates, step.getTemplateId()));
         }
     }
 
@@ -146,9 +201,10 @@ public class PropertyValueRetriever {
      * @param properties the list of property values.
      * @param config the job submission property value information.
      * @param step the app.
+     * @param template the template used by the step.
      */
-    private void addPropertyValues(JSONArray properties, JSONObject config, TransformationStep step) {
-        Template template = getTemplate(step.getTemplateId());
+    private void addPropertyValues(JSONArray properties, JSONObject config, TransformationStep step,
+            Template template) {
         for (PropertyGroup group : template.getPropertyGroups()) {
             for (Property prop : group.getProperties()) {
                 addValueForProperty(step.getName(), prop, properties, config);
@@ -250,20 +306,91 @@ public class PropertyValueRetriever {
     }
 
     /**
-     * Retrieves the job submission information associated with a job.
+     * Retrieves the job submission information associated with a job, querying the OSM only if the information isn't
+     * already cached.
      *
      * @param jobUuid the job identifier.
-     * @return the job submission information.
+     * @return the job submission information, with its configuration keys unescaped.
      */
     private JSONObject retrieveExperiment(String jobUuid) {
-        JSONObject queryResults = osmClient.query(buildExperimentQuery(jobUuid));
-        JSONArray objects = queryResults.getJSONArray("objects");
-        if (objects.size() < 1) {
-            String msg = "no job submission information found for " + jobUuid;
+        JSONObject experiment = experimentCache.get(jobUuid);
+        if (experiment == null) {
+            JSONObject queryResults = osmClient.query(buildExperimentQuery(jobUuid));
+            JSONArray objects = queryResults.getJSONArray("objects");
+            if (objects.size() < 1) {
+                String msg = "no job submission information found for " + jobUuid;
+                LOG.error(msg);
+                throw new WorkflowException(msg);
+            }
+            experiment = unescapeExperiment(objects.getJSONObject(0).getJSONObject("state"));
+            experimentCache.put(jobUuid, experiment);
+        }
+        return experiment;
+    }
+
+    /**
+     * Retrieves the job submission information associated with multiple jobs. The information for all of the jobs
+     * that aren't already cached is obtained using a single OSM query.
+     *
+     * @param jobUuids the job identifiers.
+     * @return the job submission information for each job, in the order in which the jobs were requested.
+     * @throws WorkflowException if the job submission information can't be found for any of the jobs.
+     */
+    private Map<String, JSONObject> retrieveExperiments(List<String> jobUuids) {
+        Map<String, JSONObject> experiments = new LinkedHashMap<String, JSONObject>();
+        List<String> missing = new ArrayList<String>();
+        for (String jobUuid : new LinkedHashSet<String>(jobUuids)) {
+            JSONObject experiment = experimentCache.get(jobUuid);
+            experiments.put(jobUuid, experiment);
+            if (experiment == null) {
+                missing.add(jobUuid);
+            }
+        }
+        if (!missing.isEmpty()) {
+            loadExperiments(missing, experiments);
+        }
+        return experiments;
+    }
+
+    /**
+     * Loads the job submission information for multiple jobs from the OSM and adds it to the cache.
+     *
+     * @param jobUuids the identifiers of the jobs to load.
+     * @param experiments the job submission information, which is updated as jobs are loaded.
+     * @throws WorkflowException if the job submission information can't be found for any of the jobs.
+     */
+    private void loadExperiments(List<String> jobUuids, Map<String, JSONObject> experiments) {
+        JSONArray objects = osmClient.query(buildExperimentQuery(jobUuids)).getJSONArray("objects");
+        for (int i = 0; i < objects.size(); i++) {
+            JSONObject state = objects.getJSONObject(i).getJSONObject("state");
+            String jobUuid = state.optString("jobUuid", null);
+            if (jobUuid != null && experiments.containsKey(jobUuid) && experiments.get(jobUuid) == null) {
+                JSONObject experiment = unescapeExperiment(state);
+                experimentCache.put(jobUuid, experiment);
+                experiments.put(jobUuid, experiment);
+            }
+        }
+        Set<String> notFound = new LinkedHashSet<String>();
+        for (String jobUuid : jobUuids) {
+            if (experiments.get(jobUuid) == null) {
+                notFound.add(jobUuid);
+            }
+        }
+        if (!notFound.isEmpty()) {
+            String msg = "no job submission information found for " + StringUtils.join(notFound, ", ");
             LOG.error(msg);
             throw new WorkflowException(msg);
         }
-        return objects.getJSONObject(0).getJSONObject("state").getJSONObject("experiment");
+    }
+
+    /**
+     * Extracts the experiment from the state of an OSM object and unescapes its configuration keys.
+     *
+     * @param state the state of the OSM object.
+     * @return the experiment.
+     */
+    private JSONObject unescapeExperiment(JSONObject state) {
+        return JobConfigCodec.unescapeJobConfig(state.getJSONObject("experiment"));
     }
 
     /**
@@ -278,6 +405,20 @@ public class PropertyValueRetriever {
         return query;
     }
 
+    /**
+     * Builds the OSM query that will be used to search for the job submission information for multiple jobs.
+     *
+     * @param jobUuids the job identifiers.
+     * @return the OSM query.
+     */
+    private JSONObject buildExperimentQuery(List<String> jobUuids) {
+        JSONObject in = new JSONObject();
+        in.put("$in", JSONArray.fromObject(jobUuids));
+        JSONObject query = new JSONObject();
+        query.put("state.jobUuid", in);
+        return query;
+    }
+
     /**
      * Retrieves the app with the given identifier.
      *
@@ -296,14 +437,15 @@ public class PropertyValueRetriever {
     }
 
     /**
-     * Retrieves the template with the given identifier.
+     * Retrieves the template with the given identifier from the templates that were loaded for an app.
      *
+     * @param templates the templates used by the app, keyed by template identifier.
      * @param templateId the template identifier.
      * @return the template.
      * @throws WorkflowException if the template can't be found.
      */
-    private Template getTemplate(String templateId) {
-        Template template = daoFactory.getTemplateDao().findById(templateId);
+    private Template getTemplate(Map<String, Template> templates, String templateId) {
+        Template template = templates.get(templateId);
         if (template == null) {
             String msg = "template " + templateId + " not found";
             LOG.error(msg);
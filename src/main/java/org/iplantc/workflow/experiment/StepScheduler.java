@@ -0,0 +1,184 @@
+package org.iplantc.workflow.experiment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.iplantc.persistence.dto.step.TransformationStep;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.data.InputOutputMap;
+
+/**
+ * Formats the steps of an analysis in dependency order. A step depends on another step if one of its inputs is mapped
+ * from one of the other step's outputs. Steps are grouped into waves so that every step in a wave depends only on
+ * steps in earlier waves; when an executor is available, the steps within a wave are formatted concurrently.
+ * Formatted steps are always returned in the order in which they appear in the analysis.
+ */
+public class StepScheduler {
+
+    /**
+     * Formats a single step.
+     *
+     * @param <T> the type of the formatted step.
+     */
+    public interface StepTask<T> {
+
+        /**
+         * Formats a step. This method may be called from multiple threads at once, but only after every step that the
+         * given step depends on has been formatted.
+         *
+         * @param step the step to format.
+         * @return the formatted step.
+         */
+        public T formatStep(TransformationStep step);
+    }
+
+    /**
+     * The executor used to format independent steps concurrently, or null if steps should be formatted by the calling
+     * thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * @param executor the executor used to format independent steps concurrently, or null if steps should be formatted
+     *        by the calling thread.
+     */
+    public StepScheduler(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Formats all of the steps in an analysis.
+     *
+     * @param <T> the type of the formatted steps.
+     * @param analysis the analysis.
+     * @param task the task used to format each step.
+     * @return the formatted steps in the order in which they appear in the analysis.
+     */
+    public <T> List<T> formatSteps(TransformationActivity analysis, StepTask<T> task) {
+        List<TransformationStep> steps = analysis.getSteps();
+        List<T> results = new ArrayList<T>(steps.size());
+        if (executor == null || steps.size() < 2) {
+            for (TransformationStep step : steps) {
+                results.add(task.formatStep(step));
+            }
+        }
+        else {
+            results.addAll(Collections.<T>nCopies(steps.size(), null));
+            for (List<Integer> wave : computeWaves(analysis)) {
+                formatWave(steps, wave, task, results);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Formats the steps in a single wave, using the executor if the wave contains more than one step.
+     *
+     * @param <T> the type of the formatted steps.
+     * @param steps the steps in the analysis.
+     * @param wave the indices of the steps in the wave.
+     * @param task the task used to format each step.
+     * @param formatted the formatted steps, indexed by position in the analysis.
+     */
+    private <T> void formatWave(List<TransformationStep> steps, List<Integer> wave, final StepTask<T> task,
+            List<T> formatted) {
+        if (wave.size() == 1) {
+            int index = wave.get(0);
+            formatted.set(index, task.formatStep(steps.get(index)));
+            return;
+        }
+        List<Future<T>> futures = new ArrayList<Future<T>>();
+        for (int index : wave) {
+            final TransformationStep step = steps.get(index);
+            futures.add(executor.submit(new Callable<T>() {
+                @Override
+                public T call() {
+                    return task.formatStep(step);
+                }
+            }));
+        }
+        for (int i = 0; i < wave.size(); i++) {
+            formatted.set(wave.get(i), awaitStep(futures.get(i), steps.get(wave.get(i))));
+        }
+    }
+
+    /**
+     * Waits for a step to be formatted, rethrowing any runtime exception thrown while formatting it.
+     *
+     * @param <T> the type of the formatted step.
+     * @param future the future result of formatting the step.
+     * @param step the step being formatted.
+     * @return the formatted step.
+     * @throws WorkflowException if the step can't be formatted.
+     */
+    private <T> T awaitStep(Future<T> future, TransformationStep step) {
+        try {
+            return future.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WorkflowException("interrupted while formatting step " + step.getName(), e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new WorkflowException("unable to format step " + step.getName(), e.getCause());
+        }
+    }
+
+    /**
+     * Groups the steps of an analysis into waves. Each step is placed in the wave immediately following the latest wave
+     * containing one of the steps it depends on.
+     *
+     * @param analysis the analysis.
+     * @return the indices of the steps in each wave.
+     */
+    public static List<List<Integer>> computeWaves(TransformationActivity analysis) {
+        List<TransformationStep> steps = analysis.getSteps();
+        Map<String, Integer> levels = new HashMap<String, Integer>();
+        List<List<Integer>> waves = new ArrayList<List<Integer>>();
+        for (int i = 0; i < steps.size(); i++) {
+            String name = steps.get(i).getName();
+            int level = 0;
+            for (String source : getSourceStepNames(analysis, name)) {
+                Integer sourceLevel = levels.get(source);
+                if (sourceLevel != null) {
+                    level = Math.max(level, sourceLevel + 1);
+                }
+            }
+            levels.put(name, level);
+            while (waves.size() <= level) {
+                waves.add(new ArrayList<Integer>());
+            }
+            waves.get(level).add(i);
+        }
+        return waves;
+    }
+
+    /**
+     * Determines the names of the steps that a step depends on.
+     *
+     * @param analysis the analysis.
+     * @param stepName the name of the step.
+     * @return the names of the steps whose outputs are mapped to the step's inputs.
+     */
+    public static List<String> getSourceStepNames(TransformationActivity analysis, String stepName) {
+        List<String> names = new ArrayList<String>();
+        for (InputOutputMap map : analysis.getMappingsForTargetStep(stepName)) {
+            String source = map.getSource().getName();
+            if (!names.contains(source)) {
+                names.add(source);
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,318 @@
+package org.iplantc.workflow.experiment;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.sf.json.JSON;
+
+import org.apache.log4j.Logger;
+import org.iplantc.workflow.metrics.Histogram;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.StripedCounter;
+
+/**
+ * An asynchronous audit log for job submissions. Callers enqueue JSON documents onto a bounded queue and a background
+ * thread serializes them compactly and writes them to the audit logger, so submitting threads never pay for the
+ * serialization. Callers must not modify a document after it has been enqueued.
+ *
+ * The log never blocks its callers. Once the queue depth reaches the sampling threshold, only one in every
+ * samplingRate entries is accepted, and entries are dropped entirely when the queue is full. The queue depth seen by
+ * each caller is recorded in the auditLog.queueDepth histogram, and the numbers of entries written, sampled out and
+ * dropped are recorded in counters.
+ */
+public class SubmissionAuditLog {
+
+    /**
+     * The name of the logger that audit entries are written to by default.
+     */
+    public static final String DEFAULT_LOGGER_NAME = "JsonLogger";
+
+    /**
+     * The default maximum number of entries waiting to be written.
+     */
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    /**
+     * The default sampling rate used once the queue depth reaches the sampling threshold.
+     */
+    public static final int DEFAULT_SAMPLING_RATE = 10;
+
+    /**
+     * The prefix used for the names of all audit log metrics.
+     */
+    private static final String METRIC_PREFIX = "auditLog.";
+
+    private static final Logger LOG = Logger.getLogger(SubmissionAuditLog.class);
+
+    /**
+     * The audit log shared by all experiment runners that aren't given an audit log explicitly.
+     */
+    private static final SubmissionAuditLog DEFAULT_INSTANCE = new SubmissionAuditLog();
+
+    /**
+     * The logger that audit entries are written to.
+     */
+    private final Logger auditLogger;
+
+    /**
+     * The entries waiting to be written.
+     */
+    private final BlockingQueue<Entry> queue;
+
+    /**
+     * The number of entries that have been accepted but not yet written.
+     */
+    private final AtomicLong pending = new AtomicLong();
+
+    /**
+     * Used to select the entries that are accepted while the queue is being sampled.
+     */
+    private final AtomicLong sampleSequence = new AtomicLong();
+
+    /**
+     * The queue depth at which sampling starts.
+     */
+    private volatile int samplingThreshold;
+
+    /**
+     * One in every samplingRate entries is accepted while the queue is being sampled.
+     */
+    private volatile int samplingRate = DEFAULT_SAMPLING_RATE;
+
+    /**
+     * The queue depth seen by each caller.
+     */
+    private volatile Histogram queueDepth;
+
+    /**
+     * The number of entries written to the audit logger.
+     */
+    private volatile StripedCounter writtenCount;
+
+    /**
+     * The number of entries discarded by sampling.
+     */
+    private volatile StripedCounter sampledCount;
+
+    /**
+     * The number of entries dropped because the queue was full.
+     */
+    private volatile StripedCounter droppedCount;
+
+    /**
+     * The thread that writes the entries, which is started when the first entry is accepted.
+     */
+    private Thread writer;
+
+    /**
+     * Creates an audit log that writes to the default logger with the default capacity.
+     */
+    public SubmissionAuditLog() {
+        this(Logger.getLogger(DEFAULT_LOGGER_NAME), DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param auditLogger the logger that audit entries are written to.
+     * @param capacity the maximum number of entries waiting to be written.
+     */
+    public SubmissionAuditLog(Logger auditLogger, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("the audit log capacity must be positive");
+        }
+        this.auditLogger = auditLogger;
+        this.queue = new ArrayBlockingQueue<Entry>(capacity);
+        this.samplingThreshold = capacity * 3 / 4;
+        setMetricsRegistry(MetricsRegistry.getDefault());
+    }
+
+    /**
+     * @return the audit log shared by all experiment runners that aren't given an audit log explicitly.
+     */
+    public static SubmissionAuditLog getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * @param samplingThreshold the queue depth at which sampling starts.
+     */
+    public void setSamplingThreshold(int samplingThreshold) {
+        this.samplingThreshold = samplingThreshold;
+    }
+
+    /**
+     * @return the queue depth at which sampling starts.
+     */
+    public int getSamplingThreshold() {
+        return samplingThreshold;
+    }
+
+    /**
+     * @param samplingRate one in every samplingRate entries is accepted while the queue is being sampled.
+     */
+    public void setSamplingRate(int samplingRate) {
+        if (samplingRate < 1) {
+            throw new IllegalArgumentException("the sampling rate must be positive");
+        }
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * @return the sampling rate used once the queue depth reaches the sampling threshold.
+     */
+    public int getSamplingRate() {
+        return samplingRate;
+    }
+
+    /**
+     * @param metricsRegistry the registry used to record the audit log metrics.
+     */
+    public void setMetricsRegistry(MetricsRegistry metricsRegistry) {
+        queueDepth = metricsRegistry.histogram(METRIC_PREFIX + "queueDepth");
+        writtenCount = metricsRegistry.counter(METRIC_PREFIX + "written");
+        sampledCount = metricsRegistry.counter(METRIC_PREFIX + "sampled");
+        droppedCount = metricsRegistry.counter(METRIC_PREFIX + "dropped");
+    }
+
+    /**
+     * @return the number of entries currently waiting to be written.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Enqueues an audit entry. The entry is discarded immediately if the audit logger isn't enabled for the INFO
+     * level, if it isn't selected while the queue is being sampled or if the queue is full.
+     *
+     * @param message the message written before the JSON document.
+     * @param json the JSON document, which must not be modified after this method is called.
+     * @return true if the entry was accepted.
+     */
+    public boolean log(String message, JSON json) {
+        if (!auditLogger.isInfoEnabled()) {
+            return false;
+        }
+        int depth = queue.size();
+        queueDepth.record(depth);
+        if (depth >= samplingThreshold && sampleSequence.incrementAndGet() % samplingRate != 0) {
+            sampledCount.increment();
+            return false;
+        }
+        pending.incrementAndGet();
+        if (!queue.offer(new Entry(message, json))) {
+            entryFinished();
+            droppedCount.increment();
+            return false;
+        }
+        ensureWriterStarted();
+        return true;
+    }
+
+    /**
+     * Waits for all accepted entries to be written.
+     *
+     * @param timeout the maximum time to wait in milliseconds.
+     * @return true if all accepted entries were written before the timeout expired.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     */
+    public boolean flush(long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        synchronized (pending) {
+            while (pending.get() > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                pending.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the writer thread. Entries that haven't been written yet are discarded, so callers that need every
+     * accepted entry to be written should call flush first.
+     */
+    public synchronized void shutdown() {
+        if (writer != null) {
+            writer.interrupt();
+            writer = null;
+        }
+    }
+
+    /**
+     * Starts the writer thread if it isn't already running.
+     */
+    private synchronized void ensureWriterStarted() {
+        if (writer == null) {
+            writer = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    writeEntries();
+                }
+            }, "submission-audit-log");
+            writer.setDaemon(true);
+            writer.start();
+        }
+    }
+
+    /**
+     * Writes entries until the writer thread is interrupted.
+     */
+    private void writeEntries() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                Entry entry = queue.take();
+                try {
+                    auditLogger.info(entry.message + entry.json.toString());
+                    writtenCount.increment();
+                }
+                catch (RuntimeException e) {
+                    LOG.warn("unable to write an audit log entry", e);
+                }
+                finally {
+                    entryFinished();
+                }
+            }
+        }
+        catch (InterruptedException ignore) {
+        }
+    }
+
+    /**
+     * Records the completion of an accepted entry and wakes any threads waiting for the queue to be flushed.
+     */
+    private void entryFinished() {
+        if (pending.decrementAndGet() == 0) {
+            synchronized (pending) {
+                pending.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * An entry waiting to be written.
+     */
+    private static class Entry {
+
+        /**
+         * The message written before the JSON document.
+         */
+        private final String message;
+
+        /**
+         * The JSON document.
+         */
+        private final JSON json;
+
+        /**
+         * @param message the message written before the JSON document.
+         * @param json the JSON document.
+         */
+        public Entry(String message, JSON json) {
+            this.message = message;
+            this.json = json;
+        }
+    }
+}
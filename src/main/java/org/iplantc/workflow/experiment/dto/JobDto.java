@@ -2,7 +2,6 @@ package org.iplantc.workflow.experiment.dto;
 
 import java.util.UUID;
 import net.sf.json.JSONObject;
-import net.sf.json.JsonConfig;
 
 /**
  * Java bean representing a Job.
@@ -165,10 +164,38 @@ public class JobDto {
       this.createOutputSubdir = createOutputSubdir;
   }
 
+  /**
+   * Converts the job to JSON. The properties are written explicitly rather than by bean introspection, but the
+   * result matches what the Source Forge library produces for this bean using {@link CamelCapsToUnderscores}: the
+   * properties appear in alphabetical order of their bean property names and null strings are written as empty
+   * strings.
+   *
+   * @return the JSON object.
+   */
   public JSONObject toJson() {
-    JsonConfig config = new JsonConfig();
-    config.clearJavaPropertyNameProcessors();
-    config.registerJsonPropertyNameProcessor(JobDto.class, new CamelCapsToUnderscores());
-    return JSONObject.fromObject(this, config);
+    JSONObject json = new JSONObject();
+    json.put("analysis_description", nullToEmpty(analysisDescription));
+    json.put("analysis_id", nullToEmpty(analysisId));
+    json.put("analysis_name", nullToEmpty(analysisName));
+    json.put("create_output_subdir", createOutputSubdir);
+    json.put("description", nullToEmpty(description));
+    json.put("display_name", nullToEmpty(displayName));
+    json.put("execution_target", nullToEmpty(executionTarget));
+    json.put("name", nullToEmpty(name));
+    json.put("notify", notify);
+    json.put("output_dir", nullToEmpty(outputDir));
+    json.put("request_type", nullToEmpty(requestType));
+    json.put("username", nullToEmpty(username));
+    json.put("uuid", nullToEmpty(uuid));
+    json.put("workspace_id", nullToEmpty(workspaceId));
+    return json;
+  }
+
+  /**
+   * @param value a property value.
+   * @return the property value or an empty string if the property value is null.
+   */
+  private static String nullToEmpty(String value) {
+    return value == null ? "" : value;
   }
 }
@@ -1,12 +1,7 @@
 package org.iplantc.workflow.experiment.files;
 
-import java.util.Arrays;
-import java.util.List;
 import org.apache.commons.lang.StringUtils;
-import org.iplantc.persistence.dto.refgenomes.ReferenceGenome;
 import org.iplantc.workflow.dao.DaoFactory;
-import org.iplantc.workflow.util.Lambda;
-import org.iplantc.workflow.util.ListUtils;
 
 /**
  * The base class for resolving reference genomes, sequences and annotations.
@@ -18,35 +13,36 @@ public abstract class BaseReferenceGenomeFileResolver implements FileResolver {
     /**
      * Used to obtain data access objects.
      */
-    private DaoFactory daoFactory;
+    private final DaoFactory daoFactory;
+
+    /**
+     * Used to look up reference genome paths.
+     */
+    private final ReferenceGenomePathCache pathCache;
 
     /**
      * One or more base filenames to append to the resolved path.
      */
-    private List<String> baseFilenames;
+    private final String[] baseFilenames;
 
     /**
      * @param daoFactory used to obtain data access objects.
      * @param baseFilenames one or more base filenames to append to the resolved path.
      */
     public BaseReferenceGenomeFileResolver(DaoFactory daoFactory, String... baseFilenames) {
-        this.daoFactory = daoFactory;
-        this.baseFilenames = Arrays.asList(baseFilenames);
+        this(daoFactory, ReferenceGenomePathCache.getDefaultInstance(), baseFilenames);
     }
 
     /**
-     * Gets the reference genome associated with a UUID.
-     * 
-     * @param uuid the UUID to search for.
-     * @return the associated reference genome.
-     * @throws ReferenceGenomeNotFoundException if the UUID isn't associated with any reference genome.
+     * @param daoFactory used to obtain data access objects.
+     * @param pathCache used to look up reference genome paths.
+     * @param baseFilenames one or more base filenames to append to the resolved path.
      */
-    private ReferenceGenome getReferenceGenome(String uuid) throws ReferenceGenomeNotFoundException {
-        ReferenceGenome result = daoFactory.getReferenceGenomeDao().findByUuid(uuid);
-        if (result == null) {
-            throw new ReferenceGenomeNotFoundException(uuid);
-        }
-        return result;
+    public BaseReferenceGenomeFileResolver(DaoFactory daoFactory, ReferenceGenomePathCache pathCache,
+            String... baseFilenames) {
+        this.daoFactory = daoFactory;
+        this.pathCache = pathCache;
+        this.baseFilenames = baseFilenames.clone();
     }
 
     /**
@@ -57,14 +53,15 @@ public abstract class BaseReferenceGenomeFileResolver implements FileResolver {
      * @throws ReferenceGenomeNotFoundException if the UUID isn't associated with any reference genome.
      */
     private String resolveReferenceGenome(String uuid) throws ReferenceGenomeNotFoundException {
-        ReferenceGenome genome = getReferenceGenome(uuid);
-        final String basePath = genome.getPath();
-        return StringUtils.join(ListUtils.map(new Lambda<String, String>() {
-            @Override
-            public String call(String arg) {
-                return basePath + arg;
+        String basePath = pathCache.getPath(daoFactory, uuid);
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < baseFilenames.length; i++) {
+            if (i > 0) {
+                builder.append(' ');
             }
-        }, baseFilenames), " ");
+            builder.append(basePath).append(baseFilenames[i]);
+        }
+        return builder.toString();
     }
 
     /**
@@ -1,25 +1,38 @@
 package org.iplantc.workflow.experiment.files;
 
-import org.apache.commons.lang.StringUtils;
+import java.util.HashMap;
+import java.util.Map;
 import org.iplantc.workflow.dao.DaoFactory;
 
 /**
- * Used to obtain file resolvers for specific info types.
+ * Used to obtain file resolvers for specific info types. Each factory creates its resolvers once and hands the same
+ * instances out for every input that it resolves. All of the reference genome resolvers share a single reference
+ * genome path cache.
  * 
  * @author Dennis Roberts
  */
 public class FileResolverFactory {
 
     /**
-     * Used to obtain data access objects.
+     * The file resolvers, keyed by info type name.
      */
-    private DaoFactory daoFactory;
+    private final Map<String, FileResolver> resolvers = new HashMap<String, FileResolver>();
 
     /**
      * @param daoFactory used to obtain data access objects.
      */
     public FileResolverFactory(DaoFactory daoFactory) {
-        this.daoFactory = daoFactory;
+        this(daoFactory, ReferenceGenomePathCache.getDefaultInstance());
+    }
+
+    /**
+     * @param daoFactory used to obtain data access objects.
+     * @param pathCache used to look up reference genome paths.
+     */
+    public FileResolverFactory(DaoFactory daoFactory, ReferenceGenomePathCache pathCache) {
+        resolvers.put("ReferenceGenome", new ReferenceGenomeResolver(daoFactory, pathCache));
+        resolvers.put("ReferenceSequence", new ReferenceSequenceResolver(daoFactory, pathCache));
+        resolvers.put("ReferenceAnnotation", new ReferenceAnnotationResolver(daoFactory, pathCache));
     }
 
     /**
@@ -29,17 +42,6 @@ public class FileResolverFactory {
      * @return the info type name or null if the info type isn't resolvable.
      */
     public FileResolver getFileResolver(String infoTypeName) {
-        if (StringUtils.equals(infoTypeName, "ReferenceGenome")) {
-            return new ReferenceGenomeResolver(daoFactory);
-        }
-        else if (StringUtils.equals(infoTypeName, "ReferenceSequence")) {
-            return new ReferenceSequenceResolver(daoFactory);
-        }
-        else if (StringUtils.equals(infoTypeName, "ReferenceAnnotation")) {
-            return new ReferenceAnnotationResolver(daoFactory);
-        }
-        else {
-            return null;
-        }
+        return infoTypeName == null ? null : resolvers.get(infoTypeName);
     }
 }
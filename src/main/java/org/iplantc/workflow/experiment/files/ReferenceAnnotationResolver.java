@@ -15,4 +15,12 @@ public class ReferenceAnnotationResolver extends BaseReferenceGenomeFileResolver
     public ReferenceAnnotationResolver(DaoFactory daoFactory) {
         super(daoFactory, "annotation.gtf");
     }
+
+    /**
+     * @param daoFactory used to obtain data access objects.
+     * @param pathCache used to look up reference genome paths.
+     */
+    public ReferenceAnnotationResolver(DaoFactory daoFactory, ReferenceGenomePathCache pathCache) {
+        super(daoFactory, pathCache, "annotation.gtf");
+    }
 }
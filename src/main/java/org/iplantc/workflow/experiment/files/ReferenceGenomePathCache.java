@@ -0,0 +1,185 @@
+package org.iplantc.workflow.experiment.files;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.iplantc.persistence.dto.refgenomes.ReferenceGenome;
+import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventListener;
+import org.iplantc.workflow.events.ChangeEventType;
+
+/**
+ * An in-memory cache of reference genome paths keyed by reference genome UUID. The reference genome table is small and
+ * rarely changes, but nearly every genomics job submission resolves at least one reference genome, so the paths are
+ * kept in memory rather than being looked up for every job. Missing entries are loaded from the database on demand,
+ * entries expire after a configurable time to live, and entries can be invalidated explicitly when reference genomes
+ * are added, changed or removed.
+ */
+public class ReferenceGenomePathCache implements ChangeEventListener {
+
+    /**
+     * The default time to live for cache entries in milliseconds.
+     */
+    public static final long DEFAULT_TIME_TO_LIVE = 10 * 60 * 1000;
+
+    /**
+     * The cache shared by all file resolver factories that aren't given a cache explicitly.
+     */
+    private static final ReferenceGenomePathCache DEFAULT_INSTANCE = new ReferenceGenomePathCache();
+
+    /**
+     * The cached reference genome paths, keyed by reference genome UUID.
+     */
+    private final Map<String, CachedPath> entries = new ConcurrentHashMap<String, CachedPath>();
+
+    /**
+     * The time to live for cache entries in milliseconds.
+     */
+    private volatile long timeToLive;
+
+    /**
+     * Creates a cache with the default time to live.
+     */
+    public ReferenceGenomePathCache() {
+        this(DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * @param timeToLive the time to live for cache entries in milliseconds.
+     */
+    public ReferenceGenomePathCache(long timeToLive) {
+        setTimeToLive(timeToLive);
+    }
+
+    /**
+     * @return the cache shared by all file resolver factories that aren't given a cache explicitly.
+     */
+    public static ReferenceGenomePathCache getDefaultInstance() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * @param timeToLive the time to live for cache entries in milliseconds.
+     */
+    public void setTimeToLive(long timeToLive) {
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException("the time to live may not be negative");
+        }
+        this.timeToLive = timeToLive;
+    }
+
+    /**
+     * @return the time to live for cache entries in milliseconds.
+     */
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Gets the base path of the reference genome with the given UUID, loading it from the database if it isn't cached
+     * or if the cached entry has expired.
+     *
+     * @param daoFactory used to obtain data access objects if the path has to be loaded.
+     * @param uuid the reference genome UUID.
+     * @return the base path of the reference genome.
+     * @throws ReferenceGenomeNotFoundException if the UUID isn't associated with any reference genome.
+     */
+    public String getPath(DaoFactory daoFactory, String uuid) throws ReferenceGenomeNotFoundException {
+        long now = currentTimeMillis();
+        CachedPath cached = entries.get(uuid);
+        if (cached == null || cached.expiration <= now) {
+            cached = new CachedPath(loadPath(daoFactory, uuid), now + timeToLive);
+            entries.put(uuid, cached);
+        }
+        return cached.path;
+    }
+
+    /**
+     * Loads the base path of a reference genome from the database.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @param uuid the reference genome UUID.
+     * @return the base path of the reference genome.
+     * @throws ReferenceGenomeNotFoundException if the UUID isn't associated with any reference genome.
+     */
+    private String loadPath(DaoFactory daoFactory, String uuid) throws ReferenceGenomeNotFoundException {
+        ReferenceGenome genome = daoFactory.getReferenceGenomeDao().findByUuid(uuid);
+        if (genome == null) {
+            entries.remove(uuid);
+            throw new ReferenceGenomeNotFoundException(uuid);
+        }
+        return genome.getPath();
+    }
+
+    /**
+     * Removes a single reference genome from the cache.
+     *
+     * @param uuid the reference genome UUID.
+     */
+    public void invalidate(String uuid) {
+        entries.remove(uuid);
+    }
+
+    /**
+     * Removes all reference genomes from the cache.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Evicts the entries affected by a reference genome change.
+     *
+     * @param event the change event.
+     */
+    @Override
+    public void onChange(ChangeEvent event) {
+        if (event.getType() == ChangeEventType.REFERENCE_GENOME_CHANGED) {
+            if (event.isAll()) {
+                invalidateAll();
+            }
+            else {
+                invalidate(event.getId());
+            }
+        }
+    }
+
+    /**
+     * @return the number of reference genome paths currently in the cache.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the current time in milliseconds.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    /**
+     * A single cached reference genome path along with the time at which it expires.
+     */
+    private static class CachedPath {
+
+        /**
+         * The base path of the reference genome.
+         */
+        private final String path;
+
+        /**
+         * The time at which the entry expires in milliseconds.
+         */
+        private final long expiration;
+
+        /**
+         * @param path the base path of the reference genome.
+         * @param expiration the time at which the entry expires in milliseconds.
+         */
+        public CachedPath(String path, long expiration) {
+            this.path = path;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -15,4 +15,12 @@ public class ReferenceGenomeResolver extends BaseReferenceGenomeFileResolver {
     public ReferenceGenomeResolver(DaoFactory daoFactory) {
         super(daoFactory, "annotation.gtf", "genome.fas");
     }
+
+    /**
+     * @param daoFactory used to obtain data access objects.
+     * @param pathCache used to look up reference genome paths.
+     */
+    public ReferenceGenomeResolver(DaoFactory daoFactory, ReferenceGenomePathCache pathCache) {
+        super(daoFactory, pathCache, "annotation.gtf", "genome.fas");
+    }
 }
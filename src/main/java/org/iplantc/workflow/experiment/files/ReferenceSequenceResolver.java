@@ -15,4 +15,12 @@ public class ReferenceSequenceResolver extends BaseReferenceGenomeFileResolver {
     public ReferenceSequenceResolver(DaoFactory daoFactory) {
         super(daoFactory, "genome.fas");
     }
+
+    /**
+     * @param daoFactory used to obtain data access objects.
+     * @param pathCache used to look up reference genome paths.
+     */
+    public ReferenceSequenceResolver(DaoFactory daoFactory, ReferenceGenomePathCache pathCache) {
+        super(daoFactory, pathCache, "genome.fas");
+    }
 }
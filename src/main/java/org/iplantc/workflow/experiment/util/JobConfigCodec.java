@@ -0,0 +1,210 @@
+package org.iplantc.workflow.experiment.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.sf.json.JSONObject;
+
+/**
+ * Escapes and unescapes the keys in job configurations in a single pass. The OSM doesn't allow periods in keys, so
+ * periods (and ampersands, which introduce escape sequences) in job configuration keys are replaced with numeric
+ * character references of the form &amp;#46; before experiments are stored and restored when they're retrieved.
+ * 
+ * Keys are scanned one character at a time rather than being matched against regular expressions, and keys that don't
+ * contain any characters that have to be escaped or unescaped are returned as is. If none of the keys in a job
+ * configuration have to change then the job configuration is left alone entirely.
+ */
+public class JobConfigCodec {
+
+	/**
+	 * The maximum number of digits in a character reference. Longer digit sequences are left as is.
+	 */
+	private static final int MAX_REFERENCE_DIGITS = 9;
+
+	/**
+	 * Prevent instantiation.
+	 */
+	private JobConfigCodec() {
+	}
+
+	/**
+	 * Creates a copy of an experiment with an escaped job configuration. The experiment itself is not modified. Its
+	 * properties are copied directly into the result rather than serializing the experiment and parsing it again.
+	 * 
+	 * @param experiment the experiment containing the job configuration.
+	 * @return the copy of the experiment.
+	 */
+	public static JSONObject escapeJobConfig(JSONObject experiment) {
+		JSONObject result = new JSONObject();
+		for (Object key : experiment.keySet()) {
+			String name = key.toString();
+			if (name.equals("config") && needsEscaping(experiment.getJSONObject(name))) {
+				result.put(name, new JSONObject());
+				copyWithEscapedKeys(experiment.getJSONObject(name), result.getJSONObject(name));
+			}
+			else {
+				result.put(name, experiment.get(name));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Unescapes the job configuration in an experiment that was retrieved from the OSM. The experiment is modified in
+	 * place, so this method should only be used for experiments that aren't shared with anything else.
+	 * 
+	 * @param experiment the experiment containing the job configuration.
+	 * @return the experiment.
+	 */
+	public static JSONObject unescapeJobConfig(JSONObject experiment) {
+		JSONObject config = experiment.optJSONObject("config");
+		if (config == null || config.isNullObject()) {
+			return experiment;
+		}
+		List<Object> keys = new ArrayList<Object>(config.keySet());
+		for (Object key : keys) {
+			String name = key.toString();
+			// unescapeKey returns the original string when there's nothing to unescape.
+			if (unescapeKey(name) != name) {
+				moveValuesWithUnescapedKeys(experiment, keys);
+				break;
+			}
+		}
+		return experiment;
+	}
+
+	/**
+	 * Determines whether any of the keys in a JSON object have to be escaped.
+	 * 
+	 * @param json the JSON object.
+	 * @return true if at least one key has to be escaped.
+	 */
+	private static boolean needsEscaping(JSONObject json) {
+		if (json.isNullObject()) {
+			return false;
+		}
+		for (Object key : json.keySet()) {
+			if (indexOfCharToEscape(key.toString(), 0) >= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Copies the properties of one JSON object to another, escaping the keys.
+	 * 
+	 * @param source the object to copy the properties from.
+	 * @param dest the object to copy the properties to.
+	 */
+	private static void copyWithEscapedKeys(JSONObject source, JSONObject dest) {
+		for (Object key : source.keySet()) {
+			String name = key.toString();
+			dest.put(escapeKey(name), source.get(name));
+		}
+	}
+
+	/**
+	 * Replaces the job configuration in an experiment with one that has unescaped keys. The property values are moved
+	 * rather than copied.
+	 * 
+	 * @param experiment the experiment.
+	 * @param keys the keys in the original job configuration, in order.
+	 */
+	private static void moveValuesWithUnescapedKeys(JSONObject experiment, List<Object> keys) {
+		JSONObject source = experiment.getJSONObject("config");
+		experiment.put("config", new JSONObject());
+		JSONObject dest = experiment.getJSONObject("config");
+		for (Object key : keys) {
+			String name = key.toString();
+			dest.put(unescapeKey(name), source.get(name));
+		}
+	}
+
+	/**
+	 * Escapes a single key.
+	 * 
+	 * @param key the key to escape.
+	 * @return the escaped key, which is the original string if nothing had to be escaped.
+	 */
+	public static String escapeKey(String key) {
+		int index = indexOfCharToEscape(key, 0);
+		if (index < 0) {
+			return key;
+		}
+		StringBuilder result = new StringBuilder(key.length() + 8);
+		int start = 0;
+		while (index >= 0) {
+			result.append(key, start, index).append("&#").append((int) key.charAt(index)).append(';');
+			start = index + 1;
+			index = indexOfCharToEscape(key, start);
+		}
+		return result.append(key, start, key.length()).toString();
+	}
+
+	/**
+	 * Unescapes a single key.
+	 * 
+	 * @param key the key to unescape.
+	 * @return the unescaped key, which is the original string if nothing had to be unescaped.
+	 */
+	public static String unescapeKey(String key) {
+		int index = key.indexOf("&#");
+		if (index < 0) {
+			return key;
+		}
+		StringBuilder result = null;
+		int start = 0;
+		while (index >= 0) {
+			int end = findReferenceEnd(key, index + 2);
+			if (end >= 0) {
+				if (result == null) {
+					result = new StringBuilder(key.length());
+				}
+				result.append(key, start, index).append((char) Integer.parseInt(key.substring(index + 2, end)));
+				start = end + 1;
+				index = key.indexOf("&#", start);
+			}
+			else {
+				index = key.indexOf("&#", index + 1);
+			}
+		}
+		return result == null ? key : result.append(key, start, key.length()).toString();
+	}
+
+	/**
+	 * Finds the semicolon that ends a character reference.
+	 * 
+	 * @param key the key containing the character reference.
+	 * @param digitsStart the index of the first character after the ampersand and number sign.
+	 * @return the index of the semicolon or -1 if the characters don't form a valid character reference.
+	 */
+	private static int findReferenceEnd(String key, int digitsStart) {
+		int index = digitsStart;
+		while (index < key.length() && key.charAt(index) >= '0' && key.charAt(index) <= '9') {
+			index++;
+		}
+		int digits = index - digitsStart;
+		if (digits == 0 || digits > MAX_REFERENCE_DIGITS || index >= key.length() || key.charAt(index) != ';') {
+			return -1;
+		}
+		return index;
+	}
+
+	/**
+	 * Finds the next character in a key that has to be escaped.
+	 * 
+	 * @param key the key.
+	 * @param start the index at which to start searching.
+	 * @return the index of the character or -1 if no characters have to be escaped.
+	 */
+	private static int indexOfCharToEscape(String key, int start) {
+		for (int i = start; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (c == '.' || c == '&') {
+				return i;
+			}
+		}
+		return -1;
+	}
+}
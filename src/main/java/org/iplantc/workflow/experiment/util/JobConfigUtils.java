@@ -1,26 +1,14 @@
 package org.iplantc.workflow.experiment.util;
 
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import net.sf.json.JSONObject;
 
 /**
- * Utility methods for working with job configurations.
+ * Utility methods for working with job configurations. The escaping itself is implemented by {@link JobConfigCodec}.
  * 
  * @author Dennis Roberts
  */
 public class JobConfigUtils {
 
-	/**
-	 * The regular expression pattern used to recognize escaped characters in JSON keys.
-	 */
-	private static final Pattern ESCAPED_CHAR_PATTERN = Pattern.compile("&#(\\d+);");
-
-	/**
-	 * A pattern that matches all of the characters that should be escaped.
-	 */
-	private static Pattern CHARS_TO_ESCAPE = Pattern.compile("[.&]");
-
 	/**
 	 * Escapes a job configuration object within an experiment.
 	 * 
@@ -28,9 +16,7 @@ public class JobConfigUtils {
 	 * @return a copy of the experiment with an escaped job configuration object.
 	 */
 	public static JSONObject escapeJobConfig(JSONObject experiment) {
-		JSONObject result = JSONObject.fromObject(experiment.toString());
-		result.put("config", escapeJsonKeys(experiment.getJSONObject("config")));
-		return result;
+		return JobConfigCodec.escapeJobConfig(experiment);
 	}
 
 	/**
@@ -54,13 +40,7 @@ public class JobConfigUtils {
 	 * @return the escaped key.
 	 */
 	public static String escapeJsonKey(String key) {
-		StringBuffer result = new StringBuffer();
-		Matcher matcher = CHARS_TO_ESCAPE.matcher(key);
-		while (matcher.find()) {
-			matcher.appendReplacement(result, "&#" + ((int) matcher.group().charAt(0)) + ";");
-		}
-		matcher.appendTail(result);
-		return result.toString();
+		return JobConfigCodec.escapeKey(key);
 	}
 
 	/**
@@ -84,14 +64,7 @@ public class JobConfigUtils {
 	 * @return the unescaped version of the key.
 	 */
 	public static String unescapeJsonKey(String key) {
-		StringBuffer result = new StringBuffer();
-		Matcher matcher = ESCAPED_CHAR_PATTERN.matcher(key);
-		while (matcher.find()) {
-			char[] chars = { (char) Integer.parseInt(matcher.group(1)) };
-			matcher.appendReplacement(result, new String(chars));
-		}
-		matcher.appendTail(result);
-		return result.toString();
+		return JobConfigCodec.unescapeKey(key);
 	}
 
 }
@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.iplantc.persistence.dto.components.DeployedComponent;
@@ -161,28 +162,18 @@ public class AnalysisExporter {
      * @return the set of deployed components.
      */
     private Set<DeployedComponent> loadComponents(Set<String> componentIds) {
+        Map<String, DeployedComponent> componentsById = daoFactory.getDeployedComponentDao().findByIds(componentIds);
         Set<DeployedComponent> components = new HashSet<DeployedComponent>();
         for (String componentId : componentIds) {
-            components.add(loadComponent(componentId));
+            DeployedComponent component = componentsById.get(componentId);
+            if (component == null) {
+                throw new WorkflowException("no deployed component with ID, " + componentId + ", found");
+            }
+            components.add(component);
         }
         return components;
     }
 
-    /**
-     * Loads the component with the given identifier.
-     *
-     * @param componentId the component identifier.
-     * @return the component identifier.
-     * @throws WorkflowException if the component can't be found.
-     */
-    private DeployedComponent loadComponent(String componentId) {
-        DeployedComponent component = daoFactory.getDeployedComponentDao().findById(componentId);
-        if (component == null) {
-            throw new WorkflowException("no deployed component with ID, " + componentId + ", found");
-        }
-        return component;
-    }
-
     /**
      * Extracts the set of component identifiers used by the given set of templates. Any duplicates will be removed
      * by virtue of the fact that a set is being returned.
@@ -205,25 +196,16 @@ public class AnalysisExporter {
      * @return the set of templates.
      */
     private Set<Template> loadTemplatesInAnalysis(TransformationActivity analysis) {
+        Set<String> templateIds = daoFactory.getTransformationActivityDao().getTemplateIdsInAnalysis(analysis);
+        Map<String, Template> templatesById = daoFactory.getTemplateDao().findByIds(templateIds);
         Set<Template> templates = new HashSet<Template>();
-        for (String templateId : daoFactory.getTransformationActivityDao().getTemplateIdsInAnalysis(analysis)) {
-            templates.add(loadTemplate(templateId));
+        for (String templateId : templateIds) {
+            Template template = templatesById.get(templateId);
+            if (template == null) {
+                throw new WorkflowException("no template with ID, " + templateId + ", found");
+            }
+            templates.add(template);
         }
         return templates;
     }
-
-    /**
-     * Loads the template with the given identifier.
-     *
-     * @param templateId the template identifier.
-     * @return the template.
-     * @throws WorkflowException if the template can't be loaded.
-     */
-    private Template loadTemplate(String templateId) {
-        Template template = daoFactory.getTemplateDao().findById(templateId);
-        if (template == null) {
-            throw new WorkflowException("no template with ID, " + templateId + ", found");
-        }
-        return template;
-    }
 }
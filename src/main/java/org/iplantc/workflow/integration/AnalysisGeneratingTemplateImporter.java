@@ -16,6 +16,7 @@ import org.iplantc.workflow.integration.json.TitoIntegrationDatumUnmarshaller;
 import org.iplantc.workflow.integration.validation.TemplateValidator;
 import org.iplantc.workflow.model.Template;
 import org.iplantc.workflow.service.WorkspaceInitializer;
+import org.iplantc.workflow.service.util.PipelineAnalysisValidator;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -57,6 +58,7 @@ public class AnalysisGeneratingTemplateImporter extends TemplateImporter {
     @Override
     public void saveNewTemplate(Template template, JSONObject json) {
         LOG.debug("saving a new template: " + template.getName());
+        template.setLastModified(new Date());
         getDaoFactory().getTemplateDao().save(template);
         generateAnalysis(template, json);
     }
@@ -67,12 +69,28 @@ public class AnalysisGeneratingTemplateImporter extends TemplateImporter {
     @Override
     public void replaceExistingTemplate(Template template, Template existingTemplate, JSONObject json) {
         LOG.debug("replacing an existing template: " + template.getName());
+        String originalComponent = existingTemplate.getComponent();
         template.setId(existingTemplate.getId());
+        template.setLastModified(new Date());
         getDaoFactory().getTemplateDao().delete(existingTemplate);
         getDaoFactory().getTemplateDao().save(template);
+        updateDependentPipelineEligibility(originalComponent, template);
         updateOrGenerateAnalysis(template, existingTemplate, json);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Template updateExistingTemplate(Template template, Template existingTemplate, JSONObject json) {
+        LOG.debug("updating an existing template: " + template.getName());
+        Template updatedTemplate = super.updateExistingTemplate(template, existingTemplate, json);
+        updatedTemplate.setEditedDate(template.getEditedDate());
+        updatedTemplate.setIntegrationDate(template.getIntegrationDate());
+        updateOrGenerateAnalysis(updatedTemplate, existingTemplate, json);
+        return updatedTemplate;
+    }
+
     /**
      * Updates an existing analysis or generates a new one. If the existing template already has a default analysis then
      * the existing analysis is updated to point to the new . If the existing template does note
@@ -111,6 +129,8 @@ public class AnalysisGeneratingTemplateImporter extends TemplateImporter {
                 analysis.setIntegrationDate(date);
             }
 
+            analysis.setLastModified(new Date());
+            PipelineAnalysisValidator.recordPipelineEligibility(analysis, getDaoFactory());
             analysisDao.save(analysis);
         }
     }
@@ -123,16 +143,25 @@ public class AnalysisGeneratingTemplateImporter extends TemplateImporter {
      */
     private IntegrationDatum unmarshalIntegrationDatum(JSONObject json) {
         try {
-			IntegrationDatum integrationDatum = new TitoIntegrationDatumUnmarshaller().fromJson(json);
-			IntegrationDatum existing = getDaoFactory().getIntegrationDatumDao()
-					.findByNameAndEmail(integrationDatum.getIntegratorName(), integrationDatum.getIntegratorEmail());
-            return existing == null ? integrationDatum : existing;
+            return findExistingIntegrationDatum(new TitoIntegrationDatumUnmarshaller().fromJson(json));
         }
         catch (JSONException e) {
             throw new WorkflowException(e);
         }
     }
 
+    /**
+     * Finds the stored integration datum matching the given integration datum.
+     *
+     * @param integrationDatum the integration datum to look for.
+     * @return the stored integration datum if there is one or the given integration datum otherwise.
+     */
+    private IntegrationDatum findExistingIntegrationDatum(IntegrationDatum integrationDatum) {
+        IntegrationDatum existing = getDaoFactory().getIntegrationDatumDao()
+                .findByNameAndEmail(integrationDatum.getIntegratorName(), integrationDatum.getIntegratorEmail());
+        return existing == null ? integrationDatum : existing;
+    }
+
     /**
      * Replaces the references in the given Set with those parsed from the "references" JSON array in the
      * given JSON Object.
@@ -173,8 +202,43 @@ public class AnalysisGeneratingTemplateImporter extends TemplateImporter {
         analysis.setReferences(references);
         analysis.setIntegrationDatum(unmarshalIntegrationDatum(json));
 
-        String username = getUsername(json, analysis);
+        saveGeneratedAnalysis(analysis, getUsername(json, analysis));
+    }
+
+    /**
+     * Saves a copy of an existing template and generates a single-step analysis for it. The copy is saved using the
+     * same data access objects that were used to load the original, so no JSON conversion is required.
+     *
+     * @param template the copied template, which must have a new identifier.
+     * @param references the references to associate with the generated analysis.
+     * @param integrationDatum information about the user who is making the copy.
+     * @param username the fully qualified username of the user who is making the copy.
+     * @return the identifier of the generated analysis.
+     */
+    public String importCopy(Template template, Set<TransformationActivityReference> references,
+            IntegrationDatum integrationDatum, String username) {
+        LOG.debug("saving a copied template: " + template.getName());
+        template.setLastModified(new Date());
+        getDaoFactory().getTemplateDao().save(template);
+        getRegistry().add(Template.class, template.getName(), template);
+
+        TransformationActivity analysis = new AnalysisGenerator().generateAnalysis(template);
+        analysis.setReferences(references);
+        analysis.setIntegrationDatum(findExistingIntegrationDatum(integrationDatum));
+        saveGeneratedAnalysis(analysis, username);
+        return analysis.getId();
+    }
+
+    /**
+     * Saves a generated analysis and adds it to the user's workspace.
+     *
+     * @param analysis the generated analysis.
+     * @param username the fully qualified username.
+     */
+    private void saveGeneratedAnalysis(TransformationActivity analysis, String username) {
         initializeWorkspace(username);
+        analysis.setLastModified(new Date());
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, getDaoFactory());
         getDaoFactory().getTransformationActivityDao().save(analysis);
         templateGroupImporter.addAnalysisToWorkspace(username, analysis);
         getRegistry().add(TransformationActivity.class, analysis.getName(), analysis);
@@ -3,6 +3,7 @@ package org.iplantc.workflow.integration;
 import static org.iplantc.workflow.integration.util.AnalysisImportUtils.findExistingAnalysis;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
@@ -19,9 +20,7 @@ import org.iplantc.workflow.integration.util.HeterogeneousRegistry;
 import org.iplantc.workflow.integration.util.JsonUtils;
 import org.iplantc.workflow.integration.util.NullHeterogeneousRegistry;
 import org.iplantc.workflow.service.WorkspaceInitializer;
-import org.iplantc.workflow.template.groups.TemplateGroup;
-import org.iplantc.workflow.util.ListUtils;
-import org.iplantc.workflow.util.Predicate;
+import org.iplantc.workflow.service.util.PipelineAnalysisValidator;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -68,7 +67,7 @@ import org.json.JSONObject;
  *
  * @author Dennis Roberts
  */
-public class AnalysisImporter implements ObjectImporter, ObjectVetter<TransformationActivity> {
+public class AnalysisImporter implements ObjectImporter, AnalysisVetter {
 
     /**
      * Used to flush Analysis saves to prevent transient relation exceptions.
@@ -197,13 +196,17 @@ public class AnalysisImporter implements ObjectImporter, ObjectVetter<Transforma
      */
     @Override
     public boolean isObjectVetted(String username, TransformationActivity analysis) {
-        final long workspaceId = getWorkspaceId(username);
-        return ListUtils.any(new Predicate<TemplateGroup>() {
-            @Override
-            public Boolean call(TemplateGroup arg) {
-                return workspaceId != arg.getWorkspaceId();
-            }
-        }, daoFactory.getTemplateGroupDao().findTemplateGroupsContainingAnalysis(analysis));
+        Long workspaceId = findWorkspaceId(username);
+        return daoFactory.getTemplateGroupDao().isAnalysisInGroupOutsideWorkspace(analysis, workspaceId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTemplateVetted(String username, String templateId) {
+        Long workspaceId = findWorkspaceId(username);
+        return daoFactory.getTemplateGroupDao().isTemplateInGroupOutsideWorkspace(templateId, workspaceId);
     }
 
     /**
@@ -231,7 +234,7 @@ public class AnalysisImporter implements ObjectImporter, ObjectVetter<Transforma
             saveAnalysis(analysisDao, analysis);
             templateGroupImporter.addAnalysisToWorkspace(username, analysis);
         }
-        else if (updateMode == UpdateMode.REPLACE) {
+        else if (updateMode.isReplacement()) {
             if (updateVetted || !isObjectVetted(username, existingAnalysis)) {
                 // An InputOutputMap can't be deleted in the same "flush" as its associated
                 // TransformationSteps.
@@ -270,6 +273,8 @@ public class AnalysisImporter implements ObjectImporter, ObjectVetter<Transforma
         List<InputOutputMap> mappings = new ArrayList<InputOutputMap>(analysis.getMappings());
 
         // Save analysis without new mappings first, so that new steps are not transient.
+        analysis.setLastModified(new Date());
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, daoFactory);
         analysis.getMappings().clear();
         analysisDao.save(analysis);
         if (session != null) {
@@ -307,19 +312,17 @@ public class AnalysisImporter implements ObjectImporter, ObjectVetter<Transforma
     }
 
     /**
-     * Gets the workspace identifier.
+     * Finds the identifier of the workspace belonging to the user with the given username. If the user or workspace
+     * doesn't exist then every template group is treated as being outside of the user's workspace, so anything that
+     * belongs to a template group is considered to be vetted.
      *
-     * @param username the name of the user.
-     * @return the workspace ID.
-     * @throws WorkflowException if the integrator's workspace isn't found.
+     * @param username the fully qualified username.
+     * @return the workspace identifier or null if the user or workspace doesn't exist.
      */
-    private long getWorkspaceId(String username) throws WorkflowException {
+    private Long findWorkspaceId(String username) {
         User user = daoFactory.getUserDao().findByUsername(username);
-        Workspace workspace = daoFactory.getWorkspaceDao().findByUser(user);
-        if (workspace == null) {
-            throw new WorkflowException("workspace not found for " + username);
-        }
-        return workspace.getId();
+        Workspace workspace = user == null ? null : daoFactory.getWorkspaceDao().findByUser(user);
+        return workspace == null ? null : workspace.getId();
     }
 
     /**
@@ -2,11 +2,13 @@ package org.iplantc.workflow.integration;
 
 import static org.iplantc.workflow.integration.util.AnalysisImportUtils.getDate;
 
+import java.util.Date;
 import net.sf.json.JSONObject;
 import org.iplantc.workflow.AnalysisNotFoundException;
 import org.iplantc.workflow.MissingRequiredFieldException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.service.util.PipelineAnalysisValidator;
 
 /**
  * Provides a way to update the information in an analysis without updating any of the components within the analysis.
@@ -29,23 +31,28 @@ public class AnalysisUpdater {
 
     /**
      * @param jsonString a JSON string representing the object used to update the analysis.
+     * @return the analysis identifier.
      */
-    public void updateAnalysis(String jsonString) {
-        updateAnalysis(JSONObject.fromObject(jsonString));
+    public String updateAnalysis(String jsonString) {
+        return updateAnalysis(JSONObject.fromObject(jsonString));
     }
 
     /**
      * Updates the analysis.
      * 
      * @param json the JSON object used to update the analysis.
+     * @return the analysis identifier.
      */
-    public void updateAnalysis(JSONObject json) {
+    public String updateAnalysis(JSONObject json) {
         TransformationActivity analysis = loadAnalysis(json.optString("id", null));
         analysis.setName(json.optString("name", analysis.getName()));
         analysis.setDescription(json.optString("description", analysis.getDescription()));
         analysis.setEditedDate(getDate(json.optString("edited_date"), analysis.getEditedDate()));
         analysis.setIntegrationDate(getDate(json.optString("published_date"), analysis.getIntegrationDate()));
+        analysis.setLastModified(new Date());
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, daoFactory);
         daoFactory.getTransformationActivityDao().save(analysis);
+        return analysis.getId();
     }
 
     /**
@@ -0,0 +1,22 @@
+package org.iplantc.workflow.integration;
+
+import org.iplantc.workflow.core.TransformationActivity;
+
+/**
+ * Determines whether or not analyses have been vetted, either individually or collectively by the templates that they
+ * use.
+ */
+public interface AnalysisVetter extends ObjectVetter<TransformationActivity> {
+
+    /**
+     * Determines if any analysis that uses a template has been vetted.
+     * 
+     * @param username
+     *  Fully qualified name of user.
+     * @param templateId
+     *  The identifier of the template to check.
+     * @return
+     *  True if at least one analysis that uses the template is vetted, false otherwise.
+     */
+    public boolean isTemplateVetted(String username, String templateId);
+}
@@ -4,9 +4,9 @@ import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.dao.ResultPage;
 import org.iplantc.workflow.integration.json.TitoDeployedComponentMarshaller;
-import org.iplantc.workflow.util.Lambda;
-import org.iplantc.workflow.util.ListUtils;
+import org.iplantc.workflow.util.JsonTreeConverter;
 
 /**
  * Used to export existing deployed components in the database to JSON.
@@ -41,31 +41,33 @@ public class DeployedComponentExporter {
 
     /**
      * Exports data access objects matching the given search criteria.  See {@link DeployedComponentFinder} for
-     * information about the search criteria format.
+     * information about the search criteria format.  The total number of matching deployed components is included in
+     * the result so that callers requesting a single page can tell whether more pages are available.
      * 
      * @param criteria the search criteria.
      * @return a JSON object representing the results.
      */
     public JSONObject export(String criteria) {
+        ResultPage<DeployedComponent> page = finder.searchPage(criteria);
         JSONObject result = new JSONObject();
-        result.put("components", getMatchingDeployedComponents(criteria));
+        result.put("components", new JSONArray());
+        result.put("total", page.getTotal());
+        addDeployedComponents(page, result.getJSONArray("components"));
         return result;
     }
 
     /**
-     * Gets the matching deployed components as a list of JSON objects.  This method requires a bit of a conversion
-     * because this class uses {@code net.sf.json.JSONObject} whereas {@link TitoDeployedComponentMarshaller} returns
-     * {@code org.json.JSONObject}.
+     * Adds a page of deployed components to a JSON array.  This method requires a bit of a conversion because
+     * this class uses {@code net.sf.json.JSONObject} whereas {@link TitoDeployedComponentMarshaller} returns
+     * {@code org.json.JSONObject}.  Each component is converted directly into the array that the result holds because
+     * the Source Forge library would otherwise copy the entire array when it's added to the result.
      * 
-     * @param criteria the search criteria.
-     * @return the matching deployed components as a JSON array.
+     * @param page the page of matching deployed components.
+     * @param components the JSON array to add the matching deployed components to.
      */
-    private JSONArray getMatchingDeployedComponents(String criteria) {
-        return JSONArray.fromObject(ListUtils.map(new Lambda<DeployedComponent, JSONObject>() {
-            @Override
-            public JSONObject call(DeployedComponent arg) {
-                return JSONObject.fromObject(marshaller.toJson(arg).toString());
-            }
-        }, finder.search(criteria)));
+    private void addDeployedComponents(ResultPage<DeployedComponent> page, JSONArray components) {
+        for (DeployedComponent component : page.getItems()) {
+            JsonTreeConverter.addToSfJsonArray(components, marshaller.toJson(component));
+        }
     }
 }
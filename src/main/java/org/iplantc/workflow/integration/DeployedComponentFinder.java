@@ -6,6 +6,8 @@ import net.sf.json.JSONObject;
 import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.DeployedComponentDao;
+import org.iplantc.workflow.dao.PagingCriteria;
+import org.iplantc.workflow.dao.ResultPage;
 import org.iplantc.workflow.util.ListUtils;
 
 /**
@@ -14,7 +16,8 @@ import org.iplantc.workflow.util.ListUtils;
  * components will be returned.  The search criteria are expected to be in the form of a string representation of a
  * JSON object containing the search criteria using the keys, {@code id}, {@code name} and {@code location} for the
  * identifier, name and location, respectively.  As you might expect, passing an empty JSON object to the service
- * will result in all deployed components being matched.
+ * will result in all deployed components being matched.  The criteria may also contain the paging keys described in
+ * {@link PagingCriteria#fromJson}, in which case only a single page of the matching deployed components is returned.
  * 
  * @author Dennis Roberts
  */
@@ -40,31 +43,36 @@ public class DeployedComponentFinder {
      * @throws IllegalArgumentException if the search criteria are invalid.
      */
     public List<DeployedComponent> search(String criteria) {
+        return searchPage(criteria).getItems();
+    }
+
+    /**
+     * Searches for deployed components based on the given search criteria, returning the total number of matches
+     * along with the requested page of matching deployed components.
+     * 
+     * @param criteria a JSON string representing the search criteria.
+     * @return the page of matching deployed components.
+     * @throws IllegalArgumentException if the search criteria are invalid.
+     */
+    public ResultPage<DeployedComponent> searchPage(String criteria) {
         return search(new DeployedComponentSearchCriteria(criteria));
     }
 
     /**
-     * Searches for deployed components based on the given search criteria.
+     * Searches for deployed components based on the given search criteria.  The paging criteria are ignored when
+     * searching by identifier because at most one deployed component can match.
      * 
      * @param criteria the search criteria.
-     * @return the list of matching deployed components.
+     * @return the page of matching deployed components.
      */
-    private List<DeployedComponent> search(DeployedComponentSearchCriteria criteria) {
+    private ResultPage<DeployedComponent> search(DeployedComponentSearchCriteria criteria) {
         DeployedComponentDao dao = daoFactory.getDeployedComponentDao();
         if (criteria.getId() != null) {
-            return ListUtils.asListWithoutNulls(dao.findById(criteria.getId()));
-        }
-        else if (criteria.getName() != null && criteria.getLocation() != null) {
-            return ListUtils.asListWithoutNulls(dao.findByNameAndLocation(criteria.getName(), criteria.getLocation()));
-        }
-        else if (criteria.getName() != null) {
-            return dao.findByName(criteria.getName());
-        }
-        else if (criteria.getLocation() != null) {
-            return dao.findByLocation(criteria.getLocation());
+            List<DeployedComponent> components = ListUtils.asListWithoutNulls(dao.findById(criteria.getId()));
+            return new ResultPage<DeployedComponent>(components, components.size());
         }
         else {
-            return dao.findAll();
+            return dao.findPage(criteria.getName(), criteria.getLocation(), criteria.getPaging());
         }
     }
 
@@ -88,6 +96,11 @@ public class DeployedComponentFinder {
          */
         private String location;
 
+        /**
+         * The offset, limit and sort order of the page of deployed components to return.
+         */
+        private PagingCriteria paging;
+
         /**
          * @return the deployed component identifier to search for.
          */
@@ -109,6 +122,13 @@ public class DeployedComponentFinder {
             return location;
         }
 
+        /**
+         * @return the offset, limit and sort order of the page of deployed components to return.
+         */
+        public PagingCriteria getPaging() {
+            return paging;
+        }
+
         /**
          * Creates a new search criteria object based on a JSON string.
          * 
@@ -120,6 +140,7 @@ public class DeployedComponentFinder {
                 id = json.optString("id", null);
                 name = json.optString("name", null);
                 location = json.optString("location", null);
+                paging = PagingCriteria.fromJson(json);
                 validateSearchCriteria();
             }
             catch (JSONException e) {
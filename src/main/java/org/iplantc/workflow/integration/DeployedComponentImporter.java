@@ -2,6 +2,7 @@ package org.iplantc.workflow.integration;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.Logger;
 import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.dao.DaoFactory;
@@ -9,6 +10,7 @@ import org.iplantc.workflow.dao.DeployedComponentDao;
 import org.iplantc.workflow.integration.json.TitoDeployedComponentUnmarshaller;
 import org.iplantc.workflow.integration.util.HeterogeneousRegistry;
 import org.iplantc.workflow.integration.util.NullHeterogeneousRegistry;
+import org.iplantc.workflow.service.util.PipelineAnalysisValidator;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -121,7 +123,7 @@ public class DeployedComponentImporter implements ObjectImporter {
             registerDeployedComponent(component);
             return component.getId();
         }
-        else if (updateMode == UpdateMode.REPLACE) {
+        else if (updateMode.isReplacement()) {
             updateExistingComponent(component, existingComponent);
             registerDeployedComponent(existingComponent);
             return existingComponent.getId();
@@ -145,6 +147,7 @@ public class DeployedComponentImporter implements ObjectImporter {
      * @param existingComponent the existing deployed component.
      */
     private void updateExistingComponent(DeployedComponent component, DeployedComponent existingComponent) {
+        String originalType = existingComponent.getType();
         existingComponent.setName(component.getName());
         existingComponent.setLocation(component.getLocation());
         existingComponent.setAttribution(component.getAttribution());
@@ -152,6 +155,9 @@ public class DeployedComponentImporter implements ObjectImporter {
         existingComponent.setToolType(component.getToolType());
         existingComponent.setVersion(component.getVersion());
         daoFactory.getDeployedComponentDao().save(existingComponent);
+        if (!StringUtils.equals(originalType, existingComponent.getType())) {
+            PipelineAnalysisValidator.updatePipelineEligibilityForComponent(existingComponent.getId(), daoFactory);
+        }
     }
 
     /**
@@ -1,7 +1,12 @@
 package org.iplantc.workflow.integration;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.dao.NotificationSetDao;
@@ -123,32 +128,16 @@ public class NotificationSetImporter implements ObjectImporter {
     public String importObject(JSONObject json) throws JSONException {
         TitoNotificationSetUnmarshaller unmarshaller = new TitoNotificationSetUnmarshaller(registry);
         NotificationSet notificationSet = unmarshaller.fromJson(json);
-        List<NotificationSet> existingNotificationSets = findExistingNotificationSets(notificationSet);
-        if (existingNotificationSets.isEmpty()) {
-            notificationSetDao.save(notificationSet);
-        }
-        else if (updateMode == UpdateMode.REPLACE) {
-            notificationSetDao.deleteAll(existingNotificationSets);
-            notificationSetDao.save(notificationSet);
-        }
-        else if (updateMode == UpdateMode.THROW) {
-            throw new WorkflowException("a duplicate notification set was found and replacement isn't enabled");
-        }
+        importNotificationSets(Arrays.asList(notificationSet));
         return notificationSet.getId();
     }
 
     /**
-     * Finds the list of notification sets that are associated with the same analysis as the given notification set.
-     *
-     * @param notificationSet the new notification set.
-     * @return the list of notification sets associated with the same analysis.
-     */
-    private List<NotificationSet> findExistingNotificationSets(NotificationSet notificationSet) {
-        return notificationSetDao.findNotificationSetsForAnalysisId(notificationSet.getTemplate_id());
-    }
-
-    /**
-     * Imports a list of notification sets using the values from the given JSON array.
+     * Imports a list of notification sets using the values from the given JSON array.  The existing notification
+     * sets for all of the analyses are found with a single query and, in replacement mode, deleted with a single set
+     * of statements.  The result is the same as importing each notification set individually: when more than one
+     * notification set in the array refers to the same analysis, each one is treated as an existing notification set
+     * by the ones that follow it.
      *
      * @param array the JSON array.
      * @return the list of notification set IDs.
@@ -157,10 +146,62 @@ public class NotificationSetImporter implements ObjectImporter {
      */
     @Override
     public List<String> importObjectList(JSONArray array) throws JSONException {
-        List<String> result = new ArrayList<String>();
+        TitoNotificationSetUnmarshaller unmarshaller = new TitoNotificationSetUnmarshaller(registry);
+        List<NotificationSet> notificationSets = new ArrayList<NotificationSet>();
         for (int i = 0; i < array.length(); i++) {
-            importObject(array.getJSONObject(i));
+            notificationSets.add(unmarshaller.fromJson(array.getJSONObject(i)));
+        }
+        importNotificationSets(notificationSets);
+        List<String> result = new ArrayList<String>();
+        for (NotificationSet notificationSet : notificationSets) {
+            result.add(notificationSet.getId());
         }
         return result;
     }
+
+    /**
+     * Imports a list of notification sets.  Notification sets that replace existing ones are only saved once all of
+     * the notification sets that they replace have been deleted, so the new notification sets can all be inserted
+     * together.
+     *
+     * @param notificationSets the notification sets to import.
+     * @throws WorkflowException if a duplicate notification set is found and replacement isn't enabled.
+     */
+    private void importNotificationSets(List<NotificationSet> notificationSets) {
+        Set<String> existingAnalysisIds = findExistingAnalysisIds(notificationSets);
+        Map<String, NotificationSet> notificationSetsToSave = new LinkedHashMap<String, NotificationSet>();
+        for (NotificationSet notificationSet : notificationSets) {
+            String analysisId = notificationSet.getTemplate_id();
+            boolean duplicate = existingAnalysisIds.contains(analysisId)
+                    || notificationSetsToSave.containsKey(analysisId);
+            if (!duplicate || updateMode.isReplacement()) {
+                notificationSetsToSave.remove(analysisId);
+                notificationSetsToSave.put(analysisId, notificationSet);
+            }
+            else if (updateMode == UpdateMode.THROW) {
+                throw new WorkflowException("a duplicate notification set was found and replacement isn't enabled");
+            }
+        }
+        if (updateMode.isReplacement() && !existingAnalysisIds.isEmpty()) {
+            notificationSetDao.deleteNotificationSetsForAnalysisIds(existingAnalysisIds);
+        }
+        for (NotificationSet notificationSet : notificationSetsToSave.values()) {
+            notificationSetDao.save(notificationSet);
+        }
+    }
+
+    /**
+     * Finds the identifiers of the analyses that already have notification sets, using a single query for all of
+     * the notification sets being imported.
+     *
+     * @param notificationSets the new notification sets.
+     * @return the identifiers of the analyses that already have notification sets.
+     */
+    private Set<String> findExistingAnalysisIds(List<NotificationSet> notificationSets) {
+        Set<String> analysisIds = new HashSet<String>();
+        for (NotificationSet notificationSet : notificationSets) {
+            analysisIds.add(notificationSet.getTemplate_id());
+        }
+        return notificationSetDao.findAnalysisIdsWithNotificationSets(analysisIds);
+    }
 }
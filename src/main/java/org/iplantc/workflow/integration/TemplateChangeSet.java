@@ -0,0 +1,193 @@
+package org.iplantc.workflow.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.iplantc.workflow.WorkflowException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * The elements that were inserted, updated or deleted when an existing template was updated in place. Elements are
+ * identified by their type, which is the simple name of the element's class, and their external identifier. Elements
+ * that didn't change aren't recorded, so an empty change set indicates that the stored template already matched the
+ * template being imported.
+ */
+public class TemplateChangeSet {
+
+    /**
+     * The kinds of changes that can be made to a template element.
+     */
+    public enum ChangeType {
+        INSERT, UPDATE, DELETE;
+    }
+
+    /**
+     * A single change made to a template element.
+     */
+    public static class Change {
+
+        /**
+         * The kind of change.
+         */
+        private final ChangeType changeType;
+
+        /**
+         * The simple name of the element's class.
+         */
+        private final String elementType;
+
+        /**
+         * The element's external identifier.
+         */
+        private final String id;
+
+        /**
+         * @param changeType the kind of change.
+         * @param elementType the simple name of the element's class.
+         * @param id the element's external identifier.
+         */
+        public Change(ChangeType changeType, String elementType, String id) {
+            this.changeType = changeType;
+            this.elementType = elementType;
+            this.id = id;
+        }
+
+        /**
+         * @return the kind of change.
+         */
+        public ChangeType getChangeType() {
+            return changeType;
+        }
+
+        /**
+         * @return the simple name of the element's class.
+         */
+        public String getElementType() {
+            return elementType;
+        }
+
+        /**
+         * @return the element's external identifier.
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return changeType + " " + elementType + " " + id;
+        }
+    }
+
+    /**
+     * The identifier of the template that was updated.
+     */
+    private final String templateId;
+
+    /**
+     * The changes in the order in which they were detected.
+     */
+    private final List<Change> changes = new ArrayList<Change>();
+
+    /**
+     * @param templateId the identifier of the template that was updated.
+     */
+    public TemplateChangeSet(String templateId) {
+        this.templateId = templateId;
+    }
+
+    /**
+     * @return the identifier of the template that was updated.
+     */
+    public String getTemplateId() {
+        return templateId;
+    }
+
+    /**
+     * Records a change to a template element.
+     *
+     * @param changeType the kind of change.
+     * @param element the element that was changed.
+     * @param id the element's external identifier.
+     */
+    public void record(ChangeType changeType, Object element, String id) {
+        changes.add(new Change(changeType, element.getClass().getSimpleName(), id));
+    }
+
+    /**
+     * @return the changes in the order in which they were detected.
+     */
+    public List<Change> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * @param changeType the kind of change.
+     * @return the changes of the given kind.
+     */
+    public List<Change> getChanges(ChangeType changeType) {
+        List<Change> result = new ArrayList<Change>();
+        for (Change change : changes) {
+            if (change.getChangeType() == changeType) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return true if no elements were changed.
+     */
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    /**
+     * @return a JSON object listing the changes of each kind.
+     */
+    public JSONObject toJson() {
+        try {
+            JSONObject json = new JSONObject();
+            json.put("id", templateId);
+            json.put("inserted", changesToJson(ChangeType.INSERT));
+            json.put("updated", changesToJson(ChangeType.UPDATE));
+            json.put("deleted", changesToJson(ChangeType.DELETE));
+            return json;
+        }
+        catch (JSONException e) {
+            throw new WorkflowException("error producing JSON object", e);
+        }
+    }
+
+    /**
+     * Converts the changes of a single kind to a JSON array.
+     *
+     * @param changeType the kind of change.
+     * @return the JSON array.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONArray changesToJson(ChangeType changeType) throws JSONException {
+        JSONArray array = new JSONArray();
+        for (Change change : getChanges(changeType)) {
+            JSONObject json = new JSONObject();
+            json.put("type", change.getElementType());
+            json.put("id", change.getId());
+            array.put(json);
+        }
+        return array;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "template " + templateId + ": " + changes;
+    }
+}
@@ -0,0 +1,178 @@
+package org.iplantc.workflow.integration;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang.StringUtils;
+import org.iplantc.workflow.data.DataObject;
+import org.iplantc.workflow.integration.json.IdRetentionStrategy;
+import org.iplantc.workflow.model.Property;
+import org.iplantc.workflow.model.PropertyGroup;
+import org.iplantc.workflow.model.Rule;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.model.Validator;
+
+/**
+ * Makes deep copies of templates without converting them to JSON and back. Property groups, properties, validators,
+ * rules and data objects are all copied and assigned identifiers by the given ID retention strategy. Reference data
+ * such as property types, rule types, information types, data formats, data sources and multiplicities are shared
+ * with the original template.
+ */
+public class TemplateCopier {
+
+    /**
+     * Used to assign identifiers to the copied elements.
+     */
+    private final IdRetentionStrategy idRetentionStrategy;
+
+    /**
+     * @param idRetentionStrategy used to assign identifiers to the copied elements.
+     */
+    public TemplateCopier(IdRetentionStrategy idRetentionStrategy) {
+        this.idRetentionStrategy = idRetentionStrategy;
+    }
+
+    /**
+     * Copies a template.
+     *
+     * @param orig the template to copy.
+     * @return the copy.
+     */
+    public Template copy(Template orig) {
+        Map<DataObject, DataObject> dataObjects = new IdentityHashMap<DataObject, DataObject>();
+        Template copy = new Template(idRetentionStrategy.getId(orig.getId()), orig.getName(), orig.getLabel(),
+                orig.getDescription());
+        copy.setTemplateType(orig.getTemplateType());
+        copy.setComponent(orig.getComponent());
+        for (PropertyGroup group : orig.getPropertyGroups()) {
+            copy.addPropertyGroup(copyPropertyGroup(group, dataObjects));
+        }
+        copy.setInputs(copyDataObjects(orig.getInputs(), dataObjects));
+        copy.setOutputs(copyDataObjects(orig.getOutputs(), dataObjects));
+        return copy;
+    }
+
+    /**
+     * Copies a property group.
+     *
+     * @param orig the property group to copy.
+     * @param dataObjects the data objects that have already been copied, keyed by original data object.
+     * @return the copy.
+     */
+    private PropertyGroup copyPropertyGroup(PropertyGroup orig, Map<DataObject, DataObject> dataObjects) {
+        PropertyGroup copy = new PropertyGroup(idRetentionStrategy.getId(orig.getId()), orig.getName(),
+                orig.getLabel(), orig.getDescription());
+        copy.setGroupType(orig.getGroupType());
+        copy.setVisible(orig.isVisible());
+        for (Property property : orig.getProperties()) {
+            copy.addProperty(copyProperty(property, dataObjects));
+        }
+        return copy;
+    }
+
+    /**
+     * Copies a property. Data objects that share their identifier with the property that refers to them continue to
+     * do so in the copy.
+     *
+     * @param orig the property to copy.
+     * @param dataObjects the data objects that have already been copied, keyed by original data object.
+     * @return the copy.
+     */
+    private Property copyProperty(Property orig, Map<DataObject, DataObject> dataObjects) {
+        String id = idRetentionStrategy.getId(orig.getId());
+        Property copy = new Property(id, orig.getName(), orig.getLabel(), orig.getDescription());
+        copy.setPropertyType(orig.getPropertyType());
+        copy.setValidator(copyValidator(orig.getValidator()));
+        copy.setOrder(orig.getOrder());
+        copy.setIsVisible(orig.getIsVisible());
+        copy.setDefaultValue(orig.getDefaultValue());
+        copy.setOmitIfBlank(orig.getOmitIfBlank());
+        DataObject dataObject = orig.getDataObject();
+        if (dataObject != null) {
+            String dataObjectId = StringUtils.equals(dataObject.getId(), orig.getId()) ? id : null;
+            copy.setDataObject(copyDataObject(dataObject, dataObjectId, dataObjects));
+        }
+        return copy;
+    }
+
+    /**
+     * Copies a validator.
+     *
+     * @param orig the validator to copy, which may be null.
+     * @return the copy or null if there's no validator to copy.
+     */
+    private Validator copyValidator(Validator orig) {
+        if (orig == null) {
+            return null;
+        }
+        Validator copy = new Validator(idRetentionStrategy.getId(orig.getId()), orig.getName(), orig.getLabel(),
+                orig.getDescription());
+        copy.setRequired(orig.isRequired());
+        for (Rule rule : orig.getRules()) {
+            copy.addRule(copyRule(rule));
+        }
+        return copy;
+    }
+
+    /**
+     * Copies a rule.
+     *
+     * @param orig the rule to copy.
+     * @return the copy.
+     */
+    private Rule copyRule(Rule orig) {
+        Rule copy = new Rule(idRetentionStrategy.getId(orig.getId()), orig.getName(), orig.getLabel(),
+                orig.getDescription());
+        copy.setRuleType(orig.getRuleType());
+        copy.setArguments(orig.getArguments());
+        return copy;
+    }
+
+    /**
+     * Copies a list of data objects.
+     *
+     * @param origs the data objects to copy.
+     * @param dataObjects the data objects that have already been copied, keyed by original data object.
+     * @return the list of copies.
+     */
+    private List<DataObject> copyDataObjects(List<DataObject> origs, Map<DataObject, DataObject> dataObjects) {
+        List<DataObject> copies = new ArrayList<DataObject>();
+        for (DataObject orig : origs) {
+            copies.add(copyDataObject(orig, null, dataObjects));
+        }
+        return copies;
+    }
+
+    /**
+     * Copies a data object. Each data object is copied only once so that properties and the template's input and
+     * output lists continue to refer to the same instance.
+     *
+     * @param orig the data object to copy.
+     * @param id the identifier to use for the copy or null if a new identifier should be assigned.
+     * @param dataObjects the data objects that have already been copied, keyed by original data object.
+     * @return the copy.
+     */
+    private DataObject copyDataObject(DataObject orig, String id, Map<DataObject, DataObject> dataObjects) {
+        DataObject copy = dataObjects.get(orig);
+        if (copy == null) {
+            copy = new DataObject();
+            copy.setId(id == null ? idRetentionStrategy.getId(orig.getId()) : id);
+            copy.setName(orig.getName());
+            copy.setLabel(orig.getLabel());
+            copy.setDescription(orig.getDescription());
+            copy.setInfoType(orig.getInfoType());
+            copy.setDataFormat(orig.getDataFormat());
+            copy.setDataSource(orig.getDataSource());
+            copy.setMultiplicity(orig.getMultiplicity());
+            copy.setOrderd(orig.getOrderd());
+            copy.setSwitchString(orig.getSwitchString());
+            copy.setRequired(orig.isRequired());
+            copy.setRetain(orig.getRetain());
+            copy.setImplicit(orig.isImplicit());
+            dataObjects.put(orig, copy);
+        }
+        return copy;
+    }
+}
@@ -1,9 +1,11 @@
 package org.iplantc.workflow.integration;
 
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.log4j.Logger;
 import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
@@ -15,6 +17,7 @@ import org.iplantc.workflow.integration.util.NullHeterogeneousRegistry;
 import org.iplantc.workflow.integration.validation.TemplateValidator;
 import org.iplantc.workflow.integration.validation.TemplateValidatorFactory;
 import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.service.util.PipelineAnalysisValidator;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -97,6 +100,11 @@ import org.json.JSONObject;
  */
 public class TemplateImporter implements ObjectImporter, ObjectVetter<Template> {
 
+    /**
+     * Used to log error and informational messages.
+     */
+    private static final Logger LOG = Logger.getLogger(TemplateImporter.class);
+
     /**
      * The factory used to generate data access objects.
      */
@@ -120,13 +128,18 @@ public class TemplateImporter implements ObjectImporter, ObjectVetter<Template>
     /**
      * Used when vetting the template.
      */
-    private ObjectVetter<TransformationActivity> analysisVetter;
+    private AnalysisVetter analysisVetter;
 
     /**
      * Used to validate templates that are being imported.
      */
     private TemplateValidator templateValidator;
 
+    /**
+     * The changes made by the most recent in-place template update.
+     */
+    private TemplateChangeSet lastChangeSet;
+
     /**
      * @return the DAO factory.
      */
@@ -212,17 +225,18 @@ public class TemplateImporter implements ObjectImporter, ObjectVetter<Template>
      */
     @Override
     public boolean isObjectVetted(String username, Template template) {
+        if (!StringUtils.isEmpty(username)) {
+            return analysisVetter.isTemplateVetted(username, template.getId());
+        }
+
         List<TransformationActivity> analyses =
                 daoFactory.getTransformationActivityDao().getAnalysesReferencingTemplateId(template.getId());
-
-        boolean hasVettedAnalysis = false;
         for (TransformationActivity analysis : analyses) {
             if (analysisVetter.isObjectVetted(getUsername(username, analysis), analysis)) {
-                hasVettedAnalysis = true;
+                return true;
             }
         }
-
-        return hasVettedAnalysis;
+        return false;
     }
 
     /**
@@ -259,12 +273,15 @@ public class TemplateImporter implements ObjectImporter, ObjectVetter<Template>
         if (existingTemplate == null) {
             saveNewTemplate(template, json);
         }
-        else if (updateMode == UpdateMode.REPLACE) {
-            if (updateVetted || !isObjectVetted(json.optString("full_username"), existingTemplate)) {
-                replaceExistingTemplate(template, existingTemplate, json);
+        else if (updateMode.isReplacement()) {
+            if (!updateVetted && isObjectVetted(json.optString("full_username"), existingTemplate)) {
+                throw new VettedWorkflowObjectException("Cannot replace Template because existing template is vetted.");
+            }
+            else if (updateMode == UpdateMode.UPDATE) {
+                template = updateExistingTemplate(template, existingTemplate, json);
             }
             else {
-                throw new VettedWorkflowObjectException("Cannot replace Template because existing template is vetted.");
+                replaceExistingTemplate(template, existingTemplate, json);
             }
         }
         else if (updateMode == UpdateMode.THROW) {
@@ -347,6 +364,7 @@ public class TemplateImporter implements ObjectImporter, ObjectVetter<Template>
      * @param json the JSON object representing the template.
      */
     protected void saveNewTemplate(Template template, JSONObject json) {
+        template.setLastModified(new Date());
         daoFactory.getTemplateDao().save(template);
     }
 
@@ -358,9 +376,53 @@ public class TemplateImporter implements ObjectImporter, ObjectVetter<Template>
      * @param json the JSON object representing the template.
      */
     protected void replaceExistingTemplate(Template template, Template existingTemplate, JSONObject json) {
+        String originalComponent = existingTemplate.getComponent();
         template.setId(existingTemplate.getId());
         daoFactory.getTemplateDao().delete(existingTemplate);
         saveNewTemplate(template, json);
+        updateDependentPipelineEligibility(originalComponent, template);
+    }
+
+    /**
+     * Updates the recorded pipeline eligibility of the analyses that use a template if the template now uses a
+     * different deployed component.
+     *
+     * @param originalComponent the identifier of the deployed component used by the original template.
+     * @param template the template that replaced or updated the original template.
+     */
+    protected void updateDependentPipelineEligibility(String originalComponent, Template template) {
+        if (!StringUtils.equals(originalComponent, template.getComponent())) {
+            PipelineAnalysisValidator.updatePipelineEligibilityForTemplate(template.getId(), daoFactory);
+        }
+    }
+
+    /**
+     * Updates an existing template in place so that it matches the new version of the template. Only the elements of
+     * the existing template that differ from the new version are inserted, updated or deleted, and the changes are
+     * recorded so that they can be reported.
+     *
+     * @param template the new version of the template.
+     * @param existingTemplate the existing template.
+     * @param json the JSON object representing the template.
+     * @return the updated template.
+     */
+    protected Template updateExistingTemplate(Template template, Template existingTemplate, JSONObject json) {
+        String originalComponent = existingTemplate.getComponent();
+        lastChangeSet = new TemplateUpdater(daoFactory.getTemplateDao(), existingTemplate).update(template);
+        LOG.debug("updated an existing template: " + lastChangeSet);
+        existingTemplate.setLastModified(new Date());
+        daoFactory.getTemplateDao().save(existingTemplate);
+        updateDependentPipelineEligibility(originalComponent, existingTemplate);
+        return existingTemplate;
+    }
+
+    /**
+     * Returns the changes made by the most recent in-place template update.
+     *
+     * @return the change set or null if no template has been updated in place.
+     */
+    public TemplateChangeSet getLastChangeSet() {
+        return lastChangeSet;
     }
 
     /**
@@ -397,7 +459,7 @@ public class TemplateImporter implements ObjectImporter, ObjectVetter<Template>
      *
      * @param analysisVetter
      */
-    public void setAnalysisVetter(ObjectVetter<TransformationActivity> analysisVetter) {
+    public void setAnalysisVetter(AnalysisVetter analysisVetter) {
         this.analysisVetter = analysisVetter;
     }
 }
@@ -0,0 +1,567 @@
+package org.iplantc.workflow.integration;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang.ObjectUtils;
+import org.apache.commons.lang.StringUtils;
+import org.iplantc.workflow.dao.TemplateDao;
+import org.iplantc.workflow.data.DataObject;
+import org.iplantc.workflow.integration.TemplateChangeSet.ChangeType;
+import org.iplantc.workflow.model.Property;
+import org.iplantc.workflow.model.PropertyGroup;
+import org.iplantc.workflow.model.Rule;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.model.Validator;
+import org.iplantc.workflow.model.WorkflowElement;
+
+/**
+ * Updates a stored template in place so that it matches a template that is being imported. Replacing a template
+ * deletes every element of the stored template and inserts a copy of every element of the new template, even if only
+ * a single label changed. This class matches the elements of the two templates instead and only modifies the stored
+ * elements that differ, so the database only receives the inserts, updates and deletes that are actually required.
+ *
+ * Property groups and properties are matched by identifier throughout the template, so a property that moves from
+ * one group to another is retained. Validators and data objects are matched by identifier within their properties,
+ * and template inputs and outputs that aren't associated with properties are matched by identifier within their
+ * lists. Rule identifiers are generated every time a template is unmarshalled, so rules are matched by position
+ * within their validators. Elements that are inserted or deleted along with a validator or property aren't reported
+ * separately in the change set.
+ *
+ * An updater is used to update a single stored template.
+ */
+public class TemplateUpdater {
+
+    /**
+     * Used to delete elements that were removed from the stored template.
+     */
+    private final TemplateDao templateDao;
+
+    /**
+     * The stored template.
+     */
+    private final Template existingTemplate;
+
+    /**
+     * The changes made to the stored template.
+     */
+    private final TemplateChangeSet changes;
+
+    /**
+     * The elements that were removed from the stored template and must be deleted.
+     */
+    private final List<Object> removedElements = new ArrayList<Object>();
+
+    /**
+     * Maps the data objects in the new template to the data objects that will be stored.
+     */
+    private final Map<DataObject, DataObject> resolvedDataObjects = new IdentityHashMap<DataObject, DataObject>();
+
+    /**
+     * The stored data objects that were deleted along with their properties.
+     */
+    private final Set<DataObject> deletedDataObjects =
+            Collections.newSetFromMap(new IdentityHashMap<DataObject, Boolean>());
+
+    /**
+     * @param templateDao used to delete elements that were removed from the stored template.
+     * @param existingTemplate the stored template.
+     */
+    public TemplateUpdater(TemplateDao templateDao, Template existingTemplate) {
+        this.templateDao = templateDao;
+        this.existingTemplate = existingTemplate;
+        this.changes = new TemplateChangeSet(existingTemplate.getId());
+    }
+
+    /**
+     * Updates the stored template so that it matches the new template. The stored template is not saved.
+     *
+     * @param template the new version of the template.
+     * @return the changes that were made to the stored template.
+     */
+    public TemplateChangeSet update(Template template) {
+        boolean changed = updateTemplateFields(template);
+        changed |= updatePropertyGroups(template.getPropertyGroups());
+        changed |= updateInputsAndOutputs(template.getInputs(), template.getOutputs());
+        if (changed) {
+            changes.record(ChangeType.UPDATE, existingTemplate, existingTemplate.getId());
+        }
+        if (!removedElements.isEmpty()) {
+            templateDao.deleteTemplateElements(removedElements);
+        }
+        return changes;
+    }
+
+    /**
+     * Copies the fields of the new template to the stored template.
+     *
+     * @param template the new version of the template.
+     * @return true if any of the fields changed.
+     */
+    private boolean updateTemplateFields(Template template) {
+        boolean changed = updateElementFields(existingTemplate, template);
+        if (!StringUtils.equals(existingTemplate.getComponent(), template.getComponent())) {
+            existingTemplate.setComponent(template.getComponent());
+            changed = true;
+        }
+        if (!StringUtils.equals(existingTemplate.getTemplateType(), template.getTemplateType())) {
+            existingTemplate.setTemplateType(template.getTemplateType());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Copies the common fields of a new workflow element to a stored workflow element.
+     *
+     * @param existing the stored workflow element.
+     * @param element the new workflow element.
+     * @return true if any of the fields changed.
+     */
+    private boolean updateElementFields(WorkflowElement existing, WorkflowElement element) {
+        boolean changed = false;
+        if (!StringUtils.equals(existing.getName(), element.getName())) {
+            existing.setName(element.getName());
+            changed = true;
+        }
+        if (!StringUtils.equals(existing.getLabel(), element.getLabel())) {
+            existing.setLabel(element.getLabel());
+            changed = true;
+        }
+        if (!StringUtils.equals(existing.getDescription(), element.getDescription())) {
+            existing.setDescription(element.getDescription());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Updates the property groups in the stored template.
+     *
+     * @param propertyGroups the property groups in the new template.
+     * @return true if the list of property groups changed.
+     */
+    private boolean updatePropertyGroups(List<PropertyGroup> propertyGroups) {
+        Map<String, PropertyGroup> existingGroups = new LinkedHashMap<String, PropertyGroup>();
+        Map<String, Property> existingProperties = new LinkedHashMap<String, Property>();
+        for (PropertyGroup group : existingTemplate.getPropertyGroups()) {
+            existingGroups.put(group.getId(), group);
+            for (Property property : group.getProperties()) {
+                existingProperties.put(property.getId(), property);
+            }
+        }
+
+        List<PropertyGroup> groups = new ArrayList<PropertyGroup>();
+        for (PropertyGroup group : propertyGroups) {
+            groups.add(updatePropertyGroup(existingGroups.remove(group.getId()), group, existingProperties));
+        }
+        boolean changed = replaceContents(existingTemplate.getPropertyGroups(), groups);
+
+        for (PropertyGroup group : existingGroups.values()) {
+            group.getProperties().clear();
+            remove(group, group.getId());
+        }
+        for (Property property : existingProperties.values()) {
+            removeProperty(property);
+        }
+        return changed;
+    }
+
+    /**
+     * Updates a single property group.
+     *
+     * @param existing the stored property group or null if the property group is new.
+     * @param group the new property group.
+     * @param existingProperties the stored properties that haven't been matched yet, indexed by identifier.
+     * @return the property group to store.
+     */
+    private PropertyGroup updatePropertyGroup(PropertyGroup existing, PropertyGroup group,
+            Map<String, Property> existingProperties) {
+        List<Property> properties = new ArrayList<Property>();
+        for (Property property : group.getProperties()) {
+            properties.add(updateProperty(existingProperties.remove(property.getId()), property));
+        }
+        if (existing == null) {
+            replaceContents(group.getProperties(), properties);
+            changes.record(ChangeType.INSERT, group, group.getId());
+            return group;
+        }
+        boolean changed = updateElementFields(existing, group);
+        if (!StringUtils.equals(existing.getGroupType(), group.getGroupType())) {
+            existing.setGroupType(group.getGroupType());
+            changed = true;
+        }
+        if (existing.isVisible() != group.isVisible()) {
+            existing.setVisible(group.isVisible());
+            changed = true;
+        }
+        if (replaceContents(existing.getProperties(), properties) || changed) {
+            changes.record(ChangeType.UPDATE, existing, existing.getId());
+        }
+        return existing;
+    }
+
+    /**
+     * Updates a single property.
+     *
+     * @param existing the stored property or null if the property is new.
+     * @param property the new property.
+     * @return the property to store.
+     */
+    private Property updateProperty(Property existing, Property property) {
+        if (existing == null) {
+            if (property.getDataObject() != null) {
+                resolvedDataObjects.put(property.getDataObject(), property.getDataObject());
+            }
+            changes.record(ChangeType.INSERT, property, property.getId());
+            return property;
+        }
+        boolean changed = updateElementFields(existing, property);
+        if (!ObjectUtils.equals(existing.getPropertyType(), property.getPropertyType())) {
+            existing.setPropertyType(property.getPropertyType());
+            changed = true;
+        }
+        if (!StringUtils.equals(existing.getDefaultValue(), property.getDefaultValue())) {
+            existing.setDefaultValue(property.getDefaultValue());
+            changed = true;
+        }
+        if (existing.getIsVisible() != property.getIsVisible()) {
+            existing.setIsVisible(property.getIsVisible());
+            changed = true;
+        }
+        if (existing.getOrder() != property.getOrder()) {
+            existing.setOrder(property.getOrder());
+            changed = true;
+        }
+        if (existing.getOmitIfBlank() != property.getOmitIfBlank()) {
+            existing.setOmitIfBlank(property.getOmitIfBlank());
+            changed = true;
+        }
+        changed |= updatePropertyValidator(existing, property.getValidator());
+        changed |= updatePropertyDataObject(existing, property.getDataObject());
+        if (changed) {
+            changes.record(ChangeType.UPDATE, existing, existing.getId());
+        }
+        return existing;
+    }
+
+    /**
+     * Updates the validator of a stored property.
+     *
+     * @param existing the stored property.
+     * @param validator the validator of the new property.
+     * @return true if the property now refers to a different validator.
+     */
+    private boolean updatePropertyValidator(Property existing, Validator validator) {
+        Validator existingValidator = existing.getValidator();
+        if (validator == null && existingValidator == null) {
+            return false;
+        }
+        if (validator != null && existingValidator != null
+                && StringUtils.equals(existingValidator.getId(), validator.getId())) {
+            if (updateValidator(existingValidator, validator)) {
+                changes.record(ChangeType.UPDATE, existingValidator, existingValidator.getId());
+            }
+            return false;
+        }
+        if (existingValidator != null) {
+            remove(existingValidator, existingValidator.getId());
+        }
+        if (validator != null) {
+            changes.record(ChangeType.INSERT, validator, validator.getId());
+        }
+        existing.setValidator(validator);
+        return true;
+    }
+
+    /**
+     * Updates a stored validator.
+     *
+     * @param existing the stored validator.
+     * @param validator the new validator.
+     * @return true if the validator or its list of rules changed.
+     */
+    private boolean updateValidator(Validator existing, Validator validator) {
+        boolean changed = updateElementFields(existing, validator);
+        if (existing.isRequired() != validator.isRequired()) {
+            existing.setRequired(validator.isRequired());
+            changed = true;
+        }
+
+        List<Rule> existingRules = existing.getRules();
+        List<Rule> rules = validator.getRules();
+        for (int i = 0; i < Math.min(existingRules.size(), rules.size()); i++) {
+            if (updateRule(existingRules.get(i), rules.get(i))) {
+                changes.record(ChangeType.UPDATE, existingRules.get(i), existingRules.get(i).getId());
+            }
+        }
+        for (int i = existingRules.size(); i < rules.size(); i++) {
+            existingRules.add(rules.get(i));
+            changes.record(ChangeType.INSERT, rules.get(i), rules.get(i).getId());
+            changed = true;
+        }
+        while (existingRules.size() > rules.size()) {
+            Rule rule = existingRules.remove(existingRules.size() - 1);
+            remove(rule, rule.getId());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Updates a stored rule.
+     *
+     * @param existing the stored rule.
+     * @param rule the new rule.
+     * @return true if the rule changed.
+     */
+    private boolean updateRule(Rule existing, Rule rule) {
+        boolean changed = false;
+        if (!ObjectUtils.equals(existing.getRuleType(), rule.getRuleType())) {
+            existing.setRuleType(rule.getRuleType());
+            changed = true;
+        }
+        if (!existing.getArguments().equals(rule.getArguments())) {
+            existing.getArguments().clear();
+            existing.getArguments().addAll(rule.getArguments());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Updates the data object of a stored property.
+     *
+     * @param existing the stored property.
+     * @param dataObject the data object of the new property.
+     * @return true if the property now refers to a different data object.
+     */
+    private boolean updatePropertyDataObject(Property existing, DataObject dataObject) {
+        DataObject existingDataObject = existing.getDataObject();
+        if (dataObject == null && existingDataObject == null) {
+            return false;
+        }
+        if (dataObject != null && existingDataObject != null
+                && StringUtils.equals(existingDataObject.getId(), dataObject.getId())) {
+            resolvedDataObjects.put(dataObject, updateDataObject(existingDataObject, dataObject));
+            return false;
+        }
+        if (existingDataObject != null) {
+            removeDataObject(existingDataObject);
+        }
+        if (dataObject != null) {
+            resolvedDataObjects.put(dataObject, dataObject);
+            changes.record(ChangeType.INSERT, dataObject, dataObject.getId());
+        }
+        existing.setDataObject(dataObject);
+        return true;
+    }
+
+    /**
+     * Updates a stored data object.
+     *
+     * @param existing the stored data object.
+     * @param dataObject the new data object.
+     * @return the stored data object.
+     */
+    private DataObject updateDataObject(DataObject existing, DataObject dataObject) {
+        if (copyDataObjectFields(existing, dataObject)) {
+            changes.record(ChangeType.UPDATE, existing, existing.getId());
+        }
+        return existing;
+    }
+
+    /**
+     * Copies the fields of a new data object to a stored data object.
+     *
+     * @param existing the stored data object.
+     * @param dataObject the new data object.
+     * @return true if any of the fields changed.
+     */
+    private boolean copyDataObjectFields(DataObject existing, DataObject dataObject) {
+        boolean changed = false;
+        if (!StringUtils.equals(existing.getName(), dataObject.getName())) {
+            existing.setName(dataObject.getName());
+            changed = true;
+        }
+        if (!StringUtils.equals(existing.getLabel(), dataObject.getLabel())) {
+            existing.setLabel(dataObject.getLabel());
+            changed = true;
+        }
+        if (!StringUtils.equals(existing.getDescription(), dataObject.getDescription())) {
+            existing.setDescription(dataObject.getDescription());
+            changed = true;
+        }
+        if (!StringUtils.equals(existing.getSwitchString(), dataObject.getSwitchString())) {
+            existing.setSwitchString(dataObject.getSwitchString());
+            changed = true;
+        }
+        if (!ObjectUtils.equals(existing.getInfoType(), dataObject.getInfoType())) {
+            existing.setInfoType(dataObject.getInfoType());
+            changed = true;
+        }
+        if (!ObjectUtils.equals(existing.getDataFormat(), dataObject.getDataFormat())) {
+            existing.setDataFormat(dataObject.getDataFormat());
+            changed = true;
+        }
+        if (!ObjectUtils.equals(existing.getDataSource(), dataObject.getDataSource())) {
+            existing.setDataSource(dataObject.getDataSource());
+            changed = true;
+        }
+        if (!ObjectUtils.equals(existing.getMultiplicity(), dataObject.getMultiplicity())) {
+            existing.setMultiplicity(dataObject.getMultiplicity());
+            changed = true;
+        }
+        if (existing.getOrderd() != dataObject.getOrderd()) {
+            existing.setOrderd(dataObject.getOrderd());
+            changed = true;
+        }
+        if (existing.isRequired() != dataObject.isRequired()) {
+            existing.setRequired(dataObject.isRequired());
+            changed = true;
+        }
+        if (existing.getRetain() != dataObject.getRetain()) {
+            existing.setRetain(dataObject.getRetain());
+            changed = true;
+        }
+        if (existing.isImplicit() != dataObject.isImplicit()) {
+            existing.setImplicit(dataObject.isImplicit());
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * Updates the lists of inputs and outputs in the stored template. Data objects that are associated with
+     * properties have already been matched by the time this method is called. Stored data objects that no longer
+     * appear in either list are deleted.
+     *
+     * @param inputs the inputs of the new template.
+     * @param outputs the outputs of the new template.
+     * @return true if either list changed.
+     */
+    private boolean updateInputsAndOutputs(List<DataObject> inputs, List<DataObject> outputs) {
+        List<DataObject> oldDataObjects = new ArrayList<DataObject>(existingTemplate.getInputs());
+        oldDataObjects.addAll(existingTemplate.getOutputs());
+        List<DataObject> newInputs = resolveDataObjects(existingTemplate.getInputs(), inputs);
+        List<DataObject> newOutputs = resolveDataObjects(existingTemplate.getOutputs(), outputs);
+        boolean changed = replaceContents(existingTemplate.getInputs(), newInputs);
+        changed |= replaceContents(existingTemplate.getOutputs(), newOutputs);
+
+        Set<DataObject> retained = Collections.newSetFromMap(new IdentityHashMap<DataObject, Boolean>());
+        retained.addAll(newInputs);
+        retained.addAll(newOutputs);
+        for (DataObject dataObject : oldDataObjects) {
+            if (!retained.contains(dataObject) && !deletedDataObjects.contains(dataObject)) {
+                removeDataObject(dataObject);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Determines which data objects to store in a list of inputs or outputs.
+     *
+     * @param existingDataObjects the stored list of data objects.
+     * @param dataObjects the new list of data objects.
+     * @return the data objects to store.
+     */
+    private List<DataObject> resolveDataObjects(List<DataObject> existingDataObjects, List<DataObject> dataObjects) {
+        Map<String, DataObject> existingById = new HashMap<String, DataObject>();
+        for (DataObject dataObject : existingDataObjects) {
+            existingById.put(dataObject.getId(), dataObject);
+        }
+        List<DataObject> result = new ArrayList<DataObject>();
+        for (DataObject dataObject : dataObjects) {
+            DataObject resolved = resolvedDataObjects.get(dataObject);
+            if (resolved == null) {
+                DataObject existing = existingById.get(dataObject.getId());
+                if (existing != null && !deletedDataObjects.contains(existing)) {
+                    resolved = updateDataObject(existing, dataObject);
+                }
+                else {
+                    resolved = dataObject;
+                    changes.record(ChangeType.INSERT, dataObject, dataObject.getId());
+                }
+                resolvedDataObjects.put(dataObject, resolved);
+            }
+            result.add(resolved);
+        }
+        return result;
+    }
+
+    /**
+     * Removes a property from the stored template along with its validator and data object.
+     *
+     * @param property the property to remove.
+     */
+    private void removeProperty(Property property) {
+        if (property.getDataObject() != null) {
+            deletedDataObjects.add(property.getDataObject());
+        }
+        remove(property, property.getId());
+    }
+
+    /**
+     * Removes a data object from the stored template.
+     *
+     * @param dataObject the data object to remove.
+     */
+    private void removeDataObject(DataObject dataObject) {
+        deletedDataObjects.add(dataObject);
+        remove(dataObject, dataObject.getId());
+    }
+
+    /**
+     * Records the removal of an element from the stored template so that it will be deleted.
+     *
+     * @param element the element that was removed.
+     * @param id the element's external identifier.
+     */
+    private void remove(Object element, String id) {
+        removedElements.add(element);
+        changes.record(ChangeType.DELETE, element, id);
+    }
+
+    /**
+     * Replaces the contents of a stored list if the new contents differ. Stored lists are only modified when they
+     * change so that their join table rows aren't rewritten unnecessarily.
+     *
+     * @param list the stored list.
+     * @param contents the new contents of the list.
+     * @return true if the contents of the list changed.
+     */
+    private <T> boolean replaceContents(List<T> list, List<T> contents) {
+        if (sameElements(list, contents)) {
+            return false;
+        }
+        list.clear();
+        list.addAll(contents);
+        return true;
+    }
+
+    /**
+     * Determines whether two lists contain the same element instances in the same order.
+     *
+     * @param first the first list.
+     * @param second the second list.
+     * @return true if the lists contain the same element instances.
+     */
+    private <T> boolean sameElements(List<T> first, List<T> second) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (int i = 0; i < first.size(); i++) {
+            if (first.get(i) != second.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -2,14 +2,23 @@ package org.iplantc.workflow.integration;
 
 /**
  * Indicates what should be done when an existing workflow element matches a workflow element that is being imported.
+ * In UPDATE mode, the existing workflow element is modified in place so that only the parts that differ are changed.
+ * Importers that can't update workflow elements in place treat UPDATE mode the same way as REPLACE mode.
  * 
  * @author Dennis Roberts
  */
 public enum UpdateMode {
-    IGNORE, REPLACE, THROW;
+    IGNORE, REPLACE, UPDATE, THROW;
     
     /**
      * The default update mode.
      */
     public static final UpdateMode DEFAULT = THROW;
+
+    /**
+     * @return true if existing workflow elements should be replaced or updated.
+     */
+    public boolean isReplacement() {
+        return this == REPLACE || this == UPDATE;
+    }
 }
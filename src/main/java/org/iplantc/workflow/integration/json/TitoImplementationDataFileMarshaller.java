@@ -5,8 +5,8 @@
 package org.iplantc.workflow.integration.json;
 
 import java.util.Set;
-import net.sf.json.JSONArray;
 import org.iplantc.persistence.dto.data.ImplementationDataFile;
+import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
@@ -34,9 +34,9 @@ public class TitoImplementationDataFileMarshaller {
         
         for (ImplementationDataFile datafile : dataFiles) {
             if(datafile.isInputFile()) {
-                inputFiles.add(datafile.getFilename());
+                inputFiles.put(datafile.getFilename());
             } else {
-                outputFiles.add(datafile.getFilename());
+                outputFiles.put(datafile.getFilename());
             }
         }
         
@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
+import org.iplantc.workflow.util.JsonTreeConverter;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -175,6 +176,6 @@ public class JsonUtils {
      * @return the converted JSON object.
      */
     public static net.sf.json.JSONObject toNetSfJsonObject(JSONObject json) {
-        return net.sf.json.JSONObject.fromObject(json.toString());
+        return JsonTreeConverter.toSfJsonObject(json);
     }
 }
@@ -1,6 +1,7 @@
 package org.iplantc.workflow.marshaler;
 
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.dto.step.TransformationStep;
@@ -52,16 +53,17 @@ public class UiAnalysisMarshaler {
 
     private JSONArray marshalAnalysisPropertyGroups(final TransformationActivity analysis) throws JSONException {
         JSONArray result = new JSONArray();
+        Map<String, Template> storedTemplates = daoFactory.getTemplateDao().findByIds(analysis.getTemplateIds());
         for (TransformationStep step : analysis.getSteps()) {
-            marshalStepPropertyGroups(result, analysis, step);
+            marshalStepPropertyGroups(result, analysis, step, storedTemplates);
         }
         return result;
     }
 
-    private void marshalStepPropertyGroups(JSONArray result, TransformationActivity analysis, TransformationStep step)
-            throws JSONException {
-        Template template = loadTemplate(step.getTemplateId());
-        String groupNamePrefix = getGroupNamePrefixForStep(analysis, step);
+    private void marshalStepPropertyGroups(JSONArray result, TransformationActivity analysis, TransformationStep step,
+            Map<String, Template> storedTemplates) throws JSONException {
+        Template template = loadTemplate(step.getTemplateId(), storedTemplates);
+        String groupNamePrefix = getGroupNamePrefixForStep(analysis, step, storedTemplates);
         for (PropertyGroup group : template.getPropertyGroups()) {
             JsonUtils.putIfNotNull(result, marshalPropertyGroup(analysis, step, group, groupNamePrefix));
         }
@@ -253,10 +255,10 @@ public class UiAnalysisMarshaler {
         return null;
     }
 
-    private Template loadTemplate(String id) {
+    private Template loadTemplate(String id, Map<String, Template> storedTemplates) {
         Template template = loadTemplateFromRegistry(id);
         if (template == null) {
-            template = loadTemplateFromDatabase(id);
+            template = loadTemplateFromDatabase(id, storedTemplates);
         }
         return template;
     }
@@ -265,18 +267,19 @@ public class UiAnalysisMarshaler {
         return registry.get(Template.class, id);
     }
 
-    private Template loadTemplateFromDatabase(String id) {
-        Template template = daoFactory.getTemplateDao().findById(id);
+    private Template loadTemplateFromDatabase(String id, Map<String, Template> storedTemplates) {
+        Template template = storedTemplates.get(id);
         if (template == null) {
             throw new TemplateNotFoundException(id);
         }
         return template;
     }
 
-    private String getGroupNamePrefixForStep(TransformationActivity analysis, TransformationStep step) {
+    private String getGroupNamePrefixForStep(TransformationActivity analysis, TransformationStep step,
+            Map<String, Template> storedTemplates) {
         String prefix = "";
         if (analysis.isMultistep()) {
-            Template template = daoFactory.getTemplateDao().findById(step.getTemplateId());
+            Template template = storedTemplates.get(step.getTemplateId());
             if (template != null) {
                 prefix = template.getName() + " - ";
             }
@@ -0,0 +1,304 @@
+package org.iplantc.workflow.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.iplantc.workflow.WorkflowException;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * A registry of named counters, timers and histograms. Metrics are created the first time they're requested and live
+ * for the life of the registry, so callers on hot paths should look their metrics up once and keep references to
+ * them. The registry can be exposed over JMX and can produce a JSON snapshot of every metric that it contains.
+ */
+public class MetricsRegistry implements MetricsRegistryMBean {
+
+    /**
+     * The default JMX object name for the registry.
+     */
+    public static final String DEFAULT_OBJECT_NAME = "org.iplantc.workflow:type=Metrics";
+
+    /**
+     * The registry used by the services when they aren't given a registry explicitly.
+     */
+    private static final MetricsRegistry DEFAULT_INSTANCE = new MetricsRegistry();
+
+    /**
+     * The number of nanoseconds in a millisecond.
+     */
+    private static final double NANOS_PER_MILLI = 1000000.0;
+
+    /**
+     * The counters, keyed by name.
+     */
+    private final ConcurrentMap<String, StripedCounter> counters = new ConcurrentHashMap<String, StripedCounter>();
+
+    /**
+     * The timers, keyed by name.
+     */
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+
+    /**
+     * The histograms, keyed by name.
+     */
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<String, Histogram>();
+
+    /**
+     * @return the registry used by the services when they aren't given a registry explicitly.
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Gets or creates a counter.
+     *
+     * @param name the counter name.
+     * @return the counter.
+     */
+    public StripedCounter counter(String name) {
+        StripedCounter counter = counters.get(name);
+        if (counter == null) {
+            StripedCounter newCounter = new StripedCounter();
+            counter = counters.putIfAbsent(name, newCounter);
+            if (counter == null) {
+                counter = newCounter;
+            }
+        }
+        return counter;
+    }
+
+    /**
+     * Gets or creates a timer.
+     *
+     * @param name the timer name.
+     * @return the timer.
+     */
+    public Timer timer(String name) {
+        Timer timer = timers.get(name);
+        if (timer == null) {
+            Timer newTimer = new Timer();
+            timer = timers.putIfAbsent(name, newTimer);
+            if (timer == null) {
+                timer = newTimer;
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * Gets or creates a histogram.
+     *
+     * @param name the histogram name.
+     * @return the histogram.
+     */
+    public Histogram histogram(String name) {
+        Histogram histogram = histograms.get(name);
+        if (histogram == null) {
+            Histogram newHistogram = new Histogram();
+            histogram = histograms.putIfAbsent(name, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Creates a JSON snapshot of every metric in the registry. Timer latencies are reported in milliseconds.
+     *
+     * @return the snapshot.
+     */
+    public JSONObject snapshot() {
+        try {
+            JSONObject json = new JSONObject();
+            json.put("counters", snapshotCounters());
+            json.put("timers", snapshotTimers());
+            json.put("histograms", snapshotHistograms());
+            return json;
+        }
+        catch (JSONException e) {
+            throw new WorkflowException("unable to format the metrics snapshot", e);
+        }
+    }
+
+    /**
+     * @return a JSON snapshot of the counters.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject snapshotCounters() throws JSONException {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, StripedCounter> entry : new TreeMap<String, StripedCounter>(counters).entrySet()) {
+            json.put(entry.getKey(), entry.getValue().get());
+        }
+        return json;
+    }
+
+    /**
+     * @return a JSON snapshot of the timers.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject snapshotTimers() throws JSONException {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, Timer> entry : new TreeMap<String, Timer>(timers).entrySet()) {
+            Timer timer = entry.getValue();
+            Histogram latencies = timer.getLatencies();
+            JSONObject timerJson = new JSONObject();
+            timerJson.put("count", latencies.getCount());
+            timerJson.put("errors", timer.getErrorCount());
+            timerJson.put("mean_ms", latencies.getMean() / NANOS_PER_MILLI);
+            timerJson.put("p50_ms", latencies.getPercentile(50) / NANOS_PER_MILLI);
+            timerJson.put("p90_ms", latencies.getPercentile(90) / NANOS_PER_MILLI);
+            timerJson.put("p99_ms", latencies.getPercentile(99) / NANOS_PER_MILLI);
+            timerJson.put("p999_ms", latencies.getPercentile(99.9) / NANOS_PER_MILLI);
+            timerJson.put("max_ms", latencies.getMax() / NANOS_PER_MILLI);
+            json.put(entry.getKey(), timerJson);
+        }
+        return json;
+    }
+
+    /**
+     * @return a JSON snapshot of the histograms.
+     * @throws JSONException if a JSON error occurs.
+     */
+    private JSONObject snapshotHistograms() throws JSONException {
+        JSONObject json = new JSONObject();
+        for (Map.Entry<String, Histogram> entry : new TreeMap<String, Histogram>(histograms).entrySet()) {
+            Histogram histogram = entry.getValue();
+            JSONObject histogramJson = new JSONObject();
+            histogramJson.put("count", histogram.getCount());
+            histogramJson.put("mean", histogram.getMean());
+            histogramJson.put("p50", histogram.getPercentile(50));
+            histogramJson.put("p90", histogram.getPercentile(90));
+            histogramJson.put("p99", histogram.getPercentile(99));
+            histogramJson.put("max", histogram.getMax());
+            json.put(entry.getKey(), histogramJson);
+        }
+        return json;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSnapshot() {
+        return snapshot().toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getCounterNames() {
+        return sortedNames(counters.keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getTimerNames() {
+        return sortedNames(timers.keySet());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getHistogramNames() {
+        return sortedNames(histograms.keySet());
+    }
+
+    /**
+     * Sorts a set of metric names.
+     *
+     * @param names the names to sort.
+     * @return the sorted names.
+     */
+    private String[] sortedNames(Set<String> names) {
+        return new TreeSet<String>(names).toArray(new String[0]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getCount(String name) {
+        StripedCounter counter = counters.get(name);
+        if (counter != null) {
+            return counter.get();
+        }
+        Histogram histogram = findHistogram(name);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getPercentile(String name, double percentile) {
+        Histogram histogram = findHistogram(name);
+        return histogram == null ? 0 : histogram.getPercentile(percentile);
+    }
+
+    /**
+     * Finds the histogram for a timer or histogram name.
+     *
+     * @param name the metric name.
+     * @return the histogram or null if there's no timer or histogram with the given name.
+     */
+    private Histogram findHistogram(String name) {
+        Timer timer = timers.get(name);
+        return timer != null ? timer.getLatencies() : histograms.get(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void reset() {
+        for (StripedCounter counter : counters.values()) {
+            counter.reset();
+        }
+        for (Timer timer : timers.values()) {
+            timer.reset();
+        }
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+    }
+
+    /**
+     * Registers the registry with the platform MBean server using the default object name.
+     */
+    public void registerMBean() {
+        registerMBean(DEFAULT_OBJECT_NAME);
+    }
+
+    /**
+     * Registers the registry with the platform MBean server.
+     *
+     * @param objectName the JMX object name to use.
+     * @throws WorkflowException if the registry can't be registered.
+     */
+    public void registerMBean(String objectName) throws WorkflowException {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(objectName);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        }
+        catch (JMException e) {
+            throw new WorkflowException("unable to register the metrics registry as " + objectName, e);
+        }
+    }
+}
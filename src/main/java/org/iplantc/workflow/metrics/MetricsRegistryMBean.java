@@ -0,0 +1,49 @@
+package org.iplantc.workflow.metrics;
+
+/**
+ * The management interface used to expose a metrics registry over JMX.
+ */
+public interface MetricsRegistryMBean {
+
+    /**
+     * @return a JSON snapshot of every metric in the registry.
+     */
+    public String getSnapshot();
+
+    /**
+     * @return the names of all counters in the registry.
+     */
+    public String[] getCounterNames();
+
+    /**
+     * @return the names of all timers in the registry.
+     */
+    public String[] getTimerNames();
+
+    /**
+     * @return the names of all histograms in the registry.
+     */
+    public String[] getHistogramNames();
+
+    /**
+     * Gets the current value of a counter or the number of values recorded by a timer or histogram.
+     *
+     * @param name the metric name.
+     * @return the count or zero if there's no metric with the given name.
+     */
+    public long getCount(String name);
+
+    /**
+     * Estimates a percentile of the values recorded by a timer or histogram. Timer values are in nanoseconds.
+     *
+     * @param name the metric name.
+     * @param percentile the percentile, between 0 and 100.
+     * @return the estimated value or zero if there's no timer or histogram with the given name.
+     */
+    public long getPercentile(String name, double percentile);
+
+    /**
+     * Resets every metric in the registry.
+     */
+    public void reset();
+}
@@ -0,0 +1,62 @@
+package org.iplantc.workflow.metrics;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.cfg.Configuration;
+
+/**
+ * A Hibernate interceptor that reports every prepared statement to {@link QueryTracker}. Use {@link #install} when
+ * building the session factory to enable per-operation query tracking. The statements themselves are not modified.
+ */
+public class QueryInspector extends EmptyInterceptor {
+
+    /**
+     * The version identifier for serialization.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The name of the configuration property used to enable query tracking.
+     */
+    public static final String ENABLED_PROPERTY = "iplant.query_tracking.enabled";
+
+    /**
+     * The name of the configuration property used to set the suspected N+1 select threshold.
+     */
+    public static final String SUSPECT_THRESHOLD_PROPERTY = "iplant.query_tracking.suspect_threshold";
+
+    /**
+     * Installs a query inspector as the entity interceptor of a Hibernate configuration if query tracking is enabled
+     * in that configuration. This must be called before the session factory is built.
+     *
+     * @param configuration the Hibernate configuration.
+     * @return true if the query inspector was installed.
+     */
+    public static boolean install(Configuration configuration) {
+        if (!Boolean.parseBoolean(configuration.getProperty(ENABLED_PROPERTY))) {
+            return false;
+        }
+        QueryInspector inspector = new QueryInspector();
+        String threshold = configuration.getProperty(SUSPECT_THRESHOLD_PROPERTY);
+        if (threshold != null) {
+            inspector.setSuspectThreshold(Integer.parseInt(threshold.trim()));
+        }
+        configuration.setInterceptor(inspector);
+        return true;
+    }
+
+    /**
+     * @param suspectThreshold the number of repetitions at which a query is reported as a suspected N+1 select.
+     */
+    public void setSuspectThreshold(int suspectThreshold) {
+        QueryTracker.setSuspectThreshold(suspectThreshold);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String onPrepareStatement(String sql) {
+        QueryTracker.record(sql);
+        return sql;
+    }
+}
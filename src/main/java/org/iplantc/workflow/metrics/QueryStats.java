@@ -0,0 +1,120 @@
+package org.iplantc.workflow.metrics;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The database queries issued during a single tracked operation, such as a service call. Queries are grouped by their
+ * normalized SQL so that queries with the same shape but different literal values are counted together. Instances of
+ * this class are confined to the thread performing the operation and are not thread safe.
+ */
+public class QueryStats {
+
+    /**
+     * The name of the tracked operation.
+     */
+    private final String operation;
+
+    /**
+     * The time at which the operation started in nanoseconds.
+     */
+    private final long start;
+
+    /**
+     * The time at which the operation ended in nanoseconds or zero if the operation is still in progress.
+     */
+    private long end;
+
+    /**
+     * The total number of queries issued.
+     */
+    private int queryCount;
+
+    /**
+     * The number of times each distinct normalized query was issued, in the order the queries were first seen.
+     */
+    private final Map<String, Integer> queries = new LinkedHashMap<String, Integer>();
+
+    /**
+     * @param operation the name of the tracked operation.
+     */
+    public QueryStats(String operation) {
+        this.operation = operation;
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Records a query.
+     *
+     * @param normalizedSql the normalized SQL of the query.
+     */
+    public void record(String normalizedSql) {
+        queryCount++;
+        Integer count = queries.get(normalizedSql);
+        queries.put(normalizedSql, count == null ? 1 : count + 1);
+    }
+
+    /**
+     * Marks the end of the operation.
+     */
+    public void finish() {
+        if (end == 0) {
+            end = System.nanoTime();
+        }
+    }
+
+    /**
+     * @return the name of the tracked operation.
+     */
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the total number of queries issued.
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * @return the number of times each distinct normalized query was issued.
+     */
+    public Map<String, Integer> getDistinctQueries() {
+        return Collections.unmodifiableMap(queries);
+    }
+
+    /**
+     * @return the duration of the operation in nanoseconds, up to now if the operation is still in progress.
+     */
+    public long getElapsedNanos() {
+        return (end == 0 ? System.nanoTime() : end) - start;
+    }
+
+    /**
+     * Finds the queries that are suspected of being N+1 selects: queries with the same shape that were issued at
+     * least the given number of times during the operation.
+     *
+     * @param threshold the minimum number of repetitions for a query to be considered suspect.
+     * @return the suspect queries along with the number of times each was issued.
+     */
+    public Map<String, Integer> getSuspectedNPlusOneQueries(int threshold) {
+        Map<String, Integer> result = new LinkedHashMap<String, Integer>();
+        for (Map.Entry<String, Integer> entry : queries.entrySet()) {
+            if (entry.getValue() >= threshold) {
+                result.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return operation + ": " + queryCount + " queries (" + queries.size() + " distinct) in "
+                + (getElapsedNanos() / 1000000.0) + " ms";
+    }
+}
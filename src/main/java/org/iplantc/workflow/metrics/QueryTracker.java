@@ -0,0 +1,129 @@
+package org.iplantc.workflow.metrics;
+
+import java.util.regex.Pattern;
+
+/**
+ * Tracks the database queries issued by the current thread during an operation such as a service call. Queries are
+ * reported to the tracker by {@link QueryInspector}; queries that are issued while no operation is being tracked are
+ * ignored. Tracked operations don't nest: if an operation is already being tracked when another one begins, the
+ * queries are attributed to the outer operation.
+ */
+public class QueryTracker {
+
+    /**
+     * The number of repetitions of a single query shape at which the query is reported as a suspected N+1 select by
+     * default.
+     */
+    public static final int DEFAULT_SUSPECT_THRESHOLD = 10;
+
+    /**
+     * Matches quoted string literals.
+     */
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    /**
+     * Matches numeric literals.
+     */
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+
+    /**
+     * Matches IN lists containing only placeholders.
+     */
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    /**
+     * Matches runs of whitespace.
+     */
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * The statistics for the operation being tracked by each thread.
+     */
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<QueryStats>();
+
+    /**
+     * The number of repetitions of a single query shape at which the query is reported as a suspected N+1 select.
+     */
+    private static volatile int suspectThreshold = DEFAULT_SUSPECT_THRESHOLD;
+
+    /**
+     * Prevent instantiation.
+     */
+    private QueryTracker() {
+    }
+
+    /**
+     * @return the number of repetitions at which a query is reported as a suspected N+1 select.
+     */
+    public static int getSuspectThreshold() {
+        return suspectThreshold;
+    }
+
+    /**
+     * @param suspectThreshold the number of repetitions at which a query is reported as a suspected N+1 select.
+     */
+    public static void setSuspectThreshold(int suspectThreshold) {
+        QueryTracker.suspectThreshold = suspectThreshold;
+    }
+
+    /**
+     * Begins tracking an operation on the current thread.
+     *
+     * @param operation the name of the operation.
+     * @return true if tracking began or false if the thread is already tracking an operation.
+     */
+    public static boolean begin(String operation) {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new QueryStats(operation));
+        return true;
+    }
+
+    /**
+     * Stops tracking the current thread's operation.
+     *
+     * @return the statistics for the operation or null if no operation was being tracked.
+     */
+    public static QueryStats end() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        if (stats != null) {
+            stats.finish();
+        }
+        return stats;
+    }
+
+    /**
+     * @return the statistics for the operation being tracked by the current thread or null if there is none.
+     */
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Records a query issued by the current thread.
+     *
+     * @param sql the SQL of the query.
+     */
+    public static void record(String sql) {
+        QueryStats stats = CURRENT.get();
+        if (stats != null) {
+            stats.record(normalize(sql));
+        }
+    }
+
+    /**
+     * Normalizes a SQL statement so that statements with the same shape compare equal. Literal values are replaced
+     * with placeholders, lists of placeholders are collapsed and whitespace is condensed.
+     *
+     * @param sql the SQL statement.
+     * @return the normalized statement.
+     */
+    public static String normalize(String sql) {
+        String result = STRING_LITERAL.matcher(sql).replaceAll("?");
+        result = NUMERIC_LITERAL.matcher(result).replaceAll("?");
+        result = IN_LIST.matcher(result).replaceAll("in (?)");
+        return WHITESPACE.matcher(result).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,84 @@
+package org.iplantc.workflow.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that spreads concurrent updates across several cells so that threads incrementing the counter at the same
+ * time rarely contend for the same memory location. The cells are padded so that adjacent cells don't share a cache
+ * line. Reading the counter sums the cells, so reads are more expensive than updates.
+ */
+public class StripedCounter {
+
+    /**
+     * The number of array elements between adjacent cells, chosen so that each cell occupies its own cache line.
+     */
+    private static final int PADDING = 8;
+
+    /**
+     * The number of cells, which is always a power of two.
+     */
+    private static final int STRIPES = stripeCount();
+
+    /**
+     * The padded cells.
+     */
+    private final AtomicLongArray cells = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * @return the number of cells to use, which is the smallest power of two that is at least twice the number of
+     *         available processors.
+     */
+    private static int stripeCount() {
+        int target = Runtime.getRuntime().availableProcessors() * 2;
+        int count = 1;
+        while (count < target) {
+            count <<= 1;
+        }
+        return count;
+    }
+
+    /**
+     * @return the index of the cell that the current thread should update.
+     */
+    private static int cellIndex() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return ((hash >>> 16) & (STRIPES - 1)) * PADDING;
+    }
+
+    /**
+     * Increments the counter.
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Adds a value to the counter.
+     *
+     * @param value the value to add.
+     */
+    public void add(long value) {
+        cells.addAndGet(cellIndex(), value);
+    }
+
+    /**
+     * @return the current value of the counter.
+     */
+    public long get() {
+        long sum = 0;
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            sum += cells.get(i);
+        }
+        return sum;
+    }
+
+    /**
+     * Resets the counter to zero. Updates that happen concurrently with the reset may or may not be retained.
+     */
+    public void reset() {
+        for (int i = 0; i < cells.length(); i += PADDING) {
+            cells.set(i, 0);
+        }
+    }
+}
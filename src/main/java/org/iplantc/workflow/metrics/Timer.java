@@ -0,0 +1,132 @@
+package org.iplantc.workflow.metrics;
+
+/**
+ * Measures the latency, throughput and error rate of an operation. Latencies are recorded in nanoseconds.
+ */
+public class Timer {
+
+    /**
+     * The latencies of completed operations in nanoseconds.
+     */
+    private final Histogram latencies = new Histogram();
+
+    /**
+     * The number of operations that failed.
+     */
+    private final StripedCounter errors = new StripedCounter();
+
+    /**
+     * Starts timing an operation.
+     *
+     * @return the context used to stop timing the operation.
+     */
+    public Context start() {
+        return new Context(System.nanoTime());
+    }
+
+    /**
+     * Records the duration of an operation that has already completed.
+     *
+     * @param nanos the duration in nanoseconds.
+     * @param failed true if the operation failed.
+     */
+    public void record(long nanos, boolean failed) {
+        latencies.record(nanos);
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Records the duration of a successful stage of a larger operation. The value returned by this method can be
+     * passed to the timer for the next stage, which makes it easy to time several consecutive stages.
+     *
+     * @param start the value of {@link System#nanoTime()} when the stage started.
+     * @return the value of {@link System#nanoTime()} when the stage ended.
+     */
+    public long lap(long start) {
+        long end = System.nanoTime();
+        record(end - start, false);
+        return end;
+    }
+
+    /**
+     * @return the latencies of completed operations in nanoseconds.
+     */
+    public Histogram getLatencies() {
+        return latencies;
+    }
+
+    /**
+     * @return the number of completed operations.
+     */
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    /**
+     * @return the number of operations that failed.
+     */
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    /**
+     * Resets the timer.
+     */
+    public void reset() {
+        latencies.reset();
+        errors.reset();
+    }
+
+    /**
+     * Tracks a single timed operation. Call {@link #success()} once the operation has completed normally and
+     * {@link #stop()} in a finally block; an operation that is stopped without being marked successful is counted as
+     * an error.
+     */
+    public class Context {
+
+        /**
+         * The time at which the operation started in nanoseconds.
+         */
+        private final long start;
+
+        /**
+         * True if the operation completed normally.
+         */
+        private boolean succeeded;
+
+        /**
+         * True once the operation has been recorded.
+         */
+        private boolean stopped;
+
+        /**
+         * @param start the time at which the operation started in nanoseconds.
+         */
+        private Context(long start) {
+            this.start = start;
+        }
+
+        /**
+         * Marks the operation as having completed normally.
+         */
+        public void success() {
+            succeeded = true;
+        }
+
+        /**
+         * Stops timing the operation and records its duration. Only the first call has any effect.
+         *
+         * @return the duration of the operation in nanoseconds.
+         */
+        public long stop() {
+            long elapsed = System.nanoTime() - start;
+            if (!stopped) {
+                stopped = true;
+                record(elapsed, !succeeded);
+            }
+            return elapsed;
+        }
+    }
+}
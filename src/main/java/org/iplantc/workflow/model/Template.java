@@ -47,6 +47,11 @@ public class Template extends WorkflowElement {
     @Transient
     private Date editedDate;
 
+    /**
+     * The time that this template was last imported or replaced.
+     */
+    private Date lastModified;
+
     /**
      * Adds a property group to the list of property groups.
      *
@@ -127,6 +132,20 @@ public class Template extends WorkflowElement {
         this.editedDate = editedDate;
     }
 
+    /**
+     * @return the time that this template was last imported or replaced, or null if it has never been stamped.
+     */
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @param lastModified the time that this template was last imported or replaced.
+     */
+    public void setLastModified(Date lastModified) {
+        this.lastModified = lastModified;
+    }
+
     /**
      * Creates a new empty template.
      */
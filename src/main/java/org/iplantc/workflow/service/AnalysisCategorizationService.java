@@ -3,15 +3,20 @@ package org.iplantc.workflow.service;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventPublisher;
+import org.iplantc.workflow.events.ChangeEventType;
+import org.iplantc.workflow.events.NullChangeEventPublisher;
 import org.iplantc.workflow.integration.AnalysisCategorizer;
 import org.iplantc.workflow.service.dto.AnalysisCategoryList;
 import org.iplantc.workflow.service.dto.FailedCategorizationList;
 import org.iplantc.workflow.service.dto.FavoriteUpdateRequest;
 import org.iplantc.workflow.service.dto.ServiceStatus;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * Allows analyses to be categorized.
  * 
@@ -19,6 +24,11 @@ import org.iplantc.workflow.service.dto.ServiceStatus;
  */
 public class AnalysisCategorizationService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "analysisCategorization";
+
     /**
      * The Hibernate session factory.
      */
@@ -39,6 +49,11 @@ public class AnalysisCategorizationService {
      */
     private WorkspaceInitializer workspaceInitializer;
 
+    /**
+     * Used to notify other nodes of committed changes.
+     */
+    private ChangeEventPublisher changeEventPublisher = new NullChangeEventPublisher();
+
     /**
      * @param devAnalysisGroupIndex the development analysis group index.
      */
@@ -67,6 +82,13 @@ public class AnalysisCategorizationService {
         this.workspaceInitializer = workspaceInitializer;
     }
 
+    /**
+     * @param changeEventPublisher used to notify other nodes of committed changes.
+     */
+    public void setChangeEventPublisher(ChangeEventPublisher changeEventPublisher) {
+        this.changeEventPublisher = changeEventPublisher == null ? new NullChangeEventPublisher() : changeEventPublisher;
+    }
+
     /**
      * Either adds an analysis to or removes an analysis from the user's favorites group.
      * 
@@ -75,13 +97,14 @@ public class AnalysisCategorizationService {
      */
     public String updateFavorite(String requestBody) {
         final FavoriteUpdateRequest request = new FavoriteUpdateRequest(requestBody);
-        new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<Void>() {
+        timedTask(sessionFactory, SERVICE_NAME, "updateFavorite").performTask(new SessionTask<Void>() {
             @Override
             public Void perform(Session session) {
                 createAnalysisCategorizer(session).updateFavorite(request);
                 return null;
             }
         });
+        changeEventPublisher.publish(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED));
         return ServiceStatus.SUCCESS.toString();
     }
 
@@ -92,7 +115,7 @@ public class AnalysisCategorizationService {
      * @return a JSON object indicating the categories for each public analysis.
      */
     public String getAnalysisCategories(final String analysisSet) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "getAnalysisCategories").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return createAnalysisCategorizer(session).getAnalysisCategories(analysisSet).toString();
@@ -108,12 +131,15 @@ public class AnalysisCategorizationService {
      */
     public String categorizeAnalyses(String requestBody) {
         final AnalysisCategoryList categories = new AnalysisCategoryList(requestBody);
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<FailedCategorizationList>() {
-            @Override
-            public FailedCategorizationList perform(Session session) {
-                return createAnalysisCategorizer(session).categorizeAnalyses(categories);
-            }
-        }).toString();
+        FailedCategorizationList failures = timedTask(sessionFactory, SERVICE_NAME, "categorizeAnalyses").performTask(
+                new SessionTask<FailedCategorizationList>() {
+                    @Override
+                    public FailedCategorizationList perform(Session session) {
+                        return createAnalysisCategorizer(session).categorizeAnalyses(categories);
+                    }
+                });
+        changeEventPublisher.publish(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED));
+        return failures.toString();
     }
 
     /**
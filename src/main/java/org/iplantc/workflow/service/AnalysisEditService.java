@@ -1,12 +1,12 @@
 package org.iplantc.workflow.service;
 
-import java.util.UUID;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.persistence.dto.data.IntegrationDatum;
 import org.iplantc.workflow.AnalysisNotFoundException;
 import org.iplantc.workflow.AnalysisOwnershipException;
@@ -14,20 +14,28 @@ import org.iplantc.workflow.AnalysisStepCountException;
 import org.iplantc.workflow.TemplateNotFoundException;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.core.TransformationActivityReference;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventPublisher;
+import org.iplantc.workflow.events.ChangeEventType;
+import org.iplantc.workflow.events.NullChangeEventPublisher;
+import org.iplantc.workflow.integration.TemplateCopier;
 import org.iplantc.workflow.integration.json.CopyIdRetentionStrategy;
 import org.iplantc.workflow.integration.json.IdRetentionStrategy;
 import org.iplantc.workflow.integration.json.NoIdRetentionStrategy;
-import org.iplantc.workflow.integration.json.TitoIntegrationDatumMashaller;
 import org.iplantc.workflow.integration.json.TitoTemplateMarshaller;
 import org.iplantc.workflow.model.Template;
 import org.iplantc.workflow.service.dto.AnalysisId;
+import org.iplantc.workflow.service.util.TimedSessionTaskWrapper;
 import org.iplantc.workflow.user.UserDetails;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * A service that allows analyses to be exported to Tito for editing.
  *
@@ -35,6 +43,11 @@ import org.json.JSONObject;
  */
 public class AnalysisEditService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "analysisEdit";
+
     /**
      * The Hibernate session factory.
      */
@@ -50,6 +63,11 @@ public class AnalysisEditService {
      */
     private WorkflowImportService workflowImportService;
 
+    /**
+     * Used to notify other nodes of committed changes.
+     */
+    private ChangeEventPublisher changeEventPublisher = new NullChangeEventPublisher();
+
     /**
      * @param sessionFactory the Hibernate session factory.
      */
@@ -71,6 +89,15 @@ public class AnalysisEditService {
         this.workflowImportService = workflowImportService;
     }
 
+    /**
+     * @param changeEventPublisher used to notify other nodes of committed changes.
+     */
+    public void setChangeEventPublisher(ChangeEventPublisher changeEventPublisher) {
+        this.changeEventPublisher = changeEventPublisher == null
+                ? new NullChangeEventPublisher()
+                : changeEventPublisher;
+    }
+
     /**
      * Prepares an analysis for editing. If the analysis already belongs to the user in TITO then this service merely
      * ensures that the analysis is not marked as deleted. If the analysis does not belong to the user in TITO, this
@@ -80,12 +107,15 @@ public class AnalysisEditService {
      * @return the (possibly new) analysis identifier.
      */
     public String prepareAnalysisForEditing(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "prepareAnalysisForEditing");
+        String result = wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return editAnalysis(new HibernateDaoFactory(session), analysisId);
             }
         });
+        publishAnalysisChanges(analysisId);
+        return result;
     }
 
     /**
@@ -96,12 +126,25 @@ public class AnalysisEditService {
      * @return the new analysis identifier.
      */
     public String copyAnalysis(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        String newId = timedTask(sessionFactory, SERVICE_NAME, "copyAnalysis").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
-                return copyAnalysis(new HibernateDaoFactory(session), analysisId);
+                return copyAnalysis(session, analysisId);
             }
         });
+        publishAnalysisChanges(newId);
+        return new AnalysisId(newId).toString();
+    }
+
+    /**
+     * Notifies other nodes that an analysis may have been added to or changed in the user's workspace. This must only
+     * be called after the transaction that made the changes has been committed.
+     *
+     * @param analysisId the identifier of the analysis that may have changed.
+     */
+    private void publishAnalysisChanges(String analysisId) {
+        changeEventPublisher.publish(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED));
+        changeEventPublisher.publish(new ChangeEvent(ChangeEventType.ANALYSIS_CHANGED, analysisId));
     }
 
     /**
@@ -218,82 +261,66 @@ public class AnalysisEditService {
      * Prepares a new copy of an analysis for editing. This is different from editAnalysis in that a new copy of the
      * analysis is made even if the user already has the ability to edit the original.
      *
-     * @param daoFactory used to obtain data access objects.
+     * @param session the Hibernate session.
      * @param analysisId the original analysis identifier.
      * @return the new analysis identifier.
      */
-    private String copyAnalysis(DaoFactory daoFactory, String analysisId) {
-        return copyAnalysis(daoFactory, analysisId, userService.getCurrentUserDetails());
-    }
-
-    /**
-     * Saves an app using the metadata import service.
-     *
-     * @param jsonString the JSON representation of the analysis.
-     */
-    private void importAnalysis(String jsonString) {
-        try {
-            workflowImportService.importTemplate(jsonString);
-        }
-        catch (JSONException e) {
-            throw new WorkflowException(e);
-        }
+    private String copyAnalysis(Session session, String analysisId) {
+        return copyAnalysis(session, analysisId, userService.getCurrentUserDetails());
     }
 
     /**
      * Prepares a new copy of an analysis for editing. This is different from editAnalysis in that a new copy of the
      * analysis is made even if the user already has the ability to edit the original.
      *
-     * @param daoFactory used to obtain data access objects.
+     * @param session the Hibernate session.
      * @param analysisId the original analysis identifier.
      * @param userDetails information about the current user.
      * @return the new analysis identifier.
      */
-    private String copyAnalysis(DaoFactory daoFactory, String analysisId, UserDetails userDetails) {
+    private String copyAnalysis(Session session, String analysisId, UserDetails userDetails) {
+        DaoFactory daoFactory = new HibernateDaoFactory(session);
         TransformationActivity analysis = getAnalysis(daoFactory, analysisId);
         verifyNumberOfSteps(analysis);
-        return copyAnalysis(daoFactory, analysis, userDetails);
+        return copyAnalysis(session, daoFactory, analysis, userDetails);
     }
 
     /**
-     * Prepares a new copy of an analysis for editing.
+     * Prepares a new copy of an analysis for editing. The template is copied in memory and saved in the same session
+     * that was used to load the original.
      *
+     * @param session the Hibernate session.
      * @param daoFactory used to obtain data access objects.
      * @param analysis the analysis to copy.
      * @param userDetails information about the current user.
      * @return the new analysis identifier.
      */
-    private String copyAnalysis(DaoFactory daoFactory, TransformationActivity analysis, UserDetails userDetails) {
-        JSONObject json = marshalAnalysis(daoFactory, analysis, new NoIdRetentionStrategy());
-        json.remove("published_date");
-        json.remove("edited_date");
-        String newId = UUID.randomUUID().toString().toUpperCase();
-        json = convertAnalysisToCopy(json, newId, userDetails);
-        importAnalysis(json.toString());
-        return new AnalysisId(newId).toString();
+    private String copyAnalysis(Session session, DaoFactory daoFactory, TransformationActivity analysis,
+            UserDetails userDetails) {
+        TemplateCopier copier = new TemplateCopier(new NoIdRetentionStrategy());
+        Template template = copier.copy(getFirstTemplate(daoFactory, analysis));
+        template.setName("Copy of " + template.getName());
+        String newId = workflowImportService.importTemplateCopy(session, template, copyReferences(analysis),
+                createIntegrationDatum(userDetails), userDetails.getUsername());
+        return newId;
     }
 
     /**
-     * Converts the app to a copy for the given analysis identifier and user info.
+     * Copies the references associated with an analysis.
      *
-     * @param analysis the app to convert.
-     * @param userDetails information about the current user.
-     * @return the app as a copy.
+     * @param analysis the analysis.
+     * @return the copied references.
      */
-    private JSONObject convertAnalysisToCopy(JSONObject analysis, String newId, UserDetails userDetails) {
-        TitoIntegrationDatumMashaller marshaller = new TitoIntegrationDatumMashaller();
-        try {
-            analysis.put("id", newId);
-            analysis.put("tito", newId);
-            analysis.put("name", "Copy of " + analysis.getString("name"));
-            analysis.put("implementation", marshaller.toJson(createIntegrationDatum(userDetails)));
-            analysis.put("user", userDetails.getShortUsername());
-            analysis.put("full_username", userDetails.getUsername());
-        }
-        catch (JSONException e) {
-            throw new WorkflowException("unable to convert analysis", e);
+    private Set<TransformationActivityReference> copyReferences(TransformationActivity analysis) {
+        Set<TransformationActivityReference> references = new HashSet<TransformationActivityReference>();
+        if (analysis.getReferences() != null) {
+            for (TransformationActivityReference orig : analysis.getReferences()) {
+                TransformationActivityReference copy = new TransformationActivityReference();
+                copy.setReferenceText(orig.getReferenceText());
+                references.add(copy);
+            }
         }
-        return analysis;
+        return references;
     }
 
     /**
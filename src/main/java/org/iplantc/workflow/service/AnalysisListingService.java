@@ -1,6 +1,7 @@
 package org.iplantc.workflow.service;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -11,14 +12,14 @@ import org.apache.commons.lang.StringUtils;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
-import org.iplantc.persistence.dto.listing.AnalysisGroup;
-import org.iplantc.persistence.dto.listing.AnalysisListing;
 import org.iplantc.persistence.dto.listing.RatingListing;
 import org.iplantc.persistence.dto.user.User;
 import org.iplantc.persistence.dto.workspace.Workspace;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.dao.TemplateGroupDao;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
 import org.iplantc.workflow.service.dto.analysis.DeployedComponentListDto;
 import org.iplantc.workflow.service.dto.analysis.list.AnalysisGroupDto;
@@ -26,6 +27,10 @@ import org.iplantc.workflow.service.dto.analysis.list.AnalysisGroupHierarchyList
 import org.iplantc.workflow.service.dto.analysis.list.AnalysisGroupList;
 import org.iplantc.workflow.service.dto.analysis.list.AnalysisList;
 import org.iplantc.workflow.service.dto.analysis.list.UserRating;
+import org.iplantc.workflow.service.util.TimedSessionTaskWrapper;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
+
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
 
 /**
  * A service used to list analyses.
@@ -34,6 +39,11 @@ import org.iplantc.workflow.service.dto.analysis.list.UserRating;
  */
 public class AnalysisListingService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "analysisListing";
+
     /**
      * The Hibernate session factory.
      */
@@ -71,59 +81,74 @@ public class AnalysisListingService {
     }
 
     /**
-     * Lists the analysis group hierarchy.
+     * Lists the analysis group hierarchy. The hierarchy and the analysis counts are loaded from the template group
+     * closure table, so the analysis group entities aren't loaded.
      *
      * @param workspaceToken either the workspace identifier or the user's e-mail address.
      * @return a JSON string representing the analysis group hierarchy listings.
      */
     public String listAnalysisGroups(final String workspaceToken) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "listAnalysisGroups").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 DaoFactory daoFactory = new HibernateDaoFactory(session);
                 AnalysisGroupFinder analysisGroupFinder = new AnalysisGroupFinder(daoFactory);
-                List<AnalysisGroup> groups = analysisGroupFinder.findDefaultGroups(workspaceToken);
-                return new AnalysisGroupHierarchyList(groups, daoFactory).toString();
+                return analysisGroupFinder.findDefaultHierarchies(workspaceToken).toString();
             }
         });
     }
 
     /**
-     * Lists all of the public analyses.
+     * Lists all of the public analyses. The analyses are loaded as listing rows, so the analysis group and analysis
+     * listing entities aren't loaded.
      *
      * @return a JSON string representing the list of public analyses.
      */
     public String listPublicAnalyses() {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "listPublicAnalyses").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 DaoFactory daoFactory = new HibernateDaoFactory(session);
                 AnalysisGroupFinder analysisGroupFinder = new AnalysisGroupFinder(daoFactory);
-                List<AnalysisGroup> groups = analysisGroupFinder.findPublicGroups();
-                return new AnalysisGroupList(groups).toString();
+                List<Workspace> publicWorkspaces = daoFactory.getWorkspaceDao().findPublicWorkspaces();
+                List<TemplateGroupNode> groups = analysisGroupFinder.findPublicGroups(publicWorkspaces);
+                Map<Long, List<AnalysisListingRow>> analyses = new HashMap<Long, List<AnalysisListingRow>>();
+                List<AnalysisListingRow> allAnalyses = new ArrayList<AnalysisListingRow>();
+                for (TemplateGroupNode group : groups) {
+                    List<AnalysisListingRow> rows = daoFactory.getAnalysisListingRowDao()
+                            .findActiveAnalysesInGroup(group.getHid());
+                    analyses.put(group.getHid(), rows);
+                    allAnalyses.addAll(rows);
+                }
+                return new AnalysisGroupList(groups, analyses, getWorkspaceIds(publicWorkspaces),
+                        loadPipelineEligibility(daoFactory, allAnalyses)).toString();
             }
         });
     }
 
     /**
-     * Lists all analyses that are visible to a user.
+     * Lists all analyses that are visible to a user. The analyses are loaded as listing rows, so the analysis group
+     * and analysis listing entities aren't loaded.
      *
      * @param analysisGroupId the group ID
      * @return a JSON string representing the list of public analyses.
      */
     public String listAnalysesInGroup(final String analysisGroupId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "listAnalysesInGroup").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 DaoFactory daoFactory = new HibernateDaoFactory(session);
                 AnalysisGroupFinder analysisGroupFinder = new AnalysisGroupFinder(daoFactory);
                 Workspace workspace = workspaceInitializer.getWorkspace(daoFactory);
-                AnalysisGroup favoritesGroup = analysisGroupFinder.findFavoritesGroup();
-                Set<AnalysisListing> favorites = new HashSet<AnalysisListing>(favoritesGroup.getAllActiveAnalyses());
-                AnalysisGroup group = analysisGroupFinder.findGroup(analysisGroupId);
+                Set<Long> favoriteHids = analysisGroupFinder.findFavoriteHids(workspace);
+                TemplateGroupNode group = analysisGroupFinder.findGroup(analysisGroupId);
+                List<AnalysisListingRow> analyses = daoFactory.getAnalysisListingRowDao()
+                        .findActiveAnalysesInGroup(group.getHid());
                 Map<Long, UserRating> userRatings = loadUserRatings(workspace.getUser(),
                         daoFactory);
-                return new AnalysisGroupDto(group, favorites, userRatings).toString();
+                Set<Long> publicWorkspaceIds = getWorkspaceIds(daoFactory.getWorkspaceDao().findPublicWorkspaces());
+                return new AnalysisGroupDto(group, publicWorkspaceIds.contains(group.getWorkspaceId()), analyses,
+                        favoriteHids, userRatings, loadPipelineEligibility(daoFactory, analyses)).toString();
             }
 
             private Map<Long, UserRating> loadUserRatings(User user, DaoFactory daoFactory) {
@@ -138,6 +163,34 @@ public class AnalysisListingService {
         });
     }
 
+    /**
+     * Loads the stored pipeline eligibility of the given analyses.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @param analyses the listing rows for the analyses.
+     * @return the pipeline eligibility of each analysis, keyed by analysis identifier.
+     */
+    private Map<String, PipelineEligibility> loadPipelineEligibility(DaoFactory daoFactory,
+            Collection<AnalysisListingRow> analyses) {
+        Set<String> analysisIds = new HashSet<String>();
+        for (AnalysisListingRow analysis : analyses) {
+            analysisIds.add(analysis.getId());
+        }
+        return daoFactory.getTransformationActivityDao().getPipelineEligibility(analysisIds);
+    }
+
+    /**
+     * @param workspaces the workspaces.
+     * @return the identifiers of the workspaces.
+     */
+    private Set<Long> getWorkspaceIds(List<Workspace> workspaces) {
+        Set<Long> workspaceIds = new HashSet<Long>();
+        for (Workspace workspace : workspaces) {
+            workspaceIds.add(workspace.getId());
+        }
+        return workspaceIds;
+    }
+
     /**
      * Lists an analysis corresponding to a given identifier.  The result is a JSON string representing an object
      * containing a list of analyses.  If an analysis with the given identifier exists then the list will contain
@@ -147,7 +200,7 @@ public class AnalysisListingService {
      * @return a JSON string representing an object containing a list of analyses.
      */
     public String listAnalysis(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "listAnalysis").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return new AnalysisList(new HibernateDaoFactory(session), analysisId).toString();
@@ -163,7 +216,8 @@ public class AnalysisListingService {
      * @return the list of deployed components.
      */
     public String listDeployedComponentsInAnalysis(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "listDeployedComponentsInAnalysis");
+        return wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 DaoFactory daoFactory = new HibernateDaoFactory(session);
@@ -192,114 +246,109 @@ public class AnalysisListingService {
         /**
          * Finds and returns the list of root public analysis groups.
          *
+         * @param publicWorkspaces the public workspaces.
          * @return the list of root public analysis groups.
          */
-        public List<AnalysisGroup> findPublicGroups() {
-            List<AnalysisGroup> groups = new ArrayList<AnalysisGroup>();
-            addPublicGroups(groups);
+        public List<TemplateGroupNode> findPublicGroups(List<Workspace> publicWorkspaces) {
+            List<Long> rootGroupIds = new ArrayList<Long>();
+            for (Workspace workspace : publicWorkspaces) {
+                addRootGroupId(rootGroupIds, workspace);
+            }
+            List<TemplateGroupNode> groups = new ArrayList<TemplateGroupNode>();
+            for (Long rootGroupId : rootGroupIds) {
+                TemplateGroupNode group = daoFactory.getTemplateGroupDao().findHierarchy(rootGroupId);
+                if (group != null) {
+                    groups.add(group);
+                }
+            }
             return groups;
         }
 
         /**
-         * Finds and returns the list of root analysis groups that are visible
-         * to the user with the specified workspace token.
+         * Loads the hierarchies beneath the root analysis groups that are visible to the user with the specified
+         * workspace token.
          *
          * @param workspaceToken either the workspace id or the user's e-mail address
-         * @return the list of root analysis groups that are visible to the user
+         * @return the list of analysis group hierarchies
          */
-        public List<AnalysisGroup> findDefaultGroups(String workspaceToken) {
-            return findDefaultGroups(getWorkspace(workspaceToken));
+        public AnalysisGroupHierarchyList findDefaultHierarchies(String workspaceToken) {
+            List<Workspace> publicWorkspaces = daoFactory.getWorkspaceDao().findPublicWorkspaces();
+            Set<Long> publicWorkspaceIds = new HashSet<Long>();
+            List<Long> rootGroupIds = new ArrayList<Long>();
+            addRootGroupId(rootGroupIds, getWorkspace(workspaceToken));
+            for (Workspace workspace : publicWorkspaces) {
+                publicWorkspaceIds.add(workspace.getId());
+                addRootGroupId(rootGroupIds, workspace);
+            }
+
+            TemplateGroupDao templateGroupDao = daoFactory.getTemplateGroupDao();
+            List<TemplateGroupNode> hierarchies = new ArrayList<TemplateGroupNode>();
+            for (Long rootGroupId : rootGroupIds) {
+                TemplateGroupNode hierarchy = templateGroupDao.findHierarchy(rootGroupId);
+                if (hierarchy != null) {
+                    hierarchies.add(hierarchy);
+                }
+            }
+            return new AnalysisGroupHierarchyList(hierarchies, publicWorkspaceIds);
         }
 
         /**
-         * Finds and returns the list of root analysis groups that are visible
-         * to the user with the specified workspace.
+         * Adds the identifier of a workspace's root analysis group to a list if the workspace has a root analysis group
+         * that isn't in the list already.
          *
-         * @param workspace the user's workspace
-         * @return the list of root analysis groups that are visible to the user
+         * @param rootGroupIds the list of root analysis group identifiers
+         * @param workspace the workspace, which may be null
          */
-        public List<AnalysisGroup> findDefaultGroups(Workspace workspace) {
-            List<AnalysisGroup> groups = new ArrayList<AnalysisGroup>();
-
-            addRootGroupForUser(groups, workspace);
-            addPublicGroups(groups);
-
-            return groups;
+        private void addRootGroupId(List<Long> rootGroupIds, Workspace workspace) {
+            if (workspace != null) {
+                Long groupId = workspace.getRootAnalysisGroupId();
+                if (groupId != null && !rootGroupIds.contains(groupId)) {
+                    rootGroupIds.add(groupId);
+                }
+            }
         }
 
         /**
-         * Finds the analysis group containing the current user's favorite analyses.
+         * Finds the internal identifiers of the active analyses in the analysis group containing the user's
+         * favorite analyses.
          *
-         * @return the analysis group
+         * @param workspace the user's workspace
+         * @return the internal identifiers of the user's favorite analyses
          * @throws WorkflowException if the user doesn't have a favorites group
          */
-        public AnalysisGroup findFavoritesGroup() {
-            Workspace workspace = workspaceInitializer.getWorkspace(daoFactory);
-            AnalysisGroup root = daoFactory.getAnalysisGroupDao().findById(workspace.getRootAnalysisGroupId());
-            if (root == null) {
+        public Set<Long> findFavoriteHids(Workspace workspace) {
+            TemplateGroupDao templateGroupDao = daoFactory.getTemplateGroupDao();
+            Long rootHid = workspace.getRootAnalysisGroupId();
+            if (rootHid == null || templateGroupDao.findByHid(rootHid) == null) {
                 throw new WorkflowException("user's workspace is not initializeed");
             }
-            if (root.getSubgroups().size() <= favoritesAnalysisGroupIndex) {
+            Long favoritesHid = templateGroupDao.findSubgroupHid(rootHid, favoritesAnalysisGroupIndex);
+            if (favoritesHid == null) {
                 throw new WorkflowException("unable to find favorites group in user's workspace");
             }
-            return root.getSubgroups().get(favoritesAnalysisGroupIndex);
+            Set<Long> favoriteHids = new HashSet<Long>();
+            for (AnalysisListingRow analysis : daoFactory.getAnalysisListingRowDao()
+                    .findActiveAnalysesInGroup(favoritesHid)) {
+                favoriteHids.add(analysis.getHid());
+            }
+            return favoriteHids;
         }
 
         /**
          * Finds the analysis group with the given identifier.
          *
          * @param groupId the analysis group identifier
-         * @return the analysis group
+         * @return the analysis group, without its subgroups
          * @throws WorkflowException if the analysis group isn't found
          */
-        public AnalysisGroup findGroup(String groupId) {
-            AnalysisGroup group = daoFactory.getAnalysisGroupDao().findByExternalId(groupId);
+        public TemplateGroupNode findGroup(String groupId) {
+            TemplateGroupNode group = daoFactory.getTemplateGroupDao().findNodeById(groupId);
             if (group == null) {
                 throw new WorkflowException("analysis group " + groupId + " not found");
             }
             return group;
         }
 
-        /**
-         * Adds the public root analysis groups to a list of analysis groups.
-         *
-         * @param groups the list of analysis groups
-         */
-        private void addPublicGroups(List<AnalysisGroup> groups) {
-            for (Workspace workspace : daoFactory.getWorkspaceDao().findPublicWorkspaces()) {
-                AnalysisGroup group = getRootAnalysisGroupForWorkspace(workspace);
-                if (group != null && !groups.contains(group)) {
-                    groups.add(group);
-                }
-            }
-        }
-
-        /**
-         * Gets the root analysis group for a workspace.
-         *
-         * @param workspace the workspace
-         * @return the root analysis group
-         */
-        private AnalysisGroup getRootAnalysisGroupForWorkspace(Workspace workspace) {
-            Long groupId = workspace.getRootAnalysisGroupId();
-            return groupId == null ? null : daoFactory.getAnalysisGroupDao().findById(groupId);
-        }
-
-        /**
-         * Adds the root analysis group for a user to a list of analysis groups.
-         *
-         * @param groups the list of analysis groups
-         * @param workspace the user's workspace
-         */
-        private void addRootGroupForUser(List<AnalysisGroup> groups, Workspace workspace) {
-            if (workspace != null) {
-                AnalysisGroup templateGroup = getRootAnalysisGroupForWorkspace(workspace);
-                if (templateGroup != null) {
-                    groups.add(templateGroup);
-                }
-            }
-        }
-
         /**
          * Gets the workspace for a workspace identifier or e-mail address.
          *
@@ -1,10 +1,15 @@
 package org.iplantc.workflow.service;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.iplantc.persistence.RepresentableAsJson;
+import org.iplantc.workflow.dao.PagingCriteria;
+import org.iplantc.workflow.dao.ResultPage;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
@@ -54,12 +59,23 @@ public abstract class BaseWorkflowElementRetrievalService {
      * @return the list of workflow components.
      */
     public JSONObject retrieve() {
+        return retrieve(PagingCriteria.ALL);
+    }
+
+    /**
+     * Retrieves a single page of workflow components along with the total number of components.
+     * 
+     * @param paging the offset, limit and sort order of the page.
+     * @return the page of workflow components.
+     * @throws IllegalArgumentException if the requested sort field isn't supported.
+     */
+    public JSONObject retrieve(PagingCriteria paging) {
         Session session = sessionFactory.openSession();
         Transaction tx = null;
         JSONObject result = null;
         try {
             tx = session.beginTransaction();
-            result = marshall(retrieveComponents(session));
+            result = marshall(retrievePage(session, paging));
             tx.commit();
         }
         catch (RuntimeException e) {
@@ -77,13 +93,14 @@ public abstract class BaseWorkflowElementRetrievalService {
     /**
      * Marshalls the result of this service.
      * 
-     * @param components the components.
+     * @param page the page of marshalled components.
      * @return the marshalled result.
      */
-    protected JSONObject marshall(List<RepresentableAsJson> components) {
+    protected JSONObject marshall(ResultPage<JSONObject> page) {
         JSONObject result = new JSONObject();
         try {
-            result.put(listName, marshallResultArray(components));
+            result.put(listName, new JSONArray(page.getItems()));
+            result.put("total", page.getTotal());
         }
         catch (JSONException e) {
             throw new RuntimeException(e);
@@ -92,27 +109,26 @@ public abstract class BaseWorkflowElementRetrievalService {
     }
 
     /**
-     * Marshalls the result array.
-     * 
-     * @param components the list of components.
-     * @return the marshalled list of components.
-     */
-    private JSONArray marshallResultArray(List<RepresentableAsJson> components) {
-        JSONArray array = new JSONArray();
-        for (RepresentableAsJson component : components) {
-            array.put(component.toJson());
-        }
-        return array;
-    }
-
-    /**
-     * Retrieves the marshalled list of workflow components.
+     * Retrieves and marshalls a single page of workflow components. By default, the components are loaded using the
+     * query string and may only be sorted by identifier. Sub-classes that list components with many associations
+     * should override this method to select only the columns that are displayed.
      * 
      * @param session the Hibernate session.
-     * @return the marshalled list of workflow components.
+     * @param paging the offset, limit and sort order of the page.
+     * @return the page of marshalled workflow components.
      */
-    @SuppressWarnings("unchecked")
-    private List<RepresentableAsJson> retrieveComponents(Session session) {
-        return (List<RepresentableAsJson>) session.createQuery(queryString).list();
+    protected ResultPage<JSONObject> retrievePage(Session session, PagingCriteria paging) {
+        String orderBy = paging.orderBy(Collections.singletonMap("id", "id"), "id", "id");
+        Query query = session.createQuery(queryString + orderBy);
+        query.setFirstResult(paging.getOffset());
+        if (paging.getLimit() != null) {
+            query.setMaxResults(paging.getLimit());
+        }
+        List<JSONObject> components = new ArrayList<JSONObject>();
+        for (Object component : query.list()) {
+            components.add(((RepresentableAsJson) component).toJson());
+        }
+        Number total = (Number) session.createQuery("select count(*) " + queryString).uniqueResult();
+        return new ResultPage<JSONObject>(components, total.longValue());
     }
 }
@@ -5,7 +5,6 @@ import java.util.List;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.TemplateGroupDao;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
@@ -14,11 +13,19 @@ import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  *
  * @author Kris Healy <healyk@iplantcollaborative.org>
  */
 public class CategoryService {
+
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "category";
+
     private SessionFactory sessionFactory;
     
     public CategoryService() {
@@ -49,7 +56,7 @@ public class CategoryService {
      *  Json result
      */
     public String deleteCategories(final String jsonString) {       
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "deleteCategories").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 try {
@@ -1,12 +1,15 @@
 package org.iplantc.workflow.service;
 
+import java.util.ArrayList;
 import java.util.List;
 
-import org.hibernate.Query;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
-import org.iplantc.persistence.RepresentableAsJson;
+import org.iplantc.workflow.core.DeployedComponentSummary;
+import org.iplantc.workflow.dao.PagingCriteria;
+import org.iplantc.workflow.dao.ResultPage;
+import org.iplantc.workflow.dao.hibernate.HibernateDeployedComponentDao;
 import org.json.JSONObject;
 
 /**
@@ -40,6 +43,19 @@ public class DeployedComponentRetrievalService extends BaseWorkflowElementRetrie
      * @return the marshalled list of filtered deployed components.
      */
     public JSONObject searchComponents(String searchTerm) {
+        return searchComponents(searchTerm, PagingCriteria.ALL);
+    }
+
+    /**
+     * Retrieves a single page of the deployed components filtered by name or description along with the total
+     * number of matching components.
+     *
+     * @param searchTerm the term used to filter the list of deployed components by name or description.
+     * @param paging the offset, limit and sort order of the page.
+     * @return the marshalled page of filtered deployed components.
+     * @throws IllegalArgumentException if the requested sort field isn't supported.
+     */
+    public JSONObject searchComponents(String searchTerm, PagingCriteria paging) {
         Session session = sessionFactory.openSession();
         Transaction tx = null;
         JSONObject result = null;
@@ -47,7 +63,7 @@ public class DeployedComponentRetrievalService extends BaseWorkflowElementRetrie
         try {
             tx = session.beginTransaction();
 
-            result = marshall(filterComponents(session, searchTerm));
+            result = marshall(filterComponents(session, searchTerm, paging));
 
             tx.commit();
         } catch (RuntimeException e) {
@@ -64,26 +80,46 @@ public class DeployedComponentRetrievalService extends BaseWorkflowElementRetrie
     }
 
     /**
-     * Retrieves a list of deployed components filtered by name or description.
+     * Retrieves a page of deployed component summaries. Only the columns displayed in the list are selected, so the
+     * implementation details of each component aren't loaded.
      *
      * @param session the Hibernate session.
-     * @param searchTerm the term used to filter the list of deployed components by name or description.
-     * @return the list of filtered deployed components.
+     * @param paging the offset, limit and sort order of the page.
+     * @return the page of marshalled deployed component summaries.
      */
-    private List<RepresentableAsJson> filterComponents(Session session, String searchTerm) {
-        String searchClause = "lower(%1$s) like '%%' || lower(:search) || '%%'";
+    @Override
+    protected ResultPage<JSONObject> retrievePage(Session session, PagingCriteria paging) {
+        return marshallSummaries(new HibernateDeployedComponentDao(session).findSummaries(null, paging));
+    }
 
+    /**
+     * Retrieves a page of deployed components filtered by name or description.
+     *
+     * @param session the Hibernate session.
+     * @param searchTerm the term used to filter the list of deployed components by name or description.
+     * @param paging the offset, limit and sort order of the page.
+     * @return the page of marshalled deployed component summaries.
+     */
+    private ResultPage<JSONObject> filterComponents(Session session, String searchTerm, PagingCriteria paging) {
         // Escape SQL wildcard characters.
         String escapedSearchTerm = searchTerm.replaceAll("([\\\\%_])", "\\\\$1");
         // Replace client wildcard characters with SQL wildcard characters.
         escapedSearchTerm = escapedSearchTerm.replace("*", "%").replace("?", "_");
 
-        String filter = String.format("where %1$s OR %2$s",
-                                      String.format(searchClause, "name"),
-                                      String.format(searchClause, "description"));
-
-        Query query = session.createQuery(queryString + " " + filter).setParameter("search", escapedSearchTerm);
+        return marshallSummaries(new HibernateDeployedComponentDao(session).findSummaries(escapedSearchTerm, paging));
+    }
 
-        return (List<RepresentableAsJson>)query.list();
+    /**
+     * Marshalls a page of deployed component summaries.
+     *
+     * @param summaries the page of summaries.
+     * @return the page of marshalled summaries.
+     */
+    private ResultPage<JSONObject> marshallSummaries(ResultPage<DeployedComponentSummary> summaries) {
+        List<JSONObject> components = new ArrayList<JSONObject>();
+        for (DeployedComponentSummary summary : summaries.getItems()) {
+            components.add(summary.toJson());
+        }
+        return new ResultPage<JSONObject>(components, summaries.getTotal());
     }
 }
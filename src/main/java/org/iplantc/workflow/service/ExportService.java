@@ -5,7 +5,6 @@ import java.util.List;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.workflow.AnalysisNotFoundException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
@@ -16,10 +15,18 @@ import org.iplantc.workflow.model.PropertyGroup;
 import org.iplantc.workflow.model.Template;
 import org.json.JSONObject;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * @author Kris Healy <healyk@iplantcollaborative.org>
  */
 public class ExportService {
+
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "export";
+
     private SessionFactory sessionFactory;
 
     public ExportService() {
@@ -28,7 +35,7 @@ public class ExportService {
     public String canExportAnalysis(String jsonString) throws Exception {
         final JSONObject input = new JSONObject(jsonString);
 
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "canExportAnalysis").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 DaoFactory daoFactory = new HibernateDaoFactory(session);
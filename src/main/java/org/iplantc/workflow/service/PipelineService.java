@@ -1,14 +1,27 @@
 package org.iplantc.workflow.service;
 
+import java.util.List;
+
 import net.sf.json.JSONObject;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.dao.TransformationActivityDao;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventBus;
+import org.iplantc.workflow.events.ChangeEventListener;
 import org.iplantc.workflow.service.dto.pipelines.AnalysisDto;
 import org.iplantc.workflow.service.dto.pipelines.AnalysisValidationDto;
+import org.iplantc.workflow.service.util.AnalysisRenderCache;
+import org.iplantc.workflow.service.util.ConditionalResponse;
+import org.iplantc.workflow.service.util.PipelineAnalysisValidator;
+import org.iplantc.workflow.service.util.TimedSessionTaskWrapper;
+
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
 
 /**
  * Services used to support the creation of pipelines.
@@ -17,11 +30,26 @@ import org.iplantc.workflow.service.dto.pipelines.AnalysisValidationDto;
  */
 public class PipelineService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "pipeline";
+
+    /**
+     * The number of analyses to update in each transaction when backfilling pipeline eligibility.
+     */
+    private static final int BACKFILL_BATCH_SIZE = 100;
+
     /**
      * The Hibernate session factory.
      */
     private SessionFactory sessionFactory;
 
+    /**
+     * Caches the data objects for recently requested analyses.
+     */
+    private volatile AnalysisRenderCache renderCache = new AnalysisRenderCache();
+
     /**
      * @param sessionFactory the Hibernate session factory.
      */
@@ -29,6 +57,25 @@ public class PipelineService {
         this.sessionFactory = sessionFactory;
     }
 
+    /**
+     * @param renderCacheSize the maximum number of analyses to keep in the render cache.
+     */
+    public void setRenderCacheSize(int renderCacheSize) {
+        this.renderCache = new AnalysisRenderCache(renderCacheSize);
+    }
+
+    /**
+     * @param changeEventBus notifies the render cache of analyses and templates that have changed on any node.
+     */
+    public void setChangeEventBus(ChangeEventBus changeEventBus) {
+        changeEventBus.addListener(new ChangeEventListener() {
+            @Override
+            public void onChange(ChangeEvent event) {
+                renderCache.onChange(event);
+            }
+        });
+    }
+
     /**
      * Gets the data objects for an analysis.
      * 
@@ -36,14 +83,82 @@ public class PipelineService {
      * @return a JSON object representing the analysis, its inputs, and its outputs.
      */
     public String getDataObjectsForAnalysis(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return getDataObjectsForAnalysis(analysisId, null).getBody();
+    }
+
+    /**
+     * Gets the data objects for an analysis if the caller doesn't already have the current version of the analysis.
+     * 
+     * @param analysisId the analysis identifier.
+     * @param ifNoneMatch the entity tag of the version the caller already has, or null.
+     * @return the response containing the entity tag and, if the analysis has changed, the data objects.
+     */
+    public ConditionalResponse getDataObjectsForAnalysis(final String analysisId, final String ifNoneMatch) {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "getDataObjectsForAnalysis");
+        return wrapper.performTask(new SessionTask<ConditionalResponse>() {
+            @Override
+            public ConditionalResponse perform(Session session) {
+                return getDataObjectsForAnalysis(new HibernateDaoFactory(session), analysisId, ifNoneMatch);
+            }
+        });
+    }
+
+    /**
+     * Gets the entity tag for the current version of an analysis.
+     * 
+     * @param analysisId the analysis identifier.
+     * @return the entity tag.
+     */
+    public String getAnalysisETag(final String analysisId) {
+        return timedTask(sessionFactory, SERVICE_NAME, "getAnalysisETag").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
-                return AnalysisDto.forAnalysisId(analysisId, new HibernateDaoFactory(session)).toString();
+                long version = loadVersion(new HibernateDaoFactory(session), analysisId);
+                return ConditionalResponse.formatETag(analysisId, version);
             }
         });
     }
 
+    /**
+     * Gets the data objects for an analysis, using the cached copy if the analysis hasn't changed since the data
+     * objects were last generated.
+     * 
+     * @param daoFactory used to get data access objects.
+     * @param analysisId the analysis identifier.
+     * @param ifNoneMatch the entity tag of the version the caller already has, or null.
+     * @return the response.
+     */
+    private ConditionalResponse getDataObjectsForAnalysis(DaoFactory daoFactory, String analysisId,
+            String ifNoneMatch) {
+        long version = loadVersion(daoFactory, analysisId);
+        String etag = ConditionalResponse.formatETag(analysisId, version);
+        if (ConditionalResponse.matches(ifNoneMatch, etag)) {
+            return ConditionalResponse.notModified(etag);
+        }
+        String json = renderCache.get(analysisId, version);
+        if (json == null) {
+            json = AnalysisDto.forAnalysisId(analysisId, daoFactory).toString();
+            renderCache.put(analysisId, version, json);
+        }
+        return ConditionalResponse.modified(etag, json);
+    }
+
+    /**
+     * Loads the current version of an analysis.
+     * 
+     * @param daoFactory used to get data access objects.
+     * @param analysisId the analysis identifier.
+     * @return the analysis version.
+     * @throws WorkflowException if the analysis can't be found.
+     */
+    private long loadVersion(DaoFactory daoFactory, String analysisId) {
+        Long version = daoFactory.getTransformationActivityDao().getVersion(analysisId);
+        if (version == null) {
+            throw new WorkflowException("analysis, " + analysisId + ", not found");
+        }
+        return version;
+    }
+
     /**
      * Gets the data objects for an analysis.
      * 
@@ -55,6 +170,45 @@ public class PipelineService {
         return AnalysisDto.forAnalysisId(analysisId, daoFactory).toJson();
     }
 
+    /**
+     * Computes and stores the pipeline eligibility of every analysis that doesn't have it yet. Analyses are updated
+     * in small batches, each in its own transaction, so this can safely be run against a live database.
+     *
+     * @return the number of analyses that were updated.
+     */
+    public int backfillPipelineEligibility() {
+        int total = 0;
+        int count;
+        do {
+            TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "backfillPipelineEligibility");
+            count = wrapper.performTask(new SessionTask<Integer>() {
+                @Override
+                public Integer perform(Session session) {
+                    return backfillPipelineEligibility(new HibernateDaoFactory(session));
+                }
+            });
+            total += count;
+        } while (count > 0);
+        return total;
+    }
+
+    /**
+     * Computes and stores the pipeline eligibility of a single batch of analyses.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @return the number of analyses that were updated.
+     */
+    private int backfillPipelineEligibility(DaoFactory daoFactory) {
+        TransformationActivityDao analysisDao = daoFactory.getTransformationActivityDao();
+        List<String> analysisIds = analysisDao.getIdsWithoutPipelineEligibility(BACKFILL_BATCH_SIZE);
+        for (String analysisId : analysisIds) {
+            TransformationActivity analysis = analysisDao.findById(analysisId);
+            PipelineAnalysisValidator.recordPipelineEligibility(analysis, daoFactory);
+            analysisDao.save(analysis);
+        }
+        return analysisIds.size();
+    }
+
     /**
      * Determines whether or not an analysis can be used in a pipeline.
      * 
@@ -62,7 +216,8 @@ public class PipelineService {
      * @return a JSON object indicating whether or not the analysis can be used.
      */
     public String validateAnalysisForPipelines(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "validateAnalysisForPipelines");
+        return wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return new AnalysisValidationDto(analysisId, new HibernateDaoFactory(session)).toString();
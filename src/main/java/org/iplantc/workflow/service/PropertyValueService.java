@@ -1,13 +1,18 @@
 package org.iplantc.workflow.service;
 
+import java.util.List;
+
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.workflow.client.OsmClient;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.experiment.JobExperimentCache;
 import org.iplantc.workflow.experiment.PropertyValueRetriever;
+import org.iplantc.workflow.service.util.TimedSessionTaskWrapper;
+
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
 
 /**
  * A service that can be used to get property values for a job submission request.
@@ -16,6 +21,11 @@ import org.iplantc.workflow.experiment.PropertyValueRetriever;
  */
 public class PropertyValueService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "propertyValue";
+
     /**
      * Used to obtain Hibernate sessions.
      */
@@ -26,6 +36,11 @@ public class PropertyValueService {
      */
     private OsmClient osmClient;
 
+    /**
+     * Used to avoid querying the OSM for jobs whose submissions have already been retrieved.
+     */
+    private JobExperimentCache experimentCache = JobExperimentCache.getDefaultInstance();
+
     /**
      * @param sessionFactory used to obtain Hibernate sessions.
      */
@@ -40,6 +55,13 @@ public class PropertyValueService {
         this.osmClient = osmClient;
     }
 
+    /**
+     * @param experimentCache used to avoid querying the OSM for jobs whose submissions have already been retrieved.
+     */
+    public void setExperimentCache(JobExperimentCache experimentCache) {
+        this.experimentCache = experimentCache;
+    }
+
     /**
      * Gets the property values for a previously submitted job.
      * 
@@ -47,12 +69,37 @@ public class PropertyValueService {
      * @return 
      */
     public String getPropertyValues(final String jobUuid) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "getPropertyValues").performTask(new SessionTask<String>() {
+            @Override
+            public String perform(Session session) {
+                DaoFactory daoFactory = new HibernateDaoFactory(session);
+                return createRetriever(daoFactory).getPropertyValues(jobUuid).toString();
+            }
+        });
+    }
+
+    /**
+     * Gets the property values for multiple previously submitted jobs.
+     * 
+     * @param jobUuids the job identifiers.
+     * @return a JSON object mapping each job identifier to its property values.
+     */
+    public String getPropertyValues(final List<String> jobUuids) {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "getPropertyValuesForJobs");
+        return wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 DaoFactory daoFactory = new HibernateDaoFactory(session);
-                return new PropertyValueRetriever(osmClient, daoFactory).getPropertyValues(jobUuid).toString();
+                return createRetriever(daoFactory).getPropertyValues(jobUuids).toString();
             }
         });
     }
+
+    /**
+     * @param daoFactory used to obtain data access objects.
+     * @return a new property value retriever.
+     */
+    private PropertyValueRetriever createRetriever(DaoFactory daoFactory) {
+        return new PropertyValueRetriever(osmClient, daoFactory, experimentCache);
+    }
 }
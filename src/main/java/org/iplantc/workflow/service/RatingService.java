@@ -9,7 +9,6 @@ import org.hibernate.SessionFactory;
 import org.hibernate.Transaction;
 import org.iplantc.authn.service.UserSessionService;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.persistence.dao.user.UserDao;
 import org.iplantc.persistence.dto.user.User;
 import org.iplantc.workflow.AnalysisNotFoundException;
@@ -19,16 +18,29 @@ import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.RatingDao;
 import org.iplantc.workflow.dao.TransformationActivityDao;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventPublisher;
+import org.iplantc.workflow.events.ChangeEventType;
+import org.iplantc.workflow.events.NullChangeEventPublisher;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  *
  * @author Kris Healy <healyk@iplantcollaborative.org>
  */
 public class RatingService {
+
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "rating";
+
     private SessionFactory sessionFactory;
     private UserSessionService userSessionService;
+    private ChangeEventPublisher changeEventPublisher = new NullChangeEventPublisher();
 
     /**
      * Extract a user id from the input json.  If there is no user id it pulls
@@ -153,14 +165,16 @@ public class RatingService {
 
             JSONObject input = new JSONObject(jsonString);
             String userId = getUserId(input);
+            String analysisId = input.getString("analysis_id"); //$NON-NLS-1$
 
             result = rateAnalysis(session,
                                   userId,
-                                  input.getString("analysis_id"),  //$NON-NLS-1$
+                                  analysisId,
                     input.getInt("rating"), //$NON-NLS-1$
                     input.getLong("comment_id")); //$NON-NLS-1$
 
             tx.commit();
+            changeEventPublisher.publish(new ChangeEvent(ChangeEventType.RATING_CHANGED, analysisId));
         } catch (Exception e) {
             if (tx != null) {
                 tx.rollback();
@@ -215,6 +229,7 @@ public class RatingService {
             tx = session.beginTransaction();
             deleteRating(session, userId, analysisId);
             tx.commit();
+            changeEventPublisher.publish(new ChangeEvent(ChangeEventType.RATING_CHANGED, analysisId));
         } catch (Exception e) {
             if (tx != null) {
                 tx.rollback();
@@ -231,7 +246,7 @@ public class RatingService {
     }
 
     private double getAverageRating(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<Double>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "getAverageRating").performTask(new SessionTask<Double>() {
             @Override
             public Double perform(Session session) {
                 TransformationActivityDao dao = new HibernateDaoFactory(session).getTransformationActivityDao();
@@ -259,4 +274,8 @@ public class RatingService {
     public void setUserSessionService(UserSessionService userSessionService) {
         this.userSessionService = userSessionService;
     }
+
+    public void setChangeEventPublisher(ChangeEventPublisher changeEventPublisher) {
+        this.changeEventPublisher = changeEventPublisher == null ? new NullChangeEventPublisher() : changeEventPublisher;
+    }
 }
@@ -8,7 +8,6 @@ import org.hibernate.SessionFactory;
 import org.iplantc.authn.service.UserSessionService;
 import org.iplantc.authn.user.User;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.persistence.dao.data.IntegrationDatumDao;
 import org.iplantc.persistence.dto.data.IntegrationDatum;
 import org.iplantc.persistence.dto.listing.AnalysisListing;
@@ -18,25 +17,39 @@ import org.iplantc.workflow.core.TransformationActivityReference;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.TemplateGroupDao;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventPublisher;
+import org.iplantc.workflow.events.ChangeEventType;
+import org.iplantc.workflow.events.NullChangeEventPublisher;
 import org.iplantc.workflow.integration.validation.TemplateValidator;
 import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.service.util.TimedSessionTaskWrapper;
 import org.iplantc.workflow.template.groups.TemplateGroup;
 import org.iplantc.workflow.user.UserInfo;
 import org.json.JSONArray;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  *
  * @author Kris Healy <healyk@iplantcollaborative.org>
  */
 public class TemplateGroupService {
+
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "templateGroup";
+
     public static final String BETA_TEMPLATE_GROUP_ID = "g5401bd146c144470aedd57b47ea1b979";
     public static final String ANALYSIS_ID_KEY = "analysis_id";
 
     private SessionFactory sessionFactory;
     private UserSessionService userSessionService;
     private TemplateValidator templateValidator;
+    private ChangeEventPublisher changeEventPublisher = new NullChangeEventPublisher();
 
     public TemplateGroupService() {
 
@@ -73,7 +86,8 @@ public class TemplateGroupService {
     public String makeAnalysisPublic(String jsonInput) throws Exception {
         final JSONObject input = new JSONObject(jsonInput);
 
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "makeAnalysisPublic");
+        String result = wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 try {
@@ -173,6 +187,9 @@ public class TemplateGroupService {
                 }
             }
         });
+        changeEventPublisher.publish(new ChangeEvent(ChangeEventType.ANALYSIS_CHANGED, input.getString(ANALYSIS_ID_KEY)));
+        changeEventPublisher.publish(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED));
+        return result;
     }
 
     /**
@@ -181,7 +198,8 @@ public class TemplateGroupService {
     public String addAnalysisToTemplateGroup(String jsonInput) throws Exception {
         final JSONObject input = new JSONObject(jsonInput);
 
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "addAnalysisToTemplateGroup");
+        String result = wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 List<String> templateGroups = null;
@@ -223,6 +241,8 @@ public class TemplateGroupService {
                 return templateGroups;
             }
         });
+        changeEventPublisher.publish(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED));
+        return result;
     }
 
     public SessionFactory getSessionFactory() {
@@ -241,6 +261,10 @@ public class TemplateGroupService {
         this.userSessionService = userSessionService;
     }
 
+    public void setChangeEventPublisher(ChangeEventPublisher changeEventPublisher) {
+        this.changeEventPublisher = changeEventPublisher == null ? new NullChangeEventPublisher() : changeEventPublisher;
+    }
+
     public void setTemplateValidator(TemplateValidator templateValidator) {
         this.templateValidator = templateValidator;
     }
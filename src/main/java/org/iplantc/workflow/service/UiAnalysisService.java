@@ -3,15 +3,22 @@ package org.iplantc.workflow.service;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.workflow.AnalysisNotFoundException;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventBus;
+import org.iplantc.workflow.events.ChangeEventListener;
 import org.iplantc.workflow.marshaler.UiAnalysisMarshaler;
+import org.iplantc.workflow.service.util.AnalysisRenderCache;
+import org.iplantc.workflow.service.util.ConditionalResponse;
+import org.iplantc.workflow.service.util.TimedSessionTaskWrapper;
 import org.json.JSONException;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * A service that can be used to obtain analyses in the format expected by the UI.
  *
@@ -19,11 +26,21 @@ import org.json.JSONException;
  */
 public class UiAnalysisService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "uiAnalysis";
+
     /**
      * Used to obtain Hibernate sessions.
      */
     private SessionFactory sessionFactory;
 
+    /**
+     * Caches the JSON for recently requested analyses.
+     */
+    private volatile AnalysisRenderCache renderCache = new AnalysisRenderCache();
+
     /**
      * @param sessionFactory used to obtain Hibernate sessions.
      */
@@ -31,6 +48,25 @@ public class UiAnalysisService {
         this.sessionFactory = sessionFactory;
     }
 
+    /**
+     * @param renderCacheSize the maximum number of analyses to keep in the render cache.
+     */
+    public void setRenderCacheSize(int renderCacheSize) {
+        this.renderCache = new AnalysisRenderCache(renderCacheSize);
+    }
+
+    /**
+     * @param changeEventBus notifies the render cache of analyses and templates that have changed on any node.
+     */
+    public void setChangeEventBus(ChangeEventBus changeEventBus) {
+        changeEventBus.addListener(new ChangeEventListener() {
+            @Override
+            public void onChange(ChangeEvent event) {
+                renderCache.onChange(event);
+            }
+        });
+    }
+
     /**
      * Obtains the JSON representing an analysis in the format expected by the UI.
      *
@@ -38,14 +74,81 @@ public class UiAnalysisService {
      * @return the JSON representing the analysis.
      */
     public String getAnalysis(final String id) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return getAnalysis(id, null).getBody();
+    }
+
+    /**
+     * Obtains the JSON representing an analysis in the format expected by the UI if the caller doesn't already have
+     * the current version of the analysis.
+     *
+     * @param id the analysis ID.
+     * @param ifNoneMatch the entity tag of the version the caller already has, or null.
+     * @return the response containing the entity tag and, if the analysis has changed, the JSON.
+     */
+    public ConditionalResponse getAnalysis(final String id, final String ifNoneMatch) {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "getAnalysis");
+        return wrapper.performTask(new SessionTask<ConditionalResponse>() {
+            @Override
+            public ConditionalResponse perform(Session session) {
+                return getAnalysis(new HibernateDaoFactory(session), id, ifNoneMatch);
+            }
+        });
+    }
+
+    /**
+     * Obtains the entity tag for the current version of an analysis.
+     *
+     * @param id the analysis ID.
+     * @return the entity tag.
+     */
+    public String getAnalysisETag(final String id) {
+        return timedTask(sessionFactory, SERVICE_NAME, "getAnalysisETag").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
-                return marshalAnalysis(new HibernateDaoFactory(session), id);
+                return ConditionalResponse.formatETag(id, loadVersion(new HibernateDaoFactory(session), id));
             }
         });
     }
 
+    /**
+     * Obtains the JSON representing an analysis, using the cached copy if the analysis hasn't changed since it was
+     * last rendered.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @param id the analysis ID.
+     * @param ifNoneMatch the entity tag of the version the caller already has, or null.
+     * @return the response.
+     */
+    private ConditionalResponse getAnalysis(DaoFactory daoFactory, String id, String ifNoneMatch) {
+        long version = loadVersion(daoFactory, id);
+        String etag = ConditionalResponse.formatETag(id, version);
+        if (ConditionalResponse.matches(ifNoneMatch, etag)) {
+            return ConditionalResponse.notModified(etag);
+        }
+        String json = renderCache.get(id, version);
+        if (json == null) {
+            json = marshalAnalysis(daoFactory, id);
+            renderCache.put(id, version, json);
+        }
+        return ConditionalResponse.modified(etag, json);
+    }
+
+    /**
+     * Loads the current version of an analysis.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @param id the analysis ID.
+     * @return the analysis version.
+     * @throws AnalysisNotFoundException if the analysis can't be found.
+     */
+    private long loadVersion(DaoFactory daoFactory, String id) {
+        Long version = daoFactory.getTransformationActivityDao().getVersion(id);
+        if (version == null) {
+            throw new AnalysisNotFoundException(id);
+        }
+        return version;
+    }
+
     /**
      * Obtains the JSON representing an analysis in the format expected by the UI.
      *
@@ -7,19 +7,23 @@ import net.sf.json.JSONArray;
 import net.sf.json.JSONSerializer;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
 import org.iplantc.authn.service.UserSessionService;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.persistence.dao.WorkspaceDao;
 import org.iplantc.persistence.dao.user.UserDao;
 import org.iplantc.persistence.dto.user.User;
 import org.iplantc.persistence.dto.workspace.Workspace;
+import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.dao.WorkspaceBootstrapDao;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
 import org.iplantc.workflow.template.groups.TemplateGroup;
 import org.iplantc.workflow.user.UserDetails;
 import org.iplantc.workflow.user.UserInfo;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * A service that can be used to obtain information about a user.
  *
@@ -27,11 +31,21 @@ import org.iplantc.workflow.user.UserInfo;
  */
 public class UserService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "user";
+
     /**
      * The default name to use for the user's root analysis group.
      */
     private static final String DEFAULT_ROOT_ANALYSIS_GROUP_NAME = "Workspace";
 
+    /**
+     * The number of locks used to serialize workspace bootstrapping within this process. This is a power of two.
+     */
+    private static final int BOOTSTRAP_LOCK_STRIPES = 64;
+
     /**
      * The Hibernate session factory.
      */
@@ -52,6 +66,11 @@ public class UserService {
      */
     private List<String> defaultAnalysisGroups = new ArrayList<String>();
 
+    /**
+     * The locks used to serialize workspace bootstrapping within this process, selected by username.
+     */
+    private final Object[] bootstrapLocks = createBootstrapLocks();
+
     /**
      * @param sessionFactory the Hibernate session factory.
      */
@@ -92,7 +111,7 @@ public class UserService {
      * @return the JSON string representing the current user.
      */
     public UserInfo getCurrentUserInfo() {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<UserInfo>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "getCurrentUserInfo").performTask(new SessionTask<UserInfo>() {
             @Override
             public UserInfo perform(Session session) {
                 return getUserInfo(new HibernateDaoFactory(session));
@@ -155,12 +174,111 @@ public class UserService {
      *
      * @note If a user doesn't exist for the given username a new user will be created as well.
      *
+     * This method is safe to call concurrently for the same user. Users whose workspaces are already initialized are
+     * found with a single read-only query; only new users take the bootstrap locks.
+     *
      * @param daoFactory used to obtain data access objects.
      * @param username Username of the user we are creating a new workspace for.
      * @return the workspace.
      */
     public Workspace getOrCreateWorkspaceForUsername(DaoFactory daoFactory, String username) {
-        return getOrCreateWorkspace(daoFactory, getOrCreateUser(daoFactory, username));
+        WorkspaceBootstrapDao bootstrapDao = daoFactory.getWorkspaceBootstrapDao();
+        Workspace workspace = bootstrapDao.findInitializedWorkspace(username);
+        if (workspace == null) {
+            workspace = bootstrapWorkspace(daoFactory, bootstrapDao, username);
+        }
+        return workspace;
+    }
+
+    /**
+     * Creates the user, the user's workspace and the default analysis categories, skipping any of them that already
+     * exist. Threads in this process that bootstrap the same user are serialized by a striped lock so that they don't
+     * all queue up for the database lock, and the database lock serializes bootstrapping across processes. The
+     * bootstrap runs in its own transaction, which is committed before the striped lock is released, so the next
+     * thread to take the lock always sees the new user and workspace even on databases without a username lock. The
+     * initialized workspace is then looked up using the caller's data access objects. If the service has no session
+     * factory, the caller's transaction is used for the bootstrap instead.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @param bootstrapDao used to look up initialized workspaces.
+     * @param username the name of the user.
+     * @return the workspace.
+     */
+    private Workspace bootstrapWorkspace(DaoFactory daoFactory, WorkspaceBootstrapDao bootstrapDao, String username) {
+        synchronized (bootstrapLockFor(username)) {
+            if (sessionFactory == null) {
+                return bootstrapWorkspaceInTransaction(daoFactory, username);
+            }
+            bootstrapWorkspaceInNewTransaction(username);
+        }
+        Workspace workspace = bootstrapDao.findInitializedWorkspace(username);
+        if (workspace == null) {
+            throw new WorkflowException("the workspace for " + username + " was not created");
+        }
+        return workspace;
+    }
+
+    /**
+     * Bootstraps a user's workspace in a new session and transaction, which is committed before this method returns.
+     *
+     * @param username the name of the user.
+     */
+    private void bootstrapWorkspaceInNewTransaction(String username) {
+        Session session = sessionFactory.openSession();
+        Transaction tx = null;
+        try {
+            tx = session.beginTransaction();
+            bootstrapWorkspaceInTransaction(new HibernateDaoFactory(session), username);
+            tx.commit();
+        }
+        catch (RuntimeException e) {
+            if (tx != null) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Bootstraps a user's workspace in the current transaction. The username is locked for the rest of the
+     * transaction, and the initialized workspace is looked up again because a competing request may have finished
+     * creating it in the meantime.
+     *
+     * @param daoFactory used to obtain data access objects.
+     * @param username the name of the user.
+     * @return the workspace.
+     */
+    private Workspace bootstrapWorkspaceInTransaction(DaoFactory daoFactory, String username) {
+        WorkspaceBootstrapDao bootstrapDao = daoFactory.getWorkspaceBootstrapDao();
+        bootstrapDao.lockUsername(username);
+        Workspace workspace = bootstrapDao.findInitializedWorkspace(username);
+        if (workspace == null) {
+            workspace = getOrCreateWorkspace(daoFactory, getOrCreateUser(daoFactory, username));
+        }
+        return workspace;
+    }
+
+    /**
+     * @param username the name of the user.
+     * @return the lock used to serialize workspace bootstrapping for the user within this process.
+     */
+    private Object bootstrapLockFor(String username) {
+        int hash = username.hashCode() * 0x9E3779B9;
+        return bootstrapLocks[(hash >>> 16) & (BOOTSTRAP_LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * @return the locks used to serialize workspace bootstrapping within this process.
+     */
+    private static Object[] createBootstrapLocks() {
+        Object[] locks = new Object[BOOTSTRAP_LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
     }
 
     /**
@@ -1,6 +1,7 @@
 package org.iplantc.workflow.service;
 
 import org.hibernate.SessionFactory;
+import org.iplantc.workflow.dao.PagingCriteria;
 
 /**
  * A general service used to search lists of workflow elements.
@@ -35,4 +36,24 @@ public class WorkflowElementSearchService {
         return service.searchComponents(searchTerm).toString();
     }
 
+    /**
+     * Searches the list of deployed components, returning a single page of the matching components along with the
+     * total number of matches.
+     *
+     * @param searchTerm the term to search for.
+     * @param offset the index of the first matching component to return.
+     * @param limit the maximum number of components to return or null if the number of components isn't limited.
+     * @param sortField the name of the field to sort by or null to sort by name.
+     * @param sortDir the sort direction, either "asc" or "desc", or null for ascending order.
+     * @return the page of filtered deployed components.
+     * @throws IllegalArgumentException if any of the paging criteria is invalid.
+     */
+    public String searchDeployedComponents(String searchTerm, int offset, Integer limit, String sortField,
+            String sortDir) {
+        DeployedComponentRetrievalService service = new DeployedComponentRetrievalService(sessionFactory);
+        PagingCriteria paging = new PagingCriteria(offset, limit, sortField, sortDir);
+
+        return service.searchComponents(searchTerm, paging).toString();
+    }
+
 }
@@ -3,13 +3,14 @@ package org.iplantc.workflow.service;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
 import org.iplantc.workflow.integration.AnalysisExporter;
 import org.iplantc.workflow.integration.DeployedComponentExporter;
 import org.iplantc.workflow.integration.TemplateExporter;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * A service that can be used to export analyses or templates.
  *
@@ -17,6 +18,11 @@ import org.iplantc.workflow.integration.TemplateExporter;
  */
 public class WorkflowExportService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "workflowExport";
+
     /**
      * The database session factory.
      */
@@ -36,7 +42,7 @@ public class WorkflowExportService {
      * @return a JSON string representing the template.
      */
     public String exportTemplate(final String templateId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "exportTemplate").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return getTemplate(new HibernateDaoFactory(session), templateId);
@@ -62,7 +68,7 @@ public class WorkflowExportService {
      * @return a JSON string representing the analysis,
      */
     public String exportAnalysis(final String analysisId) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "exportAnalysis").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return getAnalysis(new HibernateDaoFactory(session), analysisId);
@@ -88,7 +94,7 @@ public class WorkflowExportService {
      * @return A JSON string representing the exported deployed components.
      */
     public String getDeployedComponents(final String criteria) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "getDeployedComponents").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return new DeployedComponentExporter(new HibernateDaoFactory(session)).export(criteria).toString();
@@ -1,6 +1,7 @@
 package org.iplantc.workflow.service;
 
 import java.sql.SQLException;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.log4j.Logger;
@@ -8,13 +9,18 @@ import org.hibernate.HibernateException;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
+import org.iplantc.persistence.dto.data.IntegrationDatum;
 import org.iplantc.workflow.UnknownUpdateModeException;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.TransformationActivityReference;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.NotificationSetDao;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateNotificationSetDao;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventPublisher;
+import org.iplantc.workflow.events.ChangeEventType;
+import org.iplantc.workflow.events.NullChangeEventPublisher;
 import org.iplantc.workflow.integration.AnalysisGeneratingTemplateImporter;
 import org.iplantc.workflow.integration.AnalysisImporter;
 import org.iplantc.workflow.integration.AnalysisUpdater;
@@ -28,9 +34,13 @@ import org.iplantc.workflow.integration.util.HeterogeneousRegistry;
 import org.iplantc.workflow.integration.util.HeterogeneousRegistryImpl;
 import org.iplantc.workflow.integration.validation.TemplateValidator;
 import org.iplantc.workflow.integration.validation.TemplateValidatorFactory;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.service.util.TimedSessionTaskWrapper;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * A service used to import workflows.
  *
@@ -38,6 +48,11 @@ import org.json.JSONObject;
  */
 public class WorkflowImportService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "workflowImport";
+
     /**
      * Used to log error messages.
      */
@@ -68,6 +83,11 @@ public class WorkflowImportService {
      */
     private TemplateValidator templateValidator = TemplateValidatorFactory.createDefaultTemplateValidator();
 
+    /**
+     * Used to notify other nodes of committed changes.
+     */
+    private ChangeEventPublisher changeEventPublisher = new NullChangeEventPublisher();
+
     /**
      * Initializes a new workflow import service.
      *
@@ -272,12 +292,16 @@ public class WorkflowImportService {
      */
     private String importOrUpdateWorkflow(final String jsonString, final UpdateMode updateMode,
             final boolean updateVetted) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "importOrUpdateWorkflow");
+        String result = wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return importOrUpdateWorkflow(session, jsonString, updateMode, updateVetted);
             }
         });
+        publishAll(ChangeEventType.COMPONENT_CHANGED, ChangeEventType.TEMPLATE_CHANGED,
+                ChangeEventType.ANALYSIS_CHANGED, ChangeEventType.GROUP_TREE_CHANGED);
+        return result;
     }
 
     /**
@@ -336,12 +360,18 @@ public class WorkflowImportService {
      * @return the ID of the imported template.
      */
     private String importOrUpdateTemplate(final String jsonString, final boolean update) {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "importOrUpdateTemplate");
+        String templateId = wrapper.performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 return importOrUpdateTemplate(session, jsonString, update);
             }
         });
+        if (templateId != null) {
+            changeEventPublisher.publish(new ChangeEvent(ChangeEventType.TEMPLATE_CHANGED, templateId));
+            publishAll(ChangeEventType.ANALYSIS_CHANGED, ChangeEventType.GROUP_TREE_CHANGED);
+        }
+        return templateId;
     }
 
     /**
@@ -372,6 +402,24 @@ public class WorkflowImportService {
         }
     }
 
+    /**
+     * Saves a copy of an app within an existing session. The template must already have been copied and given a new
+     * identifier; a single-step analysis is generated for it and added to the user's workspace.
+     *
+     * @param session the Hibernate session used to load the original app.
+     * @param template the copied template.
+     * @param references the references to associate with the copied app.
+     * @param integrationDatum information about the user who is making the copy.
+     * @param username the fully qualified username of the user who is making the copy.
+     * @return the ID of the new app.
+     */
+    public String importTemplateCopy(Session session, Template template,
+            Set<TransformationActivityReference> references, IntegrationDatum integrationDatum, String username) {
+        HeterogeneousRegistry registry = new HeterogeneousRegistryImpl();
+        AnalysisGeneratingTemplateImporter importer = createAnalysisGeneratingTemplateImporter(session, registry);
+        return importer.importCopy(template, references, integrationDatum, username);
+    }
+
     /**
      * Provides a way to update only the fields in an analysis (transformation activity) without updating any of the
      * components of the analysis.
@@ -379,13 +427,25 @@ public class WorkflowImportService {
      * @param jsonString a JSON object containing information from the fields to update.
      */
     public void updateAnalysisOnly(final String jsonString) {
-        new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<Void>() {
+        TimedSessionTaskWrapper wrapper = timedTask(sessionFactory, SERVICE_NAME, "updateAnalysisOnly");
+        String analysisId = wrapper.performTask(new SessionTask<String>() {
         @Override
-            public Void perform(Session session) {
-                new AnalysisUpdater(new HibernateDaoFactory(session)).updateAnalysis(jsonString);
-                return null;
+            public String perform(Session session) {
+                return new AnalysisUpdater(new HibernateDaoFactory(session)).updateAnalysis(jsonString);
             }
         });
+        changeEventPublisher.publish(new ChangeEvent(ChangeEventType.ANALYSIS_CHANGED, analysisId));
+    }
+
+    /**
+     * Publishes events indicating that any number of objects of each of the given types may have changed.
+     *
+     * @param types the types of objects that may have changed.
+     */
+    private void publishAll(ChangeEventType... types) {
+        for (ChangeEventType type : types) {
+            changeEventPublisher.publish(ChangeEvent.all(type));
+        }
     }
 
     /**
@@ -422,4 +482,11 @@ public class WorkflowImportService {
     public void setTemplateValidator(TemplateValidator templateValidator) {
         this.templateValidator = templateValidator;
     }
+
+    /**
+     * @param changeEventPublisher used to notify other nodes of committed changes.
+     */
+    public void setChangeEventPublisher(ChangeEventPublisher changeEventPublisher) {
+        this.changeEventPublisher = changeEventPublisher == null ? new NullChangeEventPublisher() : changeEventPublisher;
+    }
 }
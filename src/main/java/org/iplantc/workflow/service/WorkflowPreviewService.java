@@ -4,7 +4,6 @@ import org.apache.commons.lang.Validate;
 import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.iplantc.hibernate.util.SessionTask;
-import org.iplantc.hibernate.util.SessionTaskWrapper;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
@@ -12,6 +11,8 @@ import org.iplantc.workflow.integration.preview.WorkflowPreviewer;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import static org.iplantc.workflow.service.util.TimedSessionTaskWrapper.timedTask;
+
 /**
  * A service used to convert workflows in the import format to workflows in the format required by the UI.
  *
@@ -19,6 +20,11 @@ import org.json.JSONObject;
  */
 public class WorkflowPreviewService {
 
+    /**
+     * The name used for this service in the names of its operation timers.
+     */
+    private static final String SERVICE_NAME = "workflowPreview";
+
     /**
      * The database session factory.
      */
@@ -42,7 +48,7 @@ public class WorkflowPreviewService {
      * @throws JSONException if the JSONString is invalid or doesn't meet the requirements.
      */
     public String previewWorkflow(final String jsonString) throws JSONException {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "previewWorkflow").performTask(new SessionTask<String>() {
            @Override
             public String perform(Session session) {
                 try {
@@ -65,7 +71,7 @@ public class WorkflowPreviewService {
      * @throws JSONException if the JSONString is invalid or doesn't meet the requirements.
      */
     public String previewTemplate(final String jsonString) throws JSONException {
-        return new SessionTaskWrapper(sessionFactory).performTask(new SessionTask<String>() {
+        return timedTask(sessionFactory, SERVICE_NAME, "previewTemplate").performTask(new SessionTask<String>() {
             @Override
             public String perform(Session session) {
                 try {
@@ -6,6 +6,8 @@ import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.dto.listing.AnalysisListing;
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
 import org.iplantc.workflow.service.dto.pipelines.AnalysisValidationDto;
@@ -200,7 +202,15 @@ public class Analysis extends AbstractDto {
     }
 
     public Analysis(AnalysisListing analysis) {
-        initializeCommonFields(analysis);
+        this(analysis, (PipelineEligibility) null);
+    }
+
+    /**
+     * @param analysis the analysis represented by this DTO.
+     * @param pipelineEligibility the stored pipeline eligibility of the analysis or null if it hasn't been computed.
+     */
+    public Analysis(AnalysisListing analysis, PipelineEligibility pipelineEligibility) {
+        initializeCommonFields(analysis, pipelineEligibility);
         this.rating = new AnalysisRating(analysis);
         this.favorite = false;
     }
@@ -212,17 +222,77 @@ public class Analysis extends AbstractDto {
      */
     public Analysis(AnalysisListing analysis, Set<AnalysisListing> favorites,
             Map<Long, UserRating> userRatings) {
-        initializeCommonFields(analysis);
+        this(analysis, favorites, userRatings, null);
+    }
+
+    /**
+     * @param analysis the analysis represented by this DTO.
+     * @param favorites the analysis group containing the user's favorites.
+     * @param userRatings the user's analysis ratings and comment IDs.
+     * @param pipelineEligibility the stored pipeline eligibility of the analysis or null if it hasn't been computed.
+     */
+    public Analysis(AnalysisListing analysis, Set<AnalysisListing> favorites,
+            Map<Long, UserRating> userRatings, PipelineEligibility pipelineEligibility) {
+        initializeCommonFields(analysis, pipelineEligibility);
         this.rating = new AnalysisRating(analysis, userRatings);
         this.favorite = favorites.contains(analysis);
     }
 
     /**
-     * Initializes the fields that are initialized in the same manner for both constructors.
+     * @param analysis the listing row for the analysis represented by this DTO.
+     * @param pipelineEligibility the stored pipeline eligibility of the analysis or null if it hasn't been computed.
+     */
+    public Analysis(AnalysisListingRow analysis, PipelineEligibility pipelineEligibility) {
+        initializeCommonFields(analysis, pipelineEligibility);
+        this.rating = new AnalysisRating(analysis);
+        this.favorite = false;
+    }
+
+    /**
+     * @param analysis the listing row for the analysis represented by this DTO.
+     * @param favoriteHids the internal identifiers of the user's favorite analyses.
+     * @param userRatings the user's analysis ratings and comment IDs.
+     * @param pipelineEligibility the stored pipeline eligibility of the analysis or null if it hasn't been computed.
+     */
+    public Analysis(AnalysisListingRow analysis, Set<Long> favoriteHids, Map<Long, UserRating> userRatings,
+            PipelineEligibility pipelineEligibility) {
+        initializeCommonFields(analysis, pipelineEligibility);
+        this.rating = new AnalysisRating(analysis, userRatings);
+        this.favorite = favoriteHids.contains(analysis.getHid());
+    }
+
+    /**
+     * Initializes the fields that are initialized in the same manner for both constructors.  The stored pipeline
+     * eligibility is used when it's available; otherwise, the analysis listing is validated.
      * 
      * @param analysis the listing for the analysis.
+     * @param pipelineEligibility the stored pipeline eligibility of the analysis or null if it hasn't been computed.
+     */
+    private void initializeCommonFields(AnalysisListing analysis, PipelineEligibility pipelineEligibility) {
+        this.id = analysis.getId();
+        this.name = analysis.getName();
+        this.description = StringUtils.defaultString(analysis.getDescription());
+        this.integratorEmail = StringUtils.defaultString(analysis.getIntegratorEmail());
+        this.integratorName = StringUtils.defaultString(analysis.getIntegratorName());
+        this.integrationDate = dateAsLong(analysis.getIntegrationDate());
+        this.editedDate = dateAsLong(analysis.getEditedDate());
+        this.isPublic = analysis.isPublic();
+        this.wikiUrl = StringUtils.defaultString(analysis.getWikiUrl());
+        this.deleted = analysis.isDeleted();
+        this.disabled = analysis.isDisabled();
+        this.pipelineEligibility = pipelineEligibility == null
+                ? new AnalysisValidationDto(analysis)
+                : new AnalysisValidationDto(pipelineEligibility);
+    }
+
+    /**
+     * Initializes the fields that are initialized in the same manner for both listing row constructors.  The stored
+     * pipeline eligibility is used when it's available; otherwise, the listing row is validated.
+     * 
+     * @param analysis the listing row for the analysis.
+     * @param pipelineEligibility the stored pipeline eligibility of the analysis or null if it hasn't been computed.
      */
-    private void initializeCommonFields(AnalysisListing analysis) {
+    private void initializeCommonFields(AnalysisListingRow analysis, PipelineEligibility pipelineEligibility) {
         this.id = analysis.getId();
         this.name = analysis.getName();
         this.description = StringUtils.defaultString(analysis.getDescription());
@@ -234,7 +304,9 @@ public class Analysis extends AbstractDto {
         this.wikiUrl = StringUtils.defaultString(analysis.getWikiUrl());
         this.deleted = analysis.isDeleted();
         this.disabled = analysis.isDisabled();
-        this.pipelineEligibility = new AnalysisValidationDto(analysis);
+        this.pipelineEligibility = pipelineEligibility == null
+                ? new AnalysisValidationDto(analysis)
+                : new AnalysisValidationDto(pipelineEligibility);
     }
 
     /**
@@ -1,5 +1,7 @@
 package org.iplantc.workflow.service.dto.analysis.list;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -7,8 +9,11 @@ import java.util.Set;
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.dto.listing.AnalysisGroup;
 import org.iplantc.persistence.dto.listing.AnalysisListing;
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
 import org.iplantc.workflow.util.Lambda;
 import org.iplantc.workflow.util.ListUtils;
 
@@ -102,10 +107,18 @@ public class AnalysisGroupDto extends AbstractDto {
      * @param group the template group represented by this DTO.
      */
     public AnalysisGroupDto(AnalysisGroup group) {
+        this(group, new HashMap<String, PipelineEligibility>());
+    }
+
+    /**
+     * @param group the template group represented by this DTO.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
+     */
+    public AnalysisGroupDto(AnalysisGroup group, Map<String, PipelineEligibility> pipelineEligibility) {
         this.name = group.getName();
         this.id = group.getId();
         this.description = StringUtils.defaultString(group.getDescription());
-        this.analyses = extractActiveAnalyses(group);
+        this.analyses = extractActiveAnalyses(group, pipelineEligibility);
         this.analysisCount = group.getAnalysisCount();
         this.isPublic = group.isPublic();
     }
@@ -117,25 +130,80 @@ public class AnalysisGroupDto extends AbstractDto {
      */
     public AnalysisGroupDto(AnalysisGroup group, Set<AnalysisListing> favorites,
             Map<Long, UserRating> userRatings) {
+        this(group, favorites, userRatings, new HashMap<String, PipelineEligibility>());
+    }
+
+    /**
+     * @param group the template group represented by this DTO.
+     * @param favorites the template group containing the user's favorites.
+     * @param userRatings the user's analysis ratings and comment IDs.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
+     */
+    public AnalysisGroupDto(AnalysisGroup group, Set<AnalysisListing> favorites,
+            Map<Long, UserRating> userRatings, Map<String, PipelineEligibility> pipelineEligibility) {
         this.name = group.getName();
         this.id = group.getId();
         this.description = StringUtils.defaultString(group.getDescription());
-        this.analyses = extractAnalyses(group, favorites, userRatings);
+        this.analyses = extractAnalyses(group, favorites, userRatings, pipelineEligibility);
         this.analysisCount = group.getAnalysisCount();
         this.isPublic = group.isPublic();
     }
 
+    /**
+     * @param group the template group represented by this DTO.
+     * @param isPublic true if the template group is public.
+     * @param analyses the listing rows for the active analyses in the template group and its descendants.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
+     */
+    public AnalysisGroupDto(TemplateGroupNode group, boolean isPublic, List<AnalysisListingRow> analyses,
+            Map<String, PipelineEligibility> pipelineEligibility) {
+        this.name = group.getName();
+        this.id = group.getId();
+        this.description = StringUtils.defaultString(group.getDescription());
+        this.analyses = new ArrayList<Analysis>();
+        for (AnalysisListingRow analysis : analyses) {
+            this.analyses.add(new Analysis(analysis, pipelineEligibility.get(analysis.getId())));
+        }
+        this.analysisCount = group.getActiveAnalysisCount();
+        this.isPublic = isPublic;
+    }
+
+    /**
+     * @param group the template group represented by this DTO.
+     * @param isPublic true if the template group is public.
+     * @param analyses the listing rows for the active analyses in the template group and its descendants.
+     * @param favoriteHids the internal identifiers of the user's favorite analyses.
+     * @param userRatings the user's analysis ratings and comment IDs.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
+     */
+    public AnalysisGroupDto(TemplateGroupNode group, boolean isPublic, List<AnalysisListingRow> analyses,
+            Set<Long> favoriteHids, Map<Long, UserRating> userRatings,
+            Map<String, PipelineEligibility> pipelineEligibility) {
+        this.name = group.getName();
+        this.id = group.getId();
+        this.description = StringUtils.defaultString(group.getDescription());
+        this.analyses = new ArrayList<Analysis>();
+        for (AnalysisListingRow analysis : analyses) {
+            this.analyses.add(new Analysis(analysis, favoriteHids, userRatings,
+                    pipelineEligibility.get(analysis.getId())));
+        }
+        this.analysisCount = group.getActiveAnalysisCount();
+        this.isPublic = isPublic;
+    }
+
     /**
      * Extracts the active analyses from the template group.
      * 
      * @param group the template group represented by this DTO.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
      * @return the list of analysis data transfer objects.
      */
-    private List<Analysis> extractActiveAnalyses(AnalysisGroup group) {
+    private List<Analysis> extractActiveAnalyses(AnalysisGroup group,
+            final Map<String, PipelineEligibility> pipelineEligibility) {
         return ListUtils.map(new Lambda<AnalysisListing, Analysis>() {
             @Override
             public Analysis call(AnalysisListing arg) {
-                return new Analysis(arg);
+                return new Analysis(arg, pipelineEligibility.get(arg.getId()));
             }
         }, group.getAllActiveAnalyses());
     }
@@ -146,14 +214,15 @@ public class AnalysisGroupDto extends AbstractDto {
      * @param group the template group represented by this DTO.
      * @param favorites the template group containing the user's favorites.
      * @param userRatings the user's analysis ratings and comment IDs.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
      * @return the list of analysis data transfer objects.
      */
     private List<Analysis> extractAnalyses(AnalysisGroup group, final Set<AnalysisListing> favorites,
-            final Map<Long, UserRating> userRatings) {
+            final Map<Long, UserRating> userRatings, final Map<String, PipelineEligibility> pipelineEligibility) {
         return ListUtils.map(new Lambda<AnalysisListing, Analysis>() {
             @Override
             public Analysis call(AnalysisListing arg) {
-                return new Analysis(arg, favorites, userRatings);
+                return new Analysis(arg, favorites, userRatings, pipelineEligibility.get(arg.getId()));
             }
         }, group.getAllActiveAnalyses());
     }
@@ -2,11 +2,13 @@ package org.iplantc.workflow.service.dto.analysis.list;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.dto.listing.AnalysisGroup;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
 
 /**
  * A data transfer object representing an analysis group.  This DTO is used to list the analysis group hierarchy;
@@ -109,6 +111,40 @@ public class AnalysisGroupHierarchy extends AbstractDto {
         isPublic = analysisGroup.isPublic();
     }
 
+    /**
+     * Creates a hierarchy listing from a template group hierarchy loaded from the closure table. The template count is
+     * the number of active analyses in the group and all of its descendants.
+     *
+     * @param node the root of the template group hierarchy.
+     * @param publicWorkspaceIds the identifiers of the public workspaces.
+     */
+    public AnalysisGroupHierarchy(TemplateGroupNode node, Set<Long> publicWorkspaceIds) {
+        name = node.getName();
+        id = node.getId();
+        description = StringUtils.defaultString(node.getDescription());
+        subgroups = extractSubgroups(node, publicWorkspaceIds);
+        templateCount = node.getActiveAnalysisCount();
+        isPublic = publicWorkspaceIds.contains(node.getWorkspaceId());
+    }
+
+    /**
+     * Extracts the list of subgroups from a template group hierarchy.
+     *
+     * @param node the root of the template group hierarchy.
+     * @param publicWorkspaceIds the identifiers of the public workspaces.
+     * @return the list of subgroups or null if there are no subgroups.
+     */
+    private List<AnalysisGroupHierarchy> extractSubgroups(TemplateGroupNode node, Set<Long> publicWorkspaceIds) {
+        List<AnalysisGroupHierarchy> result = null;
+        if (!node.getSubgroups().isEmpty()) {
+            result = new ArrayList<AnalysisGroupHierarchy>();
+            for (TemplateGroupNode subgroup : node.getSubgroups()) {
+                result.add(new AnalysisGroupHierarchy(subgroup, publicWorkspaceIds));
+            }
+        }
+        return result;
+    }
+
     /**
      * Extracts the list of subgroups from an analysis group.
      * 
@@ -2,10 +2,12 @@ package org.iplantc.workflow.service.dto.analysis.list;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.iplantc.persistence.dto.listing.AnalysisGroup;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
 
 /**
  * A data transfer object representing a list of analysis group hierarchy listings.
@@ -37,4 +39,15 @@ public class AnalysisGroupHierarchyList extends AbstractDto {
             groups.add(new AnalysisGroupHierarchy(analysisGroup, daoFactory));
         }
     }
+
+    /**
+     * @param hierarchies the roots of the template group hierarchies.
+     * @param publicWorkspaceIds the identifiers of the public workspaces.
+     */
+    public AnalysisGroupHierarchyList(List<TemplateGroupNode> hierarchies, Set<Long> publicWorkspaceIds) {
+        groups = new ArrayList<AnalysisGroupHierarchy>();
+        for (TemplateGroupNode hierarchy : hierarchies) {
+            groups.add(new AnalysisGroupHierarchy(hierarchy, publicWorkspaceIds));
+        }
+    }
 }
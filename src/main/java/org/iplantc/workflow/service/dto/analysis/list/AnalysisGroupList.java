@@ -1,5 +1,6 @@
 package org.iplantc.workflow.service.dto.analysis.list;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -8,8 +9,11 @@ import java.util.Set;
 
 import org.iplantc.persistence.dto.listing.AnalysisGroup;
 import org.iplantc.persistence.dto.listing.AnalysisListing;
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
 import org.iplantc.workflow.util.Lambda;
 import org.iplantc.workflow.util.ListUtils;
 
@@ -37,21 +41,55 @@ public class AnalysisGroupList extends AbstractDto {
      * @param templateGroups the list of template groups being marshaled.
      */
     public AnalysisGroupList(List<AnalysisGroup> analysisGroups) {
-        this(analysisGroups, new HashSet<AnalysisListing>(), new HashMap<Long, UserRating>());
+        this(analysisGroups, new HashMap<String, PipelineEligibility>());
+    }
+
+    /**
+     * @param analysisGroups the list of template groups being marshaled.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
+     */
+    public AnalysisGroupList(List<AnalysisGroup> analysisGroups, Map<String, PipelineEligibility> pipelineEligibility) {
+        this(analysisGroups, new HashSet<AnalysisListing>(), new HashMap<Long, UserRating>(), pipelineEligibility);
+    }
+
+    /**
+     * @param analysisGroups the list of template groups being marshaled.
+     * @param favorites the template group containing the user's favorites.
+     * @param userRatings the user's rating and comment ID in the wiki.
+     */
+    public AnalysisGroupList(List<AnalysisGroup> analysisGroups, Set<AnalysisListing> favorites,
+            Map<Long, UserRating> userRatings) {
+        this(analysisGroups, favorites, userRatings, new HashMap<String, PipelineEligibility>());
     }
 
     /**
      * @param analysisGroups the list of template groups being marshaled.
      * @param favorites the template group containing the user's favorites.
      * @param userRatings the user's rating and comment ID in the wiki.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
      */
     public AnalysisGroupList(List<AnalysisGroup> analysisGroups, final Set<AnalysisListing> favorites,
-            final Map<Long, UserRating> userRatings) {
+            final Map<Long, UserRating> userRatings, final Map<String, PipelineEligibility> pipelineEligibility) {
         groups = ListUtils.map(new Lambda<AnalysisGroup, AnalysisGroupDto>() {
             @Override
             public AnalysisGroupDto call(AnalysisGroup arg) {
-                return new AnalysisGroupDto(arg, favorites, userRatings);
+                return new AnalysisGroupDto(arg, favorites, userRatings, pipelineEligibility);
             }
         }, analysisGroups);
     }
+
+    /**
+     * @param analysisGroups the template groups being marshaled, without their subgroups.
+     * @param analyses the listing rows for the active analyses in each template group, keyed by internal identifier.
+     * @param publicWorkspaceIds the identifiers of the public workspaces.
+     * @param pipelineEligibility the stored pipeline eligibility of the analyses, keyed by analysis identifier.
+     */
+    public AnalysisGroupList(List<TemplateGroupNode> analysisGroups, Map<Long, List<AnalysisListingRow>> analyses,
+            Set<Long> publicWorkspaceIds, Map<String, PipelineEligibility> pipelineEligibility) {
+        groups = new ArrayList<AnalysisGroupDto>();
+        for (TemplateGroupNode group : analysisGroups) {
+            groups.add(new AnalysisGroupDto(group, publicWorkspaceIds.contains(group.getWorkspaceId()),
+                    analyses.get(group.getHid()), pipelineEligibility));
+        }
+    }
 }
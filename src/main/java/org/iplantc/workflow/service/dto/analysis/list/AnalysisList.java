@@ -3,7 +3,10 @@ package org.iplantc.workflow.service.dto.analysis.list;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import org.iplantc.persistence.dto.listing.AnalysisListing;
+import java.util.Map;
+
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
@@ -36,9 +39,11 @@ public class AnalysisList extends AbstractDto {
      * @param analysisId the analysis identifier.
      */
     public AnalysisList(DaoFactory daoFactory, String analysisId) {
-        AnalysisListing analysisListing = daoFactory.getAnalysisListingDao().findByExternalId(analysisId);
+        AnalysisListingRow analysisListing = daoFactory.getAnalysisListingRowDao().findById(analysisId);
         if (analysisListing != null) {
-            analyses.add(new Analysis(analysisListing));
+            Map<String, PipelineEligibility> pipelineEligibility = daoFactory.getTransformationActivityDao()
+                    .getPipelineEligibility(Collections.singleton(analysisId));
+            analyses.add(new Analysis(analysisListing, pipelineEligibility.get(analysisId)));
         }
     }
 }
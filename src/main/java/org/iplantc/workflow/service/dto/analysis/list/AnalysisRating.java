@@ -5,6 +5,7 @@ import java.util.Map;
 import net.sf.json.JSONObject;
 
 import org.iplantc.persistence.dto.listing.AnalysisListing;
+import org.iplantc.workflow.core.AnalysisListingRow;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
 
@@ -97,4 +98,25 @@ public class AnalysisRating extends AbstractDto {
             this.commentId = userRating.commentId;
         }
     }
+
+    /**
+     * @param analysis the listing row for the analysis that these rating values apply to.
+     */
+    public AnalysisRating(AnalysisListingRow analysis) {
+        this.average = analysis.getAverageRating();
+        this.user = null;
+    }
+
+    /**
+     * @param analysis the listing row for the analysis that these rating values apply to.
+     * @param userRatings the user's analysis ratings and comment IDs.
+     */
+    public AnalysisRating(AnalysisListingRow analysis, Map<Long, UserRating> userRatings) {
+        this.average = analysis.getAverageRating();
+        UserRating userRating = userRatings.get(analysis.getHid());
+        if (userRating != null) {
+            this.user = userRating.userRating;
+            this.commentId = userRating.commentId;
+        }
+    }
 }
@@ -1,9 +1,11 @@
 package org.iplantc.workflow.service.dto.analysis.list;
 
+import java.util.Collections;
 import java.util.Date;
 import java.util.Set;
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.dto.listing.AnalysisListing;
+import org.iplantc.workflow.core.AnalysisListingRow;
 import org.iplantc.workflow.service.dto.AbstractDto;
 import org.iplantc.workflow.service.dto.JsonField;
 
@@ -203,6 +205,30 @@ public class AnalysisSummary extends AbstractDto {
         favorite = favorites.contains(analysis);
     }
 
+    /**
+     * @param analysis the listing row for the analysis represented by this DTO.
+     */
+    public AnalysisSummary(AnalysisListingRow analysis) {
+        this(analysis, Collections.<Long>emptySet());
+    }
+
+    /**
+     * @param analysis the listing row for the analysis represented by this DTO.
+     * @param favoriteHids the internal identifiers of the user's favorite analyses.
+     */
+    public AnalysisSummary(AnalysisListingRow analysis, Set<Long> favoriteHids) {
+        id = analysis.getId();
+        name = analysis.getName();
+        description = StringUtils.defaultString(analysis.getDescription());
+        integratorName = StringUtils.defaultString(analysis.getIntegratorName());
+        integrationDate = dateAsLong(analysis.getIntegrationDate());
+        deleted = analysis.isDeleted();
+        disabled = analysis.isDisabled();
+
+        rating = new AnalysisRating(analysis);
+        favorite = favoriteHids.contains(analysis.getHid());
+    }
+
     /**
      * Initializes the fields that are initialized in the same manner for both constructors.
      * 
@@ -1,7 +1,11 @@
 package org.iplantc.workflow.service.dto.pipelines;
 
+import java.util.Collections;
+
 import org.iplantc.persistence.dto.listing.AnalysisListing;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.service.dto.AbstractDto;
@@ -46,6 +50,13 @@ public class AnalysisValidationDto extends AbstractDto {
      * @param daoFactory used to obtain data access objects.
      */
     public AnalysisValidationDto(String analysisId, DaoFactory daoFactory) {
+        PipelineEligibility pipelineEligibility = daoFactory.getTransformationActivityDao()
+                .getPipelineEligibility(Collections.singleton(analysisId)).get(analysisId);
+        if (pipelineEligibility != null) {
+            valid = pipelineEligibility.isEligible();
+            reason = pipelineEligibility.getReason();
+            return;
+        }
         try {
             PipelineAnalysisValidator.validateAnalysis(analysisId, daoFactory);
             valid = true;
@@ -72,6 +83,14 @@ public class AnalysisValidationDto extends AbstractDto {
         }
     }
 
+    /**
+     * @param pipelineEligibility the stored pipeline eligibility of the analysis.
+     */
+    public AnalysisValidationDto(PipelineEligibility pipelineEligibility) {
+        valid = pipelineEligibility.isEligible();
+        reason = pipelineEligibility.getReason();
+    }
+
     /**
      * @param analysis the analysis listing.
      */
@@ -86,4 +105,19 @@ public class AnalysisValidationDto extends AbstractDto {
             reason = e.getMessage();
         }
     }
+
+    /**
+     * @param analysis the analysis listing row.
+     */
+    public AnalysisValidationDto(AnalysisListingRow analysis) {
+        try {
+            PipelineAnalysisValidator.validateAnalysis(analysis);
+            valid = true;
+            reason = "";
+        }
+        catch (WorkflowException e) {
+            valid = false;
+            reason = e.getMessage();
+        }
+    }
 }
@@ -0,0 +1,145 @@
+package org.iplantc.workflow.service.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventListener;
+
+/**
+ * A bounded, least-recently-used cache of rendered analysis representations. Each entry is keyed by analysis
+ * identifier and remembers the analysis version that it was rendered from. A lookup for any other version is treated
+ * as a miss, so analyses that have been re-imported or edited are rendered again rather than served stale. Change
+ * events for analyses and templates also evict the affected entries.
+ */
+public class AnalysisRenderCache implements ChangeEventListener {
+
+    /**
+     * The default maximum number of cached analyses.
+     */
+    public static final int DEFAULT_MAX_SIZE = 500;
+
+    /**
+     * The cached entries in least-recently-used order.
+     */
+    private final Map<String, CachedAnalysis> entries;
+
+    /**
+     * Creates a cache with the default maximum size.
+     */
+    public AnalysisRenderCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize the maximum number of analyses to keep in the cache.
+     */
+    public AnalysisRenderCache(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("the maximum cache size must be positive");
+        }
+        entries = new LinkedHashMap<String, CachedAnalysis>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAnalysis> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * Gets a rendered analysis from the cache.
+     *
+     * @param analysisId the analysis identifier.
+     * @param version the current version of the analysis.
+     * @return the rendered analysis or null if the current version of the analysis isn't cached.
+     */
+    public synchronized String get(String analysisId, long version) {
+        CachedAnalysis cached = entries.get(analysisId);
+        return cached == null || cached.version != version ? null : cached.rendered;
+    }
+
+    /**
+     * Adds a rendered analysis to the cache, replacing any previously cached version of the same analysis.
+     *
+     * @param analysisId the analysis identifier.
+     * @param version the version of the analysis that was rendered.
+     * @param rendered the rendered analysis.
+     */
+    public synchronized void put(String analysisId, long version, String rendered) {
+        entries.put(analysisId, new CachedAnalysis(version, rendered));
+    }
+
+    /**
+     * Removes an analysis from the cache.
+     *
+     * @param analysisId the analysis identifier.
+     */
+    public synchronized void invalidate(String analysisId) {
+        entries.remove(analysisId);
+    }
+
+    /**
+     * Removes all analyses from the cache.
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Evicts the entries affected by a change. A change to a single analysis evicts that analysis. Changes to
+     * templates or to an unknown set of analyses evict everything because any analysis may use the changed templates.
+     *
+     * @param event the change event.
+     */
+    @Override
+    public void onChange(ChangeEvent event) {
+        switch (event.getType()) {
+            case ANALYSIS_CHANGED:
+                if (event.isAll()) {
+                    clear();
+                }
+                else {
+                    invalidate(event.getId());
+                }
+                break;
+
+            case TEMPLATE_CHANGED:
+                clear();
+                break;
+
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return the number of analyses currently in the cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * A single rendered analysis along with the version it was rendered from.
+     */
+    private static class CachedAnalysis {
+
+        /**
+         * The version of the analysis that was rendered.
+         */
+        private final long version;
+
+        /**
+         * The rendered analysis.
+         */
+        private final String rendered;
+
+        /**
+         * @param version the version of the analysis that was rendered.
+         * @param rendered the rendered analysis.
+         */
+        public CachedAnalysis(long version, String rendered) {
+            this.version = version;
+            this.rendered = rendered;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.iplantc.workflow.service.util;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * The result of a conditional request for a versioned resource. The entity tag identifies the version of the
+ * resource that the response describes. If the caller already holds that version then the response body is omitted.
+ */
+public class ConditionalResponse {
+
+    /**
+     * The entity tag for the current version of the resource.
+     */
+    private final String etag;
+
+    /**
+     * The response body, or null if the resource hasn't been modified.
+     */
+    private final String body;
+
+    /**
+     * @param etag the entity tag for the current version of the resource.
+     * @param body the response body, or null if the resource hasn't been modified.
+     */
+    private ConditionalResponse(String etag, String body) {
+        this.etag = etag;
+        this.body = body;
+    }
+
+    /**
+     * Creates a response for a resource that the caller already has.
+     *
+     * @param etag the entity tag for the current version of the resource.
+     * @return the response.
+     */
+    public static ConditionalResponse notModified(String etag) {
+        return new ConditionalResponse(etag, null);
+    }
+
+    /**
+     * Creates a response containing the current version of a resource.
+     *
+     * @param etag the entity tag for the current version of the resource.
+     * @param body the response body.
+     * @return the response.
+     */
+    public static ConditionalResponse modified(String etag, String body) {
+        return new ConditionalResponse(etag, body);
+    }
+
+    /**
+     * @return the entity tag for the current version of the resource.
+     */
+    public String getETag() {
+        return etag;
+    }
+
+    /**
+     * @return the response body, or null if the resource hasn't been modified.
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * @return true if the response contains the resource.
+     */
+    public boolean isModified() {
+        return body != null;
+    }
+
+    /**
+     * Formats the entity tag for a version of a resource.
+     *
+     * @param id the resource identifier.
+     * @param version the resource version.
+     * @return the quoted entity tag.
+     */
+    public static String formatETag(String id, long version) {
+        return "\"" + id + "-" + Long.toHexString(version) + "\"";
+    }
+
+    /**
+     * Determines whether or not the value of an If-None-Match header matches an entity tag. Weak validators are
+     * compared using the weak comparison function.
+     *
+     * @param ifNoneMatch the value of the If-None-Match header, which may be null.
+     * @param etag the entity tag for the current version of the resource.
+     * @return true if the caller already has the current version of the resource.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (StringUtils.isBlank(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = StringUtils.removeStart(candidate.trim(), "W/");
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
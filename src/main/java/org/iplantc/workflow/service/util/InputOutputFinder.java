@@ -1,6 +1,8 @@
 package org.iplantc.workflow.service.util;
 
 import java.util.List;
+import java.util.Map;
+
 import org.iplantc.persistence.dto.step.TransformationStep;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
@@ -28,6 +30,12 @@ public abstract class InputOutputFinder {
      */
     private DaoFactory daoFactory;
 
+    /**
+     * The templates used by the analysis, keyed by template identifier. The templates are loaded when they're first
+     * needed.
+     */
+    private Map<String, Template> templates;
+
     /**
      * @return the analysis.
      */
@@ -106,7 +114,10 @@ public abstract class InputOutputFinder {
      * @return the template.
      */
     private Template findTemplate(String templateId) {
-        Template template = daoFactory.getTemplateDao().findById(templateId);
+        if (templates == null) {
+            templates = daoFactory.getTemplateDao().findByIds(analysis.getTemplateIds());
+        }
+        Template template = templates.get(templateId);
         if (template == null) {
             throw new WorkflowException("template, " + templateId + ", not found");
         }
@@ -1,11 +1,17 @@
 package org.iplantc.workflow.service.util;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.apache.log4j.Logger;
+import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.persistence.dto.listing.JobType;
 import org.iplantc.persistence.dto.listing.PipelineCandidate;
+import org.iplantc.workflow.core.AnalysisListingRow;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.DaoFactory;
+import org.iplantc.workflow.model.Template;
 
 /**
  * Used to validate analyses that may be selected in a pipeline.
@@ -40,15 +46,163 @@ public class PipelineAnalysisValidator {
      * @param analysis the listing for the analysis to validate.
      */
     public static void validateAnalysis(PipelineCandidate analysis) {
-        if (analysis.getStepCount() < 1) {
-            throw new WorkflowException("analysis, " + analysis.getId() + ", has too few steps for a pipeline");
+        String reason = findIneligibilityReason(analysis.getId(), analysis.getStepCount(),
+                analysis.getOverallJobType());
+        if (reason != null) {
+            throw new WorkflowException(reason);
+        }
+    }
+
+    /**
+     * Validates analyses that may be selected in a pipeline.
+     * 
+     * @param analysis the listing row for the analysis to validate.
+     */
+    public static void validateAnalysis(AnalysisListingRow analysis) {
+        String reason = findIneligibilityReason(analysis.getId(), analysis.getStepCount(),
+                analysis.getOverallJobType());
+        if (reason != null) {
+            throw new WorkflowException(reason);
+        }
+    }
+
+    /**
+     * Determines whether or not an analysis may be selected in a pipeline and records the result in the analysis.
+     * The job type is determined from the deployed components used by the analysis rather than from the job types
+     * loaded with the analysis, which aren't available until a newly imported analysis has been saved and reloaded.
+     *
+     * @param analysis the analysis to examine.
+     * @param daoFactory used to obtain data access objects.
+     */
+    public static void recordPipelineEligibility(TransformationActivity analysis, DaoFactory daoFactory) {
+        String reason = findIneligibilityReason(analysis.getId(), analysis.getStepCount(),
+                determineJobType(analysis, daoFactory));
+        analysis.setPipelineEligible(reason == null);
+        analysis.setPipelineIneligibilityReason(reason);
+    }
+
+    /**
+     * Recomputes and saves the recorded pipeline eligibility of every analysis that uses a template. This must be
+     * called whenever the deployed component used by the template changes, because the job type of each analysis is
+     * determined by the deployed components that its templates use.
+     *
+     * @param templateId the template identifier.
+     * @param daoFactory used to obtain data access objects.
+     */
+    public static void updatePipelineEligibilityForTemplate(String templateId, DaoFactory daoFactory) {
+        Map<String, TransformationActivity> analyses = new LinkedHashMap<String, TransformationActivity>();
+        addAnalysesReferencingTemplate(analyses, templateId, daoFactory);
+        updatePipelineEligibility(analyses, daoFactory);
+    }
+
+    /**
+     * Recomputes and saves the recorded pipeline eligibility of every analysis that uses a deployed component. This
+     * must be called whenever the type of the deployed component changes.
+     *
+     * @param componentId the deployed component identifier.
+     * @param daoFactory used to obtain data access objects.
+     */
+    public static void updatePipelineEligibilityForComponent(String componentId, DaoFactory daoFactory) {
+        Map<String, TransformationActivity> analyses = new LinkedHashMap<String, TransformationActivity>();
+        for (Template template : daoFactory.getTemplateDao().findTemplatesUsingComponent(componentId)) {
+            addAnalysesReferencingTemplate(analyses, template.getId(), daoFactory);
+        }
+        updatePipelineEligibility(analyses, daoFactory);
+    }
+
+    /**
+     * Adds the analyses that use a template to a map of analyses indexed by identifier.
+     *
+     * @param analyses the map of analyses.
+     * @param templateId the template identifier.
+     * @param daoFactory used to obtain data access objects.
+     */
+    private static void addAnalysesReferencingTemplate(Map<String, TransformationActivity> analyses,
+            String templateId, DaoFactory daoFactory) {
+        for (TransformationActivity analysis
+                : daoFactory.getTransformationActivityDao().getAnalysesReferencingTemplateId(templateId)) {
+            analyses.put(analysis.getId(), analysis);
+        }
+    }
+
+    /**
+     * Recomputes and saves the recorded pipeline eligibility of each of the given analyses.
+     *
+     * @param analyses the analyses, indexed by identifier.
+     * @param daoFactory used to obtain data access objects.
+     */
+    private static void updatePipelineEligibility(Map<String, TransformationActivity> analyses,
+            DaoFactory daoFactory) {
+        for (TransformationActivity analysis : analyses.values()) {
+            recordPipelineEligibility(analysis, daoFactory);
+            daoFactory.getTransformationActivityDao().save(analysis);
+        }
+    }
+
+    /**
+     * Determines why an analysis can't be selected in a pipeline.
+     *
+     * @param analysisId the analysis identifier.
+     * @param stepCount the number of steps in the analysis.
+     * @param jobType the overall job type of the analysis.
+     * @return the reason the analysis can't be selected in a pipeline or null if it can be.
+     */
+    private static String findIneligibilityReason(String analysisId, long stepCount, JobType jobType) {
+        if (stepCount < 1) {
+            return "analysis, " + analysisId + ", has too few steps for a pipeline";
         }
-        if (analysis.getStepCount() > 1) {
-            throw new WorkflowException("analysis, " + analysis.getId() + ", has too many steps for a pipeline");
+        if (stepCount > 1) {
+            return "analysis, " + analysisId + ", has too many steps for a pipeline";
+        }
+        if (jobType == null) {
+            return "the job type of analysis, " + analysisId + ", can't be determined";
+        }
+        if (jobType != JobType.EXECUTABLE) {
+            return "job type, " + jobType + ", can't currently be included in a pipeline";
+        }
+        return null;
+    }
+
+    /**
+     * Determines the overall job type of an analysis from the deployed components used by its templates.
+     *
+     * @param analysis the analysis.
+     * @param daoFactory used to obtain data access objects.
+     * @return the overall job type or null if the job type can't be determined.
+     */
+    private static JobType determineJobType(TransformationActivity analysis, DaoFactory daoFactory) {
+        JobType jobType = null;
+        for (String templateId : analysis.getTemplateIds()) {
+            JobType currType = determineJobType(daoFactory.getTemplateDao().findById(templateId), daoFactory);
+            if (currType == null) {
+                return null;
+            }
+            else if (jobType == null) {
+                jobType = currType;
+            }
+            else if (currType != jobType) {
+                return JobType.MIXED;
+            }
+        }
+        return jobType;
+    }
+
+    /**
+     * Determines the job type of a single template.
+     *
+     * @param template the template, which may be null.
+     * @param daoFactory used to obtain data access objects.
+     * @return the job type or null if the job type can't be determined.
+     */
+    private static JobType determineJobType(Template template, DaoFactory daoFactory) {
+        if (template == null || template.getComponent() == null) {
+            return null;
         }
-        if (analysis.getOverallJobType() != JobType.EXECUTABLE) {
-            String msg = "job type, " + analysis.getOverallJobType() + ", can't currently be included in a pipeline";
-            throw new WorkflowException(msg);
+        DeployedComponent component = daoFactory.getDeployedComponentDao().findById(template.getComponent());
+        if (component == null) {
+            LOG.warn("deployed component, " + template.getComponent() + ", not found");
+            return null;
         }
+        return JobType.fromString(component.getType());
     }
 }
@@ -0,0 +1,113 @@
+package org.iplantc.workflow.service.util;
+
+import java.util.Map;
+import org.apache.log4j.Logger;
+import org.hibernate.SessionFactory;
+import org.iplantc.hibernate.util.SessionTask;
+import org.iplantc.hibernate.util.SessionTaskWrapper;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.iplantc.workflow.metrics.QueryStats;
+import org.iplantc.workflow.metrics.QueryTracker;
+import org.iplantc.workflow.metrics.Timer;
+
+/**
+ * Performs a session task in the same way as {@link SessionTaskWrapper}, recording the duration and outcome of the
+ * task, including the time spent committing the transaction, in a timer. The database queries issued by the task are
+ * tracked as well: the number of queries is recorded in a histogram named after the timer with a ".queries" suffix,
+ * and queries that are repeated often enough to suggest N+1 selects are logged and counted in a counter with a
+ * ".n+1-suspects" suffix.
+ */
+public class TimedSessionTaskWrapper {
+
+    /**
+     * Used to log suspected N+1 selects.
+     */
+    private static final Logger LOG = Logger.getLogger(TimedSessionTaskWrapper.class);
+
+    /**
+     * The Hibernate session factory.
+     */
+    private final SessionFactory sessionFactory;
+
+    /**
+     * The name of the timer used to record the task durations.
+     */
+    private final String name;
+
+    /**
+     * The registry in which the task metrics are recorded.
+     */
+    private final MetricsRegistry registry;
+
+    /**
+     * @param sessionFactory the Hibernate session factory.
+     * @param name the name of the timer in the default metrics registry.
+     */
+    public TimedSessionTaskWrapper(SessionFactory sessionFactory, String name) {
+        this(sessionFactory, name, MetricsRegistry.getDefault());
+    }
+
+    /**
+     * @param sessionFactory the Hibernate session factory.
+     * @param name the name of the timer used to record the task durations.
+     * @param registry the registry in which the task metrics are recorded.
+     */
+    public TimedSessionTaskWrapper(SessionFactory sessionFactory, String name, MetricsRegistry registry) {
+        this.sessionFactory = sessionFactory;
+        this.name = name;
+        this.registry = registry;
+    }
+
+    /**
+     * Creates a session task wrapper that records the duration of a service operation in a timer named
+     * service.&lt;service&gt;.&lt;operation&gt; in the default metrics registry.
+     *
+     * @param sessionFactory the Hibernate session factory.
+     * @param service the name of the service.
+     * @param operation the name of the operation.
+     * @return the session task wrapper.
+     */
+    public static TimedSessionTaskWrapper timedTask(SessionFactory sessionFactory, String service, String operation) {
+        return new TimedSessionTaskWrapper(sessionFactory, "service." + service + "." + operation);
+    }
+
+    /**
+     * Performs a session task.
+     *
+     * @param <T> the type of the value returned by the task.
+     * @param task the task to perform.
+     * @return the value returned by the task.
+     */
+    public <T> T performTask(SessionTask<T> task) {
+        Timer.Context context = registry.timer(name).start();
+        boolean tracking = QueryTracker.begin(name);
+        try {
+            T result = new SessionTaskWrapper(sessionFactory).performTask(task);
+            context.success();
+            return result;
+        }
+        finally {
+            context.stop();
+            if (tracking) {
+                recordQueries(QueryTracker.end());
+            }
+        }
+    }
+
+    /**
+     * Records the queries issued by a task.
+     *
+     * @param stats the query statistics for the task.
+     */
+    private void recordQueries(QueryStats stats) {
+        registry.histogram(name + ".queries").record(stats.getQueryCount());
+        Map<String, Integer> suspects = stats.getSuspectedNPlusOneQueries(QueryTracker.getSuspectThreshold());
+        if (!suspects.isEmpty()) {
+            registry.counter(name + ".n+1-suspects").increment();
+            LOG.warn("suspected N+1 selects in " + stats + ": " + suspects);
+        }
+        else if (LOG.isDebugEnabled()) {
+            LOG.debug(stats);
+        }
+    }
+}
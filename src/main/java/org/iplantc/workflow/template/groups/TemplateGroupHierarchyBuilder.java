@@ -0,0 +1,178 @@
+package org.iplantc.workflow.template.groups;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Assembles a template group hierarchy from flat rows, such as the rows returned by a single query against the
+ * template group closure table. The groups and the parent/subgroup edges may be added in any order. A group that has
+ * more than one parent within the hierarchy appears under each of its parents.
+ */
+public class TemplateGroupHierarchyBuilder {
+
+    /**
+     * The template groups, keyed by internal identifier.
+     */
+    private final Map<Long, GroupRow> groups = new HashMap<Long, GroupRow>();
+
+    /**
+     * The edges leading to the subgroups of each template group, keyed by the parent's internal identifier.
+     */
+    private final Map<Long, List<EdgeRow>> edges = new HashMap<Long, List<EdgeRow>>();
+
+    /**
+     * Adds a template group.
+     *
+     * @param hid the template group's internal identifier.
+     * @param id the template group's external identifier.
+     * @param name the template group name.
+     * @param description the template group description.
+     * @param workspaceId the identifier of the workspace that the template group belongs to.
+     * @param activeAnalysisCount the number of active analyses in the template group and all of its descendants.
+     * @return this builder.
+     */
+    public TemplateGroupHierarchyBuilder addGroup(long hid, String id, String name, String description,
+            long workspaceId, int activeAnalysisCount) {
+        groups.put(hid, new GroupRow(hid, id, name, description, workspaceId, activeAnalysisCount));
+        return this;
+    }
+
+    /**
+     * Adds an edge between a template group and one of its subgroups.
+     *
+     * @param parentHid the parent group's internal identifier.
+     * @param subgroupHid the subgroup's internal identifier.
+     * @param position the position of the subgroup in the parent group's list of subgroups.
+     * @return this builder.
+     */
+    public TemplateGroupHierarchyBuilder addEdge(long parentHid, long subgroupHid, int position) {
+        List<EdgeRow> subgroupEdges = edges.get(parentHid);
+        if (subgroupEdges == null) {
+            subgroupEdges = new ArrayList<EdgeRow>();
+            edges.put(parentHid, subgroupEdges);
+        }
+        subgroupEdges.add(new EdgeRow(subgroupHid, position));
+        return this;
+    }
+
+    /**
+     * Adds a template group and all of its descendants by walking the persistent object graph. This is used when the
+     * template group closure table isn't available, so the active analysis counts are computed from the groups
+     * themselves.
+     *
+     * @param root the template group.
+     * @return this builder.
+     */
+    public TemplateGroupHierarchyBuilder addGroupTree(TemplateGroup root) {
+        addGroupTree(root, new HashSet<Long>());
+        return this;
+    }
+
+    /**
+     * Adds a template group and all of its descendants that haven't been added yet.
+     *
+     * @param group the template group.
+     * @param visited the internal identifiers of the groups that have already been added.
+     */
+    private void addGroupTree(TemplateGroup group, Set<Long> visited) {
+        if (visited.add(group.getHid())) {
+            addGroup(group.getHid(), group.getId(), group.getName(), group.getDescription(), group.getWorkspaceId(),
+                    group.countActiveTemplates());
+            List<TemplateGroup> subgroups = group.getSub_groups();
+            for (int i = 0; i < subgroups.size(); i++) {
+                addEdge(group.getHid(), subgroups.get(i).getHid(), i);
+                addGroupTree(subgroups.get(i), visited);
+            }
+        }
+    }
+
+    /**
+     * Builds the hierarchy beneath a template group. Edges leading to groups that weren't added are ignored.
+     *
+     * @param rootHid the internal identifier of the root of the hierarchy.
+     * @return the root node or null if the root group wasn't added.
+     */
+    public TemplateGroupNode build(long rootHid) {
+        return groups.containsKey(rootHid) ? buildNode(rootHid, new ArrayList<Long>()) : null;
+    }
+
+    /**
+     * Builds the node for a template group.
+     *
+     * @param hid the template group's internal identifier.
+     * @param path the internal identifiers of the groups on the path to this group, used to detect cycles.
+     * @return the node.
+     */
+    private TemplateGroupNode buildNode(long hid, List<Long> path) {
+        path.add(hid);
+        List<TemplateGroupNode> subgroups = new ArrayList<TemplateGroupNode>();
+        for (EdgeRow edge : sortedEdges(hid)) {
+            if (groups.containsKey(edge.subgroupHid) && !path.contains(edge.subgroupHid)) {
+                subgroups.add(buildNode(edge.subgroupHid, path));
+            }
+        }
+        path.remove(path.size() - 1);
+        GroupRow row = groups.get(hid);
+        return new TemplateGroupNode(row.hid, row.id, row.name, row.description, row.workspaceId,
+                row.activeAnalysisCount, subgroups);
+    }
+
+    /**
+     * @param hid the template group's internal identifier.
+     * @return the edges leading to the group's subgroups, in list order.
+     */
+    private List<EdgeRow> sortedEdges(long hid) {
+        List<EdgeRow> subgroupEdges = edges.get(hid);
+        if (subgroupEdges == null) {
+            return Collections.emptyList();
+        }
+        Collections.sort(subgroupEdges, new Comparator<EdgeRow>() {
+            @Override
+            public int compare(EdgeRow o1, EdgeRow o2) {
+                return o1.position < o2.position ? -1 : o1.position == o2.position ? 0 : 1;
+            }
+        });
+        return subgroupEdges;
+    }
+
+    /**
+     * A template group row.
+     */
+    private static class GroupRow {
+        private final long hid;
+        private final String id;
+        private final String name;
+        private final String description;
+        private final long workspaceId;
+        private final int activeAnalysisCount;
+
+        public GroupRow(long hid, String id, String name, String description, long workspaceId,
+                int activeAnalysisCount) {
+            this.hid = hid;
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.workspaceId = workspaceId;
+            this.activeAnalysisCount = activeAnalysisCount;
+        }
+    }
+
+    /**
+     * An edge leading from a template group to one of its subgroups.
+     */
+    private static class EdgeRow {
+        private final long subgroupHid;
+        private final int position;
+
+        public EdgeRow(long subgroupHid, int position) {
+            this.subgroupHid = subgroupHid;
+            this.position = position;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package org.iplantc.workflow.template.groups;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable summary of a template group and its subgroups, used to list template group hierarchies without loading
+ * the template group entities or their analyses.
+ */
+public class TemplateGroupNode {
+
+    /**
+     * The template group's internal identifier.
+     */
+    private final long hid;
+
+    /**
+     * The template group's external identifier.
+     */
+    private final String id;
+
+    /**
+     * The template group name.
+     */
+    private final String name;
+
+    /**
+     * The template group description.
+     */
+    private final String description;
+
+    /**
+     * The identifier of the workspace that the template group belongs to.
+     */
+    private final long workspaceId;
+
+    /**
+     * The number of active analyses in the template group and all of its descendants.
+     */
+    private final int activeAnalysisCount;
+
+    /**
+     * The subgroups, in list order.
+     */
+    private final List<TemplateGroupNode> subgroups;
+
+    /**
+     * @param hid the template group's internal identifier.
+     * @param id the template group's external identifier.
+     * @param name the template group name.
+     * @param description the template group description.
+     * @param workspaceId the identifier of the workspace that the template group belongs to.
+     * @param activeAnalysisCount the number of active analyses in the template group and all of its descendants.
+     * @param subgroups the subgroups, in list order.
+     */
+    public TemplateGroupNode(long hid, String id, String name, String description, long workspaceId,
+            int activeAnalysisCount, List<TemplateGroupNode> subgroups) {
+        this.hid = hid;
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.workspaceId = workspaceId;
+        this.activeAnalysisCount = activeAnalysisCount;
+        this.subgroups = Collections.unmodifiableList(subgroups);
+    }
+
+    /**
+     * @return the template group's internal identifier.
+     */
+    public long getHid() {
+        return hid;
+    }
+
+    /**
+     * @return the template group's external identifier.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the template group name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the template group description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the identifier of the workspace that the template group belongs to.
+     */
+    public long getWorkspaceId() {
+        return workspaceId;
+    }
+
+    /**
+     * @return the number of active analyses in the template group and all of its descendants.
+     */
+    public int getActiveAnalysisCount() {
+        return activeAnalysisCount;
+    }
+
+    /**
+     * @return the subgroups, in list order.
+     */
+    public List<TemplateGroupNode> getSubgroups() {
+        return subgroups;
+    }
+}
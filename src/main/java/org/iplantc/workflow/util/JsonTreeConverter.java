@@ -0,0 +1,171 @@
+package org.iplantc.workflow.util;
+
+import java.util.Iterator;
+
+import net.sf.json.JSONNull;
+
+import org.iplantc.workflow.WorkflowException;
+import org.json.JSONException;
+
+/**
+ * Converts JSON documents between the org.json and Source Forge (json-lib) object models by walking the document tree,
+ * rather than by printing the document using one library and parsing it again using the other.
+ *
+ * The Source Forge library copies nested objects and arrays whenever they're added to another object or array, so
+ * nested elements are converted by adding an empty element to the parent first and then filling in the element that
+ * the parent actually holds. This avoids copying each subtree once for every level of nesting above it.
+ */
+public class JsonTreeConverter {
+
+    // Prevent instantiation.
+    private JsonTreeConverter() {}
+
+    /**
+     * Converts an org.json object to a Source Forge object.
+     *
+     * @param json the org.json object.
+     * @return the Source Forge object.
+     */
+    public static net.sf.json.JSONObject toSfJsonObject(org.json.JSONObject json) {
+        net.sf.json.JSONObject result = new net.sf.json.JSONObject();
+        copyInto(json, result);
+        return result;
+    }
+
+    /**
+     * Converts an org.json array to a Source Forge array.
+     *
+     * @param json the org.json array.
+     * @return the Source Forge array.
+     */
+    public static net.sf.json.JSONArray toSfJsonArray(org.json.JSONArray json) {
+        net.sf.json.JSONArray result = new net.sf.json.JSONArray();
+        copyInto(json, result);
+        return result;
+    }
+
+    /**
+     * Appends a converted org.json object to a Source Forge array without copying the converted object.
+     *
+     * @param array the Source Forge array.
+     * @param json the org.json object to convert.
+     */
+    public static void addToSfJsonArray(net.sf.json.JSONArray array, org.json.JSONObject json) {
+        array.add(new net.sf.json.JSONObject());
+        copyInto(json, array.getJSONObject(array.size() - 1));
+    }
+
+    /**
+     * Copies the properties of an org.json object into a Source Forge object.
+     *
+     * @param source the org.json object.
+     * @param dest the Source Forge object.
+     */
+    private static void copyInto(org.json.JSONObject source, net.sf.json.JSONObject dest) {
+        Iterator<?> keys = source.keys();
+        while (keys.hasNext()) {
+            String key = keys.next().toString();
+            Object value = source.opt(key);
+            if (value instanceof org.json.JSONObject) {
+                dest.put(key, new net.sf.json.JSONObject());
+                copyInto((org.json.JSONObject) value, dest.getJSONObject(key));
+            }
+            else if (value instanceof org.json.JSONArray) {
+                dest.put(key, new net.sf.json.JSONArray());
+                copyInto((org.json.JSONArray) value, dest.getJSONArray(key));
+            }
+            else {
+                dest.put(key, toSfJsonValue(value));
+            }
+        }
+    }
+
+    /**
+     * Copies the elements of an org.json array into a Source Forge array.
+     *
+     * @param source the org.json array.
+     * @param dest the Source Forge array.
+     */
+    private static void copyInto(org.json.JSONArray source, net.sf.json.JSONArray dest) {
+        for (int i = 0; i < source.length(); i++) {
+            Object value = source.opt(i);
+            if (value instanceof org.json.JSONObject) {
+                addToSfJsonArray(dest, (org.json.JSONObject) value);
+            }
+            else if (value instanceof org.json.JSONArray) {
+                dest.add(new net.sf.json.JSONArray());
+                copyInto((org.json.JSONArray) value, dest.getJSONArray(dest.size() - 1));
+            }
+            else {
+                dest.add(toSfJsonValue(value));
+            }
+        }
+    }
+
+    /**
+     * Converts a scalar org.json value to a Source Forge value.
+     *
+     * @param value the org.json value.
+     * @return the Source Forge value.
+     */
+    private static Object toSfJsonValue(Object value) {
+        return value == null || org.json.JSONObject.NULL.equals(value) ? JSONNull.getInstance() : value;
+    }
+
+    /**
+     * Converts a Source Forge object to an org.json object.
+     *
+     * @param json the Source Forge object.
+     * @return the org.json object.
+     * @throws WorkflowException if the object contains a value that org.json doesn't accept.
+     */
+    public static org.json.JSONObject toOrgJsonObject(net.sf.json.JSONObject json) throws WorkflowException {
+        try {
+            org.json.JSONObject result = new org.json.JSONObject();
+            for (Object key : json.keySet()) {
+                String name = key.toString();
+                result.put(name, toOrgJsonValue(json.get(name)));
+            }
+            return result;
+        }
+        catch (JSONException e) {
+            throw new WorkflowException("unable to convert the JSON object", e);
+        }
+    }
+
+    /**
+     * Converts a Source Forge array to an org.json array.
+     *
+     * @param json the Source Forge array.
+     * @return the org.json array.
+     * @throws WorkflowException if the array contains a value that org.json doesn't accept.
+     */
+    public static org.json.JSONArray toOrgJsonArray(net.sf.json.JSONArray json) throws WorkflowException {
+        org.json.JSONArray result = new org.json.JSONArray();
+        for (int i = 0; i < json.size(); i++) {
+            result.put(toOrgJsonValue(json.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Converts a Source Forge value to an org.json value. Unlike the Source Forge library, org.json doesn't copy
+     * nested elements when they're added, so nested elements are simply converted recursively.
+     *
+     * @param value the Source Forge value.
+     * @return the org.json value.
+     */
+    private static Object toOrgJsonValue(Object value) {
+        if (value == null || value instanceof JSONNull) {
+            return org.json.JSONObject.NULL;
+        }
+        else if (value instanceof net.sf.json.JSONObject) {
+            net.sf.json.JSONObject json = (net.sf.json.JSONObject) value;
+            return json.isNullObject() ? org.json.JSONObject.NULL : toOrgJsonObject(json);
+        }
+        else if (value instanceof net.sf.json.JSONArray) {
+            return toOrgJsonArray((net.sf.json.JSONArray) value);
+        }
+        return value;
+    }
+}
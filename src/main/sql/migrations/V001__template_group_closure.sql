@@ -0,0 +1,155 @@
+--
+-- Maintains an ancestor/descendant closure of the template group hierarchy alongside template_group_group, along
+-- with the number of active (that is, not deleted) analyses directly in each template group. Both are maintained by
+-- triggers, so they stay current no matter which application changes the hierarchy, the group memberships or the
+-- deleted flags of the analyses.
+--
+-- Each closure row records the number of distinct paths from the ancestor to the descendant, which allows a group to
+-- appear under more than one parent. Every group is its own ancestor through a single path of length zero.
+--
+
+CREATE TABLE template_group_closure (
+    ancestor_id bigint NOT NULL REFERENCES template_group(hid) ON DELETE CASCADE,
+    descendant_id bigint NOT NULL REFERENCES template_group(hid) ON DELETE CASCADE,
+    path_count integer NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX template_group_closure_descendant_id_idx ON template_group_closure (descendant_id, ancestor_id);
+
+CREATE TABLE template_group_active_count (
+    template_group_id bigint PRIMARY KEY REFERENCES template_group(hid) ON DELETE CASCADE,
+    active_count integer NOT NULL DEFAULT 0
+);
+
+CREATE INDEX template_group_group_subgroup_id_idx ON template_group_group (subgroup_id);
+
+CREATE INDEX template_group_template_template_id_idx ON template_group_template (template_id);
+
+--
+-- Adds the paths through a new edge between a parent group and a subgroup.
+--
+CREATE OR REPLACE FUNCTION template_group_closure_add_edge(parent bigint, child bigint) RETURNS void AS $$
+BEGIN
+    INSERT INTO template_group_closure (ancestor_id, descendant_id, path_count)
+    SELECT a.ancestor_id, d.descendant_id, a.path_count * d.path_count
+      FROM template_group_closure a, template_group_closure d
+     WHERE a.descendant_id = parent
+       AND d.ancestor_id = child
+    ON CONFLICT (ancestor_id, descendant_id)
+    DO UPDATE SET path_count = template_group_closure.path_count + EXCLUDED.path_count;
+END;
+$$ LANGUAGE plpgsql;
+
+--
+-- Removes the paths through an edge between a parent group and a subgroup. Only the ancestors of the parent group can
+-- lose their last path to a descendant, so only their rows are checked for removal.
+--
+CREATE OR REPLACE FUNCTION template_group_closure_remove_edge(parent bigint, child bigint) RETURNS void AS $$
+BEGIN
+    UPDATE template_group_closure c
+       SET path_count = c.path_count - a.path_count * d.path_count
+      FROM template_group_closure a, template_group_closure d
+     WHERE a.descendant_id = parent
+       AND d.ancestor_id = child
+       AND c.ancestor_id = a.ancestor_id
+       AND c.descendant_id = d.descendant_id;
+
+    DELETE FROM template_group_closure
+     WHERE path_count <= 0
+       AND ancestor_id IN (SELECT ancestor_id FROM template_group_closure WHERE descendant_id = parent);
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION template_group_inserted() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO template_group_closure (ancestor_id, descendant_id, path_count) VALUES (NEW.hid, NEW.hid, 1);
+    INSERT INTO template_group_active_count (template_group_id, active_count) VALUES (NEW.hid, 0);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER template_group_closure_insert AFTER INSERT ON template_group
+    FOR EACH ROW EXECUTE PROCEDURE template_group_inserted();
+
+--
+-- Hibernate maintains template_group_group as an indexed list, so subgroups may be moved between rows by updates as
+-- well as being inserted and deleted.
+--
+CREATE OR REPLACE FUNCTION template_group_group_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'UPDATE' THEN
+        IF OLD.parent_group_id = NEW.parent_group_id AND OLD.subgroup_id = NEW.subgroup_id THEN
+            RETURN NULL;
+        END IF;
+    END IF;
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        PERFORM template_group_closure_remove_edge(OLD.parent_group_id, OLD.subgroup_id);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM template_group_closure_add_edge(NEW.parent_group_id, NEW.subgroup_id);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER template_group_closure_edges AFTER INSERT OR UPDATE OR DELETE ON template_group_group
+    FOR EACH ROW EXECUTE PROCEDURE template_group_group_changed();
+
+CREATE OR REPLACE FUNCTION template_group_template_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP IN ('UPDATE', 'DELETE') THEN
+        UPDATE template_group_active_count
+           SET active_count = active_count - 1
+         WHERE template_group_id = OLD.template_group_id
+           AND EXISTS (SELECT 1 FROM transformation_activity
+                        WHERE hid = OLD.template_id AND deleted IS NOT TRUE);
+    END IF;
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        UPDATE template_group_active_count
+           SET active_count = active_count + 1
+         WHERE template_group_id = NEW.template_group_id
+           AND EXISTS (SELECT 1 FROM transformation_activity
+                        WHERE hid = NEW.template_id AND deleted IS NOT TRUE);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER template_group_active_count_members AFTER INSERT OR UPDATE OR DELETE ON template_group_template
+    FOR EACH ROW EXECUTE PROCEDURE template_group_template_changed();
+
+CREATE OR REPLACE FUNCTION transformation_activity_deleted_changed() RETURNS trigger AS $$
+BEGIN
+    UPDATE template_group_active_count c
+       SET active_count = c.active_count + (CASE WHEN NEW.deleted IS TRUE THEN -1 ELSE 1 END)
+      FROM template_group_template m
+     WHERE m.template_id = NEW.hid
+       AND c.template_group_id = m.template_group_id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER template_group_active_count_deleted AFTER UPDATE OF deleted ON transformation_activity
+    FOR EACH ROW WHEN ((OLD.deleted IS TRUE) IS DISTINCT FROM (NEW.deleted IS TRUE))
+    EXECUTE PROCEDURE transformation_activity_deleted_changed();
+
+--
+-- Populates the closure and the counts for the existing template groups.
+--
+INSERT INTO template_group_closure (ancestor_id, descendant_id, path_count)
+WITH RECURSIVE paths (ancestor_id, descendant_id) AS (
+    SELECT hid, hid FROM template_group
+    UNION ALL
+    SELECT p.ancestor_id, e.subgroup_id
+      FROM paths p
+      JOIN template_group_group e ON e.parent_group_id = p.descendant_id
+)
+SELECT ancestor_id, descendant_id, count(*) FROM paths GROUP BY ancestor_id, descendant_id;
+
+INSERT INTO template_group_active_count (template_group_id, active_count)
+SELECT g.hid, count(a.hid)
+  FROM template_group g
+  LEFT JOIN template_group_template m ON m.template_group_id = g.hid
+  LEFT JOIN transformation_activity a ON a.hid = m.template_id AND a.deleted IS NOT TRUE
+ GROUP BY g.hid;
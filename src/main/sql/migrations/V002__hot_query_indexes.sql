@@ -0,0 +1,85 @@
+--
+-- Adds the indexes that support the most frequently executed lookups. Hibernate's schema update only creates tables,
+-- columns and foreign keys, so none of these indexes exist unless they're created here. Every statement may be run
+-- against a database in which some of the indexes were already created by hand.
+--
+-- QueryPlanTest runs the plan of each of these lookups through EXPLAIN and fails if any of them still requires a
+-- full table scan, so new hot queries should be added there along with their indexes. QueryPlanTest needs PostgreSQL
+-- 12 or later to force generic plans and is skipped on older servers; the indexes themselves need 9.5 or later.
+--
+
+--
+-- Analyses referencing a template: TransformationActivityDao.getAnalysesReferencingTemplateId and
+-- TemplateGroupDao.isTemplateInGroupOutsideWorkspace join from the template identifier through the transformation
+-- and the transformation step to the analysis.
+--
+CREATE INDEX IF NOT EXISTS transformations_template_id_idx ON transformations (template_id);
+
+CREATE INDEX IF NOT EXISTS transformation_steps_transformation_id_idx ON transformation_steps (transformation_id);
+
+CREATE INDEX IF NOT EXISTS transformation_task_steps_transformation_step_id_idx
+    ON transformation_task_steps (transformation_step_id);
+
+--
+-- Ratings: RatingDao.findByUserAndTransformationActivity, the average rating of an analysis and the analysis's
+-- ratings collection.
+--
+CREATE INDEX IF NOT EXISTS ratings_user_id_transformation_activity_id_idx
+    ON ratings (user_id, transformation_activity_id);
+
+CREATE INDEX IF NOT EXISTS ratings_transformation_activity_id_idx ON ratings (transformation_activity_id);
+
+--
+-- Suggested groups: the analysis's suggested groups collection and the foreign key checks performed when a template
+-- group is deleted.
+--
+CREATE INDEX IF NOT EXISTS suggested_groups_transformation_activity_id_idx
+    ON suggested_groups (transformation_activity_id);
+
+CREATE INDEX IF NOT EXISTS suggested_groups_template_group_id_idx ON suggested_groups (template_group_id);
+
+--
+-- Notification sets: NotificationSetDao.findNotificationSetsForAnalysisId.
+--
+CREATE INDEX IF NOT EXISTS notification_set_template_id_idx ON notification_set (template_id);
+
+--
+-- Deployed components: DeployedComponentDao.findByNameAndLocation, findByName and findByLocation.
+--
+CREATE INDEX IF NOT EXISTS deployed_components_name_location_idx ON deployed_components (name, location);
+
+CREATE INDEX IF NOT EXISTS deployed_components_location_idx ON deployed_components (location);
+
+--
+-- Deployed component searches match a case-insensitive substring of the name or the description, which a b-tree
+-- index can't support. Trigram indexes on the lower-case values support both the leading wildcard and the OR.
+--
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS deployed_components_lower_name_trgm_idx
+    ON deployed_components USING gin (lower(name) gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS deployed_components_lower_description_trgm_idx
+    ON deployed_components USING gin (lower(description) gin_trgm_ops);
+
+--
+-- Lookups by name. The index on the template name is declared in the Hibernate mapping as well, but it's only created
+-- when the schema is created from scratch.
+--
+CREATE INDEX IF NOT EXISTS tem_name_idx ON template (name);
+
+CREATE INDEX IF NOT EXISTS transformation_activity_name_idx ON transformation_activity (name);
+
+CREATE INDEX IF NOT EXISTS template_group_name_idx ON template_group (name);
+
+CREATE INDEX IF NOT EXISTS property_type_name_idx ON property_type (name);
+
+CREATE INDEX IF NOT EXISTS value_type_name_idx ON value_type (name);
+
+CREATE INDEX IF NOT EXISTS rule_type_name_idx ON rule_type (name);
+
+CREATE INDEX IF NOT EXISTS info_type_name_idx ON info_type (name);
+
+CREATE INDEX IF NOT EXISTS multiplicity_name_idx ON multiplicity (name);
+
+CREATE INDEX IF NOT EXISTS data_formats_name_idx ON data_formats (name);
@@ -0,0 +1,178 @@
+package org.iplantc.workflow.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.apache.commons.lang.StringUtils;
+import org.iplantc.workflow.WorkflowException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.client.AbstractHttpClient, using the OSM client against a local HTTP stub.
+ */
+public class AbstractHttpClientTest {
+
+    /**
+     * The response body returned by the stub.
+     */
+    private String responseBody;
+
+    /**
+     * The local HTTP stub.
+     */
+    private StubHttpServer server;
+
+    /**
+     * The client being tested.
+     */
+    private OsmClient client;
+
+    /**
+     * Initializes each of the unit tests.
+     *
+     * @throws Exception if the stub can't be started.
+     */
+    @Before
+    public void initialize() throws Exception {
+        responseBody = "{\"objects\":[]}";
+        server = new StubHttpServer(new StubHttpServer.Responder() {
+            @Override
+            public String respond(String path, String body) {
+                return responseBody;
+            }
+        });
+        client = new OsmClient();
+        client.setBaseUrl(server.getBaseUrl());
+        client.setBucket("jobs");
+    }
+
+    /**
+     * Stops the stub.
+     */
+    @After
+    public void tearDown() {
+        server.stop();
+    }
+
+    /**
+     * Creates a JSON object large enough to make compression worthwhile.
+     *
+     * @param count the number of elements in the object's array.
+     * @return the JSON object.
+     */
+    private JSONObject createLargeObject(int count) {
+        JSONArray objects = new JSONArray();
+        for (int i = 0; i < count; i++) {
+            JSONObject object = new JSONObject();
+            object.put("id", "object " + i);
+            object.put("description", "an object used to make the document large é");
+            objects.add(object);
+        }
+        JSONObject result = new JSONObject();
+        result.put("objects", objects);
+        return result;
+    }
+
+    /**
+     * Verifies that request bodies aren't compressed by default.
+     */
+    @Test
+    public void testUncompressedRequest() {
+        JSONObject query = createLargeObject(10);
+        client.query(query);
+        assertNull(server.getRequestHeader(0, "Content-Encoding"));
+        assertEquals(query, JSONObject.fromObject(server.getRequestBodies().get(0)));
+    }
+
+    /**
+     * Verifies that request bodies are compressed when compression is enabled.
+     */
+    @Test
+    public void testCompressedRequest() {
+        client.setCompressRequests(true);
+        JSONObject query = createLargeObject(5000);
+        client.query(query);
+        assertEquals("gzip", server.getRequestHeader(0, "Content-Encoding"));
+        assertEquals(query, JSONObject.fromObject(server.getRequestBodies().get(0)));
+    }
+
+    /**
+     * Verifies that compressed responses are requested and decoded.
+     */
+    @Test
+    public void testCompressedResponse() {
+        server.setCompressResponses(true);
+        JSONObject expected = createLargeObject(5000);
+        responseBody = expected.toString();
+        JSONObject result = client.query(new JSONObject());
+        assertEquals("gzip", server.getRequestHeader(0, "Accept-Encoding"));
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Verifies that compressed responses aren't requested if the client is configured not to accept them.
+     */
+    @Test
+    public void testCompressedResponsesNotAccepted() {
+        server.setCompressResponses(true);
+        client.setAcceptCompressedResponses(false);
+        JSONObject expected = createLargeObject(10);
+        responseBody = expected.toString();
+        JSONObject result = client.query(new JSONObject());
+        assertNull(server.getRequestHeader(0, "Accept-Encoding"));
+        assertEquals(expected, result);
+    }
+
+    /**
+     * Verifies that string responses are decoded.
+     */
+    @Test
+    public void testCompressedStringResponse() {
+        server.setCompressResponses(true);
+        responseBody = "some-uuid";
+        assertEquals("some-uuid", client.save(new JSONObject()));
+    }
+
+    /**
+     * Verifies that only the beginning of a long error response is included in the exception message.
+     */
+    @Test
+    public void testLongErrorBodyIsTruncated() {
+        server.setStatusCode(500);
+        client.setMaxErrorBodyLength(100);
+        responseBody = StringUtils.repeat("x", 100000);
+        try {
+            client.query(new JSONObject());
+            fail("expected a WorkflowException");
+        }
+        catch (WorkflowException e) {
+            assertTrue(e.getMessage().startsWith("server returned 500 xxx"));
+            assertTrue(e.getMessage().endsWith("..."));
+            assertTrue(e.getMessage().length() < 150);
+        }
+    }
+
+    /**
+     * Verifies that short error responses are included in the exception message in their entirety.
+     */
+    @Test
+    public void testShortErrorBody() {
+        server.setStatusCode(404);
+        server.setCompressResponses(true);
+        responseBody = "not found";
+        try {
+            client.query(new JSONObject());
+            fail("expected a WorkflowException");
+        }
+        catch (WorkflowException e) {
+            assertEquals("server returned 404 not found", e.getMessage());
+        }
+    }
+}
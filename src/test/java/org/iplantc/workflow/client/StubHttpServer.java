@@ -0,0 +1,176 @@
+package org.iplantc.workflow.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * A minimal HTTP server, bound to an ephemeral port on the loopback interface, that can stand in for remote services
+ * in unit tests. Every request is recorded and answered by a responder supplied by the test. Gzip-encoded request
+ * bodies are decoded, and responses can optionally be compressed for clients that accept gzip encoding.
+ */
+public class StubHttpServer {
+
+    /**
+     * Produces the response to a request.
+     */
+    public interface Responder {
+
+        /**
+         * @param path the request path.
+         * @param body the request body.
+         * @return the response body.
+         */
+        public String respond(String path, String body);
+    }
+
+    /**
+     * The underlying HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * The paths of the requests received by the server.
+     */
+    private final List<String> requestPaths = Collections.synchronizedList(new ArrayList<String>());
+
+    /**
+     * The bodies of the requests received by the server.
+     */
+    private final List<String> requestBodies = Collections.synchronizedList(new ArrayList<String>());
+
+    /**
+     * The headers of the requests received by the server.
+     */
+    private final List<Headers> requestHeaders = Collections.synchronizedList(new ArrayList<Headers>());
+
+    /**
+     * The status code returned for each request.
+     */
+    private volatile int statusCode = 200;
+
+    /**
+     * True if responses should be compressed for clients that accept gzip encoding.
+     */
+    private volatile boolean compressResponses = false;
+
+    /**
+     * Creates and starts the server.
+     *
+     * @param responder produces the response to each request.
+     * @throws IOException if the server can't be started.
+     */
+    public StubHttpServer(final Responder responder) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                Headers headers = exchange.getRequestHeaders();
+                InputStream in = exchange.getRequestBody();
+                if (isGzip(headers.getFirst("Content-Encoding"))) {
+                    in = new GZIPInputStream(in);
+                }
+                String body = IOUtils.toString(in, "UTF-8");
+                in.close();
+                String path = exchange.getRequestURI().getPath();
+                requestPaths.add(path);
+                requestBodies.add(body);
+                requestHeaders.add(headers);
+                byte[] response = responder.respond(path, body).getBytes("UTF-8");
+                exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+                OutputStream out;
+                if (compressResponses && isGzip(headers.getFirst("Accept-Encoding"))) {
+                    exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                    exchange.sendResponseHeaders(statusCode, 0);
+                    out = new GZIPOutputStream(exchange.getResponseBody());
+                }
+                else {
+                    exchange.sendResponseHeaders(statusCode, response.length);
+                    out = exchange.getResponseBody();
+                }
+                out.write(response);
+                out.close();
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * @param value a header value.
+     * @return true if the header value includes gzip encoding.
+     */
+    private static boolean isGzip(String value) {
+        return value != null && value.toLowerCase().contains("gzip");
+    }
+
+    /**
+     * @param statusCode the status code to return for each request.
+     */
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+
+    /**
+     * @param compressResponses true if responses should be compressed for clients that accept gzip encoding.
+     */
+    public void setCompressResponses(boolean compressResponses) {
+        this.compressResponses = compressResponses;
+    }
+
+    /**
+     * @param index the index of the request.
+     * @param name the name of the header.
+     * @return the first value of the header in the request or null if the request didn't include the header.
+     */
+    public String getRequestHeader(int index, String name) {
+        return requestHeaders.get(index).getFirst(name);
+    }
+
+    /**
+     * @return the base URL of the server.
+     */
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * @return the number of requests received by the server.
+     */
+    public int getRequestCount() {
+        return requestBodies.size();
+    }
+
+    /**
+     * @return the paths of the requests received by the server.
+     */
+    public List<String> getRequestPaths() {
+        return new ArrayList<String>(requestPaths);
+    }
+
+    /**
+     * @return the bodies of the requests received by the server.
+     */
+    public List<String> getRequestBodies() {
+        return new ArrayList<String>(requestBodies);
+    }
+
+    /**
+     * Stops the server.
+     */
+    public void stop() {
+        server.stop(0);
+    }
+}
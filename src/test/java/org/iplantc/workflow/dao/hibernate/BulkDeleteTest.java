@@ -0,0 +1,336 @@
+package org.iplantc.workflow.dao.hibernate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.iplantc.persistence.dto.data.IntegrationDatum;
+import org.iplantc.persistence.dto.step.TransformationStep;
+import org.iplantc.persistence.dto.transformation.Transformation;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.core.TransformationActivityReference;
+import org.iplantc.workflow.dao.GenericObjectDao;
+import org.iplantc.workflow.data.DataObject;
+import org.iplantc.workflow.metrics.QueryAssertions;
+import org.iplantc.workflow.metrics.QueryInspector;
+import org.iplantc.workflow.model.Property;
+import org.iplantc.workflow.model.PropertyGroup;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.template.groups.TemplateGroup;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Verifies that the set-based deletions in the data access objects remove every row belonging to the deleted objects
+ * and that the number of statements they issue doesn't depend on the number of objects being deleted. These tests run
+ * against a scratch PostgreSQL database; see {@link ScratchDatabase}. They're skipped if no database was specified.
+ */
+public class BulkDeleteTest {
+
+    /**
+     * The session factory for the scratch database.
+     */
+    private static SessionFactory sessionFactory;
+
+    /**
+     * Creates the schema in the scratch database, or skips the tests if no scratch database was specified.
+     *
+     * @throws Exception if the schema can't be created.
+     */
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        Assume.assumeTrue(ScratchDatabase.isAvailable());
+        sessionFactory = ScratchDatabase.createSessionFactory(new QueryInspector());
+    }
+
+    /**
+     * Closes the session factory.
+     */
+    @AfterClass
+    public static void closeSessionFactory() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            sessionFactory = null;
+        }
+    }
+
+    /**
+     * Verifies that templates are deleted along with their property groups, properties and data objects.
+     */
+    @Test
+    public void testDeleteTemplatesByIds() {
+        int single = saveAndDelete(new TemplateFactory(), "single_template");
+        int multiple = saveAndDelete(new TemplateFactory(), "template_1", "template_2", "template_3");
+        assertEquals(single, multiple);
+        assertEquals(0, count("select count(*) from Template"));
+        assertEquals(0, count("select count(*) from PropertyGroup"));
+        assertEquals(0, count("select count(*) from Property"));
+        assertEquals(0, count("select count(*) from DataObject"));
+    }
+
+    /**
+     * Verifies that template groups are deleted without deleting their subgroups.
+     */
+    @Test
+    public void testDeleteTemplateGroupsByIds() {
+        int single = saveAndDelete(new TemplateGroupFactory(), "single_group");
+        int multiple = saveAndDelete(new TemplateGroupFactory(), "group_1", "group_2", "group_3");
+        assertEquals(single, multiple);
+        assertEquals(4, count("select count(*) from TemplateGroup"));
+        assertEquals(0, count("select count(*) from TemplateGroup g join g.sub_groups s"));
+    }
+
+    /**
+     * Verifies that analyses are deleted along with their references.
+     */
+    @Test
+    public void testDeleteAnalysesByIds() {
+        int single = saveAndDelete(new AnalysisFactory(false), "single_analysis");
+        int multiple = saveAndDelete(new AnalysisFactory(false), "analysis_1", "analysis_2", "analysis_3");
+        assertEquals(single, multiple);
+        assertEquals(0, count("select count(*) from TransformationActivity"));
+        assertEquals(0, count("select count(*) from TransformationActivityReference"));
+    }
+
+    /**
+     * Verifies that the transformation steps of deleted analyses are deleted as well.
+     */
+    @Test
+    public void testDeleteAnalysesWithStepsByIds() {
+        saveAndDelete(new AnalysisFactory(true), "analysis_with_steps_1", "analysis_with_steps_2");
+        assertEquals(0, count("select count(*) from TransformationActivity"));
+        assertEquals(0, count("select count(*) from TransformationStep"));
+        assertEquals(0, count("select count(*) from Transformation"));
+    }
+
+    /**
+     * Saves some objects in one transaction and deletes them by identifier in another.
+     *
+     * @param factory used to create the objects and the data access object.
+     * @param ids the object identifiers.
+     * @return the number of statements issued while deleting the objects.
+     */
+    private int saveAndDelete(final ObjectFactory factory, final String... ids) {
+        performInTransaction(new SessionCallback() {
+            @Override
+            public void execute(Session session) {
+                for (String id : ids) {
+                    session.save(factory.create(id));
+                }
+            }
+        });
+        final List<Integer> queryCount = new ArrayList<Integer>();
+        performInTransaction(new SessionCallback() {
+            @Override
+            public void execute(Session session) {
+                QueryAssertions.startTracking("deleteByIds");
+                factory.createDao(session).deleteByIds(Arrays.asList(ids));
+                session.flush();
+                queryCount.add(QueryAssertions.stopTracking().getQueryCount());
+            }
+        });
+        return queryCount.get(0);
+    }
+
+    /**
+     * Counts persistent objects.
+     *
+     * @param hql the counting query.
+     * @return the number of objects.
+     */
+    private long count(final String hql) {
+        final List<Long> result = new ArrayList<Long>();
+        performInTransaction(new SessionCallback() {
+            @Override
+            public void execute(Session session) {
+                Number count = (Number) session.createQuery(hql).uniqueResult();
+                assertNotNull(count);
+                result.add(count.longValue());
+            }
+        });
+        return result.get(0);
+    }
+
+    /**
+     * Performs a callback in a new session and transaction.
+     *
+     * @param callback the callback.
+     */
+    private void performInTransaction(SessionCallback callback) {
+        Session session = sessionFactory.openSession();
+        Transaction tx = null;
+        try {
+            tx = session.beginTransaction();
+            callback.execute(session);
+            tx.commit();
+        }
+        catch (RuntimeException e) {
+            if (tx != null) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        finally {
+            session.close();
+        }
+    }
+
+    /**
+     * A unit of work performed in a session.
+     */
+    private interface SessionCallback {
+
+        /**
+         * @param session the session.
+         */
+        public void execute(Session session);
+    }
+
+    /**
+     * Creates the objects to delete and the data access object used to delete them.
+     */
+    private interface ObjectFactory {
+
+        /**
+         * @param id the object identifier.
+         * @return a new object, which may refer to other new objects.
+         */
+        public Object create(String id);
+
+        /**
+         * @param session the session.
+         * @return the data access object.
+         */
+        public GenericObjectDao<?> createDao(Session session);
+    }
+
+    /**
+     * Creates templates with an input and a property group.
+     */
+    private static class TemplateFactory implements ObjectFactory {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object create(String id) {
+            DataObject input = new DataObject();
+            input.setId(id + "_input");
+            input.setName(id + "_input");
+            Property property = new Property(id + "_property", id + "_property", "", "");
+            property.setDataObject(input);
+            PropertyGroup group = new PropertyGroup(id + "_group", id + "_group", "", "");
+            group.addProperty(property);
+
+            Template template = new Template();
+            template.setId(id);
+            template.setName(id);
+            template.addInputObject(input);
+            template.addPropertyGroup(group);
+            return template;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public GenericObjectDao<?> createDao(Session session) {
+            return new HibernateTemplateDao(session);
+        }
+    }
+
+    /**
+     * Creates template groups with a single subgroup.
+     */
+    private static class TemplateGroupFactory implements ObjectFactory {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object create(String id) {
+            TemplateGroup subgroup = new TemplateGroup();
+            subgroup.setId(id + "_subgroup");
+            subgroup.setName(id + "_subgroup");
+            TemplateGroup group = new TemplateGroup();
+            group.setId(id);
+            group.setName(id);
+            group.addGroup(subgroup);
+            return group;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public GenericObjectDao<?> createDao(Session session) {
+            return new HibernateTemplateGroupDao(session);
+        }
+    }
+
+    /**
+     * Creates analyses with a reference and, optionally, a single transformation step.
+     */
+    private static class AnalysisFactory implements ObjectFactory {
+
+        /**
+         * True if the analyses should have a transformation step.
+         */
+        private final boolean withStep;
+
+        /**
+         * @param withStep true if the analyses should have a transformation step.
+         */
+        public AnalysisFactory(boolean withStep) {
+            this.withStep = withStep;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public Object create(String id) {
+            IntegrationDatum integrationDatum = new IntegrationDatum();
+            integrationDatum.setIntegratorName(id);
+            integrationDatum.setIntegratorEmail(id + "@example.org");
+
+            TransformationActivity analysis = new TransformationActivity();
+            analysis.setId(id);
+            analysis.setName(id);
+            analysis.setIntegrationDatum(integrationDatum);
+
+            TransformationActivityReference reference = new TransformationActivityReference();
+            reference.setReferenceText(id);
+            reference.setTransformationActivity(analysis);
+            analysis.getReferences().add(reference);
+
+            if (withStep) {
+                Transformation transformation = new Transformation();
+                transformation.setName(id);
+                transformation.setTemplate_id(id + "_template");
+                TransformationStep step = new TransformationStep();
+                step.setName(id);
+                step.setGuid(id + "_step");
+                step.setTransformation(transformation);
+                analysis.addStep(step);
+            }
+            return analysis;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public GenericObjectDao<?> createDao(Session session) {
+            return new HibernateTransformationActivityDao(session);
+        }
+    }
+}
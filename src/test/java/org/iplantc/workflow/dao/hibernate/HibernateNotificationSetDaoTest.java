@@ -0,0 +1,158 @@
+package org.iplantc.workflow.dao.hibernate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.iplantc.workflow.template.notifications.Notification;
+import org.iplantc.workflow.template.notifications.NotificationSet;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Verifies that notification sets can be replaced after they've been deleted in bulk in the same session. These tests
+ * run against a scratch PostgreSQL database; see {@link ScratchDatabase}. They're skipped if no database was specified.
+ */
+public class HibernateNotificationSetDaoTest {
+
+    /**
+     * The session factory for the scratch database.
+     */
+    private static SessionFactory sessionFactory;
+
+    /**
+     * Creates the schema in the scratch database, or skips the tests if no scratch database was specified.
+     *
+     * @throws Exception if the schema can't be created.
+     */
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        Assume.assumeTrue(ScratchDatabase.isAvailable());
+        sessionFactory = ScratchDatabase.createSessionFactory(null);
+    }
+
+    /**
+     * Closes the session factory.
+     */
+    @AfterClass
+    public static void closeSessionFactory() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            sessionFactory = null;
+        }
+    }
+
+    /**
+     * Verifies that notification sets that were loaded before a bulk delete are evicted from the session, so that
+     * changes to them aren't flushed, and that replacement notification sets can be saved in the same session.
+     */
+    @Test
+    public void testReplaceLoadedNotificationSets() {
+        saveInNewSession(createNotificationSet("original", "replaced_analysis"));
+
+        Session session = sessionFactory.openSession();
+        Transaction tx = null;
+        try {
+            tx = session.beginTransaction();
+            HibernateNotificationSetDao dao = new HibernateNotificationSetDao(session);
+            List<NotificationSet> loaded = dao.findNotificationSetsForAnalysisId("replaced_analysis");
+            assertEquals(1, loaded.size());
+
+            dao.deleteNotificationSetsForAnalysisIds(Arrays.asList("replaced_analysis"));
+            assertFalse(session.contains(loaded.get(0)));
+            loaded.get(0).setName("modified");
+            dao.save(createNotificationSet("replacement", "replaced_analysis"));
+            session.flush();
+            tx.commit();
+        }
+        catch (RuntimeException e) {
+            if (tx != null) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        finally {
+            session.close();
+        }
+
+        List<NotificationSet> sets = findInNewSession("replaced_analysis");
+        assertEquals(1, sets.size());
+        assertEquals("replacement", sets.get(0).getName());
+        assertEquals(1, sets.get(0).getNotifications().size());
+    }
+
+    /**
+     * Creates a notification set containing a single notification.
+     *
+     * @param name the name of the notification set.
+     * @param analysisId the identifier of the analysis that the notification set belongs to.
+     * @return the notification set.
+     */
+    private NotificationSet createNotificationSet(String name, String analysisId) {
+        Notification notification = new Notification();
+        notification.setIdc(name + "_notification");
+        notification.setName(name + " notification");
+        notification.setSender("step_1_output");
+        notification.setType("data");
+        notification.addreceiver("step_2_input");
+
+        NotificationSet notificationSet = new NotificationSet();
+        notificationSet.setIdc(name);
+        notificationSet.setName(name);
+        notificationSet.setTemplate_id(analysisId);
+        notificationSet.addNotification(notification);
+        return notificationSet;
+    }
+
+    /**
+     * Saves a notification set in a new session and transaction.
+     *
+     * @param notificationSet the notification set to save.
+     */
+    private void saveInNewSession(NotificationSet notificationSet) {
+        Session session = sessionFactory.openSession();
+        Transaction tx = null;
+        try {
+            tx = session.beginTransaction();
+            new HibernateNotificationSetDao(session).save(notificationSet);
+            tx.commit();
+        }
+        catch (RuntimeException e) {
+            if (tx != null) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Finds the notification sets for an analysis in a new session, initializing their notifications.
+     *
+     * @param analysisId the analysis identifier.
+     * @return the notification sets.
+     */
+    private List<NotificationSet> findInNewSession(String analysisId) {
+        Session session = sessionFactory.openSession();
+        try {
+            List<NotificationSet> sets = new HibernateNotificationSetDao(session)
+                    .findNotificationSetsForAnalysisId(analysisId);
+            for (NotificationSet set : sets) {
+                set.getNotifications().size();
+            }
+            return sets;
+        }
+        finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,399 @@
+package org.iplantc.workflow.dao.hibernate;
+
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.jdbc.Work;
+import org.iplantc.persistence.dto.user.User;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.service.DeployedComponentRetrievalService;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Verifies that the hot data access object queries are supported by indexes once the schema migrations have been
+ * applied. Each query is captured as Hibernate prepares it, and its generic plan is obtained from PostgreSQL's EXPLAIN
+ * with sequential scans, hash joins and merge joins disabled. Any sequential scan or unqualified index scan that
+ * remains in the plan means that PostgreSQL has no choice but to read an entire table, which fails the test.
+ *
+ * These tests only run when a scratch PostgreSQL database is available, for example:
+ *
+ *     mvn -P query-plans test -Dtest=QueryPlanTest -DqueryPlans.url=jdbc:postgresql://localhost/scratch
+ *
+ * The public schema of that database is dropped and re-created before the tests run. Generic plans can only be
+ * forced in PostgreSQL 12 and later, so the tests are skipped on older servers.
+ */
+public class QueryPlanTest {
+
+    /**
+     * The name of the prepared statement used to obtain query plans.
+     */
+    private static final String STATEMENT_NAME = "query_plan_test";
+
+    /**
+     * The first server version that supports the plan_cache_mode setting, as reported by server_version_num.
+     */
+    private static final int MIN_SERVER_VERSION = 120000;
+
+    /**
+     * The SQL statements prepared by Hibernate since the last time the list was cleared.
+     */
+    private static final List<String> preparedStatements = Collections.synchronizedList(new ArrayList<String>());
+
+    /**
+     * The session factory for the scratch database.
+     */
+    private static SessionFactory sessionFactory;
+
+    /**
+     * The session used by each test.
+     */
+    private Session session;
+
+    /**
+     * The transaction used by each test, which is always rolled back.
+     */
+    private Transaction tx;
+
+    /**
+     * Used to obtain the data access objects.
+     */
+    private HibernateDaoFactory daoFactory;
+
+    /**
+     * Creates the schema in the scratch database, or skips the tests if no scratch database was specified or if the
+     * database server can't be forced to use generic plans.
+     *
+     * @throws Exception if the schema can't be created.
+     */
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        Assume.assumeTrue(ScratchDatabase.isAvailable());
+        sessionFactory = ScratchDatabase.createSessionFactory(new StatementRecorder());
+        Assume.assumeTrue(getServerVersion() >= MIN_SERVER_VERSION);
+    }
+
+    /**
+     * @return the version of the scratch database server, as reported by server_version_num.
+     */
+    private static int getServerVersion() {
+        final int[] version = new int[1];
+        Session versionSession = sessionFactory.openSession();
+        try {
+            versionSession.doWork(new Work() {
+                @Override
+                public void execute(Connection connection) throws SQLException {
+                    Statement statement = connection.createStatement();
+                    try {
+                        ResultSet rs = statement.executeQuery("SHOW server_version_num");
+                        rs.next();
+                        version[0] = Integer.parseInt(rs.getString(1));
+                        rs.close();
+                    }
+                    finally {
+                        statement.close();
+                    }
+                }
+            });
+        }
+        finally {
+            versionSession.close();
+        }
+        return version[0];
+    }
+
+    /**
+     * Closes the session factory.
+     */
+    @AfterClass
+    public static void closeSessionFactory() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            sessionFactory = null;
+        }
+    }
+
+    /**
+     * Initializes each of the tests.
+     */
+    @Before
+    public void initialize() {
+        session = sessionFactory.openSession();
+        tx = session.beginTransaction();
+        daoFactory = new HibernateDaoFactory(session);
+        preparedStatements.clear();
+    }
+
+    /**
+     * Rolls back the transaction used by each test.
+     */
+    @After
+    public void tearDown() {
+        if (tx != null) {
+            tx.rollback();
+        }
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    /**
+     * @return a reference to an analysis that doesn't load the analysis.
+     */
+    private TransformationActivity analysisReference() {
+        return (TransformationActivity) session.load(TransformationActivity.class, 1L);
+    }
+
+    /**
+     * @return a reference to a user that doesn't load the user.
+     */
+    private User userReference() {
+        return (User) session.load(User.class, 1L);
+    }
+
+    /**
+     * Verifies that finding the template groups that contain an analysis uses the template_id index.
+     */
+    @Test
+    public void testFindTemplateGroupsContainingAnalysis() {
+        daoFactory.getTemplateGroupDao().findTemplateGroupsContainingAnalysis(analysisReference());
+        daoFactory.getTemplateGroupDao().isAnalysisInGroupOutsideWorkspace(analysisReference(), 1L);
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that finding the analyses that reference a template follows indexes from the template identifier.
+     */
+    @Test
+    public void testGetAnalysesReferencingTemplateId() {
+        daoFactory.getTransformationActivityDao().getAnalysesReferencingTemplateId("template");
+        daoFactory.getTemplateGroupDao().isTemplateInGroupOutsideWorkspace("template", 1L);
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that the rating lookups use the ratings indexes.
+     */
+    @Test
+    public void testRatings() {
+        daoFactory.getRatingDao().findByUserAndTransformationActivity(userReference(), analysisReference());
+        daoFactory.getRatingDao().getVoteAverageForTransformationActivity(analysisReference());
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that deployed component lookups use the deployed component indexes.
+     */
+    @Test
+    public void testDeployedComponents() {
+        daoFactory.getDeployedComponentDao().findByNameAndLocation("name", "location");
+        daoFactory.getDeployedComponentDao().findByLocation("location");
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that the case-insensitive deployed component search uses the trigram indexes.
+     */
+    @Test
+    public void testDeployedComponentSearch() {
+        new DeployedComponentRetrievalService(sessionFactory).searchComponents("name");
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that the lookups by name use the name indexes.
+     */
+    @Test
+    public void testFindByName() {
+        daoFactory.getTemplateDao().findByName("name");
+        daoFactory.getTransformationActivityDao().findByName("name");
+        daoFactory.getTemplateGroupDao().findByName("name");
+        daoFactory.getDeployedComponentDao().findByName("name");
+        daoFactory.getPropertyTypeDao().findByName("name");
+        daoFactory.getValueTypeDao().findByName("name");
+        daoFactory.getRuleTypeDao().findByName("name");
+        daoFactory.getInfoTypeDao().findByName("name");
+        daoFactory.getMultiplicityDao().findByName("name");
+        daoFactory.getDataFormatDao().findByName("name");
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that finding the notification sets for an analysis uses the template_id index.
+     */
+    @Test
+    public void testFindNotificationSetsForAnalysisId() {
+        daoFactory.getNotificationSetDao().findNotificationSetsForAnalysisId("analysis");
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that the joins used to load an analysis's ratings and suggested groups use indexes.
+     */
+    @Test
+    public void testAnalysisCollections() {
+        session.createQuery("select r from TransformationActivity a join a.ratings r where a.hid = :hid")
+                .setLong("hid", 1).list();
+        session.createQuery("select g from TransformationActivity a join a.suggestedGroups g where a.hid = :hid")
+                .setLong("hid", 1).list();
+        assertNoFullScans();
+    }
+
+    /**
+     * Verifies that none of the statements prepared by Hibernate since the test started requires a full scan.
+     */
+    private void assertNoFullScans() {
+        List<String> statements = new ArrayList<String>(preparedStatements);
+        assertTrue("no statements were prepared", !statements.isEmpty());
+        for (String sql : statements) {
+            List<String> fullScans = findFullScans(sql);
+            assertTrue(fullScans + " in the plan for: " + sql, fullScans.isEmpty());
+        }
+    }
+
+    /**
+     * Obtains the generic plan of a statement and lists the full scans in it.
+     *
+     * @param sql the SQL statement, with JDBC parameter placeholders.
+     * @return descriptions of the full scans in the plan.
+     */
+    private List<String> findFullScans(final String sql) {
+        final List<String> fullScans = new ArrayList<String>();
+        session.doWork(new Work() {
+            @Override
+            public void execute(Connection connection) throws SQLException {
+                Statement statement = connection.createStatement();
+                try {
+                    statement.execute("SET LOCAL enable_seqscan = off");
+                    statement.execute("SET LOCAL enable_hashjoin = off");
+                    statement.execute("SET LOCAL enable_mergejoin = off");
+                    statement.execute("SET LOCAL plan_cache_mode = force_generic_plan");
+                    int parameterCount = countParameters(sql);
+                    statement.execute("PREPARE " + STATEMENT_NAME + " AS " + numberParameters(sql));
+                    try {
+                        ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE " + STATEMENT_NAME
+                                + nullArguments(parameterCount));
+                        rs.next();
+                        JSONArray plans = new JSONArray(rs.getString(1));
+                        rs.close();
+                        addFullScans(plans.getJSONObject(0).getJSONObject("Plan"), fullScans);
+                    }
+                    catch (JSONException e) {
+                        throw new SQLException("unable to parse the plan for: " + sql, e);
+                    }
+                    finally {
+                        statement.execute("DEALLOCATE " + STATEMENT_NAME);
+                    }
+                }
+                finally {
+                    statement.close();
+                }
+            }
+        });
+        return fullScans;
+    }
+
+    /**
+     * Adds the full scans in a plan node and all of its children.
+     *
+     * @param node the plan node.
+     * @param fullScans the list of full scan descriptions to add to.
+     * @throws JSONException if the plan node can't be read.
+     */
+    private void addFullScans(JSONObject node, List<String> fullScans) throws JSONException {
+        String nodeType = node.getString("Node Type");
+        boolean indexScan = nodeType.equals("Index Scan") || nodeType.equals("Index Only Scan");
+        if (nodeType.equals("Seq Scan") || indexScan && !node.has("Index Cond")) {
+            fullScans.add(nodeType + " on " + node.optString("Relation Name"));
+        }
+        JSONArray children = node.optJSONArray("Plans");
+        for (int i = 0; children != null && i < children.length(); i++) {
+            addFullScans(children.getJSONObject(i), fullScans);
+        }
+    }
+
+    /**
+     * @param sql the SQL statement.
+     * @return the number of JDBC parameter placeholders in the statement.
+     */
+    private int countParameters(String sql) {
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            if (sql.charAt(i) == '?') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replaces the JDBC parameter placeholders in a statement with numbered PostgreSQL placeholders.
+     *
+     * @param sql the SQL statement.
+     * @return the SQL statement with numbered placeholders.
+     */
+    private String numberParameters(String sql) {
+        StringBuilder builder = new StringBuilder();
+        int count = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                builder.append('$').append(++count);
+            }
+            else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The arguments don't affect a generic plan, so nulls are used because they're accepted for every parameter type.
+     *
+     * @param count the number of parameters.
+     * @return the argument list for EXECUTE, or an empty string if there are no parameters.
+     */
+    private String nullArguments(int count) {
+        if (count == 0) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder("(NULL");
+        for (int i = 1; i < count; i++) {
+            builder.append(", NULL");
+        }
+        return builder.append(")").toString();
+    }
+
+    /**
+     * Records the SQL statements prepared by Hibernate.
+     */
+    private static class StatementRecorder extends EmptyInterceptor {
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String onPrepareStatement(String sql) {
+            preparedStatements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.iplantc.workflow.dao.hibernate;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.apache.commons.io.FileUtils;
+import org.hibernate.Interceptor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AnnotationConfiguration;
+import org.hibernate.connection.DriverManagerConnectionProvider;
+import org.hibernate.jdbc.Work;
+import org.iplantc.workflow.core.Rating;
+import org.iplantc.workflow.core.TransformationActivityReference;
+
+/**
+ * Creates session factories for a scratch PostgreSQL database, for tests that have to run against a real database.
+ * The database is specified using the system properties that are set by the query-plans Maven profile, for example:
+ *
+ *     mvn -P query-plans test -DqueryPlans.url=jdbc:postgresql://localhost/scratch
+ *
+ * The public schema of that database is dropped and re-created each time a session factory is created, and the schema
+ * migrations are applied once Hibernate has created the tables.
+ */
+public class ScratchDatabase {
+
+    /**
+     * The names of the system properties used to connect to the scratch database.
+     */
+    private static final String URL_PROPERTY = "queryPlans.url";
+    private static final String USERNAME_PROPERTY = "queryPlans.username";
+    private static final String PASSWORD_PROPERTY = "queryPlans.password";
+
+    /**
+     * The directory containing the schema migrations.
+     */
+    private static final String MIGRATION_DIR = "src/main/sql/migrations";
+
+    /**
+     * The annotated classes that are mapped outside of hibernate.cfg.xml.
+     */
+    private static final Class<?>[] ANNOTATED_CLASSES = {Rating.class, TransformationActivityReference.class};
+
+    /**
+     * Prevent instantiation.
+     */
+    private ScratchDatabase() {
+    }
+
+    /**
+     * @return true if a scratch database was specified.
+     */
+    public static boolean isAvailable() {
+        String url = System.getProperty(URL_PROPERTY);
+        return url != null && url.length() > 0;
+    }
+
+    /**
+     * Re-creates the schema in the scratch database and creates a session factory for it.
+     *
+     * @param interceptor the interceptor to install in the session factory, or null if none is needed.
+     * @return the session factory.
+     * @throws Exception if the schema can't be created.
+     */
+    public static SessionFactory createSessionFactory(Interceptor interceptor) throws Exception {
+        String url = System.getProperty(URL_PROPERTY);
+        Class.forName("org.postgresql.Driver");
+        resetSchema(url);
+
+        AnnotationConfiguration configuration = new AnnotationConfiguration().configure("hibernate.cfg.xml");
+        for (Class<?> annotatedClass : ANNOTATED_CLASSES) {
+            configuration.addAnnotatedClass(annotatedClass);
+        }
+        configuration.setProperty("hibernate.connection.provider_class",
+                DriverManagerConnectionProvider.class.getName());
+        configuration.setProperty("hibernate.connection.url", url);
+        configuration.setProperty("hibernate.connection.username", System.getProperty(USERNAME_PROPERTY, ""));
+        configuration.setProperty("hibernate.connection.password", System.getProperty(PASSWORD_PROPERTY, ""));
+        configuration.setProperty("hibernate.hbm2ddl.auto", "create");
+        configuration.setProperty("hibernate.show_sql", "false");
+        if (interceptor != null) {
+            configuration.setInterceptor(interceptor);
+        }
+        SessionFactory sessionFactory = configuration.buildSessionFactory();
+
+        applyMigrations(sessionFactory);
+        return sessionFactory;
+    }
+
+    /**
+     * Drops and re-creates the public schema so that the Hibernate mappings and the migrations start from scratch.
+     *
+     * @param url the database URL.
+     * @throws SQLException if the schema can't be re-created.
+     */
+    private static void resetSchema(String url) throws SQLException {
+        Connection connection = DriverManager.getConnection(url, System.getProperty(USERNAME_PROPERTY, ""),
+                System.getProperty(PASSWORD_PROPERTY, ""));
+        try {
+            Statement statement = connection.createStatement();
+            statement.execute("DROP SCHEMA IF EXISTS public CASCADE");
+            statement.execute("CREATE SCHEMA public");
+            statement.close();
+        }
+        finally {
+            connection.close();
+        }
+    }
+
+    /**
+     * Applies the schema migrations in version order.
+     *
+     * @param sessionFactory the session factory for the scratch database.
+     */
+    private static void applyMigrations(SessionFactory sessionFactory) {
+        final File[] migrations = listMigrations();
+        Session session = sessionFactory.openSession();
+        Transaction tx = null;
+        try {
+            tx = session.beginTransaction();
+            session.doWork(new Work() {
+                @Override
+                public void execute(Connection connection) throws SQLException {
+                    for (File migration : migrations) {
+                        Statement statement = connection.createStatement();
+                        try {
+                            statement.execute(readMigration(migration));
+                        }
+                        finally {
+                            statement.close();
+                        }
+                    }
+                }
+            });
+            tx.commit();
+        }
+        catch (RuntimeException e) {
+            if (tx != null) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        finally {
+            session.close();
+        }
+    }
+
+    /**
+     * @return the schema migration files, sorted by version.
+     */
+    private static File[] listMigrations() {
+        File dir = new File(System.getProperty("basedir", "."), MIGRATION_DIR);
+        File[] migrations = dir.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.matches("V\\d+__.*\\.sql");
+            }
+        });
+        assertTrue("no migrations found in " + dir, migrations != null && migrations.length > 0);
+        Arrays.sort(migrations, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return migrationVersion(o1).compareTo(migrationVersion(o2));
+            }
+        });
+        return migrations;
+    }
+
+    /**
+     * @param migration the migration file.
+     * @return the migration version.
+     */
+    private static Long migrationVersion(File migration) {
+        String name = migration.getName();
+        return Long.valueOf(name.substring(1, name.indexOf("__")));
+    }
+
+    /**
+     * @param migration the migration file.
+     * @return the contents of the migration file.
+     * @throws SQLException if the file can't be read.
+     */
+    private static String readMigration(File migration) throws SQLException {
+        try {
+            return FileUtils.readFileToString(migration, "UTF-8");
+        }
+        catch (IOException e) {
+            throw new SQLException("unable to read " + migration, e);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.iplantc.persistence.dao.listing.AnalysisListingDao;
 import org.iplantc.persistence.dao.listing.RatingListingDao;
 import org.iplantc.persistence.dao.refgenomes.ReferenceGenomeDao;
 import org.iplantc.persistence.dao.user.UserDao;
+import org.iplantc.workflow.dao.AnalysisListingRowDao;
 import org.iplantc.workflow.dao.DaoFactory;
 import org.iplantc.workflow.dao.DataFormatDao;
 import org.iplantc.workflow.dao.DeployedComponentDao;
@@ -23,6 +24,7 @@ import org.iplantc.workflow.dao.TemplateDao;
 import org.iplantc.workflow.dao.TemplateGroupDao;
 import org.iplantc.workflow.dao.TransformationActivityDao;
 import org.iplantc.workflow.dao.ValueTypeDao;
+import org.iplantc.workflow.dao.WorkspaceBootstrapDao;
 
 /**
  * A factory for generating mock data access objects.
@@ -121,6 +123,11 @@ public class MockDaoFactory implements DaoFactory {
      */
     private MockToolTypeDao toolTypeDao;
 
+    /**
+     * The mock workspace bootstrap DAO.
+     */
+    private MockWorkspaceBootstrapDao workspaceBootstrapDao;
+
     /**
      * @param dataFormatDao the new mock data format DAO.
      */
@@ -294,6 +301,7 @@ public class MockDaoFactory implements DaoFactory {
      */
     public void setMockWorkspaceDao(MockWorkspaceDao workspaceDao) {
         this.workspaceDao = workspaceDao;
+        this.workspaceBootstrapDao = new MockWorkspaceBootstrapDao(this.userDao, this.workspaceDao);
     }
 
     /**
@@ -308,6 +316,7 @@ public class MockDaoFactory implements DaoFactory {
      */
     public void setMockUserDao(MockUserDao userDao) {
         this.userDao = userDao;
+        this.workspaceBootstrapDao = new MockWorkspaceBootstrapDao(this.userDao, this.workspaceDao);
     }
 
     /**
@@ -388,6 +397,7 @@ public class MockDaoFactory implements DaoFactory {
         integrationDatumDao = new MockIntegrationDatumDao();
         dataSourceDao = new MockDataSourceDao();
         toolTypeDao = new MockToolTypeDao();
+        workspaceBootstrapDao = new MockWorkspaceBootstrapDao(userDao, workspaceDao);
     }
 
     /**
@@ -535,7 +545,7 @@ public class MockDaoFactory implements DaoFactory {
      */
     @Override
     public ReferenceGenomeDao getReferenceGenomeDao() {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return referenceGenomeDao;
     }
 
     /**
@@ -561,4 +571,27 @@ public class MockDaoFactory implements DaoFactory {
     public ToolTypeDao getToolTypeDao() {
         return toolTypeDao;
     }
+
+    /**
+     * @return the mock workspace bootstrap DAO.
+     */
+    public MockWorkspaceBootstrapDao getMockWorkspaceBootstrapDao() {
+        return workspaceBootstrapDao;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public WorkspaceBootstrapDao getWorkspaceBootstrapDao() {
+        return workspaceBootstrapDao;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AnalysisListingRowDao getAnalysisListingRowDao() {
+        throw new UnsupportedOperationException("Not supported yet.");
+    }
 }
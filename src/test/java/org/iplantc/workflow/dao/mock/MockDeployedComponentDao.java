@@ -1,11 +1,17 @@
 package org.iplantc.workflow.dao.mock;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.DeployedComponentSummary;
 import org.iplantc.workflow.dao.DeployedComponentDao;
+import org.iplantc.workflow.dao.PagingCriteria;
+import org.iplantc.workflow.dao.ResultPage;
 import org.iplantc.workflow.util.ListUtils;
 import org.iplantc.workflow.util.Predicate;
 
@@ -50,4 +56,86 @@ public class MockDeployedComponentDao extends MockObjectDao<DeployedComponent> i
             }
         }, savedObjects);
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ResultPage<DeployedComponent> findPage(final String name, final String location, PagingCriteria paging) {
+        List<DeployedComponent> matches = ListUtils.filter(new Predicate<DeployedComponent>() {
+            @Override
+            public Boolean call(DeployedComponent arg) {
+                return (name == null || StringUtils.equals(name, arg.getName()))
+                        && (location == null || StringUtils.equals(location, arg.getLocation()));
+            }
+        }, savedObjects);
+        return page(matches, paging);
+    }
+
+    /**
+     * {@inheritDoc}
+     * 
+     * SQL LIKE wildcards in the search term are treated as literal characters.
+     */
+    @Override
+    public ResultPage<DeployedComponentSummary> findSummaries(final String searchTerm, PagingCriteria paging) {
+        List<DeployedComponent> matches = ListUtils.filter(new Predicate<DeployedComponent>() {
+            @Override
+            public Boolean call(DeployedComponent arg) {
+                return searchTerm == null || containsIgnoringCase(arg.getName(), searchTerm)
+                        || containsIgnoringCase(arg.getDescription(), searchTerm);
+            }
+        }, savedObjects);
+        ResultPage<DeployedComponent> components = page(matches, paging);
+        List<DeployedComponentSummary> summaries = new ArrayList<DeployedComponentSummary>();
+        for (DeployedComponent component : components.getItems()) {
+            summaries.add(new DeployedComponentSummary(component));
+        }
+        return new ResultPage<DeployedComponentSummary>(summaries, components.getTotal());
+    }
+
+    /**
+     * @param str the string to search, which may be null.
+     * @param searchStr the string to search for.
+     * @return true if the string contains the search string, ignoring case.
+     */
+    private static boolean containsIgnoringCase(String str, String searchStr) {
+        return str != null && str.toLowerCase().contains(searchStr.toLowerCase());
+    }
+
+    /**
+     * Sorts a list of deployed components and extracts a single page from it.
+     * 
+     * @param components the deployed components.
+     * @param paging the offset, limit and sort order of the page.
+     * @return the page.
+     */
+    private ResultPage<DeployedComponent> page(List<DeployedComponent> components, final PagingCriteria paging) {
+        final String field = paging.getSortField() == null ? "name" : paging.getSortField();
+        if (!field.equals("id") && !field.equals("name") && !field.equals("location") && !field.equals("version")) {
+            throw new IllegalArgumentException("unable to sort by field: " + field);
+        }
+        List<DeployedComponent> sorted = new ArrayList<DeployedComponent>(components);
+        Collections.sort(sorted, new Comparator<DeployedComponent>() {
+            @Override
+            public int compare(DeployedComponent o1, DeployedComponent o2) {
+                int result = StringUtils.defaultString(sortKey(o1)).compareTo(StringUtils.defaultString(sortKey(o2)));
+                if (result == 0) {
+                    result = o1.getId().compareTo(o2.getId());
+                }
+                return paging.isAscending() ? result : -result;
+            }
+
+            private String sortKey(DeployedComponent component) {
+                return field.equals("id") ? component.getId()
+                        : field.equals("name") ? component.getName()
+                        : field.equals("location") ? component.getLocation()
+                        : component.getVersion();
+            }
+        });
+        int start = Math.min(paging.getOffset(), sorted.size());
+        int end = paging.getLimit() == null ? sorted.size() : Math.min(start + paging.getLimit(), sorted.size());
+        return new ResultPage<DeployedComponent>(new ArrayList<DeployedComponent>(sorted.subList(start, end)),
+                sorted.size());
+    }
 }
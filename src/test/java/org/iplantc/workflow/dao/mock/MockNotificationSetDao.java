@@ -1,7 +1,10 @@
 package org.iplantc.workflow.dao.mock;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.workflow.core.TransformationActivity;
@@ -52,4 +55,32 @@ public class MockNotificationSetDao extends MockObjectDao<NotificationSet> imple
     public void deleteNotificationSetsForAnalysisId(String analysisId) {
         deleteAll(findNotificationSetsForAnalysisId(analysisId));
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<String> findAnalysisIdsWithNotificationSets(Collection<String> analysisIds) {
+        Set<String> result = new HashSet<String>();
+        for (NotificationSet currentNotificationSet : getSavedObjects()) {
+            if (analysisIds.contains(currentNotificationSet.getTemplate_id())) {
+                result.add(currentNotificationSet.getTemplate_id());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteNotificationSetsForAnalysisIds(Collection<String> analysisIds) {
+        List<NotificationSet> matchingNotificationSets = new LinkedList<NotificationSet>();
+        for (NotificationSet currentNotificationSet : getSavedObjects()) {
+            if (analysisIds.contains(currentNotificationSet.getTemplate_id())) {
+                matchingNotificationSets.add(currentNotificationSet);
+            }
+        }
+        deleteAll(matchingNotificationSets);
+    }
 }
@@ -3,12 +3,16 @@ package org.iplantc.workflow.dao.mock;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.NamedAndUnique;
 import org.iplantc.workflow.dao.GenericObjectDao;
+import org.iplantc.workflow.metrics.QueryTracker;
 
 /**
  * A mock object saver used for unit testing.
@@ -24,6 +28,11 @@ public class MockObjectDao<T extends NamedAndUnique> implements GenericObjectDao
      */
     List<T> savedObjects = new LinkedList<T>();
 
+    /**
+     * The number of lookups that would have required a database query.
+     */
+    private int queryCount = 0;
+
     /**
      * @return the list of saved objects.
      */
@@ -31,6 +40,31 @@ public class MockObjectDao<T extends NamedAndUnique> implements GenericObjectDao
         return Collections.unmodifiableList(savedObjects);
     }
 
+    /**
+     * @return the number of lookups that would have required a database query.
+     */
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    /**
+     * Resets the number of lookups that would have required a database query.
+     */
+    public void resetQueryCount() {
+        queryCount = 0;
+    }
+
+    /**
+     * Records a lookup that would have required a database query. The lookup is also reported to the query tracker
+     * so that tests can detect repeated queries in the same way that they would be detected in production.
+     * 
+     * @param shape a description of the query that identifies lookups of the same kind.
+     */
+    protected void recordQuery(String shape) {
+        queryCount++;
+        QueryTracker.record(getClass().getSimpleName() + "." + shape);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -77,6 +111,21 @@ public class MockObjectDao<T extends NamedAndUnique> implements GenericObjectDao
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteByIds(Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            recordQuery("deleteByIds");
+            for (Iterator<T> it = savedObjects.iterator(); it.hasNext();) {
+                if (ids.contains(it.next().getId())) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
     /**
      * Finds the position of the given object in the list of saved objects.
      * 
@@ -100,6 +149,7 @@ public class MockObjectDao<T extends NamedAndUnique> implements GenericObjectDao
      */
     @Override
     public List<T> findAll() {
+        recordQuery("findAll");
         return savedObjects;
     }
 
@@ -108,6 +158,7 @@ public class MockObjectDao<T extends NamedAndUnique> implements GenericObjectDao
      */
     @Override
     public T findById(String id) {
+        recordQuery("findById");
         T result = null;
         for (T object : savedObjects) {
             if (StringUtils.equals(id, object.getId())) {
@@ -118,11 +169,29 @@ public class MockObjectDao<T extends NamedAndUnique> implements GenericObjectDao
         return result;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, T> findByIds(Collection<String> ids) {
+        Map<String, T> result = new HashMap<String, T>();
+        if (!ids.isEmpty()) {
+            recordQuery("findByIds");
+            for (T object : savedObjects) {
+                if (ids.contains(object.getId())) {
+                    result.put(object.getId(), object);
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public List<T> findByName(String name) {
+        recordQuery("findByName");
         List<T> result = new ArrayList<T>();
         for (T object : savedObjects) {
             if (StringUtils.equals(name, object.getName())) {
@@ -18,13 +18,26 @@ public class MockReferenceGenomeDao implements ReferenceGenomeDao {
     /**
      * the list of reference genomes that have been saved already.
      */
-    private List<ReferenceGenome> savedObjects;
+    private List<ReferenceGenome> savedObjects = new ArrayList<ReferenceGenome>();
+
+    /**
+     * The number of times that a reference genome has been looked up by UUID.
+     */
+    private int uuidLookupCount;
+
+    /**
+     * @return the number of times that a reference genome has been looked up by UUID.
+     */
+    public int getUuidLookupCount() {
+        return uuidLookupCount;
+    }
 
     /**
      * {@inheritDoc}
      */
     @Override
     public ReferenceGenome findByUuid(final String id) {
+        uuidLookupCount++;
         return ListUtils.first(new Predicate<ReferenceGenome>() {
             @Override
             public Boolean call(ReferenceGenome arg) {
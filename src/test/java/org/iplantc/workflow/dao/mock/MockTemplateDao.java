@@ -1,7 +1,11 @@
 package org.iplantc.workflow.dao.mock;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
+import org.apache.commons.lang.StringUtils;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.TemplateDao;
@@ -16,6 +20,18 @@ import org.iplantc.workflow.util.ListUtils;
  */
 public class MockTemplateDao extends MockObjectDao<Template> implements TemplateDao {
 
+    /**
+     * The template elements that have been deleted.
+     */
+    private List<Object> deletedTemplateElements = new ArrayList<Object>();
+
+    /**
+     * @return the template elements that have been deleted.
+     */
+    public List<Object> getDeletedTemplateElements() {
+        return Collections.unmodifiableList(deletedTemplateElements);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -40,4 +56,26 @@ public class MockTemplateDao extends MockObjectDao<Template> implements Template
             }
         }, analysis.getTemplateIds());
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Template> findTemplatesUsingComponent(String componentId) {
+        List<Template> templates = new ArrayList<Template>();
+        for (Template template : getSavedObjects()) {
+            if (StringUtils.equals(componentId, template.getComponent())) {
+                templates.add(template);
+            }
+        }
+        return templates;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteTemplateElements(Collection<?> elements) {
+        deletedTemplateElements.addAll(elements);
+    }
 }
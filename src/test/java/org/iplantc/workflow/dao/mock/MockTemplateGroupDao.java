@@ -7,6 +7,8 @@ import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.TemplateGroupDao;
 import org.iplantc.workflow.template.groups.TemplateGroup;
+import org.iplantc.workflow.template.groups.TemplateGroupHierarchyBuilder;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
 
 /**
  * Used to access persistent template groups.
@@ -74,6 +76,48 @@ public class MockTemplateGroupDao extends MockObjectDao<TemplateGroup> implement
         return results;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAnalysisInGroupOutsideWorkspace(TransformationActivity analysis, Long workspaceId) {
+        for (TemplateGroup templateGroup : getSavedObjects()) {
+            if (isOutsideWorkspace(templateGroup, workspaceId)
+                    && templateGroup.directlyContainsAnalysisWithId(analysis.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isTemplateInGroupOutsideWorkspace(String templateId, Long workspaceId) {
+        for (TemplateGroup templateGroup : getSavedObjects()) {
+            if (isOutsideWorkspace(templateGroup, workspaceId)) {
+                for (TransformationActivity analysis : templateGroup.getTemplates()) {
+                    if (analysis.getTemplateIds().contains(templateId)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines whether or not a template group is outside of a workspace.
+     *
+     * @param templateGroup the template group.
+     * @param workspaceId the workspace identifier or null if the user doesn't have a workspace.
+     * @return true if the template group is outside of the workspace.
+     */
+    private boolean isOutsideWorkspace(TemplateGroup templateGroup, Long workspaceId) {
+        return workspaceId == null || templateGroup.getWorkspaceId() != workspaceId;
+    }
+
     @Override
     public List<TemplateGroup> findTemplateGroupContainingSubgroup(TemplateGroup group) {
          List<TemplateGroup> results = new ArrayList<TemplateGroup>();
@@ -84,4 +128,154 @@ public class MockTemplateGroupDao extends MockObjectDao<TemplateGroup> implement
         }
         return results;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TemplateGroupNode findHierarchy(long rootHid) {
+        TemplateGroup root = findGroupInHierarchies(rootHid);
+        if (root == null) {
+            return null;
+        }
+        return new TemplateGroupHierarchyBuilder().addGroupTree(root).build(rootHid);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int countActiveAnalyses(long hid) {
+        TemplateGroup group = findGroupInHierarchies(hid);
+        return group == null ? 0 : group.countActiveTemplates();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean containsActiveAnalyses(long hid) {
+        TemplateGroup group = findGroupInHierarchies(hid);
+        return group != null && group.containsActiveAnalyses();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findAncestorHids(long hid) {
+        List<Long> results = new ArrayList<Long>();
+        for (TemplateGroup group : listAllGroups()) {
+            if (group.getHid() != hid && containsSubgroup(group, hid)) {
+                results.add(group.getHid());
+            }
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Long> findTemplateGroupHidsContainingAnalysis(TransformationActivity analysis) {
+        List<Long> results = new ArrayList<Long>();
+        for (TemplateGroup group : listAllGroups()) {
+            for (TemplateGroup candidate : listGroupsInHierarchy(group)) {
+                if (candidate.directlyContainsAnalysisWithId(analysis.getId())) {
+                    results.add(group.getHid());
+                    break;
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TemplateGroupNode findNodeById(String id) {
+        for (TemplateGroup group : listAllGroups()) {
+            if (group.getId().equals(id)) {
+                return new TemplateGroupNode(group.getHid(), group.getId(), group.getName(), group.getDescription(),
+                        group.getWorkspaceId(), group.countActiveTemplates(), new ArrayList<TemplateGroupNode>());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Long findSubgroupHid(long parentHid, int index) {
+        TemplateGroup parent = findGroupInHierarchies(parentHid);
+        if (parent == null || parent.getSub_groups().size() <= index) {
+            return null;
+        }
+        return parent.getSub_groups().get(index).getHid();
+    }
+
+    /**
+     * @param hid the internal identifier of the template group to search for.
+     * @return the template group with the given internal identifier, which may be a subgroup of a saved group.
+     */
+    private TemplateGroup findGroupInHierarchies(long hid) {
+        for (TemplateGroup group : listAllGroups()) {
+            if (group.getHid() == hid) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param group the template group.
+     * @param hid the internal identifier of the subgroup to search for.
+     * @return true if the template group has a descendant with the given internal identifier.
+     */
+    private boolean containsSubgroup(TemplateGroup group, long hid) {
+        for (TemplateGroup descendant : listGroupsInHierarchy(group)) {
+            if (descendant != group && descendant.getHid() == hid) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the saved template groups and all of their descendants.
+     */
+    private List<TemplateGroup> listAllGroups() {
+        List<TemplateGroup> results = new ArrayList<TemplateGroup>();
+        for (TemplateGroup group : getSavedObjects()) {
+            addGroupsInHierarchy(group, results);
+        }
+        return results;
+    }
+
+    /**
+     * @param root the root of the hierarchy.
+     * @return the root and all of its descendants.
+     */
+    private List<TemplateGroup> listGroupsInHierarchy(TemplateGroup root) {
+        List<TemplateGroup> results = new ArrayList<TemplateGroup>();
+        addGroupsInHierarchy(root, results);
+        return results;
+    }
+
+    /**
+     * Adds a template group and all of its descendants to a list if they're not in the list already.
+     *
+     * @param group the template group.
+     * @param results the list of template groups.
+     */
+    private void addGroupsInHierarchy(TemplateGroup group, List<TemplateGroup> results) {
+        if (!results.contains(group)) {
+            results.add(group);
+            for (TemplateGroup subgroup : group.getSub_groups()) {
+                addGroupsInHierarchy(subgroup, results);
+            }
+        }
+    }
 }
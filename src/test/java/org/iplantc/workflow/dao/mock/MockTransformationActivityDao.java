@@ -1,14 +1,18 @@
 package org.iplantc.workflow.dao.mock;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
 import org.iplantc.persistence.dto.step.TransformationStep;
 import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.PipelineEligibility;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.TransformationActivityDao;
 import org.iplantc.persistence.dto.transformation.Transformation;
@@ -65,4 +69,47 @@ public class MockTransformationActivityDao extends MockObjectDao<TransformationA
         }
         return analyses.isEmpty() ? null : analyses.get(0);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The mock implementation doesn't have access to templates, so only the analysis modification date is used.
+     */
+    @Override
+    public Long getVersion(String analysisId) {
+        TransformationActivity analysis = findById(analysisId);
+        if (analysis == null) {
+            return null;
+        }
+        return analysis.getLastModified() == null ? 0 : analysis.getLastModified().getTime();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, PipelineEligibility> getPipelineEligibility(Collection<String> analysisIds) {
+        Map<String, PipelineEligibility> result = new HashMap<String, PipelineEligibility>();
+        for (TransformationActivity analysis : getSavedObjects()) {
+            if (analysis.getPipelineEligible() != null && analysisIds.contains(analysis.getId())) {
+                result.put(analysis.getId(), new PipelineEligibility(analysis.getPipelineEligible(),
+                        analysis.getPipelineIneligibilityReason()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getIdsWithoutPipelineEligibility(int maxResults) {
+        List<String> result = new ArrayList<String>();
+        for (TransformationActivity analysis : getSavedObjects()) {
+            if (analysis.getPipelineEligible() == null && result.size() < maxResults) {
+                result.add(analysis.getId());
+            }
+        }
+        return result;
+    }
 }
@@ -2,8 +2,9 @@ package org.iplantc.workflow.dao.mock;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.iplantc.persistence.dao.user.UserDao;
 import org.iplantc.persistence.dto.user.User;
 
@@ -12,13 +13,13 @@ import org.iplantc.persistence.dto.user.User;
  * @author Kris Healy <healyk@iplantcollaborative.org>
  */
 public class MockUserDao implements UserDao {
-    private HashMap<Long, User> users;
-    private HashMap<String, User> usernameIndex;
+    private Map<Long, User> users;
+    private Map<String, User> usernameIndex;
     private long currentId;
     
     public MockUserDao() {
-        users = new HashMap<Long, User>();
-        usernameIndex = new HashMap<String, User>();
+        users = new ConcurrentHashMap<Long, User>();
+        usernameIndex = new ConcurrentHashMap<String, User>();
         currentId = 1;
     }
     
@@ -28,7 +29,7 @@ public class MockUserDao implements UserDao {
     }
 
     @Override
-    public void save(User object) {
+    public synchronized void save(User object) {
         object.setId(currentId);
         currentId++;
         
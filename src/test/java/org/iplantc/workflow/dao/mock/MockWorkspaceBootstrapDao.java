@@ -0,0 +1,67 @@
+package org.iplantc.workflow.dao.mock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.iplantc.persistence.dto.user.User;
+import org.iplantc.persistence.dto.workspace.Workspace;
+import org.iplantc.workflow.dao.WorkspaceBootstrapDao;
+
+/**
+ * A mock workspace bootstrap data access object for testing. Lookups are delegated to the mock user and workspace
+ * data access objects. Lock requests are only counted because the mock data access objects make each change visible
+ * as soon as it's made.
+ */
+public class MockWorkspaceBootstrapDao implements WorkspaceBootstrapDao {
+
+    /**
+     * The mock user data access object.
+     */
+    private final MockUserDao userDao;
+
+    /**
+     * The mock workspace data access object.
+     */
+    private final MockWorkspaceDao workspaceDao;
+
+    /**
+     * The number of times a username has been locked.
+     */
+    private final AtomicInteger lockCount = new AtomicInteger();
+
+    /**
+     * @param userDao the mock user data access object.
+     * @param workspaceDao the mock workspace data access object.
+     */
+    public MockWorkspaceBootstrapDao(MockUserDao userDao, MockWorkspaceDao workspaceDao) {
+        this.userDao = userDao;
+        this.workspaceDao = workspaceDao;
+    }
+
+    /**
+     * @return the number of times a username has been locked.
+     */
+    public int getLockCount() {
+        return lockCount.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Workspace findInitializedWorkspace(String username) {
+        User user = userDao.findByUsername(username);
+        if (user == null) {
+            return null;
+        }
+        Workspace workspace = workspaceDao.findByUser(user);
+        return workspace == null || workspace.getRootAnalysisGroupId() == null ? null : workspace;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void lockUsername(String username) {
+        lockCount.incrementAndGet();
+    }
+}
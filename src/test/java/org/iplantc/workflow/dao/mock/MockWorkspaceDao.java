@@ -1,9 +1,9 @@
 package org.iplantc.workflow.dao.mock;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.iplantc.persistence.dao.WorkspaceDao;
 import org.iplantc.persistence.dto.user.User;
 import org.iplantc.persistence.dto.workspace.Workspace;
@@ -26,7 +26,7 @@ public class MockWorkspaceDao implements WorkspaceDao {
     /**
      * The list of objects that have been saved.
      */
-    List<Workspace> savedObjects = new ArrayList<Workspace>();
+    List<Workspace> savedObjects = new CopyOnWriteArrayList<Workspace>();
 
     /**
      * @return the list of objects that have been saved.
@@ -52,7 +52,7 @@ public class MockWorkspaceDao implements WorkspaceDao {
      * {@inheritDoc}
      */
     @Override
-    public void save(Workspace workspace) {
+    public synchronized void save(Workspace workspace) {
         int index = ListUtils.firstIndex(new EqualsPredicate(workspace), savedObjects);
         if (index < 0) {
             workspace.setId(nextId++);
@@ -0,0 +1,361 @@
+package org.iplantc.workflow.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Connection;
+import com.rabbitmq.client.Consumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.MessageProperties;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.events.AmqpChangeEventBus. The buses in these tests are connected to an
+ * in-memory stub of the AMQP broker, so events pass through the JSON codec and the exchange bindings exactly as they
+ * would in a cluster.
+ */
+public class AmqpChangeEventBusTest {
+
+    /**
+     * The name of the exchange used by the buses in these tests.
+     */
+    private static final String EXCHANGE_NAME = "test.cache.invalidation";
+
+    /**
+     * The stubbed broker.
+     */
+    private StubBroker broker;
+
+    /**
+     * The bus used to publish events.
+     */
+    private AmqpChangeEventBus publisher;
+
+    /**
+     * The bus that represents another node in the cluster.
+     */
+    private AmqpChangeEventBus subscriber;
+
+    /**
+     * The events received by the publishing node.
+     */
+    private List<ChangeEvent> publisherEvents;
+
+    /**
+     * The events received by the subscribing node.
+     */
+    private List<ChangeEvent> subscriberEvents;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        broker = new StubBroker();
+        publisherEvents = new ArrayList<ChangeEvent>();
+        subscriberEvents = new ArrayList<ChangeEvent>();
+        publisher = createBus(EXCHANGE_NAME, publisherEvents);
+        subscriber = createBus(EXCHANGE_NAME, subscriberEvents);
+    }
+
+    /**
+     * Disconnects the buses from the stubbed broker.
+     */
+    @After
+    public void stopBuses() {
+        publisher.stop();
+        subscriber.stop();
+    }
+
+    /**
+     * Verifies that the bus declares a durable fanout exchange.
+     */
+    @Test
+    public void shouldDeclareFanoutExchange() {
+        assertEquals("fanout", broker.exchangeTypes.get(EXCHANGE_NAME));
+    }
+
+    /**
+     * Verifies that published events are delivered to the listeners on other nodes.
+     */
+    @Test
+    public void shouldDeliverEventsToOtherNodes() {
+        ChangeEvent event = new ChangeEvent(ChangeEventType.ANALYSIS_CHANGED, "analysisid");
+        publisher.publish(event);
+        assertEquals(1, subscriberEvents.size());
+        assertEquals(event, subscriberEvents.get(0));
+    }
+
+    /**
+     * Verifies that events affecting every object survive the trip through the broker.
+     */
+    @Test
+    public void shouldDeliverEventsForAllObjects() {
+        publisher.publish(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED));
+        assertEquals(1, subscriberEvents.size());
+        assertEquals(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED), subscriberEvents.get(0));
+        assertTrue(subscriberEvents.get(0).isAll());
+    }
+
+    /**
+     * Verifies that the publishing node delivers its own events once rather than again when they come back from the
+     * broker.
+     */
+    @Test
+    public void shouldNotRedeliverOwnEvents() {
+        ChangeEvent event = new ChangeEvent(ChangeEventType.TEMPLATE_CHANGED, "templateid");
+        publisher.publish(event);
+        assertEquals(1, publisherEvents.size());
+        assertEquals(event, publisherEvents.get(0));
+    }
+
+    /**
+     * Verifies that nodes only receive events from the exchange that they're bound to.
+     */
+    @Test
+    public void shouldNotDeliverEventsFromOtherExchanges() {
+        List<ChangeEvent> otherEvents = new ArrayList<ChangeEvent>();
+        AmqpChangeEventBus other = createBus("other.exchange", otherEvents);
+        try {
+            publisher.publish(ChangeEvent.all(ChangeEventType.COMPONENT_CHANGED));
+            assertTrue(otherEvents.isEmpty());
+            assertEquals(1, subscriberEvents.size());
+        }
+        finally {
+            other.stop();
+        }
+    }
+
+    /**
+     * Verifies that malformed messages are ignored.
+     */
+    @Test
+    public void shouldIgnoreMalformedEvents() throws IOException {
+        AMQP.BasicProperties properties = (AMQP.BasicProperties) MessageProperties.TEXT_PLAIN.clone();
+        properties.setAppId("some other node");
+        broker.publish(EXCHANGE_NAME, properties, "not a change event".getBytes("UTF-8"));
+        assertTrue(subscriberEvents.isEmpty());
+    }
+
+    /**
+     * Verifies that events are still delivered to local listeners after the bus has been disconnected.
+     */
+    @Test
+    public void shouldDeliverLocallyWhenDisconnected() {
+        publisher.stop();
+        assertTrue(broker.closed);
+        publisher.publish(ChangeEvent.all(ChangeEventType.RATING_CHANGED));
+        assertEquals(1, publisherEvents.size());
+        assertTrue(subscriberEvents.isEmpty());
+    }
+
+    /**
+     * Creates and starts a bus that is connected to the stubbed broker.
+     *
+     * @param exchangeName the name of the exchange.
+     * @param received the list that events delivered to the bus's listeners should be added to.
+     * @return the bus.
+     */
+    private AmqpChangeEventBus createBus(String exchangeName, final List<ChangeEvent> received) {
+        AmqpChangeEventBus bus = new AmqpChangeEventBus() {
+            @Override
+            protected Connection createConnection() {
+                return broker.connect();
+            }
+        };
+        bus.setExchangeName(exchangeName);
+        bus.addListener(new ChangeEventListener() {
+            @Override
+            public void onChange(ChangeEvent event) {
+                received.add(event);
+            }
+        });
+        bus.start();
+        return bus;
+    }
+
+    /**
+     * An in-memory stand-in for an AMQP broker that supports just enough of the client API for the change event bus.
+     * Connections and channels are dynamic proxies; messages published to an exchange are delivered synchronously to
+     * the consumers of every queue bound to it.
+     */
+    private static class StubBroker {
+
+        /**
+         * The types of the declared exchanges indexed by exchange name.
+         */
+        private final Map<String, String> exchangeTypes = new HashMap<String, String>();
+
+        /**
+         * The names of the queues bound to each exchange.
+         */
+        private final Map<String, List<String>> bindings = new HashMap<String, List<String>>();
+
+        /**
+         * The consumer for each queue.
+         */
+        private final Map<String, Consumer> consumers = new HashMap<String, Consumer>();
+
+        /**
+         * The number of queues that have been declared.
+         */
+        private int queueCount;
+
+        /**
+         * True if a connection to the broker has been closed.
+         */
+        private boolean closed;
+
+        /**
+         * @return a new connection to the broker.
+         */
+        public Connection connect() {
+            return stub(Connection.class, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    if (method.getName().equals("createChannel")) {
+                        return createChannel();
+                    }
+                    else if (method.getName().equals("close")) {
+                        closed = true;
+                    }
+                    return defaultResult(proxy, method, args);
+                }
+            });
+        }
+
+        /**
+         * Delivers a message to the consumers of every queue bound to an exchange.
+         *
+         * @param exchangeName the name of the exchange.
+         * @param properties the message properties.
+         * @param body the message body.
+         * @throws IOException if a consumer fails.
+         */
+        public void publish(String exchangeName, AMQP.BasicProperties properties, byte[] body) throws IOException {
+            List<String> queueNames = bindings.get(exchangeName);
+            if (queueNames != null) {
+                for (String queueName : queueNames) {
+                    Envelope envelope = new Envelope(1, false, exchangeName, "");
+                    consumers.get(queueName).handleDelivery(queueName, envelope, properties, body);
+                }
+            }
+        }
+
+        /**
+         * @return a new channel.
+         */
+        private Channel createChannel() {
+            return stub(Channel.class, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws IOException {
+                    String name = method.getName();
+                    if (name.equals("exchangeDeclare")) {
+                        exchangeTypes.put((String) args[0], (String) args[1]);
+                    }
+                    else if (name.equals("queueDeclare") && args == null) {
+                        return declareQueue("queue-" + ++queueCount);
+                    }
+                    else if (name.equals("queueBind")) {
+                        bind((String) args[1], (String) args[0]);
+                    }
+                    else if (name.equals("basicConsume") && args.length == 3) {
+                        consumers.put((String) args[0], (Consumer) args[2]);
+                        return args[0];
+                    }
+                    else if (name.equals("basicPublish") && args.length == 4) {
+                        publish((String) args[0], (AMQP.BasicProperties) args[2], (byte[]) args[3]);
+                    }
+                    return defaultResult(proxy, method, args);
+                }
+            });
+        }
+
+        /**
+         * Binds a queue to an exchange.
+         *
+         * @param exchangeName the name of the exchange.
+         * @param queueName the name of the queue.
+         */
+        private void bind(String exchangeName, String queueName) {
+            List<String> queueNames = bindings.get(exchangeName);
+            if (queueNames == null) {
+                queueNames = new ArrayList<String>();
+                bindings.put(exchangeName, queueNames);
+            }
+            queueNames.add(queueName);
+        }
+
+        /**
+         * @param queueName the name of the declared queue.
+         * @return the response to a queue declaration.
+         */
+        private AMQP.Queue.DeclareOk declareQueue(final String queueName) {
+            return stub(AMQP.Queue.DeclareOk.class, new InvocationHandler() {
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) {
+                    if (method.getName().equals("getQueue")) {
+                        return queueName;
+                    }
+                    return defaultResult(proxy, method, args);
+                }
+            });
+        }
+
+        /**
+         * Creates a dynamic proxy for an interface.
+         *
+         * @param <T> the interface type.
+         * @param type the interface.
+         * @param handler handles the method invocations.
+         * @return the proxy.
+         */
+        private static <T> T stub(Class<T> type, InvocationHandler handler) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, handler));
+        }
+
+        /**
+         * Determines the result of a method that the stubs don't otherwise handle.
+         *
+         * @param proxy the proxy that the method was invoked on.
+         * @param method the method.
+         * @param args the method arguments.
+         * @return the result.
+         */
+        private static Object defaultResult(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            else if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            else if (name.equals("toString")) {
+                return "stub " + method.getDeclaringClass().getSimpleName();
+            }
+            Class<?> returnType = method.getReturnType();
+            if (returnType == boolean.class) {
+                return false;
+            }
+            else if (returnType == int.class) {
+                return 0;
+            }
+            else if (returnType == long.class) {
+                return 0L;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.iplantc.workflow.events;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.events.InMemoryChangeEventBus and org.iplantc.workflow.events.ChangeEvent.
+ */
+public class InMemoryChangeEventBusTest {
+
+    /**
+     * The bus being tested.
+     */
+    private InMemoryChangeEventBus bus;
+
+    /**
+     * The events received by the recording listener.
+     */
+    private List<ChangeEvent> received;
+
+    /**
+     * A listener that records the events it receives.
+     */
+    private ChangeEventListener recorder;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        bus = new InMemoryChangeEventBus();
+        received = new ArrayList<ChangeEvent>();
+        recorder = new ChangeEventListener() {
+            @Override
+            public void onChange(ChangeEvent event) {
+                received.add(event);
+            }
+        };
+        bus.addListener(recorder);
+    }
+
+    /**
+     * Verifies that published events are delivered to registered listeners.
+     */
+    @Test
+    public void shouldDeliverEvents() {
+        ChangeEvent event = new ChangeEvent(ChangeEventType.ANALYSIS_CHANGED, "analysisid");
+        bus.publish(event);
+        assertEquals(1, received.size());
+        assertEquals(event, received.get(0));
+    }
+
+    /**
+     * Verifies that events aren't delivered to listeners that have been removed.
+     */
+    @Test
+    public void shouldNotDeliverEventsToRemovedListeners() {
+        bus.removeListener(recorder);
+        bus.publish(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED));
+        assertTrue(received.isEmpty());
+    }
+
+    /**
+     * Verifies that a failing listener doesn't prevent delivery to other listeners.
+     */
+    @Test
+    public void shouldIsolateListenerFailures() {
+        bus.removeListener(recorder);
+        bus.addListener(new ChangeEventListener() {
+            @Override
+            public void onChange(ChangeEvent event) {
+                throw new IllegalStateException("boom");
+            }
+        });
+        bus.addListener(recorder);
+        bus.publish(ChangeEvent.all(ChangeEventType.TEMPLATE_CHANGED));
+        assertEquals(1, received.size());
+    }
+
+    /**
+     * Verifies that change events survive a round trip through JSON.
+     *
+     * @throws JSONException if a JSON error occurs.
+     */
+    @Test
+    public void shouldConvertEventsToAndFromJson() throws JSONException {
+        ChangeEvent event = new ChangeEvent(ChangeEventType.RATING_CHANGED, "analysisid");
+        assertEquals(event, ChangeEvent.fromJson(new JSONObject(event.toJson().toString())));
+
+        ChangeEvent all = ChangeEvent.fromJson(ChangeEvent.all(ChangeEventType.GROUP_TREE_CHANGED).toJson());
+        assertEquals(ChangeEventType.GROUP_TREE_CHANGED, all.getType());
+        assertNull(all.getId());
+        assertTrue(all.isAll());
+    }
+
+    /**
+     * Verifies that unrecognized event types are rejected.
+     *
+     * @throws JSONException if a JSON error occurs.
+     */
+    @Test(expected = JSONException.class)
+    public void shouldRejectUnknownEventTypes() throws JSONException {
+        ChangeEvent.fromJson(new JSONObject("{\"type\": \"UNKNOWN\"}"));
+    }
+}
@@ -0,0 +1,355 @@
+package org.iplantc.workflow.experiment;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+import org.iplantc.persistence.dto.components.DeployedComponent;
+import org.iplantc.persistence.dto.step.TransformationStep;
+import org.iplantc.persistence.dto.transformation.Transformation;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.data.DataObject;
+import org.iplantc.workflow.data.InputOutputMap;
+import org.iplantc.workflow.data.Multiplicity;
+import org.iplantc.workflow.model.Property;
+import org.iplantc.workflow.model.PropertyGroup;
+import org.iplantc.workflow.model.PropertyType;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.user.UserDetails;
+import org.iplantc.workflow.util.UnitTestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Unit tests for the manifest mode of org.iplantc.workflow.experiment.CondorJobRequestFormatter.
+ */
+public class CondorJobRequestFormatterTest {
+
+    /**
+     * The name of the first step in the analysis.
+     */
+    private static final String STEP1 = "step 1";
+
+    /**
+     * The name of the second step in the analysis.
+     */
+    private static final String STEP2 = "step 2";
+
+    /**
+     * The handle of the manifest for the input that isn't referenced by a property.
+     */
+    private static final String INPUT_HANDLE = STEP1 + "_manyInput";
+
+    /**
+     * The handle of the manifest for the input that is referenced by a property.
+     */
+    private static final String PROPERTY_HANDLE = STEP1 + "_propertyInput";
+
+    /**
+     * The factory used to create mock data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * The details of the user submitting the job.
+     */
+    private UserDetails userDetails;
+
+    /**
+     * Used to build the URLs of input files.
+     */
+    private UrlAssembler urlAssembler;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        daoFactory = new MockDaoFactory();
+        daoFactory.getDeployedComponentDao().save(createDeployedComponent());
+        daoFactory.getTemplateDao().save(createFirstTemplate());
+        daoFactory.getTemplateDao().save(createSecondTemplate());
+        daoFactory.getTransformationActivityDao().save(createAnalysis());
+        userDetails = new UserDetails("someuser@iplantcollaborative.org", "S3cret", "someuser@example.com",
+                "someuser", "Some", "User");
+        urlAssembler = new UrlAssembler() {
+            @Override
+            public String assembleUrl(String path) {
+                return "irods://" + path;
+            }
+        };
+    }
+
+    /**
+     * Verifies that the files selected for inputs with a multiplicity of "many" are listed in manifests, whether or
+     * not the inputs are referenced by properties, and that each manifest lists the URLs of the files.
+     */
+    @Test
+    public void testInputManifests() {
+        JSONObject submission = createFormatter(2).formatJobRequest(createExperiment());
+        JSONObject config = getStepConfig(submission, 0);
+
+        JSONArray inputs = config.getJSONArray("input");
+        assertEquals(2, inputs.size());
+        validateManifestInput("manyInput", INPUT_HANDLE, inputs.getJSONObject(0));
+        validateManifestInput("propertyInput", PROPERTY_HANDLE, inputs.getJSONObject(1));
+
+        JSONArray params = config.getJSONArray("params");
+        assertEquals(2, params.size());
+        validateManifestParam(1, "--many=", "manyInput", INPUT_HANDLE, params.getJSONObject(0));
+        validateManifestParam(2, "--prop=", "propertyInput", PROPERTY_HANDLE, params.getJSONObject(1));
+
+        JSONObject manifests = submission.getJSONObject("manifests");
+        assertEquals(2, manifests.size());
+        validateManifest(manifests.getJSONArray(INPUT_HANDLE), "irods:///iplant/home/someuser/a",
+                "irods:///iplant/home/someuser/b");
+        validateManifest(manifests.getJSONArray(PROPERTY_HANDLE), "irods:///iplant/home/someuser/c",
+                "irods:///iplant/home/someuser/d", "irods:///iplant/home/someuser/e");
+    }
+
+    /**
+     * Verifies that an input that is mapped from an input of an earlier step refers to the manifest that was recorded
+     * for the earlier step rather than to a new manifest.
+     */
+    @Test
+    public void testMappedInputReusesManifest() {
+        JSONObject submission = createFormatter(2).formatJobRequest(createExperiment());
+        JSONObject config = getStepConfig(submission, 1);
+
+        assertEquals(0, config.getJSONArray("input").size());
+        JSONArray params = config.getJSONArray("params");
+        assertEquals(1, params.size());
+        validateManifestParam(1, "--mapped=", "mappedInput", INPUT_HANDLE, params.getJSONObject(0));
+
+        assertEquals(2, submission.getJSONObject("manifests").size());
+    }
+
+    /**
+     * Verifies that manifests aren't used for inputs with fewer files than the manifest threshold.
+     */
+    @Test
+    public void testManifestThresholdNotReached() {
+        JSONObject submission = createFormatter(3).formatJobRequest(createExperiment());
+        JSONObject config = getStepConfig(submission, 0);
+
+        JSONArray inputs = config.getJSONArray("input");
+        assertEquals(3, inputs.size());
+        assertEquals("irods:///iplant/home/someuser/a", inputs.getJSONObject(0).getString("value"));
+        assertEquals("irods:///iplant/home/someuser/b", inputs.getJSONObject(1).getString("value"));
+        assertFalse(inputs.getJSONObject(0).containsKey("manifest"));
+        validateManifestInput("propertyInput", PROPERTY_HANDLE, inputs.getJSONObject(2));
+        assertEquals(1, submission.getJSONObject("manifests").size());
+    }
+
+    /**
+     * Creates a job request formatter.
+     *
+     * @param manifestThreshold the minimum number of files for which a manifest is used.
+     * @return the job request formatter.
+     */
+    private CondorJobRequestFormatter createFormatter(int manifestThreshold) {
+        CondorJobRequestFormatter formatter = new CondorJobRequestFormatter(daoFactory, urlAssembler, userDetails);
+        formatter.setManifestThreshold(manifestThreshold);
+        return formatter;
+    }
+
+    /**
+     * Gets the configuration of a formatted step.
+     *
+     * @param submission the job submission.
+     * @param index the index of the step.
+     * @return the step configuration.
+     */
+    private JSONObject getStepConfig(JSONObject submission, int index) {
+        JSONArray steps = submission.getJSONArray("steps");
+        assertEquals(2, steps.size());
+        JSONObject config = steps.getJSONObject(index).getJSONObject("config");
+        assertNotNull(config);
+        return config;
+    }
+
+    /**
+     * Validates an input object that refers to a manifest.
+     *
+     * @param id the input identifier.
+     * @param handle the manifest handle.
+     * @param input the input object.
+     */
+    private void validateManifestInput(String id, String handle, JSONObject input) {
+        assertEquals(id, input.getString("id"));
+        assertEquals(handle, input.getString("manifest"));
+        assertEquals("many", input.getString("multiplicity"));
+        assertFalse(input.containsKey("value"));
+    }
+
+    /**
+     * Validates a parameter that refers to a manifest.
+     *
+     * @param order the order specifier.
+     * @param option the command-line option.
+     * @param id the parameter identifier.
+     * @param handle the manifest handle.
+     * @param param the parameter.
+     */
+    private void validateManifestParam(int order, String option, String id, String handle, JSONObject param) {
+        assertEquals(order, param.getInt("order"));
+        assertEquals("", param.getString("name"));
+        assertEquals(option, param.getString("value"));
+        assertEquals(id, param.getString("id"));
+        assertEquals(handle, param.getString("manifest"));
+    }
+
+    /**
+     * Validates the list of URLs in a manifest.
+     *
+     * @param manifest the manifest.
+     * @param urls the expected URLs.
+     */
+    private void validateManifest(JSONArray manifest, String... urls) {
+        assertEquals(urls.length, manifest.size());
+        for (int i = 0; i < urls.length; i++) {
+            assertEquals(urls[i], manifest.getString(i));
+        }
+    }
+
+    /**
+     * Creates the experiment to format.
+     *
+     * @return the experiment.
+     */
+    private JSONObject createExperiment() {
+        JSONObject config = new JSONObject();
+        config.put(STEP1 + "_manyInput", "[\"/iplant/home/someuser/a\", \"/iplant/home/someuser/b\"]");
+        config.put(STEP1 + "_propertyInput",
+                "[\"/iplant/home/someuser/c\", \"/iplant/home/someuser/d\", \"/iplant/home/someuser/e\"]");
+
+        JSONObject json = new JSONObject();
+        json.put("name", "manifests");
+        json.put("description", "manifests");
+        json.put("notify", false);
+        json.put("workspace_id", 1);
+        json.put("analysis_id", "manifest_analysis");
+        json.put("outputDirectory", "/iplant/home/someuser/analyses");
+        json.put("config", config);
+        return json;
+    }
+
+    /**
+     * Creates the template used by the first step. One of its inputs is referenced by a property.
+     *
+     * @return the template.
+     */
+    private Template createFirstTemplate() {
+        DataObject propertyInput = createDataObject("propertyInput", 2, "--prop=");
+        Property property = new Property("propertyInput", "--prop=", "property input", "property input");
+        property.setPropertyType(new PropertyType("InputId", "Input", "", ""));
+        property.setDataObject(propertyInput);
+        property.setOrder(2);
+        PropertyGroup group = new PropertyGroup();
+        group.addProperty(property);
+
+        Template template = new Template();
+        template.setId("manifest_template_1");
+        template.setComponent("deployed_component_id");
+        template.addInputObject(createDataObject("manyInput", 1, "--many="));
+        template.addInputObject(propertyInput);
+        template.addPropertyGroup(group);
+        return template;
+    }
+
+    /**
+     * Creates the template used by the second step.
+     *
+     * @return the template.
+     */
+    private Template createSecondTemplate() {
+        Template template = new Template();
+        template.setId("manifest_template_2");
+        template.setComponent("deployed_component_id");
+        template.addInputObject(createDataObject("mappedInput", 1, "--mapped="));
+        return template;
+    }
+
+    /**
+     * Creates a data object with a multiplicity of "many".
+     *
+     * @param id the data object identifier.
+     * @param order the order specifier.
+     * @param option the command-line option.
+     * @return the data object.
+     */
+    private DataObject createDataObject(String id, int order, String option) {
+        Multiplicity multiplicity = new Multiplicity();
+        multiplicity.setName("many");
+        DataObject dataObject = new DataObject();
+        dataObject.setId(id);
+        dataObject.setName(id);
+        dataObject.setDescription(id);
+        dataObject.setOrderd(order);
+        dataObject.setSwitchString(option);
+        dataObject.setMultiplicity(multiplicity);
+        return dataObject;
+    }
+
+    /**
+     * Creates a two-step analysis in which an input of the first step is mapped to an input of the second step.
+     *
+     * @return the analysis.
+     */
+    private TransformationActivity createAnalysis() {
+        TransformationStep step1 = createStep(STEP1, "manifest_template_1");
+        TransformationStep step2 = createStep(STEP2, "manifest_template_2");
+        InputOutputMap map = new InputOutputMap();
+        map.setSource(step1);
+        map.setTarget(step2);
+        map.addAssociation("in#manyInput", "mappedInput");
+
+        TransformationActivity analysis = new TransformationActivity();
+        analysis.setId("manifest_analysis");
+        analysis.setName("manifest analysis");
+        analysis.setDescription("manifest analysis");
+        analysis.addStep(step1);
+        analysis.addStep(step2);
+        analysis.addMapping(map);
+        return analysis;
+    }
+
+    /**
+     * Creates a transformation step.
+     *
+     * @param name the step name.
+     * @param templateId the identifier of the template used by the step.
+     * @return the transformation step.
+     */
+    private TransformationStep createStep(String name, String templateId) {
+        Transformation transformation = new Transformation();
+        transformation.setName(name);
+        transformation.setDescription(name);
+        transformation.setTemplate_id(templateId);
+
+        TransformationStep step = new TransformationStep();
+        step.setName(name);
+        step.setGuid(name.replace(' ', '_'));
+        step.setDescription(name);
+        step.setTransformation(transformation);
+        return step;
+    }
+
+    /**
+     * Creates a fake deployed component for testing.
+     *
+     * @return the deployed component.
+     */
+    private DeployedComponent createDeployedComponent() {
+        DeployedComponent component = new DeployedComponent();
+        component.setId("deployed_component_id");
+        component.setName("deployed component name");
+        component.setLocation("deployed component location");
+        component.setDescription("deployed component description");
+        component.setToolType(UnitTestUtils.createToolType("deployed component type"));
+        return component;
+    }
+}
@@ -1,5 +1,8 @@
 package org.iplantc.workflow.experiment;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 import org.iplantc.persistence.dto.components.DeployedComponent;
@@ -20,6 +23,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -686,6 +690,47 @@ public class FapiJobRequestFormatterTest {
         validateParam(4, "", "--tin=/someuser/baz", "templateInputFile", "one", params.getJSONObject(9));
     }
 
+    /**
+     * Verifies that the files selected for an input are listed in a manifest once the manifest threshold is reached.
+     */
+    @Test
+    public void testJobWithInputManifest() {
+        JSONObject experiment = createExperimentWithConfig("analysis_with_inputs");
+        FapiJobRequestFormatter formatter = createFormatter(experiment);
+        formatter.setManifestThreshold(2);
+        JSONObject submission = formatter.formatJobRequest();
+        JSONArray params = submission.getJSONArray("steps").getJSONObject(0).getJSONObject("config")
+                .getJSONArray("params");
+        assertEquals(9, params.size());
+
+        String handle = "name of step with inputs_inputFiles";
+        validateParam(3, "", "", "inputFiles", "many", params.getJSONObject(7));
+        assertEquals(handle, params.getJSONObject(7).getString("manifest"));
+        validateParam(4, "", "--tin=/someuser/baz", "templateInputFile", "one", params.getJSONObject(8));
+
+        JSONObject manifests = submission.getJSONObject("manifests");
+        assertEquals(1, manifests.size());
+        JSONArray files = manifests.getJSONArray(handle);
+        assertEquals(2, files.size());
+        assertEquals("/someuser/foo", files.getString(0));
+        assertEquals("/someuser/bar", files.getString(1));
+    }
+
+    /**
+     * Verifies that manifests aren't used for inputs with fewer files than the manifest threshold.
+     */
+    @Test
+    public void testInputManifestThresholdNotReached() {
+        JSONObject experiment = createExperimentWithConfig("analysis_with_inputs");
+        FapiJobRequestFormatter formatter = createFormatter(experiment);
+        formatter.setManifestThreshold(3);
+        JSONObject submission = formatter.formatJobRequest();
+        JSONArray params = submission.getJSONArray("steps").getJSONObject(0).getJSONObject("config")
+                .getJSONArray("params");
+        assertEquals(10, params.size());
+        assertFalse(submission.containsKey("manifests"));
+    }
+
     /**
      * Verifies that we can format a job for a multistep analysis.
      */
@@ -735,6 +780,29 @@ public class FapiJobRequestFormatterTest {
                 step2Params.getJSONObject(7));
     }
 
+    /**
+     * Verifies that a single formatter can be reused for multiple experiments and that formatting independent steps
+     * concurrently doesn't change the formatted job.
+     */
+    @Test
+    public void testSharedFormatterWithStepExecutor() {
+        String expected = createFormatter(createExperimentWithConfig("multistep_analysis")).formatJobRequest()
+                .getJSONArray("steps").toString();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            FapiJobRequestFormatter formatter = new FapiJobRequestFormatter(daoFactory, userDetails,
+                    jobNameUniquenessEnsurer, "/iplant/home");
+            formatter.setStepExecutor(executor);
+            for (int i = 0; i < 3; i++) {
+                JSONObject submission = formatter.formatJobRequest(createExperimentWithConfig("multistep_analysis"));
+                assertEquals(expected, submission.getJSONArray("steps").toString());
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
     /**
      * Verifies that the experiment name is updated on the fly if it's not unique.
      */
@@ -0,0 +1,271 @@
+package org.iplantc.workflow.experiment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import net.sf.json.JSONArray;
+import net.sf.json.JSONObject;
+
+import org.iplantc.persistence.dto.step.TransformationStep;
+import org.iplantc.persistence.dto.transformation.Transformation;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.client.OsmClient;
+import org.iplantc.workflow.client.StubHttpServer;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.experiment.util.JobConfigUtils;
+import org.iplantc.workflow.model.Property;
+import org.iplantc.workflow.model.PropertyGroup;
+import org.iplantc.workflow.model.PropertyType;
+import org.iplantc.workflow.model.Template;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.experiment.PropertyValueRetriever, using a local stand-in for the OSM.
+ */
+public class PropertyValueRetrieverTest {
+
+    /**
+     * The name of the only step in the app. The name contains a period so that the configuration keys are escaped.
+     */
+    private static final String STEP_NAME = "step.one";
+
+    /**
+     * The factory used to create mock data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * The stored job submissions, keyed by job UUID.
+     */
+    private Map<String, JSONObject> jobs;
+
+    /**
+     * The local stand-in for the OSM.
+     */
+    private StubHttpServer osm;
+
+    /**
+     * The client used to communicate with the OSM stub.
+     */
+    private OsmClient osmClient;
+
+    /**
+     * Initializes each of the unit tests.
+     *
+     * @throws Exception if the OSM stub can't be started.
+     */
+    @Before
+    public void initialize() throws Exception {
+        daoFactory = new MockDaoFactory();
+        daoFactory.getTemplateDao().save(createTemplate());
+        daoFactory.getTransformationActivityDao().save(createApp());
+        jobs = new HashMap<String, JSONObject>();
+        storeJob("job1", "first");
+        storeJob("job2", "second");
+        storeJob("job3", "third");
+        osm = new StubHttpServer(new StubHttpServer.Responder() {
+            @Override
+            public String respond(String path, String body) {
+                return queryJobs(JSONObject.fromObject(body)).toString();
+            }
+        });
+        osmClient = new OsmClient();
+        osmClient.setBaseUrl(osm.getBaseUrl());
+        osmClient.setBucket("jobs");
+    }
+
+    /**
+     * Stops the OSM stub.
+     */
+    @After
+    public void tearDown() {
+        osm.stop();
+    }
+
+    /**
+     * @return a template with a single text property.
+     */
+    private Template createTemplate() {
+        Property property = new Property();
+        property.setId("text");
+        property.setName("--text=");
+        property.setLabel("Text");
+        property.setDefaultValue("default");
+        property.setOrder(1);
+        property.setPropertyType(new PropertyType("TextId", "Text", "", ""));
+        PropertyGroup group = new PropertyGroup();
+        group.addProperty(property);
+        Template template = new Template();
+        template.setId("template");
+        template.setComponent("component");
+        template.addPropertyGroup(group);
+        return template;
+    }
+
+    /**
+     * @return an app with a single step that uses the template.
+     */
+    private TransformationActivity createApp() {
+        Transformation transformation = new Transformation();
+        transformation.setName("transformation");
+        transformation.setTemplate_id("template");
+        TransformationStep step = new TransformationStep();
+        step.setName(STEP_NAME);
+        step.setGuid("step");
+        step.setTransformation(transformation);
+        TransformationActivity app = new TransformationActivity();
+        app.setId("app");
+        app.setName("app");
+        app.addStep(step);
+        return app;
+    }
+
+    /**
+     * Stores a job submission the way the experiment runner does.
+     *
+     * @param jobUuid the job identifier.
+     * @param value the value of the text property.
+     */
+    private void storeJob(String jobUuid, String value) {
+        JSONObject config = new JSONObject();
+        config.put(STEP_NAME + "_text", value);
+        JSONObject experiment = new JSONObject();
+        experiment.put("analysis_id", "app");
+        experiment.put("config", config);
+        JSONObject state = new JSONObject();
+        state.put("jobUuid", jobUuid);
+        state.put("experiment", JobConfigUtils.escapeJobConfig(experiment));
+        jobs.put(jobUuid, state);
+    }
+
+    /**
+     * Answers an OSM query for job submissions by job UUID.
+     *
+     * @param query the query.
+     * @return the query results.
+     */
+    private JSONObject queryJobs(JSONObject query) {
+        Object criterion = query.get("state.jobUuid");
+        JSONArray uuids = criterion instanceof JSONObject
+                ? ((JSONObject) criterion).getJSONArray("$in")
+                : JSONArray.fromObject(Arrays.asList(criterion));
+        JSONArray objects = new JSONArray();
+        for (int i = 0; i < uuids.size(); i++) {
+            JSONObject state = jobs.get(uuids.getString(i));
+            if (state != null) {
+                JSONObject object = new JSONObject();
+                object.put("state", state);
+                objects.add(object);
+            }
+        }
+        JSONObject result = new JSONObject();
+        result.put("objects", objects);
+        return result;
+    }
+
+    /**
+     * @param cache the experiment cache to use.
+     * @return a property value retriever that uses the OSM stub.
+     */
+    private PropertyValueRetriever createRetriever(JobExperimentCache cache) {
+        return new PropertyValueRetriever(osmClient, daoFactory, cache);
+    }
+
+    /**
+     * @param result the property values for a job.
+     * @return the value of the text property.
+     */
+    private String getTextValue(JSONObject result) {
+        return result.getJSONArray("parameters").getJSONObject(0).getString("param_value");
+    }
+
+    /**
+     * Verifies that the property values for a single job are obtained from the OSM with the keys unescaped.
+     */
+    @Test
+    public void testGetPropertyValues() {
+        JSONObject result = createRetriever(new JobExperimentCache()).getPropertyValues("job1");
+        assertEquals("app", result.getString("analysis_id"));
+        assertEquals("first", getTextValue(result));
+        assertEquals(STEP_NAME + "_text",
+                result.getJSONArray("parameters").getJSONObject(0).getString("full_param_id"));
+        assertEquals(Arrays.asList("/jobs/query"), osm.getRequestPaths());
+    }
+
+    /**
+     * Verifies that repeated requests for the same job are answered from the cache.
+     */
+    @Test
+    public void testExperimentsAreCached() {
+        JobExperimentCache cache = new JobExperimentCache();
+        createRetriever(cache).getPropertyValues("job1");
+        JSONObject result = createRetriever(cache).getPropertyValues("job1");
+        assertEquals("first", getTextValue(result));
+        assertEquals(1, osm.getRequestCount());
+    }
+
+    /**
+     * Verifies that the least recently used experiment is evicted when the cache is full.
+     */
+    @Test
+    public void testLeastRecentlyUsedExperimentIsEvicted() {
+        JobExperimentCache cache = new JobExperimentCache(1);
+        PropertyValueRetriever retriever = createRetriever(cache);
+        retriever.getPropertyValues("job1");
+        retriever.getPropertyValues("job2");
+        retriever.getPropertyValues("job2");
+        assertEquals(2, osm.getRequestCount());
+        retriever.getPropertyValues("job1");
+        assertEquals(3, osm.getRequestCount());
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Verifies that the jobs missing from the cache are fetched with a single OSM query.
+     */
+    @Test
+    public void testBatchRetrieval() {
+        JobExperimentCache cache = new JobExperimentCache();
+        PropertyValueRetriever retriever = createRetriever(cache);
+        retriever.getPropertyValues("job2");
+        JSONObject result = retriever.getPropertyValues(Arrays.asList("job1", "job2", "job3", "job1"));
+        assertEquals(2, osm.getRequestCount());
+        assertEquals(3, result.size());
+        assertEquals("first", getTextValue(result.getJSONObject("job1")));
+        assertEquals("second", getTextValue(result.getJSONObject("job2")));
+        assertEquals("third", getTextValue(result.getJSONObject("job3")));
+
+        JSONObject query = JSONObject.fromObject(osm.getRequestBodies().get(1));
+        JSONArray requested = query.getJSONObject("state.jobUuid").getJSONArray("$in");
+        assertEquals(2, requested.size());
+        assertTrue(requested.contains("job1"));
+        assertTrue(requested.contains("job3"));
+        assertEquals(3, cache.size());
+    }
+
+    /**
+     * Verifies that a batch request that is answered entirely from the cache doesn't query the OSM.
+     */
+    @Test
+    public void testBatchRetrievalFromCache() {
+        PropertyValueRetriever retriever = createRetriever(new JobExperimentCache());
+        retriever.getPropertyValues(Arrays.asList("job1", "job2"));
+        retriever.getPropertyValues(Arrays.asList("job2", "job1"));
+        assertEquals(1, osm.getRequestCount());
+    }
+
+    /**
+     * Verifies that a batch request fails if any of the jobs can't be found.
+     */
+    @Test(expected = WorkflowException.class)
+    public void testBatchRetrievalWithMissingJob() {
+        createRetriever(new JobExperimentCache()).getPropertyValues(Arrays.asList("job1", "missing"));
+    }
+}
@@ -0,0 +1,138 @@
+package org.iplantc.workflow.experiment;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.iplantc.persistence.dto.step.TransformationStep;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.data.InputOutputMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.experiment.StepScheduler.
+ */
+public class StepSchedulerTest {
+
+    /**
+     * The executor used to format steps concurrently.
+     */
+    private ExecutorService executor;
+
+    /**
+     * An analysis in which the third step depends on the first two and the fourth step depends on the third.
+     */
+    private TransformationActivity analysis;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        executor = Executors.newFixedThreadPool(4);
+        analysis = new TransformationActivity();
+        analysis.setId("analysis");
+        TransformationStep first = createStep("first");
+        TransformationStep second = createStep("second");
+        TransformationStep third = createStep("third");
+        TransformationStep fourth = createStep("fourth");
+        analysis.addStep(first);
+        analysis.addStep(second);
+        analysis.addStep(third);
+        analysis.addStep(fourth);
+        analysis.addMapping(createMapping(first, third));
+        analysis.addMapping(createMapping(second, third));
+        analysis.addMapping(createMapping(third, fourth));
+    }
+
+    /**
+     * Shuts down the executor.
+     */
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @param name the name of the step.
+     * @return the new step.
+     */
+    private TransformationStep createStep(String name) {
+        TransformationStep step = new TransformationStep();
+        step.setName(name);
+        step.setGuid(name);
+        return step;
+    }
+
+    /**
+     * @param source the source step.
+     * @param target the target step.
+     * @return a mapping from an output of the source step to an input of the target step.
+     */
+    private InputOutputMap createMapping(TransformationStep source, TransformationStep target) {
+        InputOutputMap map = new InputOutputMap();
+        map.setSource(source);
+        map.setTarget(target);
+        map.addAssociation("output", "input");
+        return map;
+    }
+
+    /**
+     * Verifies that steps are grouped into waves according to their dependencies.
+     */
+    @Test
+    public void testComputeWaves() {
+        List<List<Integer>> waves = StepScheduler.computeWaves(analysis);
+        assertEquals(3, waves.size());
+        assertEquals(Arrays.asList(0, 1), waves.get(0));
+        assertEquals(Arrays.asList(2), waves.get(1));
+        assertEquals(Arrays.asList(3), waves.get(2));
+    }
+
+    /**
+     * Verifies that steps are only formatted after the steps they depend on and are returned in analysis order.
+     */
+    @Test
+    public void testFormatStepsConcurrently() {
+        final Set<String> formatted = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        List<String> result = new StepScheduler(executor).formatSteps(analysis,
+                new StepScheduler.StepTask<String>() {
+                    @Override
+                    public String formatStep(TransformationStep step) {
+                        for (String source : StepScheduler.getSourceStepNames(analysis, step.getName())) {
+                            if (!formatted.contains(source)) {
+                                throw new WorkflowException(source + " was not formatted before " + step.getName());
+                            }
+                        }
+                        formatted.add(step.getName());
+                        return step.getName();
+                    }
+                });
+        assertEquals(Arrays.asList("first", "second", "third", "fourth"), result);
+    }
+
+    /**
+     * Verifies that exceptions thrown while formatting a step concurrently are propagated to the caller.
+     */
+    @Test(expected = WorkflowException.class)
+    public void testFailedStep() {
+        new StepScheduler(executor).formatSteps(analysis, new StepScheduler.StepTask<String>() {
+            @Override
+            public String formatStep(TransformationStep step) {
+                if (step.getName().equals("second")) {
+                    throw new WorkflowException("unable to format " + step.getName());
+                }
+                return step.getName();
+            }
+        });
+    }
+}
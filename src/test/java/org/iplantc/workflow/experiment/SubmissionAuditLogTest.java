@@ -0,0 +1,235 @@
+package org.iplantc.workflow.experiment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import net.sf.json.JSONObject;
+
+import org.apache.log4j.AppenderSkeleton;
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.apache.log4j.spi.LoggingEvent;
+import org.iplantc.workflow.metrics.MetricsRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.experiment.SubmissionAuditLog.
+ */
+public class SubmissionAuditLogTest {
+
+    /**
+     * The logger that audit entries are written to.
+     */
+    private Logger auditLogger;
+
+    /**
+     * Captures the messages written to the audit logger.
+     */
+    private CapturingAppender appender;
+
+    /**
+     * The metrics registry used by the audit log.
+     */
+    private MetricsRegistry metricsRegistry;
+
+    /**
+     * The audit log being tested.
+     */
+    private SubmissionAuditLog auditLog;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        auditLogger = Logger.getLogger(SubmissionAuditLogTest.class.getName() + ".audit");
+        auditLogger.setAdditivity(false);
+        auditLogger.setLevel(Level.INFO);
+        appender = new CapturingAppender();
+        auditLogger.addAppender(appender);
+        metricsRegistry = new MetricsRegistry();
+        auditLog = new SubmissionAuditLog(auditLogger, 4);
+        auditLog.setMetricsRegistry(metricsRegistry);
+    }
+
+    /**
+     * Stops the audit log and releases the appender.
+     */
+    @After
+    public void tearDown() {
+        appender.release();
+        auditLog.shutdown();
+        auditLogger.removeAppender(appender);
+    }
+
+    /**
+     * @param id the document identifier.
+     * @return a small JSON document.
+     */
+    private JSONObject createDocument(String id) {
+        JSONObject json = new JSONObject();
+        json.put("id", id);
+        return json;
+    }
+
+    /**
+     * Verifies that entries are written compactly by the background thread.
+     *
+     * @throws Exception if the test is interrupted.
+     */
+    @Test
+    public void testEntriesAreWritten() throws Exception {
+        appender.release();
+        assertTrue(auditLog.log("job: ", createDocument("one")));
+        assertTrue(auditLog.log("job: ", createDocument("two")));
+        assertTrue(auditLog.flush(5000));
+        assertEquals(2, appender.getMessages().size());
+        assertEquals("job: {\"id\":\"one\"}", appender.getMessages().get(0));
+        assertEquals("job: {\"id\":\"two\"}", appender.getMessages().get(1));
+        assertFalse(appender.getThreadNames().contains(Thread.currentThread().getName()));
+        assertEquals(2, metricsRegistry.getCount("auditLog.written"));
+        assertEquals(2, metricsRegistry.getCount("auditLog.queueDepth"));
+    }
+
+    /**
+     * Verifies that nothing is enqueued if the audit logger is disabled.
+     */
+    @Test
+    public void testDisabledLogger() {
+        auditLogger.setLevel(Level.WARN);
+        assertFalse(auditLog.log("job: ", createDocument("one")));
+        assertEquals(0, auditLog.getQueueDepth());
+        assertEquals(0, metricsRegistry.getCount("auditLog.queueDepth"));
+    }
+
+    /**
+     * Verifies that entries are sampled and then dropped while the writer can't keep up.
+     *
+     * @throws Exception if the test is interrupted.
+     */
+    @Test
+    public void testOverload() throws Exception {
+        auditLog.setSamplingThreshold(2);
+        auditLog.setSamplingRate(2);
+
+        // The first entry is taken by the writer thread, which then blocks in the appender.
+        assertTrue(auditLog.log("job: ", createDocument("0")));
+        assertTrue(appender.awaitFirstEvent());
+
+        int accepted = 0;
+        for (int i = 1; i <= 20; i++) {
+            if (auditLog.log("job: ", createDocument(String.valueOf(i)))) {
+                accepted++;
+            }
+        }
+        assertEquals(4, accepted);
+        assertEquals(4, auditLog.getQueueDepth());
+        long sampled = metricsRegistry.getCount("auditLog.sampled");
+        long dropped = metricsRegistry.getCount("auditLog.dropped");
+        assertTrue(sampled > 0);
+        assertTrue(dropped > 0);
+        assertEquals(16, sampled + dropped);
+        assertEquals(4, metricsRegistry.getPercentile("auditLog.queueDepth", 100));
+
+        appender.release();
+        assertTrue(auditLog.flush(5000));
+        assertEquals(5, appender.getMessages().size());
+        assertEquals(0, auditLog.getQueueDepth());
+    }
+
+    /**
+     * An appender that records the messages written to it. The appender blocks until it's released, which makes it
+     * possible to simulate a writer that can't keep up with the callers.
+     */
+    private static class CapturingAppender extends AppenderSkeleton {
+
+        /**
+         * The messages written to the appender.
+         */
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+
+        /**
+         * The names of the threads that wrote the messages.
+         */
+        private final List<String> threadNames = Collections.synchronizedList(new ArrayList<String>());
+
+        /**
+         * Counted down when the first event is received.
+         */
+        private final CountDownLatch firstEvent = new CountDownLatch(1);
+
+        /**
+         * Counted down when the appender is released.
+         */
+        private final CountDownLatch released = new CountDownLatch(1);
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        protected void append(LoggingEvent event) {
+            firstEvent.countDown();
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            messages.add(event.getRenderedMessage());
+            threadNames.add(event.getThreadName());
+        }
+
+        /**
+         * @return true if the first event was received within a reasonable amount of time.
+         * @throws InterruptedException if the calling thread is interrupted.
+         */
+        public boolean awaitFirstEvent() throws InterruptedException {
+            return firstEvent.await(10, TimeUnit.SECONDS);
+        }
+
+        /**
+         * Allows events to be recorded.
+         */
+        public void release() {
+            released.countDown();
+        }
+
+        /**
+         * @return the messages written to the appender.
+         */
+        public List<String> getMessages() {
+            return new ArrayList<String>(messages);
+        }
+
+        /**
+         * @return the names of the threads that wrote the messages.
+         */
+        public List<String> getThreadNames() {
+            return new ArrayList<String>(threadNames);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void close() {
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean requiresLayout() {
+            return false;
+        }
+    }
+}
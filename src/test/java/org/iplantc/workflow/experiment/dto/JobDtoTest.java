@@ -0,0 +1,60 @@
+package org.iplantc.workflow.experiment.dto;
+
+import static org.junit.Assert.assertEquals;
+
+import net.sf.json.JSONObject;
+import net.sf.json.JsonConfig;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.experiment.dto.JobDto.
+ */
+public class JobDtoTest {
+
+    /**
+     * Converts a job to JSON using bean introspection, which is how jobs used to be converted.
+     *
+     * @param job the job.
+     * @return the JSON object.
+     */
+    private JSONObject toJsonByIntrospection(JobDto job) {
+        JsonConfig config = new JsonConfig();
+        config.clearJavaPropertyNameProcessors();
+        config.registerJsonPropertyNameProcessor(JobDto.class, new CamelCapsToUnderscores());
+        return JSONObject.fromObject(job, config);
+    }
+
+    /**
+     * Verifies that a fully populated job is converted the same way that bean introspection converts it.
+     */
+    @Test
+    public void testPopulatedJob() {
+        JobDto job = new JobDto("submit", "condor");
+        job.setName("job");
+        job.setDisplayName("display name");
+        job.setDescription("description");
+        job.setNotify(true);
+        job.setWorkspaceId("42");
+        job.setUsername("someuser");
+        job.setAnalysisName("analysis");
+        job.setAnalysisId("analysis id");
+        job.setAnalysisDescription("analysis description");
+        job.setOutputDir("/someuser/analyses");
+        job.setCreateOutputSubdir(true);
+        JSONObject expected = toJsonByIntrospection(job);
+        assertEquals(expected, job.toJson());
+        assertEquals(expected.toString(), job.toJson().toString());
+    }
+
+    /**
+     * Verifies that a job with missing properties is converted the same way that bean introspection converts it.
+     */
+    @Test
+    public void testEmptyJob() {
+        JobDto job = new JobDto();
+        JSONObject expected = toJsonByIntrospection(job);
+        assertEquals(expected.toString(), job.toJson().toString());
+        assertEquals("", job.toJson().getString("name"));
+    }
+}
@@ -0,0 +1,139 @@
+package org.iplantc.workflow.experiment.files;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.iplantc.persistence.dto.refgenomes.ReferenceGenome;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.dao.mock.MockReferenceGenomeDao;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.experiment.files.ReferenceGenomePathCache.
+ */
+public class ReferenceGenomePathCacheTest {
+
+    /**
+     * The time to live used for testing.
+     */
+    private static final long TIME_TO_LIVE = 1000;
+
+    /**
+     * Used to obtain data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * The current time as reported to the cache.
+     */
+    private long now;
+
+    /**
+     * The cache being tested.
+     */
+    private ReferenceGenomePathCache cache;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        daoFactory = new MockDaoFactory();
+        daoFactory.getReferenceGenomeDao().save(createReferenceGenome("uuid1", "/genomes/one/"));
+        daoFactory.getReferenceGenomeDao().save(createReferenceGenome("uuid2", "/genomes/two/"));
+        now = 0;
+        cache = new ReferenceGenomePathCache(TIME_TO_LIVE) {
+            @Override
+            protected long currentTimeMillis() {
+                return now;
+            }
+        };
+    }
+
+    /**
+     * Creates a reference genome.
+     *
+     * @param uuid the reference genome UUID.
+     * @param path the base path of the reference genome.
+     * @return the reference genome.
+     */
+    private ReferenceGenome createReferenceGenome(String uuid, String path) {
+        ReferenceGenome genome = new ReferenceGenome();
+        genome.setUuid(uuid);
+        genome.setName(uuid + "name");
+        genome.setPath(path);
+        return genome;
+    }
+
+    /**
+     * @return the mock reference genome data access object.
+     */
+    private MockReferenceGenomeDao getDao() {
+        return daoFactory.getMockReferenceGenomeDao();
+    }
+
+    /**
+     * Verifies that reference genome paths are only loaded once while they're cached.
+     */
+    @Test
+    public void shouldCachePaths() {
+        assertEquals("/genomes/one/", cache.getPath(daoFactory, "uuid1"));
+        assertEquals("/genomes/one/", cache.getPath(daoFactory, "uuid1"));
+        assertEquals("/genomes/two/", cache.getPath(daoFactory, "uuid2"));
+        assertEquals(2, getDao().getUuidLookupCount());
+        assertEquals(2, cache.size());
+    }
+
+    /**
+     * Verifies that expired entries are reloaded.
+     */
+    @Test
+    public void shouldReloadExpiredPaths() {
+        cache.getPath(daoFactory, "uuid1");
+        now += TIME_TO_LIVE - 1;
+        cache.getPath(daoFactory, "uuid1");
+        assertEquals(1, getDao().getUuidLookupCount());
+        now += 1;
+        cache.getPath(daoFactory, "uuid1");
+        assertEquals(2, getDao().getUuidLookupCount());
+    }
+
+    /**
+     * Verifies that invalidated entries are reloaded.
+     */
+    @Test
+    public void shouldReloadInvalidatedPaths() {
+        cache.getPath(daoFactory, "uuid1");
+        cache.getPath(daoFactory, "uuid2");
+        cache.invalidate("uuid1");
+        assertEquals(1, cache.size());
+        cache.getPath(daoFactory, "uuid1");
+        assertEquals(3, getDao().getUuidLookupCount());
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Verifies that unknown reference genomes are reported and not cached.
+     */
+    @Test(expected = ReferenceGenomeNotFoundException.class)
+    public void shouldRejectUnknownReferenceGenome() {
+        cache.getPath(daoFactory, "unknown");
+    }
+
+    /**
+     * Verifies that the resolvers obtained from a factory share the cache and append the base file names.
+     */
+    @Test
+    public void shouldResolveFilesUsingSharedCache() {
+        FileResolverFactory factory = new FileResolverFactory(daoFactory, cache);
+        assertEquals("/genomes/one/annotation.gtf /genomes/one/genome.fas",
+                factory.getFileResolver("ReferenceGenome").getFileAccessUrl("uuid1"));
+        assertEquals("/genomes/one/genome.fas", factory.getFileResolver("ReferenceSequence").getFileAccessUrl("uuid1"));
+        assertEquals("/genomes/one/annotation.gtf",
+                factory.getFileResolver("ReferenceAnnotation").getFileAccessUrl("uuid1"));
+        assertEquals(1, getDao().getUuidLookupCount());
+        assertNull(factory.getFileResolver("File"));
+    }
+}
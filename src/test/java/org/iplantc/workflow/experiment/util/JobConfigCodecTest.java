@@ -0,0 +1,99 @@
+package org.iplantc.workflow.experiment.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import net.sf.json.JSONObject;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.experiment.util.JobConfigCodec.
+ */
+public class JobConfigCodecTest {
+
+	/**
+	 * Verifies that keys are escaped.
+	 */
+	@Test
+	public void testEscapeKey() {
+		assertEquals("an &#38; and a &#46;", JobConfigCodec.escapeKey("an & and a ."));
+		assertEquals("&#46;&#46;a&#38;&#38;", JobConfigCodec.escapeKey("..a&&"));
+	}
+
+	/**
+	 * Verifies that keys without special characters are returned as is.
+	 */
+	@Test
+	public void testEscapeKeyFastPath() {
+		String key = "step_1_property";
+		assertSame(key, JobConfigCodec.escapeKey(key));
+		assertSame(key, JobConfigCodec.unescapeKey(key));
+	}
+
+	/**
+	 * Verifies that keys are unescaped.
+	 */
+	@Test
+	public void testUnescapeKey() {
+		assertEquals("an & and a .", JobConfigCodec.unescapeKey("an &#38; and a &#46;"));
+		assertEquals("..a&&", JobConfigCodec.unescapeKey("&#46;&#46;a&#38;&#38;"));
+	}
+
+	/**
+	 * Verifies that character sequences that aren't valid character references are left alone.
+	 */
+	@Test
+	public void testUnescapeMalformedReferences() {
+		assertEquals("a&#;b", JobConfigCodec.unescapeKey("a&#;b"));
+		assertEquals("a&#46", JobConfigCodec.unescapeKey("a&#46"));
+		assertEquals("a&#x2e;b", JobConfigCodec.unescapeKey("a&#x2e;b"));
+		assertEquals("&&#.", JobConfigCodec.unescapeKey("&&#&#46;"));
+	}
+
+	/**
+	 * Verifies that escaping and then unescaping a key produces the original key.
+	 */
+	@Test
+	public void testRoundTrip() {
+		String key = "step.one_&#46;_prop.v1&v2";
+		assertEquals(key, JobConfigCodec.unescapeKey(JobConfigCodec.escapeKey(key)));
+	}
+
+	/**
+	 * Verifies that the job configuration in an experiment is escaped without modifying the original experiment.
+	 */
+	@Test
+	public void testEscapeJobConfig() {
+		String json = "{\"name\":\"job\",\"config\":{\"step.1_a\":\"3.4\",\"step_b\":{\"c.d\":\"e\"}}}";
+		JSONObject experiment = JSONObject.fromObject(json);
+		JSONObject expected = JSONObject.fromObject(
+				"{\"name\":\"job\",\"config\":{\"step&#46;1_a\":\"3.4\",\"step_b\":{\"c.d\":\"e\"}}}");
+		assertEquals(expected, JobConfigCodec.escapeJobConfig(experiment));
+		assertEquals(JSONObject.fromObject(json), experiment);
+	}
+
+	/**
+	 * Verifies that the job configuration in an experiment is unescaped in place.
+	 */
+	@Test
+	public void testUnescapeJobConfig() {
+		JSONObject experiment = JSONObject.fromObject(
+				"{\"name\":\"job\",\"config\":{\"step&#46;1_a\":\"3.4\",\"step_b\":\"c\"}}");
+		JSONObject expected = JSONObject.fromObject(
+				"{\"name\":\"job\",\"config\":{\"step.1_a\":\"3.4\",\"step_b\":\"c\"}}");
+		assertSame(experiment, JobConfigCodec.unescapeJobConfig(experiment));
+		assertEquals(expected, experiment);
+	}
+
+	/**
+	 * Verifies that a job configuration without escaped keys isn't replaced.
+	 */
+	@Test
+	public void testUnescapeJobConfigFastPath() {
+		JSONObject experiment = JSONObject.fromObject("{\"config\":{\"step_a\":\"b\"}}");
+		JSONObject config = experiment.getJSONObject("config");
+		JobConfigCodec.unescapeJobConfig(experiment);
+		assertSame(config, experiment.getJSONObject("config"));
+	}
+}
@@ -3,17 +3,22 @@ package org.iplantc.workflow.integration;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.iplantc.workflow.util.JsonTestDataImporter.getTestJSONObject;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.iplantc.persistence.dto.data.DataFormat;
 import org.iplantc.persistence.dto.data.IntegrationDatum;
 import org.iplantc.persistence.dto.workspace.Workspace;
 import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.core.TransformationActivityReference;
 import org.iplantc.workflow.dao.mock.MockDaoFactory;
 import org.iplantc.workflow.dao.mock.MockDataFormatDao;
 import org.iplantc.workflow.dao.mock.MockInfoTypeDao;
@@ -21,6 +26,7 @@ import org.iplantc.workflow.dao.mock.MockPropertyTypeDao;
 import org.iplantc.workflow.dao.mock.MockRuleTypeDao;
 import org.iplantc.workflow.data.DataObject;
 import org.iplantc.workflow.data.InfoType;
+import org.iplantc.workflow.integration.json.NoIdRetentionStrategy;
 import org.iplantc.workflow.integration.validation.TemplateValidator;
 import org.iplantc.workflow.integration.validation.TemplateValidatorFactory;
 import org.iplantc.workflow.integration.validation.TooManyOutputRedirectionsException;
@@ -395,6 +401,86 @@ public class AnalysisGeneratingTemplateImporterTest {
 		assertEquals(integrationDatum.getId(), analysis.getIntegrationDatum().getId());
 	}
 
+    /**
+     * Verifies that a template can be copied in memory without sharing any of its components with the original.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Test
+    public void testTemplateCopy() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("fully_specified_template_alt_keys1"));
+        Template orig = getSavedTemplates().get(0);
+        Template copy = new TemplateCopier(new NoIdRetentionStrategy()).copy(orig);
+
+        assertFalse(orig.getId().equals(copy.getId()));
+        assertEquals(orig.getName(), copy.getName());
+        assertEquals(orig.getComponent(), copy.getComponent());
+        assertEquals(orig.getPropertyGroups().size(), copy.getPropertyGroups().size());
+        assertEquals(orig.getInputs().size(), copy.getInputs().size());
+        assertEquals(orig.getOutputs().size(), copy.getOutputs().size());
+
+        Property origProperty = orig.getPropertyGroups().get(0).getProperties().get(0);
+        Property copiedProperty = copy.getPropertyGroups().get(0).getProperties().get(0);
+        assertNotSame(origProperty, copiedProperty);
+        assertFalse(origProperty.getId().equals(copiedProperty.getId()));
+        assertSame(origProperty.getPropertyType(), copiedProperty.getPropertyType());
+        assertEquals(origProperty.getDefaultValue(), copiedProperty.getDefaultValue());
+        assertNotSame(origProperty.getValidator(), copiedProperty.getValidator());
+
+        Rule origRule = origProperty.getValidator().getRules().get(0);
+        Rule copiedRule = copiedProperty.getValidator().getRules().get(0);
+        assertNotSame(origRule, copiedRule);
+        assertSame(origRule.getRuleType(), copiedRule.getRuleType());
+        assertEquals(origRule.getArguments(), copiedRule.getArguments());
+
+        for (DataObject input : copy.getInputs()) {
+            assertFalse(orig.getInputs().contains(input));
+            assertSame(getDataFormat("inputformat"), input.getDataFormat());
+        }
+        for (PropertyGroup group : copy.getPropertyGroups()) {
+            for (Property property : group.getProperties()) {
+                DataObject dataObject = property.getDataObject();
+                if (dataObject != null) {
+                    assertEquals(property.getId(), dataObject.getId());
+                    assertTrue(copy.getInputs().contains(dataObject) || copy.getOutputs().contains(dataObject));
+                }
+            }
+        }
+    }
+
+    /**
+     * Verifies that a copied template can be saved along with a generated analysis.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Test
+    public void testImportCopy() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("fully_specified_template_alt_keys1"));
+        Template copy = new TemplateCopier(new NoIdRetentionStrategy()).copy(getSavedTemplates().get(0));
+        copy.setName("Copy of " + copy.getName());
+
+        IntegrationDatum integrationDatum = new IntegrationDatum();
+        integrationDatum.setIntegratorName("somebody");
+        integrationDatum.setIntegratorEmail("somebody@example.org");
+        Set<TransformationActivityReference> references = new HashSet<TransformationActivityReference>();
+        String analysisId = importer.importCopy(copy, references, integrationDatum, "somebody@example.org");
+
+        assertEquals(2, getSavedTemplates().size());
+        assertEquals(2, getSavedAnalyses().size());
+        assertEquals(copy.getId(), analysisId);
+        assertNotNull(copy.getLastModified());
+
+        TransformationActivity analysis = getSavedAnalyses().get(1);
+        assertEquals(analysisId, analysis.getId());
+        assertEquals("Copy of templatename", analysis.getName());
+        assertEquals(copy.getId(), analysis.step(0).getTemplateId());
+        assertSame(references, analysis.getReferences());
+        assertEquals("somebody@example.org", analysis.getIntegrationDatum().getIntegratorEmail());
+        assertNotNull(analysis.getLastModified());
+    }
+
     /**
      * Verifies that the validation fails if there are multiple redirections to standard output.
      * 
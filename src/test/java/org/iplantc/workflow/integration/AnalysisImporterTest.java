@@ -6,6 +6,7 @@ import java.util.List;
 import org.iplantc.persistence.dto.data.IntegrationDatum;
 import org.iplantc.persistence.dto.step.TransformationStep;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -753,6 +754,53 @@ public class AnalysisImporterTest {
         importer.importObject(json);
     }
 
+    /**
+     * Verifies that templates used by vetted analyses are detected as vetted.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if one of the test input files can't be read.
+     */
+    @Test
+    public void shouldDetectVettedTemplates() throws JSONException, IOException {
+        JSONObject json = getTestJSONObject("does_not_stomp_vetted_analysis");
+        importer.importObject(json);
+        assertFalse(importer.isTemplateVetted("bob@bob-like.net", "templateid"));
+
+        TemplateGroup otherTemplateGroup = new TemplateGroup();
+        otherTemplateGroup.setName("OtherGroup");
+        otherTemplateGroup.setId("othergroup");
+        otherTemplateGroup.setWorkspaceId(1);
+        daoFactory.getMockTemplateGroupDao().save(otherTemplateGroup);
+        otherTemplateGroup.addTemplate(getAnalysisDao().findUniqueInstanceByName("analysisname"));
+
+        assertTrue(importer.isTemplateVetted("bob@bob-like.net", "templateid"));
+        assertTrue(importer.isTemplateVetted("bob@bob-like.net", "othertemplateid"));
+        assertFalse(importer.isTemplateVetted("bob@bob-like.net", "unusedtemplateid"));
+    }
+
+    /**
+     * Verifies that a template that isn't used by any analysis isn't vetted even if the user has no workspace.
+     */
+    @Test
+    public void unusedTemplateShouldNotBeVettedForUserWithoutWorkspace() {
+        assertFalse(importer.isTemplateVetted("nobody@example.org", "unusedtemplateid"));
+    }
+
+    /**
+     * Verifies that templates and analyses in any template group are considered vetted for a user who has no
+     * workspace.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if one of the test input files can't be read.
+     */
+    @Test
+    public void templateShouldBeVettedForUserWithoutWorkspace() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("does_not_stomp_vetted_analysis"));
+        assertTrue(importer.isTemplateVetted("nobody@example.org", "templateid"));
+        TransformationActivity analysis = getAnalysisDao().findUniqueInstanceByName("analysisname");
+        assertTrue(importer.isObjectVetted("nobody@example.org", analysis));
+    }
+
     /**
      * This makes sure an unvetted analysis can be re-imported.
      *
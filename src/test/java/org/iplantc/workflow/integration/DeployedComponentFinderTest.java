@@ -6,6 +6,7 @@ import net.sf.json.JSONObject;
 import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.dao.DeployedComponentDao;
+import org.iplantc.workflow.dao.ResultPage;
 import org.iplantc.workflow.dao.mock.MockDaoFactory;
 import org.iplantc.workflow.dao.mock.MockDeployedComponentDao;
 import org.iplantc.workflow.util.Lambda;
@@ -106,6 +107,64 @@ public class DeployedComponentFinderTest {
         validateResults(finder.search(buildCriteria(null, null, null)), "id1", "id2", "id3");
     }
 
+    /**
+     * Verifies that we can retrieve a single page of deployed components along with the total number of matches.
+     */
+    @Test
+    public void shouldSearchForPage() {
+        JSONObject criteria = new JSONObject();
+        criteria.put("offset", 1);
+        criteria.put("limit", 1);
+        ResultPage<DeployedComponent> page = finder.searchPage(criteria.toString());
+        assertEquals(3, page.getTotal());
+        validateResults(page.getItems(), "id3");
+    }
+
+    /**
+     * Verifies that the paging criteria are applied after the deployed components are filtered.
+     */
+    @Test
+    public void shouldSearchForPageByLocation() {
+        JSONObject criteria = JSONObject.fromObject(buildCriteria(null, null, "location1"));
+        criteria.put("limit", 1);
+        criteria.put("sort_dir", "desc");
+        ResultPage<DeployedComponent> page = finder.searchPage(criteria.toString());
+        assertEquals(2, page.getTotal());
+        validateResults(page.getItems(), "id2");
+    }
+
+    /**
+     * Verifies that we can sort the matching deployed components by a field other than the name.
+     */
+    @Test
+    public void shouldSortByLocation() {
+        JSONObject criteria = new JSONObject();
+        criteria.put("sort_field", "location");
+        criteria.put("sort_dir", "desc");
+        List<DeployedComponent> results = finder.search(criteria.toString());
+        assertEquals("id3", results.get(0).getId());
+    }
+
+    /**
+     * Verifies that we get an illegal argument exception when an unsupported sort field is requested.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldGetExceptionForUnsupportedSortField() {
+        JSONObject criteria = new JSONObject();
+        criteria.put("sort_field", "description");
+        finder.search(criteria.toString());
+    }
+
+    /**
+     * Verifies that we get an illegal argument exception when the limit isn't positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldGetExceptionForInvalidLimit() {
+        JSONObject criteria = new JSONObject();
+        criteria.put("limit", 0);
+        finder.search(criteria.toString());
+    }
+
     /**
      * Verifies that we get an illegal argument exception when both the identifier and name are specified in the
      * search criteria.
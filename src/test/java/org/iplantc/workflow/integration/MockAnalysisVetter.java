@@ -8,7 +8,7 @@ import org.iplantc.workflow.core.TransformationActivity;
  * 
  * @author Kris Healy <healyk@iplantcollaborative.org>
  */
-public class MockAnalysisVetter implements ObjectVetter<TransformationActivity> {
+public class MockAnalysisVetter implements AnalysisVetter {
     private boolean vetResult;
 
     public MockAnalysisVetter() {
@@ -21,6 +21,12 @@ public class MockAnalysisVetter implements ObjectVetter<TransformationActivity>
         return vetResult;
     }
 
+    /** @{inheritDocs} */
+    @Override
+    public boolean isTemplateVetted(String username, String templateId) {
+        return vetResult;
+    }
+
     /**
      * Sets what isObjectVetted will return.
      * 
@@ -1,5 +1,7 @@
 package org.iplantc.workflow.integration;
 
+import java.util.List;
+
 import org.iplantc.workflow.WorkflowException;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -430,6 +432,77 @@ public class NotificationSetImporterTest {
         assertEquals("sometype", notificationSetDao.getSavedObjects().get(0).getNotifications().get(0).getType());
     }
 
+    /**
+     * Verifies that importing a list in replacement mode replaces the existing notification sets of every analysis
+     * in the list and keeps only the last notification set for an analysis that appears more than once.
+     *
+     * @throws JSONException if the JSON array that we're importing is invalid.
+     */
+    @Test
+    public void shouldReplaceNotificationSetsInList() throws JSONException {
+        importer.importObject(getMinimalNotificationSetJson("analysis1", "oldtype"));
+        importer.importObject(getMinimalNotificationSetJson("analysis2", "oldtype"));
+        importer.importObject(getMinimalNotificationSetJson("analysis3", "oldtype"));
+        importer.enableReplacement();
+        JSONArray array = new JSONArray();
+        array.put(getMinimalNotificationSetJson("analysis1", "type1"));
+        array.put(getMinimalNotificationSetJson("analysis2", "type2"));
+        array.put(getMinimalNotificationSetJson("analysis4", "type4"));
+        array.put(getMinimalNotificationSetJson("analysis2", "type2b"));
+        assertEquals(4, importer.importObjectList(array).size());
+        assertEquals(4, notificationSetDao.getSavedObjects().size());
+        assertEquals("oldtype", getNotificationType("analysis3"));
+        assertEquals("type1", getNotificationType("analysis1"));
+        assertEquals("type2b", getNotificationType("analysis2"));
+        assertEquals("type4", getNotificationType("analysis4"));
+    }
+
+    /**
+     * Verifies that importing a list in ignore mode keeps the existing notification sets and the first notification
+     * set for an analysis that appears more than once.
+     *
+     * @throws JSONException if the JSON array that we're importing is invalid.
+     */
+    @Test
+    public void shouldIgnoreDuplicateNotificationSetsInList() throws JSONException {
+        importer.importObject(getMinimalNotificationSetJson("analysis1", "oldtype"));
+        importer.ignoreReplacement();
+        JSONArray array = new JSONArray();
+        array.put(getMinimalNotificationSetJson("analysis1", "type1"));
+        array.put(getMinimalNotificationSetJson("analysis2", "type2"));
+        array.put(getMinimalNotificationSetJson("analysis2", "type2b"));
+        importer.importObjectList(array);
+        assertEquals(2, notificationSetDao.getSavedObjects().size());
+        assertEquals("oldtype", getNotificationType("analysis1"));
+        assertEquals("type2", getNotificationType("analysis2"));
+    }
+
+    /**
+     * Verifies that importing a list that refers to the same analysis twice fails if replacement is disabled.
+     *
+     * @throws JSONException if the JSON array that we're importing is invalid.
+     */
+    @Test(expected = WorkflowException.class)
+    public void duplicateNotificationSetsInListShouldCauseException() throws JSONException {
+        importer.disableReplacement();
+        JSONArray array = new JSONArray();
+        array.put(getMinimalNotificationSetJson("analysis1", "type1"));
+        array.put(getMinimalNotificationSetJson("analysis1", "type1b"));
+        importer.importObjectList(array);
+    }
+
+    /**
+     * Gets the type of the first notification in the only notification set saved for an analysis.
+     *
+     * @param analysisId the analysis identifier.
+     * @return the notification type.
+     */
+    private String getNotificationType(String analysisId) {
+        List<NotificationSet> notificationSets = notificationSetDao.findNotificationSetsForAnalysisId(analysisId);
+        assertEquals(1, notificationSets.size());
+        return notificationSets.get(0).getNotifications().get(0).getType();
+    }
+
     /**
      * Creates a minimal notification set JSON object for testing.
      *
@@ -11,9 +11,11 @@ import static org.iplantc.workflow.util.JsonTestDataImporter.getTestJSONArray;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 
 import org.iplantc.persistence.dto.data.DataFormat;
+import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.mock.MockDaoFactory;
 import org.iplantc.workflow.dao.mock.MockDataFormatDao;
 import org.iplantc.workflow.dao.mock.MockDeployedComponentDao;
@@ -24,6 +26,7 @@ import org.iplantc.workflow.dao.mock.MockTemplateDao;
 import org.iplantc.workflow.data.DataObject;
 import org.iplantc.workflow.data.InfoType;
 import org.iplantc.workflow.integration.util.HeterogeneousRegistryImpl;
+import org.iplantc.workflow.integration.validation.TemplateValidatorFactory;
 import org.iplantc.workflow.integration.validation.TooManyOutputRedirectionsException;
 import org.iplantc.workflow.mock.MockWorkspaceInitializer;
 import org.iplantc.workflow.model.Property;
@@ -586,6 +589,165 @@ public class TemplateImporterTest {
         assertEquals("", getMockTemplateDao().getSavedObjects().get(0).getName());
     }
 
+    /**
+     * Verifies that updating a template in place with an identical template doesn't change anything.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if we try to load the JSON from a non-existent file.
+     */
+    @Test
+    public void templateUpdateWithoutChangesShouldBeEmpty() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("fully_specified_template"));
+        Template original = getMockTemplateDao().getSavedObjects().get(0);
+
+        importer.setUpdateMode(UpdateMode.UPDATE);
+        importer.importObject(getTestJSONObject("fully_specified_template"));
+        assertEquals(1, getMockTemplateDao().getSavedObjects().size());
+        assertSame(original, getMockTemplateDao().getSavedObjects().get(0));
+        assertTrue(importer.getLastChangeSet().isEmpty());
+        assertTrue(getMockTemplateDao().getDeletedTemplateElements().isEmpty());
+    }
+
+    /**
+     * Verifies that changing a single property label only updates the stored property.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if we try to load the JSON from a non-existent file.
+     */
+    @Test
+    public void templateUpdateShouldOnlyUpdateChangedProperty() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("fully_specified_template"));
+        Template original = getMockTemplateDao().getSavedObjects().get(0);
+        Property originalProperty = original.getPropertyGroups().get(0).getProperties().get(0);
+
+        JSONObject json = getTestJSONObject("fully_specified_template");
+        getGroupJson(json, 0).getJSONArray("properties").getJSONObject(0).put("label", "newpropertylabel");
+        importer.setUpdateMode(UpdateMode.UPDATE);
+        importer.importObject(json);
+
+        TemplateChangeSet changes = importer.getLastChangeSet();
+        assertEquals(1, changes.getChanges().size());
+        assertEquals(TemplateChangeSet.ChangeType.UPDATE, changes.getChanges().get(0).getChangeType());
+        assertEquals("Property", changes.getChanges().get(0).getElementType());
+        assertEquals("propertyid", changes.getChanges().get(0).getId());
+
+        Template updated = getMockTemplateDao().getSavedObjects().get(0);
+        assertSame(original, updated);
+        assertSame(originalProperty, updated.getPropertyGroups().get(0).getProperties().get(0));
+        assertEquals("newpropertylabel", originalProperty.getLabel());
+    }
+
+    /**
+     * Verifies that rules are matched by position when a template is updated in place.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if we try to load the JSON from a non-existent file.
+     */
+    @Test
+    public void templateUpdateShouldUpdateRuleArguments() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("fully_specified_template"));
+        Validator validator = getMockTemplateDao().getSavedObjects().get(0).getPropertyGroups().get(0)
+                .getProperties().get(0).getValidator();
+        Rule rule = validator.getRules().get(0);
+
+        JSONObject json = getTestJSONObject("fully_specified_template");
+        JSONObject ruleJson = getGroupJson(json, 0).getJSONArray("properties").getJSONObject(0)
+                .getJSONObject("validator").getJSONArray("rules").getJSONObject(0);
+        ruleJson.put("ruletype", new JSONArray(Arrays.asList("rulearg1", "rulearg3")));
+        importer.setUpdateMode(UpdateMode.UPDATE);
+        importer.importObject(json);
+
+        TemplateChangeSet changes = importer.getLastChangeSet();
+        assertEquals(1, changes.getChanges().size());
+        assertEquals("Rule", changes.getChanges().get(0).getElementType());
+        assertEquals(rule.getId(), changes.getChanges().get(0).getId());
+        assertSame(rule, validator.getRules().get(0));
+        assertEquals(Arrays.asList("rulearg1", "rulearg3"), rule.getArguments());
+    }
+
+    /**
+     * Verifies that properties are inserted and deleted when a template is updated in place.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if we try to load the JSON from a non-existent file.
+     */
+    @Test
+    public void templateUpdateShouldInsertAndDeleteProperties() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("fully_specified_template"));
+        Template original = getMockTemplateDao().getSavedObjects().get(0);
+        Property removedProperty = original.getPropertyGroups().get(1).getProperties().get(1);
+
+        JSONObject json = getTestJSONObject("fully_specified_template");
+        JSONObject inputGroup = getGroupJson(json, 1);
+        inputGroup.put("properties", new JSONArray().put(inputGroup.getJSONArray("properties").get(0)));
+        JSONObject newProperty = new JSONObject();
+        newProperty.put("id", "newpropertyid");
+        newProperty.put("type", "propertytypename");
+        getGroupJson(json, 0).getJSONArray("properties").put(newProperty);
+        importer.setUpdateMode(UpdateMode.UPDATE);
+        importer.importObject(json);
+
+        TemplateChangeSet changes = importer.getLastChangeSet();
+        assertEquals(1, changes.getChanges(TemplateChangeSet.ChangeType.INSERT).size());
+        assertEquals("newpropertyid", changes.getChanges(TemplateChangeSet.ChangeType.INSERT).get(0).getId());
+        assertEquals(1, changes.getChanges(TemplateChangeSet.ChangeType.DELETE).size());
+        assertEquals("inprop2", changes.getChanges(TemplateChangeSet.ChangeType.DELETE).get(0).getId());
+        assertEquals(3, changes.getChanges(TemplateChangeSet.ChangeType.UPDATE).size());
+
+        assertEquals(2, original.getPropertyGroups().get(0).getProperties().size());
+        assertEquals(1, original.getPropertyGroups().get(1).getProperties().size());
+        assertEquals(1, original.getInputs().size());
+        assertEquals(Arrays.<Object>asList(removedProperty), getMockTemplateDao().getDeletedTemplateElements());
+    }
+
+    /**
+     * Verifies that the analysis generated when a template without an analysis is matched by name and updated in
+     * place refers to the stored template rather than to the incoming template, which has no identifier.
+     *
+     * @throws JSONException if a JSON error occurs.
+     * @throws IOException if we try to load the JSON from a non-existent file.
+     */
+    @Test
+    public void templateUpdateShouldGenerateAnalysisForStoredTemplate() throws JSONException, IOException {
+        importer.importObject(getTestJSONObject("fully_specified_template"));
+        Template original = getMockTemplateDao().getSavedObjects().get(0);
+        assertTrue(daoFactory.getMockTransformationActivityDao().getSavedObjects().isEmpty());
+
+        AnalysisGeneratingTemplateImporter analysisImporter = new AnalysisGeneratingTemplateImporter(daoFactory,
+                new TemplateGroupImporter(daoFactory, 0, 1), workspaceInitializer,
+                TemplateValidatorFactory.createDefaultTemplateValidator());
+        analysisImporter.setAnalysisVetter(analysisVetter);
+        analysisImporter.setUpdateMode(UpdateMode.UPDATE);
+
+        JSONObject json = getTestJSONObject("fully_specified_template");
+        json.remove("id");
+        json.put("full_username", "someuser@iplantcollaborative.org");
+        json.put("edited_date", "1000");
+        analysisImporter.importObject(json);
+
+        assertEquals(1, getMockTemplateDao().getSavedObjects().size());
+        assertSame(original, getMockTemplateDao().getSavedObjects().get(0));
+        List<TransformationActivity> analyses = daoFactory.getMockTransformationActivityDao().getSavedObjects();
+        assertEquals(1, analyses.size());
+        TransformationActivity analysis = analyses.get(0);
+        assertEquals(original.getId(), analysis.getId());
+        assertEquals(original.getId(), analysis.step(0).getTemplateId());
+        assertEquals(original.getName(), analysis.getName());
+        assertEquals(new Date(1000), analysis.getEditedDate());
+    }
+
+    /**
+     * Gets the JSON object representing a property group from the JSON object representing a template.
+     *
+     * @param json the JSON object representing the template.
+     * @param index the index of the property group.
+     * @return the JSON object representing the property group.
+     * @throws JSONException if the property group can't be found.
+     */
+    private JSONObject getGroupJson(JSONObject json, int index) throws JSONException {
+        return json.getJSONArray("groups").getJSONObject(index);
+    }
+
     /**
      * Verifies that we can import a minimally specified template with alternative key names.
      *
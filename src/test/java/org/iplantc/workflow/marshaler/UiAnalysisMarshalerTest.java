@@ -0,0 +1,110 @@
+package org.iplantc.workflow.marshaler;
+
+import static org.junit.Assert.assertEquals;
+
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.metrics.QueryAssertions;
+import org.iplantc.workflow.metrics.QueryStats;
+import org.iplantc.workflow.model.Property;
+import org.iplantc.workflow.model.PropertyGroup;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.util.UnitTestUtils;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.marshaler.UiAnalysisMarshaler.
+ */
+public class UiAnalysisMarshalerTest {
+
+    /**
+     * Used to obtain data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * The marshaler being tested.
+     */
+    private UiAnalysisMarshaler marshaler;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        daoFactory = new MockDaoFactory();
+        daoFactory.getTemplateDao().save(createTemplate("template1"));
+        daoFactory.getTemplateDao().save(createTemplate("template2"));
+        daoFactory.getTemplateDao().save(createTemplate("template3"));
+        marshaler = new UiAnalysisMarshaler(daoFactory);
+    }
+
+    /**
+     * Creates a template containing a single property group with a single visible property.
+     *
+     * @param name the name of the template.
+     * @return the template.
+     */
+    private Template createTemplate(String name) {
+        Property property = new Property(name + "propid", name + "prop", name + "proplabel", "");
+        property.setPropertyType(UnitTestUtils.createPropertyType("Text"));
+        property.setIsVisible(true);
+        PropertyGroup group = new PropertyGroup(name + "groupid", "group", "grouplabel", "");
+        group.addProperty(property);
+        Template template = UnitTestUtils.createTemplate(name);
+        template.addPropertyGroup(group);
+        return template;
+    }
+
+    /**
+     * Verifies that the templates in a multistep analysis are loaded using a single query.
+     *
+     * @throws JSONException if a JSON error occurs.
+     */
+    @Test
+    public void shouldLoadTemplatesInOneQuery() throws JSONException {
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "template1id",
+                "template2id", "template3id");
+        daoFactory.getMockTemplateDao().resetQueryCount();
+        JSONObject json = marshaler.marshal(analysis);
+        assertEquals(1, daoFactory.getMockTemplateDao().getQueryCount());
+
+        JSONArray groups = json.getJSONArray("groups");
+        assertEquals(3, groups.length());
+        assertEquals("template1 - group", groups.getJSONObject(0).getString("name"));
+        assertEquals("template3 - group", groups.getJSONObject(2).getString("name"));
+    }
+
+    /**
+     * Verifies that marshaling an analysis with many steps doesn't look up the templates one at a time.
+     *
+     * @throws JSONException if a JSON error occurs.
+     */
+    @Test
+    public void shouldNotLookUpTemplatesPerStep() throws JSONException {
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "template1id",
+                "template2id", "template3id", "template1id", "template2id", "template3id");
+        QueryAssertions.startTracking("marshal");
+        marshaler.marshal(analysis);
+        QueryStats stats = QueryAssertions.stopTracking();
+        QueryAssertions.assertNoSuspectedNPlusOne(stats, 2);
+        QueryAssertions.assertMaxQueries(stats, 1);
+    }
+
+    /**
+     * Verifies that group names aren't prefixed for single-step analyses.
+     *
+     * @throws JSONException if a JSON error occurs.
+     */
+    @Test
+    public void shouldNotPrefixGroupNamesForSingleStepAnalysis() throws JSONException {
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "template1id");
+        JSONArray groups = marshaler.marshal(analysis).getJSONArray("groups");
+        assertEquals(1, groups.length());
+        assertEquals("group", groups.getJSONObject(0).getString("name"));
+    }
+}
@@ -0,0 +1,102 @@
+package org.iplantc.workflow.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.metrics.Histogram.
+ */
+public class HistogramTest {
+
+    /**
+     * The histogram being tested.
+     */
+    private Histogram histogram;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        histogram = new Histogram();
+    }
+
+    /**
+     * Verifies that every value falls within the bounds of its bucket.
+     */
+    @Test
+    public void shouldPlaceValuesWithinBucketBounds() {
+        long[] values = {0, 1, 7, 8, 9, 15, 16, 17, 1000, 123456789, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = Histogram.bucketIndex(value);
+            assertTrue(value <= Histogram.bucketUpperBound(index));
+            if (index > 0) {
+                assertTrue(value > Histogram.bucketUpperBound(index - 1));
+            }
+        }
+    }
+
+    /**
+     * Verifies that an empty histogram reports zeros.
+     */
+    @Test
+    public void shouldReportZerosWhenEmpty() {
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean(), 0.0);
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    /**
+     * Verifies that percentiles are estimated to within the bucket resolution.
+     */
+    @Test
+    public void shouldEstimatePercentiles() {
+        for (long i = 1; i <= 10000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000, histogram.getMax());
+        assertEquals(5000.5, histogram.getMean(), 0.001);
+        assertWithinResolution(5000, histogram.getPercentile(50));
+        assertWithinResolution(9900, histogram.getPercentile(99));
+        assertEquals(10000, histogram.getPercentile(100));
+    }
+
+    /**
+     * Verifies that small values are recorded exactly.
+     */
+    @Test
+    public void shouldRecordSmallValuesExactly() {
+        histogram.record(3);
+        histogram.record(5);
+        assertEquals(3, histogram.getPercentile(50));
+        assertEquals(5, histogram.getPercentile(100));
+    }
+
+    /**
+     * Verifies that resetting the histogram discards recorded values.
+     */
+    @Test
+    public void shouldReset() {
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    /**
+     * Asserts that an estimated value is within 12.5% of the expected value.
+     *
+     * @param expected the expected value.
+     * @param actual the estimated value.
+     */
+    private void assertWithinResolution(long expected, long actual) {
+        assertTrue(actual >= expected);
+        assertTrue(actual <= expected + expected / 8);
+    }
+}
@@ -0,0 +1,128 @@
+package org.iplantc.workflow.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.metrics.MetricsRegistry, org.iplantc.workflow.metrics.Timer and
+ * org.iplantc.workflow.metrics.StripedCounter.
+ */
+public class MetricsRegistryTest {
+
+    /**
+     * The registry being tested.
+     */
+    private MetricsRegistry registry;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        registry = new MetricsRegistry();
+    }
+
+    /**
+     * Verifies that each name refers to a single metric.
+     */
+    @Test
+    public void shouldReuseMetrics() {
+        assertSame(registry.counter("foo"), registry.counter("foo"));
+        assertSame(registry.timer("foo"), registry.timer("foo"));
+        assertSame(registry.histogram("foo"), registry.histogram("foo"));
+    }
+
+    /**
+     * Verifies that concurrent increments aren't lost.
+     *
+     * @throws InterruptedException if the test is interrupted.
+     */
+    @Test
+    public void shouldCountConcurrentIncrements() throws InterruptedException {
+        final StripedCounter counter = registry.counter("concurrent");
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int j = 0; j < 10000; j++) {
+                        counter.increment();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(80000, counter.get());
+        assertEquals(80000, registry.getCount("concurrent"));
+    }
+
+    /**
+     * Verifies that timer contexts that aren't marked successful are counted as errors.
+     */
+    @Test
+    public void shouldCountTimerErrors() {
+        Timer timer = registry.timer("operation");
+        Timer.Context succeeded = timer.start();
+        succeeded.success();
+        succeeded.stop();
+        Timer.Context failed = timer.start();
+        failed.stop();
+        failed.stop();
+        assertEquals(2, timer.getCount());
+        assertEquals(1, timer.getErrorCount());
+    }
+
+    /**
+     * Verifies that the snapshot contains every metric.
+     *
+     * @throws Exception if an error occurs.
+     */
+    @Test
+    public void shouldProduceSnapshot() throws Exception {
+        registry.counter("requests").add(3);
+        registry.timer("operation").record(2000000, false);
+        registry.histogram("sizes").record(5);
+        JSONObject snapshot = new JSONObject(registry.getSnapshot());
+        assertEquals(3, snapshot.getJSONObject("counters").getLong("requests"));
+        JSONObject timer = snapshot.getJSONObject("timers").getJSONObject("operation");
+        assertEquals(1, timer.getLong("count"));
+        assertEquals(0, timer.getLong("errors"));
+        assertEquals(2.0, timer.getDouble("max_ms"), 0.0);
+        assertEquals(5, snapshot.getJSONObject("histograms").getJSONObject("sizes").getLong("p50"));
+    }
+
+    /**
+     * Verifies that the metric names are listed in sorted order.
+     */
+    @Test
+    public void shouldListSortedNames() {
+        registry.timer("b");
+        registry.timer("a");
+        assertArrayEquals(new String[] {"a", "b"}, registry.getTimerNames());
+    }
+
+    /**
+     * Verifies that resetting the registry resets every metric.
+     */
+    @Test
+    public void shouldResetMetrics() {
+        registry.counter("requests").increment();
+        registry.timer("operation").record(10, true);
+        registry.reset();
+        assertEquals(0, registry.getCount("requests"));
+        assertEquals(0, registry.getCount("operation"));
+        assertEquals(0, registry.timer("operation").getErrorCount());
+    }
+}
@@ -0,0 +1,75 @@
+package org.iplantc.workflow.metrics;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Map;
+
+/**
+ * Assertions about the queries recorded by {@link QueryTracker}. Tests begin tracking with
+ * {@link #startTracking(String)}, exercise the code under test and then pass the result of {@link #stopTracking()}
+ * to one of the assertion methods. The mock DAOs report their lookups to the query tracker, so these assertions can
+ * be used to catch N+1 lookups in unit tests.
+ */
+public class QueryAssertions {
+
+    /**
+     * Prevent instantiation.
+     */
+    private QueryAssertions() {
+    }
+
+    /**
+     * Begins tracking queries on the current thread, discarding any tracking left over from a previous test.
+     *
+     * @param operation the name of the operation being tracked.
+     */
+    public static void startTracking(String operation) {
+        QueryTracker.end();
+        QueryTracker.begin(operation);
+    }
+
+    /**
+     * Stops tracking queries on the current thread.
+     *
+     * @return the statistics for the tracked operation.
+     */
+    public static QueryStats stopTracking() {
+        QueryStats stats = QueryTracker.end();
+        if (stats == null) {
+            fail("query tracking was not started");
+        }
+        return stats;
+    }
+
+    /**
+     * Asserts that an operation issued no more than the given number of queries.
+     *
+     * @param stats the statistics for the operation.
+     * @param maxQueries the maximum number of queries.
+     */
+    public static void assertMaxQueries(QueryStats stats, int maxQueries) {
+        assertTrue(stats + " exceeded " + maxQueries + " queries: " + stats.getDistinctQueries(),
+                stats.getQueryCount() <= maxQueries);
+    }
+
+    /**
+     * Asserts that no query was repeated often enough to be reported as a suspected N+1 select in production.
+     *
+     * @param stats the statistics for the operation.
+     */
+    public static void assertNoSuspectedNPlusOne(QueryStats stats) {
+        assertNoSuspectedNPlusOne(stats, QueryTracker.getSuspectThreshold());
+    }
+
+    /**
+     * Asserts that no query was issued the given number of times or more.
+     *
+     * @param stats the statistics for the operation.
+     * @param threshold the number of repetitions at which a query is considered suspect.
+     */
+    public static void assertNoSuspectedNPlusOne(QueryStats stats, int threshold) {
+        Map<String, Integer> suspects = stats.getSuspectedNPlusOneQueries(threshold);
+        assertTrue("suspected N+1 selects in " + stats + ": " + suspects, suspects.isEmpty());
+    }
+}
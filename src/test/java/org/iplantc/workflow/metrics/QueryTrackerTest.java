@@ -0,0 +1,94 @@
+package org.iplantc.workflow.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+import org.hibernate.cfg.Configuration;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.metrics.QueryTracker and org.iplantc.workflow.metrics.QueryInspector.
+ */
+public class QueryTrackerTest {
+
+    /**
+     * Makes sure that no tracking is left over for other tests.
+     */
+    @After
+    public void cleanUp() {
+        QueryTracker.end();
+        QueryTracker.setSuspectThreshold(QueryTracker.DEFAULT_SUSPECT_THRESHOLD);
+    }
+
+    /**
+     * Verifies that literal values and placeholder lists are normalized.
+     */
+    @Test
+    public void shouldNormalizeSql() {
+        assertEquals("select * from t where a = ? and b = ? and c in (?)",
+                QueryTracker.normalize("select *\n  from t where a = 'x''y' and b = 42 and c in (?, ?,?)"));
+        assertEquals("select t0_.id from template t0_ where t0_.id=?",
+                QueryTracker.normalize("select t0_.id from template t0_ where t0_.id=?"));
+    }
+
+    /**
+     * Verifies that queries issued outside a tracked operation are ignored.
+     */
+    @Test
+    public void shouldIgnoreUntrackedQueries() {
+        new QueryInspector().onPrepareStatement("select 1");
+        assertNull(QueryTracker.current());
+    }
+
+    /**
+     * Verifies that nested operations are attributed to the outer operation.
+     */
+    @Test
+    public void shouldNotNestOperations() {
+        assertTrue(QueryTracker.begin("outer"));
+        assertFalse(QueryTracker.begin("inner"));
+        new QueryInspector().onPrepareStatement("select 1");
+        QueryStats stats = QueryTracker.end();
+        assertEquals("outer", stats.getOperation());
+        assertEquals(1, stats.getQueryCount());
+    }
+
+    /**
+     * Verifies that repeated queries with the same shape are reported as suspected N+1 selects.
+     */
+    @Test
+    public void shouldDetectRepeatedQueries() {
+        QueryAssertions.startTracking("listing");
+        QueryInspector inspector = new QueryInspector();
+        inspector.onPrepareStatement("select * from analysis");
+        for (int i = 0; i < 5; i++) {
+            inspector.onPrepareStatement("select * from template where id = '" + i + "'");
+        }
+        QueryStats stats = QueryAssertions.stopTracking();
+        assertEquals(6, stats.getQueryCount());
+        assertEquals(2, stats.getDistinctQueries().size());
+        Map<String, Integer> suspects = stats.getSuspectedNPlusOneQueries(5);
+        assertEquals(1, suspects.size());
+        assertEquals(Integer.valueOf(5), suspects.get("select * from template where id = ?"));
+        QueryAssertions.assertNoSuspectedNPlusOne(stats, 6);
+    }
+
+    /**
+     * Verifies that the query inspector is only installed when query tracking is enabled.
+     */
+    @Test
+    public void shouldInstallOnlyWhenEnabled() {
+        Configuration configuration = new Configuration();
+        assertFalse(QueryInspector.install(configuration));
+        assertFalse(configuration.getInterceptor() instanceof QueryInspector);
+        configuration.setProperty(QueryInspector.ENABLED_PROPERTY, "true");
+        configuration.setProperty(QueryInspector.SUSPECT_THRESHOLD_PROPERTY, "3");
+        assertTrue(QueryInspector.install(configuration));
+        assertTrue(configuration.getInterceptor() instanceof QueryInspector);
+        assertEquals(3, QueryTracker.getSuspectThreshold());
+    }
+}
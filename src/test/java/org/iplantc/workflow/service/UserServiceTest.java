@@ -0,0 +1,155 @@
+package org.iplantc.workflow.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.iplantc.persistence.dto.workspace.Workspace;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.template.groups.TemplateGroup;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.service.UserService.
+ */
+public class UserServiceTest {
+
+    /**
+     * The name of the user whose workspace is created.
+     */
+    private static final String USERNAME = "nobody@iplantcollaborative.org";
+
+    /**
+     * The number of threads used in the concurrency test.
+     */
+    private static final int THREAD_COUNT = 100;
+
+    /**
+     * Used to obtain mock data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * The service being tested.
+     */
+    private UserService userService;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        daoFactory = new MockDaoFactory();
+        userService = new UserService();
+        userService.setRootAnalysisGroup("Workspace");
+        userService.setDefaultAnalysisGroups("[\"Applications Under Development\",\"Favorite Applications\"]");
+    }
+
+    /**
+     * @return the number of root analysis groups that have been saved.
+     */
+    private int countRootAnalysisGroups() {
+        int count = 0;
+        for (TemplateGroup group : daoFactory.getMockTemplateGroupDao().getSavedObjects()) {
+            if (group.getName().equals("Workspace")) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Verifies that a new user's workspace is created along with the default analysis groups.
+     */
+    @Test
+    public void testNewUser() {
+        Workspace workspace = userService.getOrCreateWorkspaceForUsername(daoFactory, USERNAME);
+        assertNotNull(workspace.getRootAnalysisGroupId());
+        assertEquals(USERNAME, workspace.getUser().getUsername());
+        assertEquals(1, daoFactory.getMockUserDao().findAll().size());
+        assertEquals(1, daoFactory.getMockWorkspaceDao().findAll().size());
+        assertEquals(1, countRootAnalysisGroups());
+        TemplateGroup root = daoFactory.getMockTemplateGroupDao().findByHid(workspace.getRootAnalysisGroupId());
+        assertEquals(2, root.getSub_groups().size());
+        assertEquals(1, daoFactory.getMockWorkspaceBootstrapDao().getLockCount());
+    }
+
+    /**
+     * Verifies that an initialized workspace is returned without taking the bootstrap lock or creating anything.
+     */
+    @Test
+    public void testInitializedUser() {
+        Workspace first = userService.getOrCreateWorkspaceForUsername(daoFactory, USERNAME);
+        Workspace second = userService.getOrCreateWorkspaceForUsername(daoFactory, USERNAME);
+        assertEquals(first.getId(), second.getId());
+        assertEquals(1, daoFactory.getMockWorkspaceDao().findAll().size());
+        assertEquals(1, countRootAnalysisGroups());
+        assertEquals(1, daoFactory.getMockWorkspaceBootstrapDao().getLockCount());
+    }
+
+    /**
+     * Verifies that the default analysis groups are created for an existing workspace that doesn't have them yet.
+     */
+    @Test
+    public void testExistingWorkspaceWithoutAnalysisGroups() {
+        Workspace workspace = userService.getOrCreateWorkspaceForUsername(daoFactory, USERNAME);
+        workspace.setRootAnalysisGroupId(null);
+        Workspace result = userService.getOrCreateWorkspaceForUsername(daoFactory, USERNAME);
+        assertEquals(workspace.getId(), result.getId());
+        assertNotNull(result.getRootAnalysisGroupId());
+        assertEquals(1, daoFactory.getMockWorkspaceDao().findAll().size());
+        assertEquals(2, countRootAnalysisGroups());
+    }
+
+    /**
+     * Verifies that a new user is bootstrapped exactly once when many requests for the user arrive at the same time.
+     *
+     * @throws Exception if the test is interrupted or one of the requests fails.
+     */
+    @Test
+    public void testConcurrentBootstrap() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<Workspace>> futures = new ArrayList<Future<Workspace>>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures.add(executor.submit(new Callable<Workspace>() {
+                    @Override
+                    public Workspace call() throws Exception {
+                        start.await();
+                        return userService.getOrCreateWorkspaceForUsername(daoFactory, USERNAME);
+                    }
+                }));
+            }
+            start.countDown();
+
+            Set<Long> workspaceIds = new HashSet<Long>();
+            for (Future<Workspace> future : futures) {
+                Workspace workspace = future.get(30, TimeUnit.SECONDS);
+                assertNotNull(workspace.getRootAnalysisGroupId());
+                workspaceIds.add(workspace.getId());
+            }
+            assertEquals(1, workspaceIds.size());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, daoFactory.getMockUserDao().findAll().size());
+        assertEquals(1, daoFactory.getMockWorkspaceDao().findAll().size());
+        assertEquals(1, countRootAnalysisGroups());
+        assertTrue(daoFactory.getMockWorkspaceBootstrapDao().getLockCount() >= 1);
+    }
+}
@@ -0,0 +1,186 @@
+package org.iplantc.workflow.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.iplantc.persistence.dto.workspace.Workspace;
+import org.iplantc.workflow.dao.hibernate.HibernateDaoFactory;
+import org.iplantc.workflow.dao.hibernate.ScratchDatabase;
+import org.junit.AfterClass;
+import org.junit.Assume;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Verifies that concurrent requests for a new user create exactly one user and one workspace when each request runs
+ * in its own database transaction. Unlike UserServiceTest, which uses mock data access objects, these tests run
+ * against a scratch PostgreSQL database; see {@link ScratchDatabase}. They're skipped if no database was specified.
+ */
+public class WorkspaceBootstrapTest {
+
+    /**
+     * The number of concurrent requests for each user.
+     */
+    private static final int THREAD_COUNT = 10;
+
+    /**
+     * The session factory for the scratch database.
+     */
+    private static SessionFactory sessionFactory;
+
+    /**
+     * Creates the schema in the scratch database, or skips the tests if no scratch database was specified.
+     *
+     * @throws Exception if the schema can't be created.
+     */
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        Assume.assumeTrue(ScratchDatabase.isAvailable());
+        sessionFactory = ScratchDatabase.createSessionFactory(null);
+    }
+
+    /**
+     * Closes the session factory.
+     */
+    @AfterClass
+    public static void closeSessionFactory() {
+        if (sessionFactory != null) {
+            sessionFactory.close();
+            sessionFactory = null;
+        }
+    }
+
+    /**
+     * Verifies that a user is bootstrapped once when concurrent requests are handled by a single service instance.
+     *
+     * @throws Exception if the test is interrupted or one of the requests fails.
+     */
+    @Test
+    public void testConcurrentRequestsInOneInstance() throws Exception {
+        UserService userService = createUserService();
+        assertBootstrappedOnce("one-instance@iplantcollaborative.org", userService, userService);
+    }
+
+    /**
+     * Verifies that a user is bootstrapped once when concurrent requests are handled by separate service instances,
+     * which don't share any locks, as if they were running in separate application instances.
+     *
+     * @throws Exception if the test is interrupted or one of the requests fails.
+     */
+    @Test
+    public void testConcurrentRequestsInSeparateInstances() throws Exception {
+        assertBootstrappedOnce("two-instances@iplantcollaborative.org", createUserService(), createUserService());
+    }
+
+    /**
+     * @return a new user service that uses the scratch database.
+     */
+    private UserService createUserService() {
+        UserService userService = new UserService();
+        userService.setSessionFactory(sessionFactory);
+        userService.setRootAnalysisGroup("Workspace");
+        userService.setDefaultAnalysisGroups("[\"Applications Under Development\",\"Favorite Applications\"]");
+        return userService;
+    }
+
+    /**
+     * Requests the workspace for a new user from many threads at once, alternating between two service instances,
+     * and verifies that every request gets the same workspace and that only one user and one workspace were stored.
+     *
+     * @param username the name of the new user.
+     * @param first the service instance used by the even-numbered threads.
+     * @param second the service instance used by the odd-numbered threads.
+     * @throws Exception if the test is interrupted or one of the requests fails.
+     */
+    private void assertBootstrappedOnce(final String username, UserService first, UserService second)
+            throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        List<Future<Long>> futures = new ArrayList<Future<Long>>();
+        try {
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                final UserService userService = i % 2 == 0 ? first : second;
+                futures.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() throws Exception {
+                        start.await();
+                        return getWorkspaceId(userService, username);
+                    }
+                }));
+            }
+            start.countDown();
+            Long workspaceId = null;
+            for (Future<Long> future : futures) {
+                Long id = future.get(60, TimeUnit.SECONDS);
+                assertNotNull(id);
+                if (workspaceId == null) {
+                    workspaceId = id;
+                }
+                assertEquals(workspaceId, id);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, count("select count(*) from User u where u.username = :username", username));
+        assertEquals(1, count("select count(*) from Workspace w where w.user.username = :username", username));
+    }
+
+    /**
+     * Gets or creates a user's workspace in a new session and transaction, as a service request would.
+     *
+     * @param userService the service used to get or create the workspace.
+     * @param username the name of the user.
+     * @return the workspace identifier.
+     */
+    private Long getWorkspaceId(UserService userService, String username) {
+        Session session = sessionFactory.openSession();
+        Transaction tx = null;
+        try {
+            tx = session.beginTransaction();
+            Workspace workspace = userService.getOrCreateWorkspaceForUsername(new HibernateDaoFactory(session),
+                    username);
+            assertNotNull(workspace.getRootAnalysisGroupId());
+            tx.commit();
+            return workspace.getId();
+        }
+        catch (RuntimeException e) {
+            if (tx != null) {
+                tx.rollback();
+            }
+            throw e;
+        }
+        finally {
+            session.close();
+        }
+    }
+
+    /**
+     * Counts the rows matching a query for a user.
+     *
+     * @param hql the query, which has a single username parameter.
+     * @param username the name of the user.
+     * @return the number of matching rows.
+     */
+    private long count(String hql, String username) {
+        Session session = sessionFactory.openSession();
+        try {
+            return ((Number) session.createQuery(hql).setString("username", username).uniqueResult()).longValue();
+        }
+        finally {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.iplantc.workflow.service.dto.analysis.list;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.iplantc.persistence.dto.listing.JobType;
+import org.iplantc.workflow.core.AnalysisListingRow;
+import org.iplantc.workflow.core.PipelineEligibility;
+import org.iplantc.workflow.template.groups.TemplateGroupNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for building an analysis group DTO from analysis listing rows.
+ */
+public class AnalysisGroupDtoTest {
+
+    /**
+     * The template group represented by the DTO.
+     */
+    private TemplateGroupNode group;
+
+    /**
+     * The listing rows for the analyses in the group.
+     */
+    private List<AnalysisListingRow> rows;
+
+    /**
+     * Initializes each of the tests.
+     */
+    @Before
+    public void initialize() {
+        group = new TemplateGroupNode(1, "groupid", "groupname", null, 2, 3,
+                Collections.<TemplateGroupNode>emptyList());
+        rows = Arrays.asList(createRow(10, "a1", 1, JobType.EXECUTABLE), createRow(11, "a2", 2, JobType.EXECUTABLE),
+                createRow(12, "a3", 1, JobType.MIXED));
+    }
+
+    /**
+     * Verifies that the group fields are copied from the template group node.
+     */
+    @Test
+    public void testGroupFields() {
+        AnalysisGroupDto dto = new AnalysisGroupDto(group, true, rows, new HashMap<String, PipelineEligibility>());
+        assertEquals("groupid", dto.getId());
+        assertEquals("groupname", dto.getName());
+        assertEquals("", dto.getDescription());
+        assertEquals(3, dto.getAnalysisCount());
+        assertTrue(dto.isPublic());
+        assertEquals(3, dto.getAnalyses().size());
+        assertEquals("a1", dto.getAnalyses().get(0).getId());
+    }
+
+    /**
+     * Verifies that favorites and user ratings are matched to the analyses by internal identifier.
+     */
+    @Test
+    public void testFavoritesAndUserRatings() {
+        Set<Long> favoriteHids = new HashSet<Long>(Arrays.asList(11L));
+        Map<Long, UserRating> userRatings = new HashMap<Long, UserRating>();
+        userRatings.put(10L, new UserRating(4, 27L));
+        AnalysisGroupDto dto = new AnalysisGroupDto(group, false, rows, favoriteHids, userRatings,
+                new HashMap<String, PipelineEligibility>());
+        assertFalse(dto.isPublic());
+        assertFalse(dto.getAnalyses().get(0).isFavorite());
+        assertTrue(dto.getAnalyses().get(1).isFavorite());
+        assertEquals(4, dto.getAnalyses().get(0).getRating().getUser().intValue());
+        assertNull(dto.getAnalyses().get(1).getRating().getUser());
+    }
+
+    /**
+     * Verifies that stored pipeline eligibility is used when it's available and that the listing row is validated
+     * otherwise.
+     */
+    @Test
+    public void testPipelineEligibility() {
+        Map<String, PipelineEligibility> pipelineEligibility = new HashMap<String, PipelineEligibility>();
+        pipelineEligibility.put("a1", new PipelineEligibility(false, "stored reason"));
+        AnalysisGroupDto dto = new AnalysisGroupDto(group, true, rows, pipelineEligibility);
+        assertFalse(dto.getAnalyses().get(0).getPipelineEligibility().isValid());
+        assertEquals("stored reason", dto.getAnalyses().get(0).getPipelineEligibility().getReason());
+        assertFalse(dto.getAnalyses().get(1).getPipelineEligibility().isValid());
+        assertFalse(dto.getAnalyses().get(2).getPipelineEligibility().isValid());
+    }
+
+    /**
+     * Verifies that an analysis with a single executable step is eligible for pipelines when no stored eligibility is
+     * available.
+     */
+    @Test
+    public void testEligibleAnalysisWithoutStoredEligibility() {
+        AnalysisGroupDto dto = new AnalysisGroupDto(group, true, rows, new HashMap<String, PipelineEligibility>());
+        assertTrue(dto.getAnalyses().get(0).getPipelineEligibility().isValid());
+    }
+
+    /**
+     * Creates an analysis listing row.
+     *
+     * @param hid the analysis's internal identifier.
+     * @param id the analysis's external identifier.
+     * @param stepCount the number of steps in the analysis.
+     * @param jobType the overall job type of the analysis.
+     * @return the listing row.
+     */
+    private AnalysisListingRow createRow(long hid, String id, long stepCount, JobType jobType) {
+        return new AnalysisListingRow(hid, id, id + "name", id + "description", "integrator", "integrator@example.org",
+                new Date(0), new Date(0), "http://example.org/" + id, 3.5, true, false, false, stepCount, jobType);
+    }
+}
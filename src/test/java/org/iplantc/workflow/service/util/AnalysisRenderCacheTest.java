@@ -0,0 +1,107 @@
+package org.iplantc.workflow.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.iplantc.workflow.events.ChangeEvent;
+import org.iplantc.workflow.events.ChangeEventType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.service.util.AnalysisRenderCache.
+ */
+public class AnalysisRenderCacheTest {
+
+    /**
+     * The cache being tested.
+     */
+    private AnalysisRenderCache cache;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        cache = new AnalysisRenderCache(2);
+    }
+
+    /**
+     * Verifies that a cached analysis is returned for the version it was rendered from.
+     */
+    @Test
+    public void shouldReturnCachedVersion() {
+        cache.put("a", 1, "{\"id\":\"a\"}");
+        assertEquals("{\"id\":\"a\"}", cache.get("a", 1));
+    }
+
+    /**
+     * Verifies that a lookup for a different version is a cache miss.
+     */
+    @Test
+    public void shouldMissForOtherVersions() {
+        cache.put("a", 1, "{\"id\":\"a\"}");
+        assertNull(cache.get("a", 2));
+        assertNull(cache.get("b", 1));
+    }
+
+    /**
+     * Verifies that caching a new version replaces the old one.
+     */
+    @Test
+    public void shouldReplaceOldVersions() {
+        cache.put("a", 1, "old");
+        cache.put("a", 2, "new");
+        assertNull(cache.get("a", 1));
+        assertEquals("new", cache.get("a", 2));
+        assertEquals(1, cache.size());
+    }
+
+    /**
+     * Verifies that the least recently used analysis is evicted when the cache is full.
+     */
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        cache.put("a", 1, "a");
+        cache.put("b", 1, "b");
+        cache.get("a", 1);
+        cache.put("c", 1, "c");
+        assertEquals("a", cache.get("a", 1));
+        assertNull(cache.get("b", 1));
+        assertEquals("c", cache.get("c", 1));
+    }
+
+    /**
+     * Verifies that analyses can be explicitly invalidated.
+     */
+    @Test
+    public void shouldInvalidate() {
+        cache.put("a", 1, "a");
+        cache.invalidate("a");
+        assertNull(cache.get("a", 1));
+    }
+
+    /**
+     * Verifies that change events evict the affected analyses.
+     */
+    @Test
+    public void shouldEvictChangedAnalyses() {
+        cache.put("a", 1, "a");
+        cache.put("b", 1, "b");
+        cache.onChange(new ChangeEvent(ChangeEventType.ANALYSIS_CHANGED, "a"));
+        assertNull(cache.get("a", 1));
+        assertEquals("b", cache.get("b", 1));
+        cache.onChange(ChangeEvent.all(ChangeEventType.RATING_CHANGED));
+        assertEquals("b", cache.get("b", 1));
+        cache.onChange(ChangeEvent.all(ChangeEventType.TEMPLATE_CHANGED));
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Verifies that the cache size must be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonPositiveSize() {
+        new AnalysisRenderCache(0);
+    }
+}
@@ -0,0 +1,57 @@
+package org.iplantc.workflow.service.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.service.util.ConditionalResponse.
+ */
+public class ConditionalResponseTest {
+
+    /**
+     * Verifies that entity tags are quoted and include the resource identifier and version.
+     */
+    @Test
+    public void shouldFormatETag() {
+        assertEquals("\"a-ff\"", ConditionalResponse.formatETag("a", 255));
+    }
+
+    /**
+     * Verifies that a matching entity tag is recognized.
+     */
+    @Test
+    public void shouldMatchSameETag() {
+        String etag = ConditionalResponse.formatETag("a", 1);
+        assertTrue(ConditionalResponse.matches(etag, etag));
+        assertTrue(ConditionalResponse.matches("W/" + etag, etag));
+        assertTrue(ConditionalResponse.matches("\"other\", " + etag, etag));
+        assertTrue(ConditionalResponse.matches("*", etag));
+    }
+
+    /**
+     * Verifies that a different or missing entity tag is not a match.
+     */
+    @Test
+    public void shouldNotMatchOtherETags() {
+        String etag = ConditionalResponse.formatETag("a", 2);
+        assertFalse(ConditionalResponse.matches(ConditionalResponse.formatETag("a", 1), etag));
+        assertFalse(ConditionalResponse.matches(null, etag));
+        assertFalse(ConditionalResponse.matches("", etag));
+    }
+
+    /**
+     * Verifies that not-modified responses have no body.
+     */
+    @Test
+    public void shouldOmitBodyWhenNotModified() {
+        ConditionalResponse response = ConditionalResponse.notModified("\"a-1\"");
+        assertFalse(response.isModified());
+        assertNull(response.getBody());
+        assertEquals("\"a-1\"", response.getETag());
+        assertTrue(ConditionalResponse.modified("\"a-1\"", "{}").isModified());
+    }
+}
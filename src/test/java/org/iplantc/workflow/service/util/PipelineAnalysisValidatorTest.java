@@ -1,10 +1,17 @@
 package org.iplantc.workflow.service.util;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
 import java.util.Arrays;
+import org.iplantc.persistence.dto.components.DeployedComponent;
 import org.iplantc.persistence.dto.step.TransformationStep;
 import org.iplantc.workflow.WorkflowException;
 import org.iplantc.workflow.core.TransformationActivity;
 import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.service.dto.pipelines.AnalysisValidationDto;
 import org.iplantc.workflow.util.UnitTestUtils;
 import org.junit.Test;
 
@@ -98,4 +105,113 @@ public class PipelineAnalysisValidatorTest {
     public void testUnknownAnalysisId() {
         PipelineAnalysisValidator.validateAnalysis("unknownid", new MockDaoFactory());
     }
+
+    /**
+     * Verifies that the eligibility of a single-step executable analysis is recorded.
+     */
+    @Test
+    public void testRecordEligibleAnalysis() {
+        MockDaoFactory daoFactory = createDaoFactory("executable");
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "templateid");
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, daoFactory);
+        assertEquals(Boolean.TRUE, analysis.getPipelineEligible());
+        assertNull(analysis.getPipelineIneligibilityReason());
+    }
+
+    /**
+     * Verifies that the ineligibility of a multi-step analysis is recorded along with the reason.
+     */
+    @Test
+    public void testRecordMultistepAnalysis() {
+        MockDaoFactory daoFactory = createDaoFactory("executable");
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "templateid",
+                "templateid");
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, daoFactory);
+        assertEquals(Boolean.FALSE, analysis.getPipelineEligible());
+        assertEquals("analysis, analysisid, has too many steps for a pipeline",
+                analysis.getPipelineIneligibilityReason());
+    }
+
+    /**
+     * Verifies that the job type is determined from the deployed component rather than the loaded job types.
+     */
+    @Test
+    public void testRecordFapiAnalysis() {
+        MockDaoFactory daoFactory = createDaoFactory("fAPI");
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "templateid");
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, daoFactory);
+        assertEquals(Boolean.FALSE, analysis.getPipelineEligible());
+        assertNotNull(analysis.getPipelineIneligibilityReason());
+    }
+
+    /**
+     * Verifies that an analysis whose template can't be found is recorded as ineligible.
+     */
+    @Test
+    public void testRecordAnalysisWithMissingTemplate() {
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "missingid");
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, new MockDaoFactory());
+        assertEquals(Boolean.FALSE, analysis.getPipelineEligible());
+    }
+
+    /**
+     * Verifies that the reason recorded for an analysis with an unknown job type doesn't mention a null job type.
+     */
+    @Test
+    public void testRecordAnalysisWithUnknownJobType() {
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "missingid");
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, new MockDaoFactory());
+        assertEquals("the job type of analysis, analysisid, can't be determined",
+                analysis.getPipelineIneligibilityReason());
+    }
+
+    /**
+     * Verifies that the recorded eligibility of dependent analyses is updated when a deployed component's type
+     * changes.
+     */
+    @Test
+    public void testEligibilityUpdatedForComponent() {
+        MockDaoFactory daoFactory = createDaoFactory("executable");
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "templateid");
+        PipelineAnalysisValidator.recordPipelineEligibility(analysis, daoFactory);
+        daoFactory.getTransformationActivityDao().save(analysis);
+        assertEquals(Boolean.TRUE, analysis.getPipelineEligible());
+
+        DeployedComponent component = daoFactory.getDeployedComponentDao().findById("componentid");
+        component.setToolType(UnitTestUtils.createKnownToolType("fAPI"));
+        PipelineAnalysisValidator.updatePipelineEligibilityForComponent("componentid", daoFactory);
+        assertEquals(Boolean.FALSE, analysis.getPipelineEligible());
+        assertNotNull(analysis.getPipelineIneligibilityReason());
+    }
+
+    /**
+     * Verifies that the stored eligibility is used by the validation DTO instead of validating the analysis.
+     */
+    @Test
+    public void testStoredEligibilityIsUsed() {
+        MockDaoFactory daoFactory = new MockDaoFactory();
+        TransformationActivity analysis = UnitTestUtils.createAnalysis("analysis");
+        analysis.setPipelineEligible(false);
+        analysis.setPipelineIneligibilityReason("stored reason");
+        daoFactory.getTransformationActivityDao().save(analysis);
+
+        AnalysisValidationDto dto = new AnalysisValidationDto("analysisid", daoFactory);
+        assertFalse(dto.isValid());
+        assertEquals("stored reason", dto.getReason());
+    }
+
+    /**
+     * Creates a data access object factory containing a single template that uses a single deployed component.
+     *
+     * @param componentType the type of the deployed component.
+     * @return the data access object factory.
+     */
+    private MockDaoFactory createDaoFactory(String componentType) {
+        MockDaoFactory daoFactory = new MockDaoFactory();
+        DeployedComponent component = UnitTestUtils.createDeployedComponent("component", "componentid");
+        component.setToolType(UnitTestUtils.createKnownToolType(componentType));
+        daoFactory.getDeployedComponentDao().save(component);
+        daoFactory.getTemplateDao().save(UnitTestUtils.createTemplate("template", "componentid"));
+        return daoFactory;
+    }
 }
@@ -0,0 +1,73 @@
+package org.iplantc.workflow.service.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+import org.iplantc.workflow.WorkflowException;
+import org.iplantc.workflow.core.TransformationActivity;
+import org.iplantc.workflow.dao.mock.MockDaoFactory;
+import org.iplantc.workflow.data.DataObject;
+import org.iplantc.workflow.model.Template;
+import org.iplantc.workflow.util.UnitTestUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.service.util.UnreferencedInputFinder.
+ */
+public class UnreferencedInputFinderTest {
+
+    /**
+     * Used to obtain data access objects.
+     */
+    private MockDaoFactory daoFactory;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        daoFactory = new MockDaoFactory();
+        daoFactory.getTemplateDao().save(createTemplate("template1"));
+        daoFactory.getTemplateDao().save(createTemplate("template2"));
+    }
+
+    /**
+     * Creates a template with a single input.
+     *
+     * @param name the template name.
+     * @return the template.
+     */
+    private Template createTemplate(String name) {
+        DataObject input = new DataObject();
+        input.setId(name + "inputid");
+        input.setName(name + "input");
+        Template template = UnitTestUtils.createTemplate(name);
+        template.addInputObject(input);
+        return template;
+    }
+
+    /**
+     * Verifies that the inputs of every step are found and that all templates are loaded using a single query.
+     */
+    @Test
+    public void shouldFindInputsInAllSteps() {
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "template1id",
+                "template2id");
+        daoFactory.getMockTemplateDao().resetQueryCount();
+        List<DataObject> inputs = new UnreferencedInputFinder(analysis, daoFactory).findDataObjects();
+        assertEquals(1, daoFactory.getMockTemplateDao().getQueryCount());
+        assertEquals(2, inputs.size());
+        assertEquals("template1inputid", inputs.get(0).getId());
+        assertEquals("template2inputid", inputs.get(1).getId());
+    }
+
+    /**
+     * Verifies that a missing template is reported.
+     */
+    @Test(expected = WorkflowException.class)
+    public void shouldRejectMissingTemplate() {
+        TransformationActivity analysis = UnitTestUtils.createAnalysisWithSteps("analysis", "unknownid");
+        new UnreferencedInputFinder(analysis, daoFactory).findDataObjects();
+    }
+}
@@ -0,0 +1,148 @@
+package org.iplantc.workflow.template.groups;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.template.groups.TemplateGroupHierarchyBuilder.
+ */
+public class TemplateGroupHierarchyBuilderTest {
+
+    /**
+     * The builder being tested.
+     */
+    private TemplateGroupHierarchyBuilder builder;
+
+    /**
+     * Initializes each of the unit tests.
+     */
+    @Before
+    public void initialize() {
+        builder = new TemplateGroupHierarchyBuilder();
+    }
+
+    /**
+     * Adds a template group with a name derived from its internal identifier.
+     *
+     * @param hid the internal identifier.
+     * @param count the number of active analyses in the group and its descendants.
+     */
+    private void addGroup(long hid, int count) {
+        builder.addGroup(hid, "id" + hid, "group" + hid, "description" + hid, 42, count);
+    }
+
+    /**
+     * Verifies that a single group is built correctly.
+     */
+    @Test
+    public void testSingleGroup() {
+        addGroup(1, 3);
+        TemplateGroupNode root = builder.build(1);
+        assertEquals(1, root.getHid());
+        assertEquals("id1", root.getId());
+        assertEquals("group1", root.getName());
+        assertEquals("description1", root.getDescription());
+        assertEquals(42, root.getWorkspaceId());
+        assertEquals(3, root.getActiveAnalysisCount());
+        assertTrue(root.getSubgroups().isEmpty());
+    }
+
+    /**
+     * Verifies that null is returned if the root group wasn't added.
+     */
+    @Test
+    public void testMissingRoot() {
+        addGroup(1, 0);
+        assertNull(builder.build(2));
+    }
+
+    /**
+     * Verifies that subgroups are listed in list order regardless of the order in which the rows are added.
+     */
+    @Test
+    public void testSubgroupOrder() {
+        builder.addEdge(1, 4, 2);
+        addGroup(4, 0);
+        builder.addEdge(1, 2, 0);
+        addGroup(2, 5);
+        addGroup(1, 7);
+        builder.addEdge(2, 5, 0);
+        addGroup(5, 5);
+        builder.addEdge(1, 3, 1);
+        addGroup(3, 2);
+
+        TemplateGroupNode root = builder.build(1);
+        List<TemplateGroupNode> subgroups = root.getSubgroups();
+        assertEquals(3, subgroups.size());
+        assertEquals(2, subgroups.get(0).getHid());
+        assertEquals(3, subgroups.get(1).getHid());
+        assertEquals(4, subgroups.get(2).getHid());
+        assertEquals(1, subgroups.get(0).getSubgroups().size());
+        assertEquals(5, subgroups.get(0).getSubgroups().get(0).getHid());
+        assertEquals(5, subgroups.get(0).getActiveAnalysisCount());
+    }
+
+    /**
+     * Verifies that only the hierarchy beneath the requested root is built.
+     */
+    @Test
+    public void testSubtree() {
+        addGroup(1, 0);
+        addGroup(2, 0);
+        addGroup(3, 0);
+        builder.addEdge(1, 2, 0);
+        builder.addEdge(2, 3, 0);
+        TemplateGroupNode root = builder.build(2);
+        assertEquals(2, root.getHid());
+        assertEquals(1, root.getSubgroups().size());
+        assertEquals(3, root.getSubgroups().get(0).getHid());
+    }
+
+    /**
+     * Verifies that a group with more than one parent appears under each parent.
+     */
+    @Test
+    public void testSharedSubgroup() {
+        addGroup(1, 0);
+        addGroup(2, 0);
+        addGroup(3, 0);
+        addGroup(4, 1);
+        builder.addEdge(1, 2, 0);
+        builder.addEdge(1, 3, 1);
+        builder.addEdge(2, 4, 0);
+        builder.addEdge(3, 4, 0);
+        TemplateGroupNode root = builder.build(1);
+        assertEquals(4, root.getSubgroups().get(0).getSubgroups().get(0).getHid());
+        assertEquals(4, root.getSubgroups().get(1).getSubgroups().get(0).getHid());
+    }
+
+    /**
+     * Verifies that edges leading to missing groups and edges that would form cycles are ignored.
+     */
+    @Test
+    public void testInvalidEdges() {
+        addGroup(1, 0);
+        addGroup(2, 0);
+        builder.addEdge(1, 2, 0);
+        builder.addEdge(1, 9, 1);
+        builder.addEdge(2, 1, 0);
+        TemplateGroupNode root = builder.build(1);
+        assertEquals(1, root.getSubgroups().size());
+        assertTrue(root.getSubgroups().get(0).getSubgroups().isEmpty());
+    }
+
+    /**
+     * Verifies that the lists of subgroups can't be modified.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testImmutableSubgroups() {
+        addGroup(1, 0);
+        builder.build(1).getSubgroups().clear();
+    }
+}
@@ -16,6 +16,7 @@ import org.hibernate.jdbc.Work;
 import org.hsqldb.cmdline.SqlFile;
 import org.hsqldb.cmdline.SqlToolError;
 import org.iplantc.hibernate.util.HibernateUtil;
+import org.iplantc.workflow.metrics.QueryInspector;
 
 /**
  * Used to initialize a database for unit testing. During unit testing, we're using an in-memory HyperSQL database
@@ -36,6 +37,7 @@ public class DatabaseInitializer {
         Connection connection = DriverManager.getConnection("jdbc:hsqldb:mem:workflow");
         assert (connection != null);
         Configuration configuration = new Configuration().configure(CONFIG);
+        QueryInspector.install(configuration);
         SessionFactory sessionFactory = configuration.buildSessionFactory();
         HibernateUtil.setSessionFactoryForTesting(sessionFactory);
         createTables();
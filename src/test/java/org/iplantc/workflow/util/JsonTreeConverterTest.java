@@ -0,0 +1,73 @@
+package org.iplantc.workflow.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for org.iplantc.workflow.util.JsonTreeConverter.
+ */
+public class JsonTreeConverterTest {
+
+    /**
+     * A JSON document containing every kind of JSON value.
+     */
+    private static final String DOCUMENT = "{\"string\":\"value\",\"int\":42,\"long\":12345678901,\"double\":1.5,"
+            + "\"boolean\":true,\"null\":null,\"object\":{\"nested\":{\"a\":[1,2]}},"
+            + "\"array\":[\"x\",{\"b\":false},[3,[4]],null]}";
+
+    /**
+     * Verifies that an org.json object is converted to the same Source Forge object that parsing produces.
+     *
+     * @throws Exception if the document can't be parsed.
+     */
+    @Test
+    public void testToSfJsonObject() throws Exception {
+        net.sf.json.JSONObject expected = net.sf.json.JSONObject.fromObject(DOCUMENT);
+        net.sf.json.JSONObject actual = JsonTreeConverter.toSfJsonObject(new org.json.JSONObject(DOCUMENT));
+        assertEquals(expected, actual);
+        assertTrue(actual.getJSONArray("array").get(3) instanceof net.sf.json.JSONNull);
+    }
+
+    /**
+     * Verifies that converted objects can be appended to Source Forge arrays.
+     *
+     * @throws Exception if the document can't be parsed.
+     */
+    @Test
+    public void testAddToSfJsonArray() throws Exception {
+        net.sf.json.JSONArray array = new net.sf.json.JSONArray();
+        JsonTreeConverter.addToSfJsonArray(array, new org.json.JSONObject(DOCUMENT));
+        JsonTreeConverter.addToSfJsonArray(array, new org.json.JSONObject("{}"));
+        assertEquals(2, array.size());
+        assertEquals(net.sf.json.JSONObject.fromObject(DOCUMENT), array.getJSONObject(0));
+        assertTrue(array.getJSONObject(1).isEmpty());
+    }
+
+    /**
+     * Verifies that a Source Forge object is converted to the same org.json object that parsing produces.
+     *
+     * @throws Exception if the document can't be parsed.
+     */
+    @Test
+    public void testToOrgJsonObject() throws Exception {
+        org.json.JSONObject actual = JsonTreeConverter.toOrgJsonObject(net.sf.json.JSONObject.fromObject(DOCUMENT));
+        org.json.JSONObject expected = new org.json.JSONObject(DOCUMENT);
+        assertEquals(net.sf.json.JSONObject.fromObject(expected.toString()),
+                net.sf.json.JSONObject.fromObject(actual.toString()));
+        assertEquals(org.json.JSONObject.NULL, actual.get("null"));
+        assertEquals(org.json.JSONObject.NULL, actual.getJSONArray("array").get(3));
+    }
+
+    /**
+     * Verifies that converting a document to the other model and back again produces the original document.
+     *
+     * @throws Exception if the document can't be parsed.
+     */
+    @Test
+    public void testRoundTrip() throws Exception {
+        net.sf.json.JSONObject original = net.sf.json.JSONObject.fromObject(DOCUMENT);
+        assertEquals(original, JsonTreeConverter.toSfJsonObject(JsonTreeConverter.toOrgJsonObject(original)));
+    }
+}